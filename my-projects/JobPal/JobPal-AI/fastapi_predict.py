@@ -1,4 +1,6 @@
 # ライブラリのインポート
+from typing import List
+
 from fastapi import FastAPI
 import pandas as pd
 from pydantic import BaseModel
@@ -39,3 +41,14 @@ def negapoji(request: JobDetailRequest):
     else:
         return "不合格"
 
+class JobDetailBatchRequest(BaseModel):
+    texts: List[str]
+
+# 複数の感想をまとめて判定（結果は感想と同じ順）
+@app.post("/jobdetail/batch")
+def negapoji_batch(request: JobDetailBatchRequest):
+    if not request.texts:
+        return []
+    vectors = [doc.vector for doc in nlp.pipe(request.texts)]
+    emotions = model.predict(vectors)
+    return ["合格" if emotion == "ポジティブ" else "不合格" for emotion in emotions]
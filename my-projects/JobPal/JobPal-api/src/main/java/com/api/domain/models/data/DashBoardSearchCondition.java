@@ -0,0 +1,223 @@
+package com.api.domain.models.data;
+
+import java.sql.Timestamp;
+
+/**
+ * 就職活動ダッシュボードのページ取得条件です。
+ *
+ * <p>
+ * 絞り込み条件・並び順・取得位置（カーソル）を保持します。<br>
+ * 未指定（null）の絞り込み条件は使用しません。
+ * </p>
+ */
+public class DashBoardSearchCondition {
+
+	/**
+	 * 並び替え項目：開始日時
+	 */
+	public static final String SORT_START_TIME = "startTime";
+
+	/**
+	 * 並び替え項目：就職活動状態
+	 */
+	public static final String SORT_JOB_SEARCH_STATUS = "jobSearchStatus";
+
+	/**
+	 * 並び替え項目：イベント区分
+	 */
+	public static final String SORT_EVENT_CATEGORY = "eventCategory";
+
+	/**
+	 * 取得範囲
+	 * - ADMIN：全件
+	 * - TEACHER：取り下げ以外の全件
+	 * - STUDENT：指定ユーザの取り下げ以外
+	 */
+	public enum Scope {
+		ADMIN, TEACHER, STUDENT
+	}
+
+	/**
+	 * 取得範囲
+	 */
+	private Scope scope;
+
+	/**
+	 * 学生のユーザID（取得範囲がSTUDENTの場合のみ使用）
+	 */
+	private String studentUserId;
+
+	/**
+	 * 学科
+	 */
+	private String department;
+
+	/**
+	 * 学年
+	 */
+	private String grade;
+
+	/**
+	 * クラス
+	 */
+	private String className;
+
+	/**
+	 * 就職活動状態
+	 */
+	private String jobSearchStatus;
+
+	/**
+	 * イベント区分
+	 */
+	private String eventCategory;
+
+	/**
+	 * 開始日時の下限（この日時を含む）
+	 */
+	private Timestamp startTimeFrom;
+
+	/**
+	 * 開始日時の上限（この日時を含まない）
+	 */
+	private Timestamp startTimeTo;
+
+	/**
+	 * 並び替え項目
+	 */
+	private String sortKey = SORT_START_TIME;
+
+	/**
+	 * 降順で並び替えるか
+	 */
+	private boolean descending;
+
+	/**
+	 * 前ページ最終行の並び替え項目の値（先頭ページの場合はnull）
+	 */
+	private Object cursorValue;
+
+	/**
+	 * 前ページ最終行の就職活動ID（先頭ページの場合はnull）
+	 */
+	private String cursorJobSearchId;
+
+	/**
+	 * 取得件数
+	 */
+	private int limit;
+
+	// getter
+	public Scope getScope() {
+		return scope;
+	}
+
+	public String getStudentUserId() {
+		return studentUserId;
+	}
+
+	public String getDepartment() {
+		return department;
+	}
+
+	public String getGrade() {
+		return grade;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public String getJobSearchStatus() {
+		return jobSearchStatus;
+	}
+
+	public String getEventCategory() {
+		return eventCategory;
+	}
+
+	public Timestamp getStartTimeFrom() {
+		return startTimeFrom;
+	}
+
+	public Timestamp getStartTimeTo() {
+		return startTimeTo;
+	}
+
+	public String getSortKey() {
+		return sortKey;
+	}
+
+	public boolean isDescending() {
+		return descending;
+	}
+
+	public Object getCursorValue() {
+		return cursorValue;
+	}
+
+	public String getCursorJobSearchId() {
+		return cursorJobSearchId;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	// setter
+	public void setScope(Scope scope) {
+		this.scope = scope;
+	}
+
+	public void setStudentUserId(String studentUserId) {
+		this.studentUserId = studentUserId;
+	}
+
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+
+	public void setGrade(String grade) {
+		this.grade = grade;
+	}
+
+	public void setClassName(String className) {
+		this.className = className;
+	}
+
+	public void setJobSearchStatus(String jobSearchStatus) {
+		this.jobSearchStatus = jobSearchStatus;
+	}
+
+	public void setEventCategory(String eventCategory) {
+		this.eventCategory = eventCategory;
+	}
+
+	public void setStartTimeFrom(Timestamp startTimeFrom) {
+		this.startTimeFrom = startTimeFrom;
+	}
+
+	public void setStartTimeTo(Timestamp startTimeTo) {
+		this.startTimeTo = startTimeTo;
+	}
+
+	public void setSortKey(String sortKey) {
+		this.sortKey = sortKey;
+	}
+
+	public void setDescending(boolean descending) {
+		this.descending = descending;
+	}
+
+	public void setCursorValue(Object cursorValue) {
+		this.cursorValue = cursorValue;
+	}
+
+	public void setCursorJobSearchId(String cursorJobSearchId) {
+		this.cursorJobSearchId = cursorJobSearchId;
+	}
+
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+}
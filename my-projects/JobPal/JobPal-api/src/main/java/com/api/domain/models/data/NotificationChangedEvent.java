@@ -0,0 +1,45 @@
+package com.api.domain.models.data;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 通知の登録・削除・再通知を知らせるイベントです。
+ *
+ * <p>
+ * 通知を更新したトランザクションのコミット後に、接続中のユーザへ通知件数と通知の概要を配信するために使用します。
+ * </p>
+ *
+ * @param action    操作（{@link #ACTION_CREATED}・{@link #ACTION_DELETED}・{@link #ACTION_RESEND}）
+ * @param category  就職活動/証明書区分（"0"：就職活動、"1"：証明書）
+ * @param targetIds 就職活動IDまたは証明書発行IDのリスト
+ * @param userIds   通知件数・通知の内容が変わるユーザIDの集合
+ */
+public record NotificationChangedEvent(String action, String category, List<String> targetIds,
+		Set<String> userIds) {
+
+	/**
+	 * 操作：通知の登録
+	 */
+	public static final String ACTION_CREATED = "created";
+
+	/**
+	 * 操作：通知の削除
+	 */
+	public static final String ACTION_DELETED = "deleted";
+
+	/**
+	 * 操作：再通知
+	 */
+	public static final String ACTION_RESEND = "resend";
+
+	/**
+	 * 就職活動/証明書区分：就職活動
+	 */
+	public static final String CATEGORY_JOB_SEARCH = "0";
+
+	/**
+	 * 就職活動/証明書区分：証明書
+	 */
+	public static final String CATEGORY_CERTIFICATE = "1";
+}
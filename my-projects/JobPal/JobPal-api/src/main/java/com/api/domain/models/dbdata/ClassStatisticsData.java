@@ -0,0 +1,66 @@
+package com.api.domain.models.dbdata;
+
+import com.api.domain.models.displaydata.CsvDisplayData;
+
+/**
+ * 1クラス分の就職活動の集計値を表すモデルクラスです。
+ *
+ * <p>
+ * クラス（学科・学年・クラス名）と、活動状況・活動地域・活動形式の件数を保持します。
+ * </p>
+ */
+public class ClassStatisticsData {
+
+	/**
+	 * 学科。
+	 */
+	private String department;
+
+	/**
+	 * 学年。
+	 */
+	private Integer grade;
+
+	/**
+	 * クラス名。
+	 */
+	private String className;
+
+	/**
+	 * 集計値。
+	 */
+	private CsvDisplayData statistics;
+
+	// GetterおよびSetterメソッド
+	public String getDepartment() {
+		return department;
+	}
+
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+
+	public Integer getGrade() {
+		return grade;
+	}
+
+	public void setGrade(Integer grade) {
+		this.grade = grade;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public void setClassName(String className) {
+		this.className = className;
+	}
+
+	public CsvDisplayData getStatistics() {
+		return statistics;
+	}
+
+	public void setStatistics(CsvDisplayData statistics) {
+		this.statistics = statistics;
+	}
+}
@@ -0,0 +1,158 @@
+package com.api.domain.models.dbdata;
+
+import java.sql.Timestamp;
+
+/**
+ * 削除されたユーザ1件分を表すモデルクラスです。
+ *
+ * <p>
+ * 削除ユーザマスタと削除担任・学生ユーザの項目（パスワードを除く）を保持します。<br>
+ * 担任・学生以外のユーザは、学科・学年・クラス・出席番号・学籍番号がnullです。
+ * </p>
+ */
+public class DeletedUserData {
+
+	/**
+	 * ユーザID。
+	 */
+	private String userId;
+
+	/**
+	 * 削除日時。
+	 */
+	private Timestamp deletedAt;
+
+	/**
+	 * ユーザ名。
+	 */
+	private String userName;
+
+	/**
+	 * ユーザ区分。
+	 */
+	private String userType;
+
+	/**
+	 * 作成者のユーザID。
+	 */
+	private String createdByUserId;
+
+	/**
+	 * 作成日時。
+	 */
+	private Timestamp createdAt;
+
+	/**
+	 * 学科。
+	 */
+	private String department;
+
+	/**
+	 * 学年。
+	 */
+	private Integer grade;
+
+	/**
+	 * クラス名。
+	 */
+	private String className;
+
+	/**
+	 * 出席番号。
+	 */
+	private Integer attendanceNumber;
+
+	/**
+	 * 学籍番号。
+	 */
+	private Integer studentId;
+
+	// GetterおよびSetterメソッド
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	public Timestamp getDeletedAt() {
+		return deletedAt;
+	}
+
+	public void setDeletedAt(Timestamp deletedAt) {
+		this.deletedAt = deletedAt;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public String getUserType() {
+		return userType;
+	}
+
+	public void setUserType(String userType) {
+		this.userType = userType;
+	}
+
+	public String getCreatedByUserId() {
+		return createdByUserId;
+	}
+
+	public void setCreatedByUserId(String createdByUserId) {
+		this.createdByUserId = createdByUserId;
+	}
+
+	public Timestamp getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Timestamp createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public String getDepartment() {
+		return department;
+	}
+
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+
+	public Integer getGrade() {
+		return grade;
+	}
+
+	public void setGrade(Integer grade) {
+		this.grade = grade;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public void setClassName(String className) {
+		this.className = className;
+	}
+
+	public Integer getAttendanceNumber() {
+		return attendanceNumber;
+	}
+
+	public void setAttendanceNumber(Integer attendanceNumber) {
+		this.attendanceNumber = attendanceNumber;
+	}
+
+	public Integer getStudentId() {
+		return studentId;
+	}
+
+	public void setStudentId(Integer studentId) {
+		this.studentId = studentId;
+	}
+}
@@ -0,0 +1,114 @@
+package com.api.domain.models.dbdata;
+
+import java.sql.Timestamp;
+
+/**
+ * 1件分の受験報告の評価を表すモデルクラスです。
+ *
+ * <p>
+ * 各項目は、評価に使用する感想と評価の状態・結果を保持します。<br>
+ * データベース定義を参照して、各フィールドの仕様を確認してください。
+ * </p>
+ */
+public class ExamReportEvaluationData {
+
+	/**
+	 * 受験報告ID。
+	 */
+	private String examReportId;
+
+	/**
+	 * 評価状態。
+	 */
+	private String status;
+
+	/**
+	 * 評価結果。
+	 */
+	private String result;
+
+	/**
+	 * 評価を試行した回数。
+	 */
+	private Integer attemptCount;
+
+	/**
+	 * 評価を依頼した日時。
+	 */
+	private Timestamp requestedAt;
+
+	/**
+	 * 評価中の期限。
+	 */
+	private Timestamp claimedUntil;
+
+	/**
+	 * 感想。
+	 */
+	private String impressions;
+
+	// GetterおよびSetterメソッド
+	public String getExamReportId() {
+		return examReportId;
+	}
+
+	public void setExamReportId(String examReportId) {
+		this.examReportId = examReportId;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getResult() {
+		return result;
+	}
+
+	public void setResult(String result) {
+		this.result = result;
+	}
+
+	public Integer getAttemptCount() {
+		return attemptCount;
+	}
+
+	public void setAttemptCount(Integer attemptCount) {
+		this.attemptCount = attemptCount;
+	}
+
+	public Timestamp getRequestedAt() {
+		return requestedAt;
+	}
+
+	public void setRequestedAt(Timestamp requestedAt) {
+		this.requestedAt = requestedAt;
+	}
+
+	public Timestamp getClaimedUntil() {
+		return claimedUntil;
+	}
+
+	public void setClaimedUntil(Timestamp claimedUntil) {
+		this.claimedUntil = claimedUntil;
+	}
+
+	public String getImpressions() {
+		return impressions;
+	}
+
+	public void setImpressions(String impressions) {
+		this.impressions = impressions;
+	}
+
+	@Override
+	public String toString() {
+		return "ExamReportEvaluationData [examReportId=" + examReportId + ", status=" + status + ", result=" + result
+				+ ", attemptCount=" + attemptCount + ", requestedAt=" + requestedAt + ", claimedUntil=" + claimedUntil
+				+ "]";
+	}
+
+}
@@ -173,6 +173,16 @@ public class JobSearchDashBoardDetailData {
 	 */
 	private Timestamp maxUpdatedAt;
 
+	/**
+	 * 感想の評価状態
+	 */
+	private String evaluationStatus;
+
+	/**
+	 * 感想の評価結果
+	 */
+	private String evaluationResult;
+
 	// GetterおよびSetterメソッド
 	public String getUserName() {
 		return userName;
@@ -430,6 +440,22 @@ public class JobSearchDashBoardDetailData {
 		this.maxUpdatedAt = maxUpdatedAt;
 	}
 
+	public String getEvaluationStatus() {
+		return evaluationStatus;
+	}
+
+	public void setEvaluationStatus(String evaluationStatus) {
+		this.evaluationStatus = evaluationStatus;
+	}
+
+	public String getEvaluationResult() {
+		return evaluationResult;
+	}
+
+	public void setEvaluationResult(String evaluationResult) {
+		this.evaluationResult = evaluationResult;
+	}
+
 	@Override
 	public String toString() {
 		return "JobSearchDashBoardDetailData [userName=" + userName + ", jobSearchId=" + jobSearchId
@@ -444,7 +470,8 @@ public class JobSearchDashBoardDetailData {
 				+ ", examCount=" + examCount + ", examType=" + examType + ", examContent=" + examContent
 				+ ", impressions=" + impressions + ", department=" + department + ", grade=" + grade
 				+ ", className=" + className + ", attendanceNumber=" + attendanceNumber + ", studentId=" + studentId
-				+ ", maxUpdatedAt=" + maxUpdatedAt + "]";
+				+ ", maxUpdatedAt=" + maxUpdatedAt + ", evaluationStatus=" + evaluationStatus
+				+ ", evaluationResult=" + evaluationResult + "]";
 	}
 
 }
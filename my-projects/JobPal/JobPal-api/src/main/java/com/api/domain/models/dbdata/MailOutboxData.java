@@ -0,0 +1,92 @@
+package com.api.domain.models.dbdata;
+
+/**
+ * 1件分の送信待ちメールを表すモデルクラスです。
+ *
+ * <p>
+ * 各項目は、メール送信APIへの送信に必要なデータと送信の試行状況を保持します。<br>
+ * データベース定義を参照して、各フィールドの仕様を確認してください。
+ * </p>
+ */
+public class MailOutboxData {
+
+	/**
+	 * 送信待ちID。
+	 */
+	private Long outboxId;
+
+	/**
+	 * 返信先メールアドレス。
+	 */
+	private String fromAddress;
+
+	/**
+	 * 受信者メールアドレス。
+	 */
+	private String toAddress;
+
+	/**
+	 * 件名。
+	 */
+	private String subject;
+
+	/**
+	 * 本文。
+	 */
+	private String body;
+
+	/**
+	 * 送信を試行した回数。
+	 */
+	private Integer attemptCount;
+
+	// GetterおよびSetterメソッド
+	public Long getOutboxId() {
+		return outboxId;
+	}
+
+	public void setOutboxId(Long outboxId) {
+		this.outboxId = outboxId;
+	}
+
+	public String getFromAddress() {
+		return fromAddress;
+	}
+
+	public void setFromAddress(String fromAddress) {
+		this.fromAddress = fromAddress;
+	}
+
+	public String getToAddress() {
+		return toAddress;
+	}
+
+	public void setToAddress(String toAddress) {
+		this.toAddress = toAddress;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public void setSubject(String subject) {
+		this.subject = subject;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public void setBody(String body) {
+		this.body = body;
+	}
+
+	public Integer getAttemptCount() {
+		return attemptCount;
+	}
+
+	public void setAttemptCount(Integer attemptCount) {
+		this.attemptCount = attemptCount;
+	}
+
+}
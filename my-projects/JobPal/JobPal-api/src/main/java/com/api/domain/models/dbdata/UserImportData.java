@@ -0,0 +1,92 @@
+package com.api.domain.models.dbdata;
+
+/**
+ * 1件分のユーザ一括登録の進捗を表すモデルクラスです。
+ *
+ * <p>
+ * 各項目は、一括登録を中断した行から再開するために必要なデータを保持します。<br>
+ * データベース定義を参照して、各フィールドの仕様を確認してください。
+ * </p>
+ */
+public class UserImportData {
+
+	/**
+	 * 一括登録ID。
+	 */
+	private String importId;
+
+	/**
+	 * 登録するCSVのSHA-256（16進数）。
+	 */
+	private String fileHash;
+
+	/**
+	 * コミット済みの最後の行の番号（見出しを除き1から数える）。
+	 */
+	private Integer committedRow;
+
+	/**
+	 * 登録したユーザの件数。
+	 */
+	private Integer insertedCount;
+
+	/**
+	 * 登録できなかった行の件数。
+	 */
+	private Integer errorCount;
+
+	/**
+	 * 登録状態。
+	 */
+	private String status;
+
+	// GetterおよびSetterメソッド
+	public String getImportId() {
+		return importId;
+	}
+
+	public void setImportId(String importId) {
+		this.importId = importId;
+	}
+
+	public String getFileHash() {
+		return fileHash;
+	}
+
+	public void setFileHash(String fileHash) {
+		this.fileHash = fileHash;
+	}
+
+	public Integer getCommittedRow() {
+		return committedRow;
+	}
+
+	public void setCommittedRow(Integer committedRow) {
+		this.committedRow = committedRow;
+	}
+
+	public Integer getInsertedCount() {
+		return insertedCount;
+	}
+
+	public void setInsertedCount(Integer insertedCount) {
+		this.insertedCount = insertedCount;
+	}
+
+	public Integer getErrorCount() {
+		return errorCount;
+	}
+
+	public void setErrorCount(Integer errorCount) {
+		this.errorCount = errorCount;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+}
@@ -146,6 +146,11 @@ public class DetailDisplayData {
 	 */
 	private String predResult;
 
+	/**
+	 * AI予測の評価状態（0：評価待ち、1：評価済み、9：評価不可。受験報告がない場合はnull）
+	 */
+	private String evaluationStatus;
+
 	// getter
 	public String getJobHuntId() {
 		return jobHuntId;
@@ -255,6 +260,10 @@ public class DetailDisplayData {
 		return predResult;
 	}
 
+	public String getEvaluationStatus() {
+		return evaluationStatus;
+	}
+
 	// builder
 	public static class Builder {
 		private String jobHuntId;
@@ -284,6 +293,7 @@ public class DetailDisplayData {
 		private String tardyLeaveTime;
 		private String remarks;
 		private String predResult;
+		private String evaluationStatus;
 
 		public Builder setJobHuntId(String jobHuntId) {
 			this.jobHuntId = jobHuntId;
@@ -420,6 +430,11 @@ public class DetailDisplayData {
 			return this;
 		}
 
+		public Builder setEvaluationStatus(String evaluationStatus) {
+			this.evaluationStatus = evaluationStatus;
+			return this;
+		}
+
 		/**
 		 * ビルダーから{@code DetailDisplayData}のインスタンスを生成します。
 		 *
@@ -454,6 +469,7 @@ public class DetailDisplayData {
 			data.tardyLeaveTime = this.tardyLeaveTime;
 			data.remarks = this.remarks;
 			data.predResult = this.predResult;
+			data.evaluationStatus = this.evaluationStatus;
 			return data;
 		}
 	}
@@ -495,6 +511,7 @@ public class DetailDisplayData {
 				", tardyLeaveTime=" + tardyLeaveTime +
 				", remarks='" + remarks + '\'' +
 				", predResult='" + predResult + '\'' +
+				", evaluationStatus='" + evaluationStatus + '\'' +
 				'}';
 	}
 }
@@ -0,0 +1,47 @@
+package com.api.domain.models.displaydata;
+
+/**
+ * 受験報告のAI評価の状態です。
+ *
+ * <p>
+ * 評価は受験報告の登録/更新後に非同期で行うため、画面は評価済みになるまでこのデータを再取得します。
+ * </p>
+ */
+public class EvaluationDisplayData {
+
+	/**
+	 * 評価状態（0：評価待ち、1：評価済み、9：評価不可。受験報告がない場合はnull）
+	 */
+	private String evaluationStatus;
+
+	/**
+	 * AI予測結果
+	 */
+	private String predResult;
+
+	// getter
+	public String getEvaluationStatus() {
+		return evaluationStatus;
+	}
+
+	public String getPredResult() {
+		return predResult;
+	}
+
+	// setter
+	public void setEvaluationStatus(String evaluationStatus) {
+		this.evaluationStatus = evaluationStatus;
+	}
+
+	public void setPredResult(String predResult) {
+		this.predResult = predResult;
+	}
+
+	@Override
+	public String toString() {
+		return "EvaluationDisplayData{" +
+				"evaluationStatus='" + evaluationStatus + '\'' +
+				", predResult='" + predResult + '\'' +
+				'}';
+	}
+}
@@ -0,0 +1,41 @@
+package com.api.domain.models.entities;
+
+/**
+ * 画面に表示するダッシュボードの1ページ分の情報を管理するエンティティクラスです。
+ *
+ * <p>
+ * ダッシュボードの情報に加え、絞り込み条件に該当する全件数と次ページのカーソルを保持します。<br>
+ * 次ページが存在しない場合、カーソルはnullとなります。
+ * <p>
+ * <strong>リストにnullは含まれません</strong>
+ */
+public class DashBoardPageDisplayEntity extends DashBoardDisplayEntity {
+
+	/**
+	 * 絞り込み条件に該当する全件数
+	 */
+	private int totalCount;
+
+	/**
+	 * 次ページのカーソル
+	 */
+	private String nextCursor;
+
+	// gettter
+	public int getTotalCount() {
+		return totalCount;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	// setter
+	public void setTotalCount(int totalCount) {
+		this.totalCount = totalCount;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+}
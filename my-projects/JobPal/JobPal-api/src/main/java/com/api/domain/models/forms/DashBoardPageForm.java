@@ -0,0 +1,232 @@
+package com.api.domain.models.forms;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * 就職活動ダッシュボードのページ表示に必要な入力値を保持するクラスです。
+ *
+ * <p>
+ * 各項目のデータ仕様は基本設計書を参照してください。<br>
+ * 絞り込み条件は未指定の場合、絞り込みを行いません。
+ */
+public class DashBoardPageForm {
+
+	/**
+	 * ユーザID（メールアドレス）
+	 *
+	 * 空白禁止、メールアドレス形式
+	 */
+	@NotBlank(message = "{require_check}")
+	@Email(message = "{email_check}")
+	private String userId;
+
+	/**
+	 * 権限
+	 *
+	 * 空白禁止、0～3のいずれか
+	 * 0：一般、1：管理者、2：システム管理者、3: 事務
+	 */
+	@NotBlank(message = "{require_check}")
+	@Pattern(regexp = "^(0|1|2|3)$")
+	private String grant;
+
+	/**
+	 * カーソル（前ページのレスポンスのnextCursor）
+	 *
+	 * 任意、未指定の場合は先頭ページ
+	 */
+	@Pattern(regexp = "^[A-Za-z0-9_-]+$")
+	private String cursor;
+
+	/**
+	 * 取得件数
+	 *
+	 * 任意、1～200、未指定の場合は50
+	 */
+	@Min(1)
+	@Max(200)
+	private Integer limit;
+
+	/**
+	 * 並び替え項目
+	 *
+	 * 任意、startTime：開始日時、jobSearchStatus：就職活動状態、eventCategory：イベント区分
+	 * 未指定の場合は開始日時
+	 */
+	@Pattern(regexp = "^(startTime|jobSearchStatus|eventCategory)$")
+	private String sortKey;
+
+	/**
+	 * 並び順
+	 *
+	 * 任意、asc：昇順、desc：降順、未指定の場合は降順
+	 */
+	@Pattern(regexp = "^(asc|desc)$")
+	private String sortOrder;
+
+	/**
+	 * 学科
+	 *
+	 * 任意、1文字
+	 */
+	@Pattern(regexp = "^.$")
+	private String department;
+
+	/**
+	 * 学年
+	 *
+	 * 任意、1文字の数字
+	 */
+	@Pattern(regexp = "^[0-9]$")
+	private String grade;
+
+	/**
+	 * クラス
+	 *
+	 * 任意、2文字
+	 */
+	@Pattern(regexp = "^.{2}$")
+	private String className;
+
+	/**
+	 * 就職活動状態
+	 *
+	 * 任意、2文字の数字
+	 */
+	@Pattern(regexp = "^[0-9]{2}$")
+	private String jobSearchStatus;
+
+	/**
+	 * イベント区分
+	 *
+	 * 任意、1文字の数字
+	 */
+	@Pattern(regexp = "^[0-9]$")
+	private String eventCategory;
+
+	/**
+	 * 開始日の下限（この日を含む）
+	 *
+	 * 任意、yyyy-MM-dd形式
+	 */
+	@Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}$")
+	private String dateFrom;
+
+	/**
+	 * 開始日の上限（この日を含む）
+	 *
+	 * 任意、yyyy-MM-dd形式
+	 */
+	@Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}$")
+	private String dateTo;
+
+	// getter
+	public String getUserId() {
+		return userId;
+	}
+
+	public String getGrant() {
+		return grant;
+	}
+
+	public String getCursor() {
+		return cursor;
+	}
+
+	public Integer getLimit() {
+		return limit;
+	}
+
+	public String getSortKey() {
+		return sortKey;
+	}
+
+	public String getSortOrder() {
+		return sortOrder;
+	}
+
+	public String getDepartment() {
+		return department;
+	}
+
+	public String getGrade() {
+		return grade;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public String getJobSearchStatus() {
+		return jobSearchStatus;
+	}
+
+	public String getEventCategory() {
+		return eventCategory;
+	}
+
+	public String getDateFrom() {
+		return dateFrom;
+	}
+
+	public String getDateTo() {
+		return dateTo;
+	}
+
+	// setter
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	public void setGrant(String grant) {
+		this.grant = grant;
+	}
+
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public void setLimit(Integer limit) {
+		this.limit = limit;
+	}
+
+	public void setSortKey(String sortKey) {
+		this.sortKey = sortKey;
+	}
+
+	public void setSortOrder(String sortOrder) {
+		this.sortOrder = sortOrder;
+	}
+
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+
+	public void setGrade(String grade) {
+		this.grade = grade;
+	}
+
+	public void setClassName(String className) {
+		this.className = className;
+	}
+
+	public void setJobSearchStatus(String jobSearchStatus) {
+		this.jobSearchStatus = jobSearchStatus;
+	}
+
+	public void setEventCategory(String eventCategory) {
+		this.eventCategory = eventCategory;
+	}
+
+	public void setDateFrom(String dateFrom) {
+		this.dateFrom = dateFrom;
+	}
+
+	public void setDateTo(String dateTo) {
+		this.dateTo = dateTo;
+	}
+}
@@ -0,0 +1,161 @@
+package com.api.domain.repositories;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.api.jobpal.common.base.DBDataConversion;
+
+/**
+ * バッチ処理の実行権に関わるDBアクセスを実現するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>実行権の取得</li>
+ * <li>実行権の期限の延長</li>
+ * <li>実行権の解放</li>
+ * </ul>
+ * <p>
+ * 実行権はバッチ処理の名前ごとに1行で管理し、条件付きの更新で取得するため、
+ * 複数のインスタンスが同時に取得を試みても取得できるのは1つのみです。<br>
+ * 処理が継続できない場合は、呼び出し元へ例外をスローします。<br>
+ * <strong>呼び出し元では適切な例外処理を行ってください。</strong>
+ */
+@Repository
+public class BatchLeaseRepository {
+
+	/**
+	 * SQL 実行権の取得
+	 *
+	 * <p>
+	 * 期限切れ（保持していたインスタンスの停止を含む）で、かつ指定された実行枠が未実行の場合のみ取得します。
+	 * </p>
+	 */
+	private static final String SQL_UPDATE_BATCH_LEASE_ACQUIRE = "UPDATE "
+			+ "BATCH_LEASE_T "
+			+ "SET "
+			+ "owner_id = :ownerId , "
+			+ "lease_until = :leaseUntil , "
+			+ "window_start = :windowStart , "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "lease_name = :leaseName "
+			+ "AND lease_until < :now "
+			+ "AND window_start < :windowStart ";
+
+	/**
+	 * SQL 実行権の初回登録
+	 */
+	private static final String SQL_INSERT_BATCH_LEASE = "INSERT INTO "
+			+ "BATCH_LEASE_T (lease_name, owner_id, lease_until, window_start, updated_at) "
+			+ "VALUES "
+			+ "( :leaseName , :ownerId , :leaseUntil , :windowStart , :updatedAt )";
+
+	/**
+	 * SQL 実行権の期限を更新
+	 */
+	private static final String SQL_UPDATE_BATCH_LEASE_UNTIL = "UPDATE "
+			+ "BATCH_LEASE_T "
+			+ "SET "
+			+ "lease_until = :leaseUntil , "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "lease_name = :leaseName "
+			+ "AND owner_id = :ownerId ";
+
+	/**
+	 * SQL 実行権の存在確認
+	 */
+	private static final String SQL_SELECT_BATCH_LEASE_COUNT = "SELECT "
+			+ "COUNT(*) "
+			+ "FROM "
+			+ "BATCH_LEASE_T "
+			+ "WHERE "
+			+ "lease_name = :leaseName ";
+
+	/**
+	 * 更新が成功した場合の期待値
+	 */
+	private static final int EXPECTED_UPDATE_COUNT = 1;
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * 実行権を取得します。
+	 *
+	 * <p>
+	 * 実行権が未登録の場合は登録して取得します。同時に登録された場合は、先に登録したインスタンスのみ取得できます。
+	 * </p>
+	 *
+	 * @param leaseName   バッチ処理の名前
+	 * @param ownerId     取得するインスタンスのID
+	 * @param windowStart 実行枠の開始日時
+	 * @param leaseUntil  実行権の期限
+	 * @return 取得できた場合はtrue、他のインスタンスが保持中または実行枠が実行済みの場合はfalseを返却します。
+	 */
+	public Boolean acquireBatchLease(String leaseName, String ownerId, Timestamp windowStart, Timestamp leaseUntil) {
+		// 現在時刻を取得
+		Timestamp now = dbdc.getNowTime();
+
+		// 期限切れの実行権を取得
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_BATCH_LEASE_ACQUIRE,
+				ownerId, leaseUntil, windowStart, now, leaseName, now, windowStart);
+		if (jdbc.update(SQL_UPDATE_BATCH_LEASE_ACQUIRE, params) == EXPECTED_UPDATE_COUNT) {
+			return true;
+		}
+
+		// 登録済みの場合は他のインスタンスが保持中
+		params = dbdc.mapInputValues(SQL_SELECT_BATCH_LEASE_COUNT, leaseName);
+		if (jdbc.queryForObject(SQL_SELECT_BATCH_LEASE_COUNT, params, Integer.class) > 0) {
+			return false;
+		}
+
+		// 未登録の場合は登録して取得
+		try {
+			params = dbdc.mapInputValues(SQL_INSERT_BATCH_LEASE, leaseName, ownerId, leaseUntil, windowStart, now);
+			return jdbc.update(SQL_INSERT_BATCH_LEASE, params) == EXPECTED_UPDATE_COUNT;
+		} catch (DuplicateKeyException e) {
+			// 他のインスタンスが先に登録した
+			return false;
+		}
+	}
+
+	/**
+	 * 保持している実行権の期限を更新します。
+	 *
+	 * <p>
+	 * 実行権の延長と解放（期限を現在時刻にする）に使用します。
+	 * </p>
+	 *
+	 * @param leaseName  バッチ処理の名前
+	 * @param ownerId    保持しているインスタンスのID
+	 * @param leaseUntil 新しい期限
+	 * @return 更新できた場合はtrue、実行権を保持していない場合はfalseを返却します。
+	 */
+	public Boolean updateBatchLeaseUntil(String leaseName, String ownerId, Timestamp leaseUntil) {
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_BATCH_LEASE_UNTIL,
+				leaseUntil, dbdc.getNowTime(), leaseName, ownerId);
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_BATCH_LEASE_UNTIL, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+}
@@ -2,8 +2,10 @@ package com.api.domain.repositories;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -275,74 +277,17 @@ public class CertificateIssuanceDashBoardRepository {
 	 * @return ダッシュボードデータのリスト
 	 */
 	public List<CertificateIssuanceDashBoardData> selectCertificateIssuanceDashBoard() {
-		// ダッシュボードデータリストの初期化
-		List<CertificateIssuanceDashBoardData> certificateIssuanceDashBoardDataList = new ArrayList<>();
-
 		// クエリパラメータを設定（今回は空のマップ）
 		Map<String, Object> params = new HashMap<>();
 
 		// データベースからダッシュボードデータを取得
-		List<Map<String, Object>> resultCertificateIssuanceDashBoardList = jdbc
-				.queryForList(SQL_SELECT_CERTIFICATE_ISSUANCE_DASHBOARD_ADMIN, params);
-
-		// クエリの列名を抽出
-		String[] queryList = dbdc.extractColumnNames(SQL_SELECT_CERTIFICATE_ISSUANCE_DASHBOARD_ADMIN);
-
-		// 郵送料および郵送許容量を取得
-		MailingData mailingData = cir.selectMailing();
-		Integer mailFee = mailingData.getPostalFee(); // 郵送料
-		Integer mailWeight = mailingData.getPostalMaxWeight(); // 郵送可能重量
-
-		// ダッシュボードデータを整形
-		for (Map<String, Object> resultData : resultCertificateIssuanceDashBoardList) {
-			String certificateIssueId = dbdc.getStringValue(resultData, queryList[0]);
-
-			// 郵送区分フラグの判定
-			Boolean mediaTypeFlg = "2".equals(dbdc.getStringValue(resultData, queryList[5]));
-
-			// 既存データの検索
-			CertificateIssuanceDashBoardData existingData = findExistingCertificateData(
-					certificateIssuanceDashBoardDataList, certificateIssueId);
-
-			if (existingData != null) {
-				// 既存データがある場合、証明書データを追加および更新
-				CertificateData certificateData = packageCertificateDashBoard(resultData);
-				existingData.setUpTotalAmount(dbdc.getIntegerValue(resultData, "total_fee"));
-
-				// 重量計算前後の差分を計算
-				Integer beforeTotalWeight = existingData.getTotalWeight();
-				existingData.setUpTotalWeight(dbdc.getIntegerValue(resultData, "certificate_quantity")
-						* dbdc.getIntegerValue(resultData, "certificate_weight"));
-				Integer afterTotalWeight = existingData.getTotalWeight();
-
-				if (mediaTypeFlg) {
-					// 郵送料の再計算
-					Integer totalBeforeMailFee = (int) (mailFee * Math.ceil((double) beforeTotalWeight / mailWeight));
-					Integer totalAfterMailFee = (int) (mailFee * Math.ceil((double) afterTotalWeight / mailWeight));
-					existingData.setUpTotalAmount(totalAfterMailFee - totalBeforeMailFee);
-				}
-
-				// 証明書リストに追加
-				existingData.getCertificateList().add(certificateData);
-			} else {
-				// 新規データの場合、証明書発行データを作成
-				CertificateIssuanceDashBoardData newCertificateIssuanceDashBoardData = packageCertificateIssuanceDashBoard(
-						resultData, queryList);
-
-				if (mediaTypeFlg) {
-					// 郵送料の計算
-					Integer totalMailFee = (int) (mailFee
-							* Math.ceil((double) newCertificateIssuanceDashBoardData.getTotalWeight() / mailWeight));
-					newCertificateIssuanceDashBoardData.setUpTotalAmount(totalMailFee);
-				}
-
-				// ダッシュボードデータリストに追加
-				certificateIssuanceDashBoardDataList.add(newCertificateIssuanceDashBoardData);
-			}
-		}
+		List<CertificateIssuanceDashBoardData> resultCertificateIssuanceDashBoardList = jdbc
+				.query(SQL_SELECT_CERTIFICATE_ISSUANCE_DASHBOARD_ADMIN, params,
+						new CertificateIssuanceDashBoardRowMapper());
 
-		// 完成したダッシュボードデータリストを返却
-		return certificateIssuanceDashBoardDataList;
+		// 証明書発行IDごとにデータを集約して返却
+		return groupCertificateIssuanceDashBoard(resultCertificateIssuanceDashBoardList,
+				CertificateIssuanceDashBoardData::getCertificateIssueId, Function.identity());
 	}
 
 	/**
@@ -358,12 +303,9 @@ public class CertificateIssuanceDashBoardRepository {
 	 * @return ダッシュボードリスト。入力エラー時またはデータ取得に失敗した場合は空のリストを返却
 	 */
 	public List<CertificateIssuanceDashBoardData> selectCertificateIssuanceDashBoard(String userId, String userType) {
-		// ダッシュボードデータリストを初期化
-		List<CertificateIssuanceDashBoardData> certificateIssuanceDashBoardDataList = new ArrayList<>();
-
 		// ユーザ区分がTABLE_MAPに存在しない場合、空リストを返却
 		if (!TABLE_MAP.containsKey(userType)) {
-			return certificateIssuanceDashBoardDataList;
+			return new ArrayList<>();
 		}
 
 		// ユーザ区分に応じたSQLを取得
@@ -373,66 +315,12 @@ public class CertificateIssuanceDashBoardRepository {
 		Map<String, Object> params = dbdc.mapInputValues(sql, userId);
 
 		// データベースから結果を取得
-		List<Map<String, Object>> resultCertificateIssuanceDashBoardList = jdbc.queryForList(sql, params);
-
-		// クエリの列名を取得
-		String[] queryList = dbdc.extractColumnNames(sql);
+		List<CertificateIssuanceDashBoardData> resultCertificateIssuanceDashBoardList = jdbc.query(sql, params,
+				new CertificateIssuanceDashBoardRowMapper());
 
-		// 郵送料および郵送許容量を取得
-		MailingData mailingData = cir.selectMailing();
-		Integer mailFee = mailingData.getPostalFee(); // 郵送料
-		Integer mailWeight = mailingData.getPostalMaxWeight(); // 郵送可能重量
-
-		// データを整形
-		for (Map<String, Object> resultData : resultCertificateIssuanceDashBoardList) {
-			String certificateIssueId = dbdc.getStringValue(resultData, queryList[0]);
-
-			// 郵送区分チェック
-			Boolean mediaTypeFlg = "2".equals(dbdc.getStringValue(resultData, queryList[5]));
-
-			// 既存データの検索
-			CertificateIssuanceDashBoardData existingData = findExistingCertificateData(
-					certificateIssuanceDashBoardDataList, certificateIssueId);
-
-			if (existingData != null) {
-				// 既存データがある場合、証明書データを追加および更新
-				CertificateData certificateData = packageCertificateDashBoard(resultData);
-				existingData.setUpTotalAmount(dbdc.getIntegerValue(resultData, "total_fee"));
-
-				// 重量計算前後の差分を計算
-				Integer beforeTotalWeight = existingData.getTotalWeight();
-				existingData.setUpTotalWeight(dbdc.getIntegerValue(resultData, "certificate_quantity")
-						* dbdc.getIntegerValue(resultData, "certificate_weight"));
-				Integer afterTotalWeight = existingData.getTotalWeight();
-
-				if (mediaTypeFlg) {
-					// 郵送料の再計算
-					Integer totalBeforeMailFee = (int) (mailFee * Math.ceil((double) beforeTotalWeight / mailWeight));
-					Integer totalAfterMailFee = (int) (mailFee * Math.ceil((double) afterTotalWeight / mailWeight));
-					existingData.setUpTotalAmount(totalAfterMailFee - totalBeforeMailFee);
-				}
-
-				// 証明書リストにデータを追加
-				existingData.getCertificateList().add(certificateData);
-			} else {
-				// 新規データの場合、証明書発行データを作成
-				CertificateIssuanceDashBoardData newCertificateIssuanceDashBoardData = packageCertificateIssuanceDashBoard(
-						resultData, queryList);
-
-				if (mediaTypeFlg) {
-					// 郵送料の計算
-					Integer totalMailFee = (int) (mailFee
-							* Math.ceil((double) newCertificateIssuanceDashBoardData.getTotalWeight() / mailWeight));
-					newCertificateIssuanceDashBoardData.setUpTotalAmount(totalMailFee);
-				}
-
-				// ダッシュボードデータリストに追加
-				certificateIssuanceDashBoardDataList.add(newCertificateIssuanceDashBoardData);
-			}
-		}
-
-		// 完成したダッシュボードデータリストを返却
-		return certificateIssuanceDashBoardDataList;
+		// 証明書発行IDごとにデータを集約して返却
+		return groupCertificateIssuanceDashBoard(resultCertificateIssuanceDashBoardList,
+				CertificateIssuanceDashBoardData::getCertificateIssueId, Function.identity());
 	}
 
 	/**
@@ -617,19 +505,56 @@ public class CertificateIssuanceDashBoardRepository {
 	}
 
 	/**
-	 * 指定された通知リストから、同じ証明書発行IDを持つデータを検索します。
+	 * 証明書1種類分の行を集約キーごとに集約し、郵送料を加算します。
+	 *
+	 * <p>
+	 * 集約キーの索引を使用して1回の走査で集約し、郵送料は集約後の合計重量から1回だけ計算します。<br>
+	 * 各行の証明書発行ダッシュボードデータには、その行の金額・重量・証明書1件が格納されている必要があります。<br>
+	 * 集約後のリストは、各集約キーが最初に現れた行の順序を保持します。
+	 * </p>
 	 *
-	 * @param dashBoardList      ダッシュボードデータのリスト
-	 * @param certificateIssueId 検索したい証明書発行ID
-	 * @return 一致するダッシュボードデータ。存在しない場合はnullを返却します。
+	 * @param <T>        集約するデータの型
+	 * @param resultList SQLで取得した証明書1種類分の行のリスト
+	 * @param keyOf      集約キー（証明書発行ID、通知IDなど）の取得処理
+	 * @param dataOf     行に含まれる証明書発行ダッシュボードデータの取得処理
+	 * @return 集約後のデータのリスト
 	 */
-	private CertificateIssuanceDashBoardData findExistingCertificateData(
-			List<CertificateIssuanceDashBoardData> dashBoardList, String certificateIssueId) {
-		for (CertificateIssuanceDashBoardData data : dashBoardList) {
-			if (certificateIssueId.equals(data.getCertificateIssueId())) {
-				return data;
+	<T> List<T> groupCertificateIssuanceDashBoard(List<T> resultList, Function<T, String> keyOf,
+			Function<T, CertificateIssuanceDashBoardData> dataOf) {
+		// 集約キーごとの索引（最初に現れた行を集約先とする）
+		Map<String, T> groupMap = new LinkedHashMap<>();
+
+		for (T result : resultList) {
+			T group = groupMap.putIfAbsent(keyOf.apply(result), result);
+			if (group == null) {
+				continue;
 			}
+
+			// 既存データがある場合、金額・重量・証明書データを加算
+			CertificateIssuanceDashBoardData groupData = dataOf.apply(group);
+			CertificateIssuanceDashBoardData resultData = dataOf.apply(result);
+			groupData.setUpTotalAmount(resultData.getTotalAmount());
+			groupData.setUpTotalWeight(resultData.getTotalWeight());
+			groupData.getCertificateList().addAll(resultData.getCertificateList());
+		}
+
+		if (groupMap.isEmpty()) {
+			return new ArrayList<>();
 		}
-		return null;
+
+		// 郵送料および郵送許容量を取得
+		MailingData mailingData = cir.selectMailing();
+		Integer mailFee = mailingData.getPostalFee(); // 郵送料
+		Integer mailWeight = mailingData.getPostalMaxWeight(); // 郵送可能重量
+
+		// 郵送の場合、合計重量から郵送料を計算して加算
+		for (T group : groupMap.values()) {
+			CertificateIssuanceDashBoardData groupData = dataOf.apply(group);
+			if ("2".equals(groupData.getMediaType())) {
+				groupData.setUpTotalAmount(mailFee * Math.ceilDiv(groupData.getTotalWeight(), mailWeight));
+			}
+		}
+
+		return new ArrayList<>(groupMap.values());
 	}
 }
@@ -0,0 +1,70 @@
+package com.api.domain.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.api.domain.models.dbdata.CertificateData;
+import com.api.domain.models.dbdata.CertificateIssuanceDashBoardData;
+import com.api.jobpal.common.base.IndexedRowMapper;
+
+/**
+ * 証明書発行ダッシュボード一覧の検索結果を`CertificateIssuanceDashBoardData`へ格納するクラスです。
+ *
+ * <p>
+ * 検索結果の1行は証明書1種類分のため、証明書リストには1件の証明書データのみを格納します。<br>
+ * 同じ証明書発行IDの行の集約は呼び出し元で行ってください。<br>
+ * インスタンスはSQLの実行ごとに生成してください。
+ * </p>
+ */
+class CertificateIssuanceDashBoardRowMapper extends IndexedRowMapper<CertificateIssuanceDashBoardData> {
+
+	CertificateIssuanceDashBoardRowMapper() {
+		super("certificate_issue_id",
+				"student_user_id",
+				"student_user_name",
+				"student_id",
+				"status",
+				"media_type",
+				"latest_date",
+				"total_fee",
+				"certificate_quantity",
+				"certificate_weight",
+				"certificate_id",
+				"certificate_name");
+	}
+
+	@Override
+	protected CertificateIssuanceDashBoardData mapRow(ResultSet rs, int[] columns) throws SQLException {
+		// 証明書発行ダッシュボードデータの初期化
+		CertificateIssuanceDashBoardData certificateIssuanceDashBoardData = new CertificateIssuanceDashBoardData();
+
+		// 各項目の設定
+		certificateIssuanceDashBoardData.setCertificateIssueId(getString(rs, columns[0]));
+		certificateIssuanceDashBoardData.setStudentUserId(getString(rs, columns[1]));
+		certificateIssuanceDashBoardData.setStudentUserName(getString(rs, columns[2]));
+		certificateIssuanceDashBoardData.setStudentId(getInteger(rs, columns[3]));
+
+		// ステータス、メディアタイプ、最新日付の設定
+		certificateIssuanceDashBoardData.setStatus(getString(rs, columns[4]));
+		certificateIssuanceDashBoardData.setMediaType(getString(rs, columns[5]));
+		certificateIssuanceDashBoardData.setLatestDate(getDate(rs, columns[6]));
+
+		// 合計金額・合計重量の設定
+		Integer certificateQuantity = getInteger(rs, columns[8]);
+		certificateIssuanceDashBoardData.setTotalAmount(getInteger(rs, columns[7]));
+		certificateIssuanceDashBoardData.setTotalWeight(certificateQuantity * getInteger(rs, columns[9]));
+
+		// 証明書データのリストを作成し、設定
+		CertificateData certificateData = new CertificateData();
+		certificateData.setCertificateQuantity(certificateQuantity);
+		certificateData.setCertificateId(getString(rs, columns[10]));
+		certificateData.setCertificateName(getString(rs, columns[11]));
+		List<CertificateData> certificateDataList = new ArrayList<>();
+		certificateDataList.add(certificateData);
+		certificateIssuanceDashBoardData.setCertificateList(certificateDataList);
+
+		return certificateIssuanceDashBoardData;
+	}
+}
@@ -1,6 +1,8 @@
 package com.api.domain.repositories;
 
 import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -10,6 +12,7 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.stereotype.Repository;
 
 import com.api.domain.models.dbdata.CertificateData;
@@ -76,6 +79,25 @@ public class CertificateIssuanceRepository {
 			"WHERE " +
 			"status = '1'";
 
+	/**
+	 * SQL 支払期限（承認日の2日後）を過ぎた証明書発行と宛先を取得
+	 *
+	 * <p>
+	 * 「承認日 + 2日 &lt; 本日」を「承認日 &lt; 本日 - 2日」として比較します。
+	 * </p>
+	 */
+	private static final String SQL_SELECT_CERTIFICATE_ISSUANCE_PAYMENT_DUE = "SELECT " +
+			"certificate_issue_id, " +
+			"student_user_id, " +
+			"teacher_user_id " +
+			"FROM " +
+			"CERTIFICATE_ISSUANCE_T " +
+			"WHERE " +
+			"status = '1' " +
+			"AND approval_date < :cutoffDate " +
+			"AND certificate_issue_id IN (:certificateIssueIdList ) " +
+			"ORDER BY certificate_issue_id";
+
 	/**
 	 * SQL 郵送料金IDの最大値を取得
 	 */
@@ -327,6 +349,12 @@ public class CertificateIssuanceRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * バッチ処理の期限リポジトリ。
+	 */
+	@Autowired
+	private DeadlineRepository deadlineRepository;
+
 	/**
 	 * 証明書発行の状態を取得します。
 	 *
@@ -409,6 +437,40 @@ public class CertificateIssuanceRepository {
 		return resultMap;
 	}
 
+	/**
+	 * 支払期限を過ぎた証明書発行と、削除通知の宛先を取得します。
+	 *
+	 * <p>
+	 * 指定された証明書発行IDのうち、支払待ちで承認日の2日後が本日より前のものを1回の問い合わせで取得します。
+	 * </p>
+	 *
+	 * @param certificateIssueIdList 対象の証明書発行IDのリスト
+	 * @param today                  本日の日付
+	 * @return 証明書発行ID（certificateIssueId）、学生（student）、担任（teacher）のユーザIDのマップのリスト
+	 */
+	public List<Map<String, String>> selectPaymentDueCertificateIssuanceList(List<String> certificateIssueIdList,
+			LocalDate today) {
+		if (certificateIssueIdList.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		// パラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CERTIFICATE_ISSUANCE_PAYMENT_DUE,
+				Date.valueOf(today.minusDays(2)), certificateIssueIdList);
+
+		// SQLクエリを実行し、結果を取得
+		List<Map<String, Object>> result = jdbc.queryForList(SQL_SELECT_CERTIFICATE_ISSUANCE_PAYMENT_DUE, params);
+
+		// 結果をマップに変換
+		return result.stream().map(map -> {
+			Map<String, String> resultMap = new HashMap<>();
+			resultMap.put("certificateIssueId", dbdc.getStringValue(map, "certificate_issue_id"));
+			resultMap.put("student", dbdc.getStringValue(map, "student_user_id"));
+			resultMap.put("teacher", dbdc.getStringValue(map, "teacher_user_id"));
+			return resultMap;
+		}).collect(Collectors.toList());
+	}
+
 	/**
 	 * 全証明書情報を取得します。
 	 *
@@ -555,6 +617,11 @@ public class CertificateIssuanceRepository {
 		// SQLクエリを実行して更新件数を取得
 		int updateRow = jdbc.update(SQL_INSERT_CERTIFICATE_ISSUANCE_ONE, params);
 
+		// 再通知・支払の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			deadlineRepository.refreshCertificateIssuance(certificateIssuanceEntity.getCertificateIssueId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -614,6 +681,11 @@ public class CertificateIssuanceRepository {
 		// SQLクエリを実行して更新件数を取得
 		int updateRow = jdbc.update(SQL_INSERT_PAPER_CERTIFICATE_ISSUANCE_ONE, params);
 
+		// 再通知・支払の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			deadlineRepository.refreshCertificateIssuance(certificateIssuanceId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -724,6 +796,11 @@ public class CertificateIssuanceRepository {
 				certificateIssueId);
 		int updateRow = jdbc.update(SQL_UPDATE_CERTIFICATE_ISSUANCE_STATUS_ONE, params);
 
+		// 再通知・支払の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			deadlineRepository.refreshCertificateIssuance(certificateIssueId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -801,6 +878,11 @@ public class CertificateIssuanceRepository {
 		// SQLクエリを実行して更新件数を取得
 		int updateRow = jdbc.update(sql, params);
 
+		// 再通知・支払の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			deadlineRepository.refreshCertificateIssuance(certificateIssueId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -913,9 +995,45 @@ public class CertificateIssuanceRepository {
 		// SQLクエリを実行し、削除件数を取得
 		int updateRow = jdbc.update(SQL_DELETE_CERTIFICATE_ISSUANCE_ONE, params);
 
+		// 再通知・支払の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			deadlineRepository.refreshCertificateIssuance(certificateIssueId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
 	}
 
+	/**
+	 * 複数の証明書発行をバッチ処理で削除します（物理削除）。
+	 *
+	 * <p>
+	 * この処理を実行する際は、関連する通知を先に削除し、同一トランザクションで実行してください。
+	 * </p>
+	 *
+	 * @param certificateIssueIdList 証明書発行IDのリスト
+	 * @return 削除した件数
+	 */
+	public int deleteCertificateIssuanceList(List<String> certificateIssueIdList) {
+		if (certificateIssueIdList.isEmpty()) {
+			return 0;
+		}
+
+		// 証明書発行IDごとのパラメータを設定
+		List<Map<String, Object>> paramsList = certificateIssueIdList.stream()
+				.map(certificateIssueId -> dbdc.mapInputValues(SQL_DELETE_CERTIFICATE_ISSUANCE_ONE, certificateIssueId))
+				.collect(Collectors.toList());
+
+		// SQLクエリをバッチで実行し、削除件数を取得
+		int[] updateRows = jdbc.batchUpdate(SQL_DELETE_CERTIFICATE_ISSUANCE_ONE,
+				SqlParameterSourceUtils.createBatch(paramsList));
+
+		// 再通知・支払の期限に反映
+		certificateIssueIdList.forEach(deadlineRepository::refreshCertificateIssuance);
+
+		// 削除件数を返却
+		return Arrays.stream(updateRows).map(updateRow -> Math.max(updateRow, 0)).sum();
+	}
+
 }
@@ -0,0 +1,497 @@
+package com.api.domain.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.api.domain.models.displaydata.CsvDisplayData;
+import com.api.jobpal.common.base.DBDataConversion;
+import com.api.jobpal.common.base.TransactionHooks;
+
+/**
+ * 担任のクラスごとの就職活動の集計値をメモリ上で保持するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>担任のクラスの集計値取得（活動状況、活動地域、活動形式）</li>
+ * <li>就職活動報告・申請の登録/更新時の差分反映</li>
+ * <li>ユーザの更新/削除時の差分反映</li>
+ * <li>集計値の再構築</li>
+ * </ul>
+ * <p>
+ * 集計値は就職活動ごとの寄与分（件数）とクラスごとの合計で構成し、
+ * 更新があった就職活動の寄与分だけを再取得して合計に差分を反映します。<br>
+ * 初回の取得時、および差分の反映に失敗した後の取得時は全件から再構築します。<br>
+ * 構築済みでない間にコミットされた更新は保留し、構築の完了前に反映します。
+ * </p>
+ * <p>
+ * 集計値はアプリケーションのインスタンスごとに保持します。<br>
+ * 他のインスタンスやSQLで直接更新した場合は{@link #rebuild()}で再構築してください。
+ * </p>
+ */
+@Repository
+public class ClassStatisticsRepository {
+	/**
+	 * 集計項目の数（活動中、活動終了、東京、札幌、その他地域、オンライン、自宅、学校）
+	 */
+	private static final int COUNTER_SIZE = 8;
+
+	/**
+	 * SQL 就職活動ごとの集計値への寄与分を取得
+	 *
+	 * <p>
+	 * 集計条件は{@link CsvRepository}の担任のクラスの集計と同一です。
+	 * </p>
+	 */
+	private static final String SQL_SELECT_CONTRIBUTION = "SELECT "
+			+ "JST.job_search_id, "
+			+ "UM.user_id, "
+			+ "TSUM.department, "
+			+ "TSUM.grade, "
+			+ "TSUM.class_name, "
+			+ "CASE WHEN JSL.result <> '5' THEN 1 ELSE 0 END AS students_in_action, "
+			+ "CASE WHEN JSL.result = '5' THEN 1 ELSE 0 END AS students_of_end, "
+			+ "CASE WHEN JSL.location_type = '1' THEN 1 ELSE 0 END AS activity_location_in_tokyo, "
+			+ "CASE WHEN JSL.location_type = '0' THEN 1 ELSE 0 END AS activity_location_in_sapporo, "
+			+ "CASE WHEN JSL.location_type = '2' THEN 1 ELSE 0 END AS activity_location_in_other, "
+			+ "CASE WHEN JSL.job_application_id IS NOT NULL "
+			+ "AND (JSL.location IS NULL OR JSL.location NOT IN ('自宅', '学校')) THEN 1 ELSE 0 END "
+			+ "AS activity_form_in_online, "
+			+ "CASE WHEN JSL.location = '自宅' THEN 1 ELSE 0 END AS activity_form_in_local, "
+			+ "CASE WHEN JSL.location = '学校' THEN 1 ELSE 0 END AS activity_form_in_other "
+			+ "FROM "
+			+ "JOB_SEARCH_T JST "
+			+ "INNER JOIN USER_M UM "
+			+ "ON UM.user_id = JST.student_user_id "
+			+ "INNER JOIN TEACHER_STUDENT_USER_M TSUM "
+			+ "ON TSUM.user_id = UM.user_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T JSL "
+			+ "ON JST.job_search_id = JSL.job_search_id "
+			+ "WHERE UM.user_type = '0' "
+			+ "AND UM.user_status = '0'";
+
+	/**
+	 * SQL 指定された就職活動の寄与分を取得
+	 */
+	private static final String SQL_SELECT_CONTRIBUTION_BY_JOB_SEARCH = SQL_SELECT_CONTRIBUTION + " "
+			+ "AND JST.job_search_id = :jobSearchId";
+
+	/**
+	 * SQL 指定された学生の就職活動の寄与分を取得
+	 */
+	private static final String SQL_SELECT_CONTRIBUTION_BY_STUDENT = SQL_SELECT_CONTRIBUTION + " "
+			+ "AND UM.user_id = :userId";
+
+	/**
+	 * SQL 担任のクラスを取得
+	 */
+	private static final String SQL_SELECT_TEACHER_CLASS = "SELECT "
+			+ "department, "
+			+ "grade, "
+			+ "class_name "
+			+ "FROM "
+			+ "TEACHER_STUDENT_USER_M "
+			+ "WHERE user_id = :userId";
+
+	/**
+	 * SQL 担任のユーザIDの一覧を取得
+	 */
+	private static final String SQL_SELECT_TEACHER_USER_ID_LIST = "SELECT "
+			+ "user_id "
+			+ "FROM "
+			+ "USER_M "
+			+ "WHERE user_type = '1'";
+
+	/**
+	 * 集計値に含まれない担任（クラス未設定）を表すキー
+	 */
+	private static final String NO_CLASS = "";
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * 就職活動IDごとの寄与分（更新は{@code this}で排他）
+	 */
+	private Map<String, Contribution> contributions = new HashMap<>();
+
+	/**
+	 * クラスごとの集計値（値の配列は置き換えのみ行い、直接変更しない）
+	 */
+	private volatile Map<String, int[]> classCounters = new ConcurrentHashMap<>();
+
+	/**
+	 * 担任のユーザIDごとのクラスのキー
+	 */
+	private final Map<String, String> teacherClassKeys = new ConcurrentHashMap<>();
+
+	/**
+	 * 集計値が構築済みかどうか（差分の反映に失敗した場合はfalseに戻す。構築済みにする場合は{@link #pendingLock}で排他）
+	 */
+	private volatile boolean initialized = false;
+
+	/**
+	 * 保留中の更新の排他に使用するオブジェクト
+	 */
+	private final Object pendingLock = new Object();
+
+	/**
+	 * 構築済みでない間にコミットされた就職活動ID（更新は{@link #pendingLock}で排他）
+	 */
+	private final Set<String> pendingJobSearchIds = new HashSet<>();
+
+	/**
+	 * 構築済みでない間にコミットされたユーザID（更新は{@link #pendingLock}で排他）
+	 */
+	private final Set<String> pendingUserIds = new HashSet<>();
+
+	/**
+	 * 指定された担任のクラスの就職活動の集計値を取得します。
+	 *
+	 * <p>
+	 * 保持している集計値を返却します。該当する学生が存在しない場合は、すべての件数を0とします。
+	 * </p>
+	 *
+	 * @param userId 担任のユーザID
+	 * @return 集計値を格納したCSV表示データ
+	 */
+	public CsvDisplayData selectClassStatistics(String userId) {
+		if (!initialized) {
+			synchronized (this) {
+				// 構築を待っていた間に他のリクエストが構築済みの場合は再構築しない
+				if (!initialized) {
+					rebuild();
+				}
+			}
+		}
+
+		// 担任のクラスを取得し、クラスの集計値を返却
+		String classKey = teacherClassKeys.computeIfAbsent(userId, this::selectTeacherClassKey);
+		int[] counters = classCounters.get(classKey);
+		return toCsvDisplayData(counters == null ? new int[COUNTER_SIZE] : counters);
+	}
+
+	/**
+	 * 担任のユーザIDの一覧を取得します。
+	 *
+	 * @return 担任のユーザIDのリスト。データが存在しない場合は空のリストを返却します。
+	 */
+	public List<String> selectTeacherUserIdList() {
+		return jdbc.queryForList(SQL_SELECT_TEACHER_USER_ID_LIST, Map.of(), String.class);
+	}
+
+	/**
+	 * 集計値を全件から再構築します。
+	 *
+	 * <p>
+	 * 全件の取得中にコミットされた更新は取得結果に含まれない場合があるため、保留した更新を反映してから構築済みとします。
+	 * </p>
+	 *
+	 * @return 集計対象となったクラスの数
+	 */
+	public synchronized int rebuild() {
+		synchronized (pendingLock) {
+			// 開始前にコミットされた更新は全件の取得結果に含まれる
+			pendingJobSearchIds.clear();
+			pendingUserIds.clear();
+		}
+
+		Map<String, Contribution> newContributions = new HashMap<>();
+		Map<String, int[]> newClassCounters = new ConcurrentHashMap<>();
+
+		// 全就職活動の寄与分を取得し、クラスごとに合計
+		for (Contribution contribution : selectContributions(SQL_SELECT_CONTRIBUTION, Map.of()).values()) {
+			newContributions.put(contribution.jobSearchId, contribution);
+			int[] counters = newClassCounters.computeIfAbsent(contribution.classKey, key -> new int[COUNTER_SIZE]);
+			for (int i = 0; i < COUNTER_SIZE; i++) {
+				counters[i] += contribution.counters[i];
+			}
+		}
+
+		contributions = newContributions;
+		classCounters = newClassCounters;
+		teacherClassKeys.clear();
+
+		// 保留した更新がなくなるまで反映し、構築済みとする
+		while (true) {
+			Set<String> jobSearchIds;
+			Set<String> userIds;
+			synchronized (pendingLock) {
+				if (pendingJobSearchIds.isEmpty() && pendingUserIds.isEmpty()) {
+					initialized = true;
+					break;
+				}
+				jobSearchIds = new HashSet<>(pendingJobSearchIds);
+				userIds = new HashSet<>(pendingUserIds);
+				pendingJobSearchIds.clear();
+				pendingUserIds.clear();
+			}
+			jobSearchIds.forEach(this::applyJobSearch);
+			userIds.forEach(this::applyUser);
+		}
+		return classCounters.size();
+	}
+
+	/**
+	 * 指定された就職活動の寄与分を再取得し、集計値に反映します。
+	 *
+	 * <p>
+	 * トランザクション中の場合はコミット後に反映します。<br>
+	 * 反映に失敗した場合は例外をスローせず、次回の取得時に再構築します。
+	 * </p>
+	 *
+	 * @param jobSearchId 就職活動ID
+	 */
+	public void refreshJobSearch(String jobSearchId) {
+		TransactionHooks.afterCommit(() -> {
+			if (!defer(pendingJobSearchIds, jobSearchId)) {
+				runGuarded(() -> applyJobSearch(jobSearchId));
+			}
+		});
+	}
+
+	/**
+	 * 指定されたユーザの就職活動の寄与分を再取得し、集計値に反映します。
+	 *
+	 * <p>
+	 * ユーザの状態・区分・クラスの変更、および削除時に呼び出します。<br>
+	 * 担任の場合は保持しているクラスを破棄します。
+	 * </p>
+	 *
+	 * @param userId ユーザID
+	 */
+	public void refreshUser(String userId) {
+		TransactionHooks.afterCommit(() -> {
+			teacherClassKeys.remove(userId);
+			if (!defer(pendingUserIds, userId)) {
+				runGuarded(() -> applyUser(userId));
+			}
+		});
+	}
+
+	/**
+	 * 構築済みでない場合は、更新を保留して構築の完了前に反映します。
+	 *
+	 * @param pendingIds 保留する更新の集合
+	 * @param id         就職活動IDまたはユーザID
+	 * @return 保留した場合はtrue、構築済みのためすぐに反映する場合はfalse
+	 */
+	private boolean defer(Set<String> pendingIds, String id) {
+		synchronized (pendingLock) {
+			if (initialized) {
+				return false;
+			}
+			pendingIds.add(id);
+			return true;
+		}
+	}
+
+	/**
+	 * 差分の反映を行います。失敗した場合は例外をスローせず、次回の取得時に再構築します。
+	 *
+	 * @param task 反映処理
+	 */
+	private void runGuarded(Runnable task) {
+		try {
+			task.run();
+		} catch (DataAccessException e) {
+			// 差分が不明となるため、次回の取得時に再構築する
+			initialized = false;
+			logger.warn("集計値の差分反映に失敗したため、次回取得時に再構築します: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 指定された就職活動の寄与分を再取得して差し替えます。
+	 *
+	 * <p>
+	 * 古い寄与分で上書きしないよう、再取得と反映を排他して行います。
+	 * </p>
+	 *
+	 * @param jobSearchId 就職活動ID
+	 */
+	private synchronized void applyJobSearch(String jobSearchId) {
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CONTRIBUTION_BY_JOB_SEARCH, jobSearchId);
+		Map<String, Contribution> latest = selectContributions(SQL_SELECT_CONTRIBUTION_BY_JOB_SEARCH, params);
+		applyContributions(Set.of(jobSearchId), latest);
+	}
+
+	/**
+	 * 指定されたユーザの就職活動の寄与分を再取得し、保持しているユーザの寄与分をすべて差し替えます。
+	 *
+	 * @param userId ユーザID
+	 */
+	private synchronized void applyUser(String userId) {
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CONTRIBUTION_BY_STUDENT, userId);
+		Map<String, Contribution> latest = selectContributions(SQL_SELECT_CONTRIBUTION_BY_STUDENT, params);
+		Set<String> jobSearchIds = new HashSet<>(latest.keySet());
+		for (Contribution contribution : contributions.values()) {
+			if (contribution.userId.equals(userId)) {
+				jobSearchIds.add(contribution.jobSearchId);
+			}
+		}
+		applyContributions(jobSearchIds, latest);
+	}
+
+	/**
+	 * 指定された就職活動の寄与分を差し替え、クラスの集計値に差分を反映します。
+	 *
+	 * @param jobSearchIds 差し替える就職活動IDの集合
+	 * @param latest       再取得した寄与分（就職活動IDをキーとする）
+	 */
+	private synchronized void applyContributions(Set<String> jobSearchIds, Map<String, Contribution> latest) {
+		for (String jobSearchId : jobSearchIds) {
+			Contribution before = contributions.remove(jobSearchId);
+			if (before != null) {
+				addCounters(before.classKey, before.counters, -1);
+			}
+			Contribution after = latest.get(jobSearchId);
+			if (after != null) {
+				contributions.put(jobSearchId, after);
+				addCounters(after.classKey, after.counters, 1);
+			}
+		}
+	}
+
+	/**
+	 * クラスの集計値に寄与分を加算（減算）します。
+	 *
+	 * <p>
+	 * 取得中の集計値に影響しないよう、新しい配列に置き換えます。
+	 * </p>
+	 *
+	 * @param classKey クラスのキー
+	 * @param counters 寄与分
+	 * @param sign     加算の場合は1、減算の場合は-1
+	 */
+	private void addCounters(String classKey, int[] counters, int sign) {
+		classCounters.compute(classKey, (key, current) -> {
+			int[] updated = current == null ? new int[COUNTER_SIZE] : current.clone();
+			for (int i = 0; i < COUNTER_SIZE; i++) {
+				updated[i] += counters[i] * sign;
+			}
+			return updated;
+		});
+	}
+
+	/**
+	 * 寄与分を取得します。
+	 *
+	 * <p>
+	 * 最新の報告・申請は就職活動最新状態トランから取得するため、1件の就職活動につき1行となります。
+	 * </p>
+	 *
+	 * @param sql    実行するSQL
+	 * @param params SQLのパラメータ
+	 * @return 就職活動IDをキーとする寄与分
+	 */
+	private Map<String, Contribution> selectContributions(String sql, Map<String, Object> params) {
+		Map<String, Contribution> result = new HashMap<>();
+		jdbc.query(sql, params, rs -> {
+			String jobSearchId = rs.getString("job_search_id");
+			Contribution contribution = result.get(jobSearchId);
+			if (contribution == null) {
+				contribution = new Contribution(jobSearchId, classKeyOf(rs), rs.getString("user_id"));
+				result.put(jobSearchId, contribution);
+			}
+			contribution.counters[0] += rs.getInt("students_in_action");
+			contribution.counters[1] += rs.getInt("students_of_end");
+			contribution.counters[2] += rs.getInt("activity_location_in_tokyo");
+			contribution.counters[3] += rs.getInt("activity_location_in_sapporo");
+			contribution.counters[4] += rs.getInt("activity_location_in_other");
+			contribution.counters[5] += rs.getInt("activity_form_in_online");
+			contribution.counters[6] += rs.getInt("activity_form_in_local");
+			contribution.counters[7] += rs.getInt("activity_form_in_other");
+		});
+		return result;
+	}
+
+	/**
+	 * 担任のクラスのキーを取得します。
+	 *
+	 * @param userId 担任のユーザID
+	 * @return クラスのキー。クラスが存在しない場合は{@link #NO_CLASS}。
+	 */
+	private String selectTeacherClassKey(String userId) {
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_TEACHER_CLASS, userId);
+		try {
+			return jdbc.queryForObject(SQL_SELECT_TEACHER_CLASS, params, (rs, rowNum) -> classKeyOf(rs));
+		} catch (EmptyResultDataAccessException e) {
+			return NO_CLASS;
+		}
+	}
+
+	/**
+	 * 検索結果の学科・学年・クラスからクラスのキーを生成します。
+	 *
+	 * @param rs 検索結果
+	 * @return クラスのキー
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	private static String classKeyOf(ResultSet rs) throws SQLException {
+		return rs.getString("department") + "/" + rs.getString("grade") + "/" + rs.getString("class_name");
+	}
+
+	/**
+	 * 集計値をCSV表示データに格納します。
+	 *
+	 * @param counters 集計値
+	 * @return CSV表示データ
+	 */
+	private static CsvDisplayData toCsvDisplayData(int[] counters) {
+		return new CsvDisplayData.Builder()
+				.studentsInAction(counters[0])
+				.studentsOfEnd(counters[1])
+				.activityLocationInTokyo(counters[2])
+				.activityLocationInSapporo(counters[3])
+				.activityLocationInOther(counters[4])
+				.activityFormInOnline(counters[5])
+				.activityFormInLocal(counters[6])
+				.activityFormInOther(counters[7])
+				.build();
+	}
+
+	/**
+	 * 就職活動1件分の集計値への寄与分
+	 */
+	private static final class Contribution {
+		private final String jobSearchId;
+		private final String classKey;
+		private final String userId;
+		private final int[] counters = new int[COUNTER_SIZE];
+
+		private Contribution(String jobSearchId, String classKey, String userId) {
+			this.jobSearchId = jobSearchId;
+			this.classKey = classKey;
+			this.userId = userId;
+		}
+	}
+}
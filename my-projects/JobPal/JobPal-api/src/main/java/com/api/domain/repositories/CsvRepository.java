@@ -1,15 +1,25 @@
 package com.api.domain.repositories;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import com.api.domain.models.dbdata.CertificateIssuanceDashBoardData;
+import com.api.domain.models.dbdata.ClassStatisticsData;
+import com.api.domain.models.dbdata.DeletedUserData;
+import com.api.domain.models.displaydata.CsvDisplayData;
+import com.api.domain.validations.UserAuthority;
 import com.api.jobpal.common.base.DBDataConversion;
+import com.api.jobpal.common.base.StreamingQueryExecutor;
 
 /**
  * CSV出力に関わるDBアクセスを実現するクラスです。
@@ -18,10 +28,12 @@ import com.api.jobpal.common.base.DBDataConversion;
  * 以下の処理を行います。
  * <ul>
  * <li>ユーザに関連するデータの取得（就職活動ID、証明書発行IDなど）</li>
- * <li>地域ごとのデータ件数取得（札幌、東京、その他）</li>
- * <li>地域リストの取得</li>
+ * <li>担任のクラスの就職活動の集計値取得（活動状況、活動地域、活動形式）</li>
+ * <li>CSV出力する証明書発行・クラスの集計値・削除ユーザの逐次取得</li>
  * </ul>
  * <p>
+ * 逐次取得は検索結果を1行ずつ処理し、メモリに保持しません。
+ * <p>
  * 処理が継続できない場合は、呼び出し元へ例外をスローします。<br>
  * <strong>呼び出し元では適切な例外処理を行ってください。</strong>
  */
@@ -42,151 +54,182 @@ public class CsvRepository {
 			+ "WHERE student_user_id = :userId";
 
 	/**
-	 * SQL 指定された担任のクラスに属する学生で、就職活動が未完了（resultが5以外）の人数を取得
+	 * SQL クラスの就職活動の集計値（取得項目）
+	 *
+	 * <p>
+	 * 就職活動ごとの最新の報告・申請（就職活動最新状態トラン：JSL）を条件付き集計し、以下をまとめて算出します。
+	 * <ul>
+	 * <li>活動中（最新の報告の結果が5以外）・活動終了（最新の報告の結果が5）の件数</li>
+	 * <li>最新の申請の場所区分が札幌（0）・東京（1）・その他（2）の件数</li>
+	 * <li>最新の申請の場所が自宅・学校・それ以外（オンライン）の件数</li>
+	 * </ul>
 	 */
-	String SQL_SELECT_CSV_ACTIVITY = "SELECT "
-			+ "COUNT(*) AS record_count "
-			+ "FROM "
-			+ "USER_M UM "
-			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M TSUM ON UM.user_id = TSUM.user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_T JST ON UM.user_id = JST.student_user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T JSRT ON JST.job_search_id = JSRT.job_search_id "
-			+ "WHERE UM.user_type = '0' "
-			+ "AND UM.user_status = '0' "
-			+ "AND JSRT.result <> '5' "
-			+ "AND CONCAT(TSUM.department, TSUM.grade, TSUM.class_name)"
-			+ " = (SELECT CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) "
-			+ "FROM "
-			+ "TEACHER_STUDENT_USER_M TSUM "
-			+ "WHERE "
-			+ "TSUM.user_id = :teacherUserId ) "
-			+ "AND JSRT.updated_at = (SELECT MAX(JSRT2.updated_at) "
-			+ "FROM "
-			+ "JOB_SEARCH_REPORT_T JSRT2 "
-			+ "WHERE JSRT2.job_search_id = JSRT.job_search_id)";
+	private static final String SQL_CLASS_STATISTICS_COLUMNS = "COALESCE(SUM(CASE WHEN JSL.result <> '5' THEN 1 ELSE 0 END), 0) AS students_in_action, "
+			+ "COALESCE(SUM(CASE WHEN JSL.result = '5' THEN 1 ELSE 0 END), 0) AS students_of_end, "
+			+ "COALESCE(SUM(CASE WHEN JSL.location_type = '1' THEN 1 ELSE 0 END), 0) AS activity_location_in_tokyo, "
+			+ "COALESCE(SUM(CASE WHEN JSL.location_type = '0' THEN 1 ELSE 0 END), 0) AS activity_location_in_sapporo, "
+			+ "COALESCE(SUM(CASE WHEN JSL.location_type = '2' THEN 1 ELSE 0 END), 0) AS activity_location_in_other, "
+			+ "COALESCE(SUM(CASE WHEN JSL.job_application_id IS NOT NULL "
+			+ "AND (JSL.location IS NULL OR JSL.location NOT IN ('自宅', '学校')) THEN 1 ELSE 0 END), 0) "
+			+ "AS activity_form_in_online, "
+			+ "COALESCE(SUM(CASE WHEN JSL.location = '自宅' THEN 1 ELSE 0 END), 0) AS activity_form_in_local, "
+			+ "COALESCE(SUM(CASE WHEN JSL.location = '学校' THEN 1 ELSE 0 END), 0) AS activity_form_in_other ";
 
 	/**
-	 * SQL 指定された担任のクラスに属する学生で、就職活動が完了（resultが5）の人数を取得
+	 * SQL 指定された担任のクラスに属する学生の就職活動の集計値を取得
+	 *
+	 * <p>
+	 * 就職活動ごとの最新の報告・申請（就職活動最新状態トラン）を結合し、集計値をまとめて算出します。<br>
+	 * 最新状態は就職活動ごとに1行（主キー）のため、報告・申請が複数ある就職活動も1件として数えます。
+	 * </p>
 	 */
-	String SQL_SELECT_CSV_ACTIVITY_FINISH = "SELECT "
-			+ "COUNT(*) AS record_count "
-			+ "FROM "
-			+ "USER_M UM "
-			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M TSUM ON UM.user_id = TSUM.user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_T JST ON UM.user_id = JST.student_user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T JSRT ON JST.job_search_id = JSRT.job_search_id "
-			+ "WHERE UM.user_type = '0' "
-			+ "AND UM.user_status = '0' "
-			+ "AND JSRT.result = '5' "
-			+ "AND CONCAT(TSUM.department, TSUM.grade, TSUM.class_name)"
-			+ " = (SELECT CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) "
-			+ "FROM "
-			+ "TEACHER_STUDENT_USER_M TSUM "
-			+ "WHERE "
-			+ "TSUM.user_id = :teacherUserId ) "
-			+ "AND JSRT.updated_at = (SELECT MAX(JSRT2.updated_at) "
+	String SQL_SELECT_CSV_CLASS_STATISTICS = "SELECT "
+			+ SQL_CLASS_STATISTICS_COLUMNS
 			+ "FROM "
-			+ "JOB_SEARCH_REPORT_T JSRT2 "
-			+ "WHERE JSRT2.job_search_id = JSRT.job_search_id)";
+			+ "TEACHER_STUDENT_USER_M TC "
+			+ "INNER JOIN TEACHER_STUDENT_USER_M TSUM "
+			+ "ON TSUM.department = TC.department "
+			+ "AND TSUM.grade = TC.grade "
+			+ "AND TSUM.class_name = TC.class_name "
+			+ "INNER JOIN USER_M UM "
+			+ "ON UM.user_id = TSUM.user_id "
+			+ "INNER JOIN JOB_SEARCH_T JST "
+			+ "ON UM.user_id = JST.student_user_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T JSL "
+			+ "ON JST.job_search_id = JSL.job_search_id "
+			+ "WHERE TC.user_id = :teacherUserId "
+			+ "AND UM.user_type = '0' "
+			+ "AND UM.user_status = '0'";
 
 	/**
-	 * SQL 指定された担任のクラスに属する学生で、就職活動応募先が札幌（location_typeが0）の人数を取得
+	 * SQL 全クラスの就職活動の集計値をクラスごとに取得（CSV出力用）
+	 *
+	 * <p>
+	 * 就職活動のない学生のみのクラスは含みません。
+	 * </p>
 	 */
-	String SQL_SELECT_CSV_SAPPORO = "SELECT COUNT(*) AS record_count "
-			+ "FROM USER_M UM "
-			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M TSUM "
+	private static final String SQL_SELECT_CSV_CLASS_STATISTICS_ALL = "SELECT "
+			+ "TSUM.department, "
+			+ "TSUM.grade, "
+			+ "TSUM.class_name, "
+			+ SQL_CLASS_STATISTICS_COLUMNS
+			+ "FROM "
+			+ "TEACHER_STUDENT_USER_M TSUM "
+			+ "INNER JOIN USER_M UM "
 			+ "ON UM.user_id = TSUM.user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_T JST "
+			+ "INNER JOIN JOB_SEARCH_T JST "
 			+ "ON UM.user_id = JST.student_user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T JSA "
-			+ "ON JST.job_search_id = JSA.job_search_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T JSL "
+			+ "ON JST.job_search_id = JSL.job_search_id "
 			+ "WHERE UM.user_type = '0' "
 			+ "AND UM.user_status = '0' "
-			+ "AND CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) = ( "
-			+ "  SELECT CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) "
-			+ "  FROM TEACHER_STUDENT_USER_M TSUM "
-			+ "  WHERE TSUM.user_id = :teacherUserId "
-			+ ") "
-			+ "AND JSA.location_type = '0' "
-			+ "AND JSA.updated_at = ( "
-			+ "  SELECT MAX(JSA2.updated_at) "
-			+ "  FROM JOB_SEARCH_APPLICATION_T JSA2 "
-			+ "  WHERE JSA2.job_search_id = JSA.job_search_id "
-			+ ")";
+			+ "GROUP BY TSUM.department, TSUM.grade, TSUM.class_name "
+			+ "ORDER BY TSUM.department, TSUM.grade, TSUM.class_name";
 
 	/**
-	 * SQL 指定された担任のクラスに属する学生で、就職活動応募先が東京（location_typeが1）の人数を取得
+	 * SQL 指定された担任のクラスの就職活動の集計値をクラスとともに取得（CSV出力用）
+	 *
+	 * <p>
+	 * 就職活動のある学生がいない場合は、行を返却しません。
+	 * </p>
 	 */
-	String SQL_SELECT_CSV_TOKYO = "SELECT COUNT(*) AS record_count "
-			+ "FROM USER_M UM "
-			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M TSUM "
+	private static final String SQL_SELECT_CSV_CLASS_STATISTICS_TEACHER = "SELECT "
+			+ "TSUM.department, "
+			+ "TSUM.grade, "
+			+ "TSUM.class_name, "
+			+ SQL_CLASS_STATISTICS_COLUMNS
+			+ "FROM "
+			+ "TEACHER_STUDENT_USER_M TC "
+			+ "INNER JOIN TEACHER_STUDENT_USER_M TSUM "
+			+ "ON TSUM.department = TC.department "
+			+ "AND TSUM.grade = TC.grade "
+			+ "AND TSUM.class_name = TC.class_name "
+			+ "INNER JOIN USER_M UM "
 			+ "ON UM.user_id = TSUM.user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_T JST "
+			+ "INNER JOIN JOB_SEARCH_T JST "
 			+ "ON UM.user_id = JST.student_user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T JSA "
-			+ "ON JST.job_search_id = JSA.job_search_id "
-			+ "WHERE UM.user_type = '0' "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T JSL "
+			+ "ON JST.job_search_id = JSL.job_search_id "
+			+ "WHERE TC.user_id = :teacherUserId "
+			+ "AND UM.user_type = '0' "
 			+ "AND UM.user_status = '0' "
-			+ "AND CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) = ( "
-			+ "  SELECT CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) "
-			+ "  FROM TEACHER_STUDENT_USER_M TSUM "
-			+ "  WHERE TSUM.user_id = :teacherUserId "
-			+ ") "
-			+ "AND JSA.location_type = '1' "
-			+ "AND JSA.updated_at = ( "
-			+ "  SELECT MAX(JSA2.updated_at) "
-			+ "  FROM JOB_SEARCH_APPLICATION_T JSA2 "
-			+ "  WHERE JSA2.job_search_id = JSA.job_search_id "
-			+ ")";
+			+ "GROUP BY TSUM.department, TSUM.grade, TSUM.class_name";
 
 	/**
-	 * SQL 指定された担任のクラスに属する学生で、就職活動応募先がその他（location_typeが2）の人数を取得
+	 * SQL 証明書発行を証明書1種類につき1行で取得（CSV出力用）
+	 *
+	 * <p>
+	 * 取得範囲の条件と並び順は、ユーザの権限に応じて呼び出し時に追加します。<br>
+	 * 項目は証明書発行ダッシュボード一覧と同一で、金額は行の証明書の金額です。
+	 * </p>
 	 */
-	String SQL_SELECT_CSV_OTHERS = "SELECT COUNT(*) AS record_count "
-			+ "FROM USER_M UM "
+	private static final String SQL_SELECT_CSV_CERTIFICATE_ISSUANCE_DETAIL = "SELECT "
+			+ "CIT.certificate_issue_id, "
+			+ "CIT.student_user_id, "
+			+ "UM.user_name AS student_user_name, "
+			+ "TSUM.student_id, "
+			+ "CIT.status, "
+			+ "CIT.media_type, "
+			+ "GREATEST("
+			+ "COALESCE(CIT.application_date, '1900-01-01'), "
+			+ "COALESCE(CIT.approval_date, '1900-01-01'), "
+			+ "COALESCE(PCIT.delivery_due_date, '1900-01-01'), "
+			+ "COALESCE(PCIT.delivery_date, '1900-01-01'), "
+			+ "COALESCE(MCIT.post_date, '1900-01-01')) AS latest_date, "
+			+ "CIDT.certificate_quantity * CM.certificate_fee AS total_fee, "
+			+ "CIDT.certificate_quantity, "
+			+ "CM.certificate_weight, "
+			+ "CM.certificate_id, "
+			+ "CM.certificate_name "
+			+ "FROM "
+			+ "CERTIFICATE_ISSUANCE_T CIT "
+			+ "INNER JOIN CERTIFICATE_ISSUANCE_DETAIL_T CIDT "
+			+ "ON CIT.certificate_issue_id = CIDT.certificate_issue_id "
+			+ "INNER JOIN CERTIFICATE_M CM "
+			+ "ON CIDT.certificate_id = CM.certificate_id "
+			+ "LEFT OUTER JOIN USER_M UM "
+			+ "ON CIT.student_user_id = UM.user_id "
 			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M TSUM "
-			+ "ON UM.user_id = TSUM.user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_T JST "
-			+ "ON UM.user_id = JST.student_user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T JSA "
-			+ "ON JST.job_search_id = JSA.job_search_id "
-			+ "WHERE UM.user_type = '0' "
-			+ "AND UM.user_status = '0' "
-			+ "AND CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) = ( "
-			+ "  SELECT CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) "
-			+ "  FROM TEACHER_STUDENT_USER_M TSUM "
-			+ "  WHERE TSUM.user_id = :teacherUserId "
-			+ ") "
-			+ "AND JSA.location_type = '2' "
-			+ "AND JSA.updated_at = ( "
-			+ "  SELECT MAX(JSA2.updated_at) "
-			+ "  FROM JOB_SEARCH_APPLICATION_T JSA2 "
-			+ "  WHERE JSA2.job_search_id = JSA.job_search_id "
-			+ ")";
+			+ "ON CIT.student_user_id = TSUM.user_id "
+			+ "LEFT OUTER JOIN PAPER_CERTIFICATE_ISSUANCE_T PCIT "
+			+ "ON CIT.certificate_issue_id = PCIT.certificate_issue_id "
+			+ "LEFT OUTER JOIN MAILING_CERTIFICATE_ISSUANCE_T MCIT "
+			+ "ON CIT.certificate_issue_id = MCIT.certificate_issue_id ";
 
 	/**
-	 * SQL 指定された担任のクラスに属する学生で、就職活動応募先の最新の場所を取得
+	 * 権限ごとの証明書発行の取得範囲（権限ID → WHERE句。管理者はすべて）
 	 */
-	String SQL_SELECT_CSV_LOCATION = "SELECT location "
-			+ "FROM USER_M UM "
-			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M TSUM "
-			+ "ON UM.user_id = TSUM.user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_T JST "
-			+ "ON UM.user_id = JST.student_user_id "
-			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T JSA "
-			+ "ON JST.job_search_id = JSA.job_search_id "
-			+ "WHERE UM.user_type = '0' "
-			+ "AND UM.user_status = '0' "
-			+ "AND CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) = ( "
-			+ "  SELECT CONCAT(TSUM.department, TSUM.grade, TSUM.class_name) "
-			+ "  FROM TEACHER_STUDENT_USER_M TSUM "
-			+ "  WHERE TSUM.user_id = :teacherUserId "
-			+ ") "
-			+ "AND JSA.updated_at = ( "
-			+ "  SELECT MAX(JSA2.updated_at) "
-			+ "  FROM JOB_SEARCH_APPLICATION_T JSA2 "
-			+ "  WHERE JSA2.job_search_id = JSA.job_search_id "
-			+ ")";
+	private static final Map<String, String> CERTIFICATE_ISSUANCE_SCOPES = Map.of(
+			UserAuthority.STUDENT.getGrantId(), "WHERE CIT.student_user_id = :userId ",
+			UserAuthority.TEACHER.getGrantId(), "WHERE CIT.teacher_user_id = :userId ",
+			UserAuthority.OFFICE.getGrantId(), "WHERE (CIT.office_user_id = :userId OR CIT.status = '1') ",
+			UserAuthority.ADMIN.getGrantId(), "");
+
+	/**
+	 * SQL 削除ユーザを取得（CSV出力用）
+	 *
+	 * <p>
+	 * 削除日時の範囲の条件と並び順は呼び出し時に追加します。パスワードは取得しません。
+	 * </p>
+	 */
+	private static final String SQL_SELECT_CSV_DELETED_USER = "SELECT "
+			+ "DUM.user_id, "
+			+ "DUM.deleted_at, "
+			+ "DUM.user_name, "
+			+ "DUM.user_type, "
+			+ "DUM.created_by_user_id, "
+			+ "DUM.created_at, "
+			+ "DTSM.department, "
+			+ "DTSM.grade, "
+			+ "DTSM.class_name, "
+			+ "DTSM.attendance_number, "
+			+ "DTSM.student_id "
+			+ "FROM "
+			+ "DELETED_USER_M DUM "
+			+ "LEFT OUTER JOIN DELETED_TEACHER_STUDENT_M DTSM "
+			+ "ON DTSM.user_id = DUM.user_id "
+			+ "AND DTSM.deleted_at = DUM.deleted_at ";
+
 	/**
 	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
 	 */
@@ -199,6 +242,12 @@ public class CsvRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * 検索結果を1行ずつ処理するためのオブジェクト。
+	 */
+	@Autowired
+	private StreamingQueryExecutor streamingQueryExecutor;
+
 	/**
 	 * 指定されたユーザIDに関連する就職活動IDのリストを取得します。
 	 *
@@ -252,144 +301,133 @@ public class CsvRepository {
 	}
 
 	/**
-	 * 指定されたユーザIDに関連する活動データの件数を取得します。
+	 * 指定された担任のクラスの就職活動の集計値を取得します。
 	 *
 	 * <p>
-	 * データベースから指定されたユーザIDに対応する活動データの件数を取得します。
+	 * 活動状況・活動地域・活動形式の件数を1回のSQLでまとめて取得します。<br>
+	 * 該当する学生が存在しない場合は、すべての件数を0とします。
 	 * </p>
 	 *
-	 * @param userId ユーザID
-	 * @return 活動データの件数。データが存在しない場合は0を返却します。
+	 * @param userId 担任のユーザID
+	 * @return 集計値を格納したCSV表示データ
 	 */
-	public Integer selectCsvActivity(String userId) {
+	public CsvDisplayData selectCsvClassStatistics(String userId) {
 		// SQLクエリのパラメータを設定
-		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CSV_ACTIVITY, userId);
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CSV_CLASS_STATISTICS, userId);
 
-		try {
-			// SQLクエリを実行して件数を取得
-			return jdbc.queryForObject(SQL_SELECT_CSV_ACTIVITY, params, Integer.class);
-		} catch (EmptyResultDataAccessException e) {
-			// データが存在しない場合は0を返却
-			return 0;
-		}
+		// SQLクエリを実行し、集計値をCSV表示データに格納
+		return jdbc.queryForObject(SQL_SELECT_CSV_CLASS_STATISTICS, params,
+				(rs, rowNum) -> toCsvDisplayData(rs));
 	}
 
 	/**
-	 * 指定されたユーザIDに関連する完了済み活動データの件数を取得します。
+	 * クラスごとの就職活動の集計値を、クラスの順に1行ずつ処理します。
 	 *
 	 * <p>
-	 * データベースから指定されたユーザIDに対応する完了済み活動データの件数を取得します。
+	 * 担任のユーザIDを指定した場合は担任のクラスのみ、nullの場合はすべてのクラスを対象とします。
 	 * </p>
 	 *
-	 * @param userId ユーザID
-	 * @return 完了済み活動データの件数。データが存在しない場合は0を返却します。
+	 * @param teacherUserId 担任のユーザID（すべてのクラスの場合はnull）
+	 * @param action        1クラスごとの処理
+	 * @return 処理したクラスの数
 	 */
-	public Integer selectCsvActivityFinish(String userId) {
-		// SQLクエリのパラメータを設定
-		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CSV_ACTIVITY_FINISH, userId);
-
-		try {
-			// SQLクエリを実行して件数を取得
-			return jdbc.queryForObject(SQL_SELECT_CSV_ACTIVITY_FINISH, params, Integer.class);
-		} catch (EmptyResultDataAccessException e) {
-			// データが存在しない場合は0を返却
-			return 0;
+	public int streamClassStatistics(String teacherUserId, Consumer<ClassStatisticsData> action) {
+		String sql = SQL_SELECT_CSV_CLASS_STATISTICS_ALL;
+		Map<String, Object> params = new HashMap<>();
+		if (teacherUserId != null) {
+			sql = SQL_SELECT_CSV_CLASS_STATISTICS_TEACHER;
+			params = dbdc.mapInputValues(SQL_SELECT_CSV_CLASS_STATISTICS_TEACHER, teacherUserId);
 		}
+
+		// SQLクエリを実行し、1クラスずつ処理
+		return streamingQueryExecutor.stream(sql, params, (rs, rowNum) -> {
+			ClassStatisticsData classStatisticsData = new ClassStatisticsData();
+			classStatisticsData.setDepartment(rs.getString("department"));
+			classStatisticsData.setGrade(rs.getInt("grade"));
+			classStatisticsData.setClassName(rs.getString("class_name"));
+			classStatisticsData.setStatistics(toCsvDisplayData(rs));
+			return classStatisticsData;
+		}, action);
 	}
 
 	/**
-	 * 指定されたユーザIDに関連する札幌地域のデータ件数を取得します。
+	 * 権限に応じた範囲の証明書発行を、証明書1種類につき1行ずつ処理します。
 	 *
 	 * <p>
-	 * データベースから指定されたユーザIDに対応する札幌地域のデータ件数を取得します。
+	 * 学生は自身の申請、担任は担当する学生の申請、事務は担当する申請と未承認の申請、管理者はすべての申請を対象とします。<br>
+	 * 証明書発行ID・証明書IDの順に処理します。
 	 * </p>
 	 *
-	 * @param userId ユーザID
-	 * @return 札幌地域のデータ件数。データが存在しない場合は0を返却します。
+	 * @param userId 操作しているユーザのユーザID
+	 * @param grant  操作しているユーザの権限ID
+	 * @param action 1行ごとの処理
+	 * @return 処理した行数（権限が不明な場合は0）
 	 */
-	public Integer selectCsvSapporo(String userId) {
-		// SQLクエリのパラメータを設定
-		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CSV_SAPPORO, userId);
-
-		try {
-			// SQLクエリを実行して件数を取得
-			return jdbc.queryForObject(SQL_SELECT_CSV_SAPPORO, params, Integer.class);
-		} catch (EmptyResultDataAccessException e) {
-			// データが存在しない場合は0を返却
+	public int streamCertificateIssuance(String userId, String grant,
+			Consumer<CertificateIssuanceDashBoardData> action) {
+		// 権限に該当する取得範囲がない場合は処理しない
+		String scope = grant == null ? null : CERTIFICATE_ISSUANCE_SCOPES.get(grant);
+		if (scope == null) {
 			return 0;
 		}
-	}
 
-	/**
-	 * 指定されたユーザIDに関連する東京地域のデータ件数を取得します。
-	 *
-	 * <p>
-	 * データベースから指定されたユーザIDに対応する東京地域のデータ件数を取得します。
-	 * </p>
-	 *
-	 * @param userId ユーザID
-	 * @return 東京地域のデータ件数。データが存在しない場合は0を返却します。
-	 */
-	public Integer selectCsvTokyo(String userId) {
-		// SQLクエリのパラメータを設定
-		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CSV_TOKYO, userId);
+		Map<String, Object> params = new HashMap<>();
+		params.put("userId", userId);
+		String sql = SQL_SELECT_CSV_CERTIFICATE_ISSUANCE_DETAIL
+				+ scope
+				+ "ORDER BY CIT.certificate_issue_id, CIDT.certificate_id";
 
-		try {
-			// SQLクエリを実行して件数を取得
-			return jdbc.queryForObject(SQL_SELECT_CSV_TOKYO, params, Integer.class);
-		} catch (EmptyResultDataAccessException e) {
-			// データが存在しない場合は0を返却
-			return 0;
-		}
+		// SQLクエリを実行し、1行ずつ処理
+		return streamingQueryExecutor.stream(sql, params, new CertificateIssuanceDashBoardRowMapper(), action);
 	}
 
 	/**
-	 * 指定されたユーザIDに関連するその他地域のデータ件数を取得します。
+	 * 削除されたユーザを、削除日時の順に1件ずつ処理します。
 	 *
-	 * <p>
-	 * データベースから指定されたユーザIDに対応するその他地域のデータ件数を取得します。
-	 * </p>
-	 *
-	 * @param userId ユーザID
-	 * @return その他地域のデータ件数。データが存在しない場合は0を返却します。
+	 * @param deletedFrom 削除日時の開始（この日時を含む。指定しない場合はnull）
+	 * @param deletedTo   削除日時の終了（この日時を含まない。指定しない場合はnull）
+	 * @param action      1件ごとの処理
+	 * @return 処理した件数
 	 */
-	public Integer selectCsvOthers(String userId) {
-		// SQLクエリのパラメータを設定
-		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CSV_OTHERS, userId);
-
-		try {
-			// SQLクエリを実行して件数を取得
-			return jdbc.queryForObject(SQL_SELECT_CSV_OTHERS, params, Integer.class);
-		} catch (EmptyResultDataAccessException e) {
-			// データが存在しない場合は0を返却
-			return 0;
+	public int streamDeletedUser(Timestamp deletedFrom, Timestamp deletedTo, Consumer<DeletedUserData> action) {
+		// 削除日時の範囲を設定
+		List<String> where = new ArrayList<>();
+		Map<String, Object> params = new HashMap<>();
+		if (deletedFrom != null) {
+			where.add("DUM.deleted_at >= :deletedFrom");
+			params.put("deletedFrom", deletedFrom);
+		}
+		if (deletedTo != null) {
+			where.add("DUM.deleted_at < :deletedTo");
+			params.put("deletedTo", deletedTo);
 		}
+
+		String sql = SQL_SELECT_CSV_DELETED_USER
+				+ (where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where) + " ")
+				+ "ORDER BY DUM.deleted_at, DUM.user_id";
+
+		// SQLクエリを実行し、1件ずつ処理
+		return streamingQueryExecutor.stream(sql, params, new DeletedUserRowMapper(), action);
 	}
 
 	/**
-	 * 指定されたユーザIDに関連する地域リストを取得します。
+	 * 検索結果の集計値をCSV表示データに格納します。
 	 *
-	 * <p>
-	 * データベースから指定されたユーザIDに対応する地域情報をリスト形式で取得します。
-	 * </p>
-	 *
-	 * @param userId ユーザID
-	 * @return 地域のリスト。データが存在しない場合は空のリストを返却します。
+	 * @param rs 検索結果
+	 * @return 集計値を格納したCSV表示データ
+	 * @throws SQLException 値の取得に失敗した場合
 	 */
-	public List<String> selectCsvLocationList(String userId) {
-		// SQLクエリのパラメータを設定
-		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_CSV_LOCATION, userId);
-
-		// SQLクエリを実行して結果を取得
-		List<Map<String, Object>> result = jdbc.queryForList(SQL_SELECT_CSV_LOCATION, params);
-
-		// 結果をString型のリストに変換
-		List<String> stringList = new ArrayList<>();
-		for (Map<String, Object> map : result) {
-			stringList.add(map.get("location").toString()); // ObjectをStringに変換して追加
-		}
-
-		return stringList;
+	private CsvDisplayData toCsvDisplayData(ResultSet rs) throws SQLException {
+		return new CsvDisplayData.Builder()
+				.studentsInAction(rs.getInt("students_in_action"))
+				.studentsOfEnd(rs.getInt("students_of_end"))
+				.activityLocationInTokyo(rs.getInt("activity_location_in_tokyo"))
+				.activityLocationInSapporo(rs.getInt("activity_location_in_sapporo"))
+				.activityLocationInOther(rs.getInt("activity_location_in_other"))
+				.activityFormInOnline(rs.getInt("activity_form_in_online"))
+				.activityFormInLocal(rs.getInt("activity_form_in_local"))
+				.activityFormInOther(rs.getInt("activity_form_in_other"))
+				.build();
 	}
 
 }
@@ -0,0 +1,484 @@
+package com.api.domain.repositories;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.api.jobpal.common.base.DBDataConversion;
+import com.api.jobpal.common.base.TransactionHooks;
+
+/**
+ * バッチ処理の期限（再通知・支払期限）をメモリ上で保持するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>期限の索引の構築</li>
+ * <li>就職活動・証明書発行の登録/更新時の期限の再設定</li>
+ * <li>期限を迎えた就職活動ID・証明書発行IDの取り出し</li>
+ * </ul>
+ * <p>
+ * 期限は種類ごとに期限日時の優先度付きキューで保持し、バッチ処理では期限を迎えたものだけを取り出します。<br>
+ * 取り出す際は対象の期限をDBから再取得し、期限が延びていた場合は再設定します。<br>
+ * 初回の取り出し時、および期限の再設定に失敗した後の取り出し時は全件から再構築します。
+ * </p>
+ * <p>
+ * 期限はアプリケーションのインスタンスごとに保持します。<br>
+ * 他のインスタンスやSQLで直接更新した場合は{@link #rebuild()}で再構築してください。
+ * </p>
+ */
+@Repository
+public class DeadlineRepository {
+
+	/**
+	 * 期限の種類
+	 */
+	public enum Kind {
+		/** 就職活動の再通知（最終更新から2日） */
+		JOB_SEARCH_RESEND,
+		/** 証明書発行の再通知（最終更新日から2日） */
+		CERTIFICATE_RESEND,
+		/** 証明書発行の支払期限（承認日の2日後の翌日） */
+		PAYMENT_DUE
+	}
+
+	/**
+	 * 期限
+	 *
+	 * @param kind  種類
+	 * @param id    就職活動IDまたは証明書発行ID
+	 * @param dueAt 期限日時
+	 */
+	private record Deadline(Kind kind, String id, LocalDateTime dueAt) {
+	}
+
+	/**
+	 * 再通知までの日数
+	 */
+	public static final int RESEND_DAYS = 2;
+
+	/**
+	 * 承認日から支払期限切れとなるまでの日数
+	 */
+	private static final int PAYMENT_DUE_DAYS = 3;
+
+	/**
+	 * SQL 就職活動の期限を取得
+	 *
+	 * <p>
+	 * 対象の条件は再通知の条件（完了以外）と同一です。
+	 * </p>
+	 */
+	private static final String SQL_SELECT_JOB_SEARCH_DEADLINE = "SELECT "
+			+ "JS.job_search_id, "
+			+ "JS.job_search_status, "
+			+ "JA.end_time, "
+			+ "JL.max_updated_at AS max_updated_at "
+			+ "FROM "
+			+ "JOB_SEARCH_T AS JS "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL "
+			+ "ON JS.job_search_id = JL.job_search_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA "
+			+ "ON JL.job_application_id = JA.job_application_id "
+			+ "WHERE JS.job_search_status <> '33'";
+
+	/**
+	 * SQL 指定された就職活動の期限を取得
+	 */
+	private static final String SQL_SELECT_JOB_SEARCH_DEADLINE_BY_ID = SQL_SELECT_JOB_SEARCH_DEADLINE + " "
+			+ "AND JS.job_search_id IN (:jobSearchIdList )";
+
+	/**
+	 * SQL 証明書発行の期限を取得
+	 *
+	 * <p>
+	 * 最終更新日は証明書発行ダッシュボードの最終更新日と同一です。
+	 * </p>
+	 */
+	private static final String SQL_SELECT_CERTIFICATE_DEADLINE = "SELECT "
+			+ "CIT.certificate_issue_id, "
+			+ "CIT.status, "
+			+ "CIT.approval_date, "
+			+ "GREATEST( "
+			+ "COALESCE(CIT.application_date, '1900-01-01'), "
+			+ "COALESCE(CIT.approval_date, '1900-01-01'), "
+			+ "COALESCE(PCIT.delivery_due_date, '1900-01-01'), "
+			+ "COALESCE(PCIT.delivery_date, '1900-01-01'), "
+			+ "COALESCE(MCIT.post_date, '1900-01-01') "
+			+ ") AS latest_date "
+			+ "FROM CERTIFICATE_ISSUANCE_T CIT "
+			+ "LEFT OUTER JOIN PAPER_CERTIFICATE_ISSUANCE_T PCIT ON CIT.certificate_issue_id = PCIT.certificate_issue_id "
+			+ "LEFT OUTER JOIN MAILING_CERTIFICATE_ISSUANCE_T MCIT ON CIT.certificate_issue_id = MCIT.certificate_issue_id "
+			+ "WHERE CIT.status <> '6'";
+
+	/**
+	 * SQL 指定された証明書発行の期限を取得
+	 */
+	private static final String SQL_SELECT_CERTIFICATE_DEADLINE_BY_ID = SQL_SELECT_CERTIFICATE_DEADLINE + " "
+			+ "AND CIT.certificate_issue_id IN (:certificateIssueIdList )";
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * 期限の索引（置き換えと更新は{@code this}で排他）
+	 */
+	private Index index = new Index(0);
+
+	/**
+	 * 再取得・再構築の開始順を表す番号
+	 */
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * 初回の構築の排他に使用するオブジェクト
+	 */
+	private final Object buildLock = new Object();
+
+	/**
+	 * 索引を構築済みか
+	 */
+	private volatile boolean initialized = false;
+
+	/**
+	 * 期限を迎えたIDを取り出します。
+	 *
+	 * <p>
+	 * 取り出したIDは索引から削除されます。次の期限は登録/更新時の再設定で追加されます。
+	 * </p>
+	 *
+	 * @param kind 種類
+	 * @param now  現在日時
+	 * @return 期限を迎えたIDと、確認した件数
+	 */
+	public DuePoll pollDue(Kind kind, LocalDateTime now) {
+		if (!initialized) {
+			synchronized (buildLock) {
+				// 構築を待っていた間に構築済みとなった場合は再構築しない
+				if (!initialized) {
+					rebuild();
+				}
+			}
+		}
+
+		// 期限日時を過ぎた候補を取り出す
+		List<String> candidates = new ArrayList<>();
+		synchronized (this) {
+			PriorityQueue<Deadline> queue = index.queues.get(kind);
+			Map<String, LocalDateTime> current = index.dueTimes.get(kind);
+			while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+				Deadline deadline = queue.poll();
+				// 再設定済み・削除済みの期限は読み飛ばす
+				if (deadline.dueAt().equals(current.get(deadline.id()))) {
+					current.remove(deadline.id());
+					candidates.add(deadline.id());
+				}
+			}
+		}
+		if (candidates.isEmpty()) {
+			return new DuePoll(List.of(), 0);
+		}
+
+		// 登録/更新で期限が延びている場合に備え、候補の期限を再取得して確認
+		Map<String, LocalDateTime> latest = selectDeadlines(kind, candidates);
+		List<String> fired = new ArrayList<>();
+		synchronized (this) {
+			for (String id : candidates) {
+				LocalDateTime dueAt = latest.get(id);
+				if (dueAt == null) {
+					continue;
+				}
+				if (dueAt.isAfter(now)) {
+					index.schedule(kind, id, dueAt);
+				} else {
+					fired.add(id);
+				}
+			}
+		}
+		return new DuePoll(fired, candidates.size());
+	}
+
+	/**
+	 * 期限の索引を全件から再構築します。
+	 *
+	 * <p>
+	 * 全件の取得はロックの外で行い、取得後に索引を置き換えます。<br>
+	 * 取得中に反映された再設定は取得結果より新しい場合があるため、置き換え後の索引に引き継ぎます。
+	 * </p>
+	 *
+	 * @return 索引に登録した期限の件数
+	 */
+	public int rebuild() {
+		long seq = sequence.incrementAndGet();
+		Index built = new Index(seq);
+		int count = 0;
+		for (Kind kind : Kind.values()) {
+			for (Map.Entry<String, LocalDateTime> entry : selectDeadlines(kind, null).entrySet()) {
+				built.schedule(kind, entry.getKey(), entry.getValue());
+				count++;
+			}
+		}
+
+		synchronized (this) {
+			// 後から開始した再構築で置き換え済みの場合は破棄する
+			if (index.builtSeq > seq) {
+				return count;
+			}
+			for (Kind kind : Kind.values()) {
+				for (Map.Entry<String, Long> entry : index.refreshedSeqs.get(kind).entrySet()) {
+					if (entry.getValue() > seq) {
+						built.apply(kind, entry.getKey(), index.dueTimes.get(kind).get(entry.getKey()),
+								entry.getValue());
+					}
+				}
+			}
+			index = built;
+			initialized = true;
+		}
+		return count;
+	}
+
+	/**
+	 * 就職活動の登録/更新に伴い、再通知の期限を再設定します。
+	 *
+	 * @param jobSearchId 就職活動ID
+	 */
+	public void refreshJobSearch(String jobSearchId) {
+		applyAfterCommit(() -> refresh(Kind.JOB_SEARCH_RESEND, jobSearchId));
+	}
+
+	/**
+	 * 証明書発行の登録/更新/削除に伴い、再通知と支払期限を再設定します。
+	 *
+	 * @param certificateIssueId 証明書発行ID
+	 */
+	public void refreshCertificateIssuance(String certificateIssueId) {
+		applyAfterCommit(() -> {
+			refresh(Kind.CERTIFICATE_RESEND, certificateIssueId);
+			refresh(Kind.PAYMENT_DUE, certificateIssueId);
+		});
+	}
+
+	/**
+	 * 指定されたIDの期限を再取得し、索引に反映します。
+	 *
+	 * <p>
+	 * 再取得はロックの外で行い、後から開始した再取得・再構築の結果を古い期限で上書きしないよう、開始順で判定して反映します。
+	 * </p>
+	 *
+	 * @param kind 種類
+	 * @param id   就職活動IDまたは証明書発行ID
+	 */
+	private void refresh(Kind kind, String id) {
+		long seq = sequence.incrementAndGet();
+		LocalDateTime dueAt = selectDeadlines(kind, List.of(id)).get(id);
+		synchronized (this) {
+			if (seq > index.builtSeq) {
+				index.apply(kind, id, dueAt, seq);
+			}
+		}
+	}
+
+	/**
+	 * コミット後（トランザクション外の場合は即時）に索引への反映を行います。
+	 *
+	 * @param task 反映処理
+	 */
+	private void applyAfterCommit(Runnable task) {
+		// 未構築の場合は次回の取り出し時に全件から構築するため、反映不要
+		if (!initialized) {
+			return;
+		}
+
+		Runnable guarded = () -> {
+			try {
+				task.run();
+			} catch (DataAccessException e) {
+				// 期限が不明となるため、次回の取り出し時に再構築する
+				initialized = false;
+				logger.warn("期限の再設定に失敗したため、次回取り出し時に再構築します: {}", e.getMessage());
+			}
+		};
+
+		TransactionHooks.afterCommit(guarded);
+	}
+
+	/**
+	 * 期限をDBから取得します。
+	 *
+	 * @param kind 種類
+	 * @param ids  対象のID（nullの場合は全件）
+	 * @return IDごとの期限日時（期限の対象外のIDは含まない）
+	 */
+	private Map<String, LocalDateTime> selectDeadlines(Kind kind, List<String> ids) {
+		Map<String, LocalDateTime> deadlines = new HashMap<>();
+		if (kind == Kind.JOB_SEARCH_RESEND) {
+			String sql = ids == null ? SQL_SELECT_JOB_SEARCH_DEADLINE : SQL_SELECT_JOB_SEARCH_DEADLINE_BY_ID;
+			Map<String, Object> params = ids == null ? new HashMap<>() : dbdc.mapInputValues(sql, ids);
+			jdbc.query(sql, params, (ResultSet rs) -> {
+				putEarliest(deadlines, rs.getString("job_search_id"), jobSearchDueAt(rs));
+			});
+		} else {
+			String sql = ids == null ? SQL_SELECT_CERTIFICATE_DEADLINE : SQL_SELECT_CERTIFICATE_DEADLINE_BY_ID;
+			Map<String, Object> params = ids == null ? new HashMap<>() : dbdc.mapInputValues(sql, ids);
+			jdbc.query(sql, params, (ResultSet rs) -> {
+				LocalDateTime dueAt = kind == Kind.CERTIFICATE_RESEND ? certificateResendDueAt(rs)
+						: paymentDueAt(rs);
+				putEarliest(deadlines, rs.getString("certificate_issue_id"), dueAt);
+			});
+		}
+		return deadlines;
+	}
+
+	/**
+	 * 期限を設定します。同じIDが複数行ある場合は最も早い期限とします。
+	 *
+	 * @param deadlines IDごとの期限日時
+	 * @param id        ID
+	 * @param dueAt     期限日時（nullの場合は設定しない）
+	 */
+	private void putEarliest(Map<String, LocalDateTime> deadlines, String id, LocalDateTime dueAt) {
+		if (dueAt != null) {
+			deadlines.merge(id, dueAt, (a, b) -> a.isBefore(b) ? a : b);
+		}
+	}
+
+	/**
+	 * 就職活動の再通知の期限を算出します。
+	 *
+	 * <p>
+	 * 状態が21・23の場合は終了日時、それ以外は最終更新日時から2日後とします。
+	 * </p>
+	 *
+	 * @param rs 取得結果
+	 * @return 期限日時（基準日時がない場合はnull）
+	 * @throws SQLException 取得結果の読み込みに失敗した場合
+	 */
+	private LocalDateTime jobSearchDueAt(ResultSet rs) throws SQLException {
+		String status = rs.getString("job_search_status");
+		Timestamp base = "21".equals(status) || "23".equals(status) ? rs.getTimestamp("end_time")
+				: rs.getTimestamp("max_updated_at");
+		return base == null ? null : base.toLocalDateTime().plusDays(RESEND_DAYS);
+	}
+
+	/**
+	 * 証明書発行の再通知の期限を算出します。
+	 *
+	 * @param rs 取得結果
+	 * @return 期限日時（最終更新日の2日後）
+	 * @throws SQLException 取得結果の読み込みに失敗した場合
+	 */
+	private LocalDateTime certificateResendDueAt(ResultSet rs) throws SQLException {
+		Date latestDate = rs.getDate("latest_date");
+		return latestDate == null ? null : latestDate.toLocalDate().plusDays(RESEND_DAYS).atStartOfDay();
+	}
+
+	/**
+	 * 証明書発行の支払期限を算出します。
+	 *
+	 * @param rs 取得結果
+	 * @return 期限日時（承認日の3日後の0時、支払待ち以外はnull）
+	 * @throws SQLException 取得結果の読み込みに失敗した場合
+	 */
+	private LocalDateTime paymentDueAt(ResultSet rs) throws SQLException {
+		Date approvalDate = rs.getDate("approval_date");
+		if (!"1".equals(rs.getString("status")) || approvalDate == null) {
+			return null;
+		}
+		return approvalDate.toLocalDate().plusDays(PAYMENT_DUE_DAYS).atStartOfDay();
+	}
+
+	/**
+	 * 期限の索引
+	 *
+	 * <p>
+	 * 種類ごとの期限日時順のキューと、IDごとの現在の期限日時を保持します。<br>
+	 * 再設定前の期限もキューに残るため、現在の期限日時と一致しない期限は取り出し時に読み飛ばします。
+	 * </p>
+	 */
+	private static final class Index {
+		private final Map<Kind, PriorityQueue<Deadline>> queues = new EnumMap<>(Kind.class);
+		private final Map<Kind, Map<String, LocalDateTime>> dueTimes = new EnumMap<>(Kind.class);
+		/** IDごとの最後に反映した再取得の開始順 */
+		private final Map<Kind, Map<String, Long>> refreshedSeqs = new EnumMap<>(Kind.class);
+		/** 構築に使用した全件の取得の開始順 */
+		private final long builtSeq;
+
+		private Index(long builtSeq) {
+			this.builtSeq = builtSeq;
+			for (Kind kind : Kind.values()) {
+				queues.put(kind, new PriorityQueue<>((a, b) -> a.dueAt().compareTo(b.dueAt())));
+				dueTimes.put(kind, new HashMap<>());
+				refreshedSeqs.put(kind, new HashMap<>());
+			}
+		}
+
+		/**
+		 * 期限を登録します。同じIDの期限は置き換えます。
+		 */
+		private void schedule(Kind kind, String id, LocalDateTime dueAt) {
+			LocalDateTime before = dueTimes.get(kind).put(id, dueAt);
+			if (!dueAt.equals(before)) {
+				queues.get(kind).add(new Deadline(kind, id, dueAt));
+			}
+		}
+
+		/**
+		 * 再取得した期限を反映します。同じIDに後から開始した再取得を反映済みの場合は反映しません。
+		 *
+		 * @param dueAt 期限日時（nullの場合は索引から削除）
+		 * @param seq   再取得の開始順
+		 */
+		private void apply(Kind kind, String id, LocalDateTime dueAt, long seq) {
+			Long applied = refreshedSeqs.get(kind).get(id);
+			if (applied != null && applied > seq) {
+				return;
+			}
+			refreshedSeqs.get(kind).put(id, seq);
+			if (dueAt == null) {
+				dueTimes.get(kind).remove(id);
+			} else {
+				schedule(kind, id, dueAt);
+			}
+		}
+	}
+
+	/**
+	 * 期限を迎えたIDの取り出し結果
+	 *
+	 * @param dueIds       期限を迎えたID
+	 * @param scannedCount 確認した件数
+	 */
+	public record DuePoll(List<String> dueIds, int scannedCount) {
+	}
+}
@@ -0,0 +1,55 @@
+package com.api.domain.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.api.domain.models.dbdata.DeletedUserData;
+import com.api.jobpal.common.base.IndexedRowMapper;
+
+/**
+ * 削除ユーザの検索結果を`DeletedUserData`へ格納するクラスです。
+ *
+ * <p>
+ * 削除ユーザ取得SQLのSELECT句に含まれる列を対象とします。<br>
+ * インスタンスはSQLの実行ごとに生成してください。
+ * </p>
+ */
+class DeletedUserRowMapper extends IndexedRowMapper<DeletedUserData> {
+
+	DeletedUserRowMapper() {
+		super("user_id",
+				"deleted_at",
+				"user_name",
+				"user_type",
+				"created_by_user_id",
+				"created_at",
+				"department",
+				"grade",
+				"class_name",
+				"attendance_number",
+				"student_id");
+	}
+
+	@Override
+	protected DeletedUserData mapRow(ResultSet rs, int[] columns) throws SQLException {
+		// 削除ユーザデータの初期化
+		DeletedUserData deletedUserData = new DeletedUserData();
+
+		// 削除ユーザマスタの項目
+		deletedUserData.setUserId(getString(rs, columns[0])); // ユーザID
+		deletedUserData.setDeletedAt(getTimestamp(rs, columns[1])); // 削除日時
+		deletedUserData.setUserName(getString(rs, columns[2])); // ユーザ名
+		deletedUserData.setUserType(getString(rs, columns[3])); // ユーザ区分
+		deletedUserData.setCreatedByUserId(getString(rs, columns[4])); // 作成者のユーザID
+		deletedUserData.setCreatedAt(getTimestamp(rs, columns[5])); // 作成日時
+
+		// 削除担任・学生ユーザの項目（担任・学生以外はnull）
+		deletedUserData.setDepartment(getString(rs, columns[6])); // 学科
+		deletedUserData.setGrade(getInteger(rs, columns[7])); // 学年
+		deletedUserData.setClassName(getString(rs, columns[8])); // クラス名
+		deletedUserData.setAttendanceNumber(getInteger(rs, columns[9])); // 出席番号
+		deletedUserData.setStudentId(getInteger(rs, columns[10])); // 学籍番号
+
+		return deletedUserData;
+	}
+}
@@ -0,0 +1,379 @@
+package com.api.domain.repositories;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.domain.models.dbdata.ExamReportEvaluationData;
+import com.api.jobpal.common.base.DBDataConversion;
+
+/**
+ * 受験報告の評価に関わるDBアクセスを実現するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>受験報告の評価の依頼（評価待ちの作成）</li>
+ * <li>評価待ちの受験報告の取得</li>
+ * <li>評価中の期限の設定（評価するインスタンスの確定）</li>
+ * <li>評価結果（評価済み・再評価待ち・評価不可）の更新</li>
+ * <li>就職活動の評価の取得</li>
+ * </ul>
+ * <p>
+ * 評価結果は依頼日時が一致する場合のみ更新するため、評価中に受験報告が更新された場合、古い感想の評価結果は反映されません。<br>
+ * 評価待ちは評価中の期限を設定できたインスタンスのみが評価し、評価結果も同じ期限が設定されている場合のみ更新します。<br>
+ * 処理が継続できない場合は、呼び出し元へ例外をスローします。<br>
+ * <strong>呼び出し元では適切な例外処理を行ってください。</strong>
+ */
+@Repository
+public class ExamReportEvaluationRepository {
+
+	/**
+	 * 評価状態：評価待ち
+	 */
+	public static final String STATUS_PENDING = "0";
+
+	/**
+	 * 評価状態：評価済み
+	 */
+	public static final String STATUS_EVALUATED = "1";
+
+	/**
+	 * 評価状態：評価不可
+	 */
+	public static final String STATUS_FAILED = "9";
+
+	/**
+	 * SQL 指定された就職活動の受験報告の評価を削除
+	 */
+	private static final String SQL_DELETE_EXAM_REPORT_EVALUATION_JOB_SEARCH = "DELETE FROM "
+			+ "EXAM_REPORT_EVALUATION_T "
+			+ "WHERE "
+			+ "exam_report_id IN (SELECT ER.exam_report_id FROM EXAM_REPORT_T ER WHERE ER.job_search_id = :jobSearchId )";
+
+	/**
+	 * SQL 指定された就職活動の受験報告を評価待ちとして登録
+	 */
+	private static final String SQL_INSERT_EXAM_REPORT_EVALUATION_JOB_SEARCH = "INSERT INTO "
+			+ "EXAM_REPORT_EVALUATION_T (exam_report_id, status, result, attempt_count, last_error, "
+			+ "requested_at, updated_at) "
+			+ "SELECT "
+			+ "ER.exam_report_id, '0', NULL, 0, NULL, :requestedAt , :updatedAt "
+			+ "FROM "
+			+ "EXAM_REPORT_T ER "
+			+ "WHERE "
+			+ "ER.job_search_id = :jobSearchId";
+
+	/**
+	 * SQL 評価待ちの受験報告を取得（評価中のものを除く）
+	 */
+	private static final String SQL_SELECT_EXAM_REPORT_EVALUATION_PENDING = "SELECT "
+			+ "EV.exam_report_id, "
+			+ "EV.attempt_count, "
+			+ "EV.requested_at, "
+			+ "ER.impressions "
+			+ "FROM "
+			+ "EXAM_REPORT_EVALUATION_T EV "
+			+ "INNER JOIN EXAM_REPORT_T ER ON EV.exam_report_id = ER.exam_report_id "
+			+ "WHERE "
+			+ "EV.status = '0' "
+			+ "AND (EV.claimed_until IS NULL OR EV.claimed_until < :now ) "
+			+ "ORDER BY EV.requested_at, EV.exam_report_id "
+			+ "LIMIT :limit ";
+
+	/**
+	 * SQL 指定された就職活動の評価待ちの受験報告を取得（評価中のものを除く）
+	 */
+	private static final String SQL_SELECT_EXAM_REPORT_EVALUATION_PENDING_JOB_SEARCH = "SELECT "
+			+ "EV.exam_report_id, "
+			+ "EV.attempt_count, "
+			+ "EV.requested_at, "
+			+ "ER.impressions "
+			+ "FROM "
+			+ "EXAM_REPORT_T ER "
+			+ "INNER JOIN EXAM_REPORT_EVALUATION_T EV ON ER.exam_report_id = EV.exam_report_id "
+			+ "WHERE "
+			+ "ER.job_search_id = :jobSearchId "
+			+ "AND EV.status = '0' "
+			+ "AND (EV.claimed_until IS NULL OR EV.claimed_until < :now )";
+
+	/**
+	 * SQL 就職活動の最新の受験報告の評価を取得
+	 */
+	private static final String SQL_SELECT_EXAM_REPORT_EVALUATION_JOB_SEARCH = "SELECT "
+			+ "EV.exam_report_id, "
+			+ "EV.status, "
+			+ "EV.result "
+			+ "FROM "
+			+ "JOB_SEARCH_LATEST_T JL "
+			+ "INNER JOIN EXAM_REPORT_EVALUATION_T EV ON JL.exam_report_id = EV.exam_report_id "
+			+ "WHERE "
+			+ "JL.job_search_id = :jobSearchId";
+
+	/**
+	 * SQL 評価中の期限の設定
+	 *
+	 * <p>
+	 * 評価待ちで、評価中でない（または評価中の期限を過ぎた）場合のみ設定します。
+	 * </p>
+	 */
+	private static final String SQL_UPDATE_EXAM_REPORT_EVALUATION_CLAIM = "UPDATE "
+			+ "EXAM_REPORT_EVALUATION_T "
+			+ "SET "
+			+ "claimed_until = :claimedUntil , "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "exam_report_id = :examReportId "
+			+ "AND requested_at = :requestedAt "
+			+ "AND status = '0' "
+			+ "AND (claimed_until IS NULL OR claimed_until < :now )";
+
+	/**
+	 * SQL 評価中の期限の解除
+	 */
+	private static final String SQL_UPDATE_EXAM_REPORT_EVALUATION_RELEASE = "UPDATE "
+			+ "EXAM_REPORT_EVALUATION_T "
+			+ "SET "
+			+ "claimed_until = NULL, "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "exam_report_id = :examReportId "
+			+ "AND status = '0' "
+			+ "AND claimed_until = :claimedUntil ";
+
+	/**
+	 * SQL 評価結果の更新（評価中の期限は解除）
+	 */
+	private static final String SQL_UPDATE_EXAM_REPORT_EVALUATION_RESULT = "UPDATE "
+			+ "EXAM_REPORT_EVALUATION_T "
+			+ "SET "
+			+ "status = :status , "
+			+ "result = :result , "
+			+ "attempt_count = attempt_count + 1, "
+			+ "last_error = :lastError , "
+			+ "claimed_until = NULL, "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "exam_report_id = :examReportId "
+			+ "AND requested_at = :requestedAt "
+			+ "AND status = '0' "
+			+ "AND claimed_until = :claimedUntil ";
+
+	/**
+	 * 更新が成功した場合の期待値
+	 */
+	private static final int EXPECTED_UPDATE_COUNT = 1;
+
+	/**
+	 * エラー内容の最大文字数
+	 */
+	private static final int MAX_ERROR_LENGTH = 500;
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * 指定された就職活動の受験報告を評価待ちにします。
+	 *
+	 * <p>
+	 * 評価済みの場合も、評価待ちとして作り直します。
+	 * </p>
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @return 評価待ちにした場合は`true`、受験報告が存在しない場合は`false`を返却します。
+	 */
+	@Transactional
+	public Boolean requestExamReportEvaluation(String jobSearchId) {
+		Timestamp now = dbdc.getNowTime();
+		jdbc.update(SQL_DELETE_EXAM_REPORT_EVALUATION_JOB_SEARCH,
+				dbdc.mapInputValues(SQL_DELETE_EXAM_REPORT_EVALUATION_JOB_SEARCH, jobSearchId));
+		int updateRow = jdbc.update(SQL_INSERT_EXAM_REPORT_EVALUATION_JOB_SEARCH,
+				dbdc.mapInputValues(SQL_INSERT_EXAM_REPORT_EVALUATION_JOB_SEARCH, now, now, jobSearchId));
+		return updateRow >= EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 評価中でない評価待ちの受験報告を、依頼日時の古い順に取得します。
+	 *
+	 * @param limit 取得する最大件数
+	 * @return 評価待ちの受験報告のリスト（感想を含む）
+	 */
+	public List<ExamReportEvaluationData> selectPendingExamReportEvaluation(int limit) {
+		return selectPending(SQL_SELECT_EXAM_REPORT_EVALUATION_PENDING, dbdc.getNowTime(), limit);
+	}
+
+	/**
+	 * 指定された就職活動の評価中でない評価待ちの受験報告を取得します。
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @return 評価待ちの受験報告のリスト（感想を含む）
+	 */
+	public List<ExamReportEvaluationData> selectPendingExamReportEvaluationJobSearch(String jobSearchId) {
+		return selectPending(SQL_SELECT_EXAM_REPORT_EVALUATION_PENDING_JOB_SEARCH, jobSearchId, dbdc.getNowTime());
+	}
+
+	/**
+	 * 評価中の期限を設定します。
+	 *
+	 * <p>
+	 * 評価待ちで、他のインスタンスが評価中でない場合のみ設定できるため、複数のインスタンスで同じ受験報告を評価しません。
+	 * </p>
+	 *
+	 * @param examReportEvaluationData 評価待ちの受験報告（取得時の依頼日時を保持していること）
+	 * @param claimedUntil             評価中の期限
+	 * @return 設定できた場合はtrue、他で評価中または評価待ちでなくなった場合はfalseを返却します。
+	 */
+	public Boolean updateExamReportEvaluationClaim(ExamReportEvaluationData examReportEvaluationData,
+			Timestamp claimedUntil) {
+		// SQLクエリのパラメータを設定
+		Timestamp now = dbdc.getNowTime();
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_EXAM_REPORT_EVALUATION_CLAIM,
+				claimedUntil, now, examReportEvaluationData.getExamReportId(),
+				examReportEvaluationData.getRequestedAt(), now);
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_EXAM_REPORT_EVALUATION_CLAIM, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 評価中の期限を解除し、すぐに再評価できるようにします。
+	 *
+	 * @param examReportEvaluationData 評価中の受験報告（設定した評価中の期限を保持していること）
+	 * @return 解除した場合はtrue、それ以外の場合はfalseを返却します。
+	 */
+	public Boolean updateExamReportEvaluationRelease(ExamReportEvaluationData examReportEvaluationData) {
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_EXAM_REPORT_EVALUATION_RELEASE,
+				dbdc.getNowTime(), examReportEvaluationData.getExamReportId(),
+				examReportEvaluationData.getClaimedUntil());
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_EXAM_REPORT_EVALUATION_RELEASE, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 就職活動の最新の受験報告の評価を取得します。
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @return 評価（受験報告がない場合はnull）
+	 */
+	public ExamReportEvaluationData selectExamReportEvaluationJobSearch(String jobSearchId) {
+		List<Map<String, Object>> resultList = jdbc.queryForList(SQL_SELECT_EXAM_REPORT_EVALUATION_JOB_SEARCH,
+				dbdc.mapInputValues(SQL_SELECT_EXAM_REPORT_EVALUATION_JOB_SEARCH, jobSearchId));
+		if (resultList.isEmpty()) {
+			return null;
+		}
+		Map<String, Object> result = resultList.get(0);
+		ExamReportEvaluationData examReportEvaluationData = new ExamReportEvaluationData();
+		examReportEvaluationData.setExamReportId(dbdc.getStringValue(result, "exam_report_id"));
+		examReportEvaluationData.setStatus(dbdc.getStringValue(result, "status"));
+		examReportEvaluationData.setResult(dbdc.getStringValue(result, "result"));
+		return examReportEvaluationData;
+	}
+
+	/**
+	 * 評価済みに更新します。
+	 *
+	 * @param examReportEvaluationData 評価中の受験報告（取得時の依頼日時と、設定した評価中の期限を保持していること）
+	 * @param result                   評価結果
+	 * @return 更新した場合はtrue、評価中に受験報告が更新された場合などはfalseを返却します。
+	 */
+	public Boolean updateExamReportEvaluated(ExamReportEvaluationData examReportEvaluationData, String result) {
+		return updateExamReportEvaluationResult(examReportEvaluationData, STATUS_EVALUATED, result, null);
+	}
+
+	/**
+	 * 評価に失敗した受験報告を再評価待ちに更新します（試行回数のみ加算）。
+	 *
+	 * @param examReportEvaluationData 評価中の受験報告（取得時の依頼日時と、設定した評価中の期限を保持していること）
+	 * @param lastError                エラー内容
+	 * @return 更新した場合はtrue、それ以外の場合はfalseを返却します。
+	 */
+	public Boolean updateExamReportEvaluationRetry(ExamReportEvaluationData examReportEvaluationData,
+			String lastError) {
+		return updateExamReportEvaluationResult(examReportEvaluationData, STATUS_PENDING, null, lastError);
+	}
+
+	/**
+	 * 試行の上限に達した受験報告を評価不可に更新します。
+	 *
+	 * @param examReportEvaluationData 評価中の受験報告（取得時の依頼日時と、設定した評価中の期限を保持していること）
+	 * @param lastError                エラー内容
+	 * @return 更新した場合はtrue、それ以外の場合はfalseを返却します。
+	 */
+	public Boolean updateExamReportEvaluationFailed(ExamReportEvaluationData examReportEvaluationData,
+			String lastError) {
+		return updateExamReportEvaluationResult(examReportEvaluationData, STATUS_FAILED, null, lastError);
+	}
+
+	/**
+	 * 評価待ちの受験報告を取得します。
+	 *
+	 * @param sql  SQL文
+	 * @param args パラメータ
+	 * @return 評価待ちの受験報告のリスト
+	 */
+	private List<ExamReportEvaluationData> selectPending(String sql, Object... args) {
+		// SQLクエリを実行
+		List<Map<String, Object>> resultList = jdbc.queryForList(sql, dbdc.mapInputValues(sql, args));
+
+		// 評価待ちの受験報告のリストを作成
+		return resultList.stream().map(result -> {
+			ExamReportEvaluationData examReportEvaluationData = new ExamReportEvaluationData();
+			examReportEvaluationData.setExamReportId(dbdc.getStringValue(result, "exam_report_id"));
+			examReportEvaluationData.setStatus(STATUS_PENDING);
+			examReportEvaluationData.setAttemptCount(dbdc.getIntegerValue(result, "attempt_count"));
+			examReportEvaluationData.setRequestedAt(dbdc.getTimestampValue(result, "requested_at"));
+			examReportEvaluationData.setImpressions(dbdc.getStringValue(result, "impressions"));
+			return examReportEvaluationData;
+		}).toList();
+	}
+
+	/**
+	 * 評価結果を更新します。
+	 *
+	 * @param examReportEvaluationData 評価中の受験報告
+	 * @param status                   評価状態
+	 * @param result                   評価結果
+	 * @param lastError                エラー内容
+	 * @return 更新した場合はtrue、それ以外の場合はfalseを返却します。
+	 */
+	private Boolean updateExamReportEvaluationResult(ExamReportEvaluationData examReportEvaluationData,
+			String status, String result, String lastError) {
+		// エラー内容は列の長さに合わせて切り詰める
+		if (lastError != null && lastError.length() > MAX_ERROR_LENGTH) {
+			lastError = lastError.substring(0, MAX_ERROR_LENGTH);
+		}
+
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_EXAM_REPORT_EVALUATION_RESULT,
+				status, result, lastError, dbdc.getNowTime(), examReportEvaluationData.getExamReportId(),
+				examReportEvaluationData.getRequestedAt(), examReportEvaluationData.getClaimedUntil());
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_EXAM_REPORT_EVALUATION_RESULT, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+}
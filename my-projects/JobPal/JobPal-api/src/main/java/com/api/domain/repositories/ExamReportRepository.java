@@ -93,6 +93,18 @@ public class ExamReportRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * 就職活動最新状態リポジトリ。
+	 */
+	@Autowired
+	private JobSearchLatestRepository jobSearchLatestRepository;
+
+	/**
+	 * バッチ処理の期限リポジトリ。
+	 */
+	@Autowired
+	private DeadlineRepository deadlineRepository;
+
 	/**
 	 * 受験報告を作成します。
 	 *
@@ -128,6 +140,12 @@ public class ExamReportRepository {
 		// SQLクエリを実行し、データを更新
 		int updateRow = jdbc.update(SQL_INSERT_JOB_EXAM_ONE, params);
 
+		// 就職活動の最新状態・再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			jobSearchLatestRepository.refresh(examReportData.getJobSearchId());
+			deadlineRepository.refreshJobSearch(examReportData.getJobSearchId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -163,6 +181,12 @@ public class ExamReportRepository {
 		// SQLクエリを実行し、データを更新
 		int updateRow = jdbc.update(SQL_UPDATE_JOB_EXAM_ONE, params);
 
+		// 就職活動の最新状態・再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			jobSearchLatestRepository.refresh(examReportData.getJobSearchId());
+			deadlineRepository.refreshJobSearch(examReportData.getJobSearchId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -132,6 +132,24 @@ public class JobSearchApplicationRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * 就職活動最新状態リポジトリ。
+	 */
+	@Autowired
+	private JobSearchLatestRepository jobSearchLatestRepository;
+
+	/**
+	 * バッチ処理の期限リポジトリ。
+	 */
+	@Autowired
+	private DeadlineRepository deadlineRepository;
+
+	/**
+	 * クラス集計値リポジトリ。
+	 */
+	@Autowired
+	private ClassStatisticsRepository classStatisticsRepository;
+
 	/**
 	 * 指定された就職活動IDに関連するイベント区分を取得します。
 	 *
@@ -196,6 +214,13 @@ public class JobSearchApplicationRepository {
 		// SQLクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_INSERT_JOB_SEARCH_APPLICATION_ONE, params);
 
+		// 就職活動の最新状態・クラスの集計値・再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			jobSearchLatestRepository.refresh(jobSearchApplicationData.getJobSearchId());
+			classStatisticsRepository.refreshJobSearch(jobSearchApplicationData.getJobSearchId());
+			deadlineRepository.refreshJobSearch(jobSearchApplicationData.getJobSearchId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -235,6 +260,13 @@ public class JobSearchApplicationRepository {
 		// SQLクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_UPDATE_JOB_SEARCH_APPLICATION_ONE, params);
 
+		// 就職活動の最新状態・クラスの集計値・再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			jobSearchLatestRepository.refresh(jobSearchApplicationData.getJobSearchId());
+			classStatisticsRepository.refreshJobSearch(jobSearchApplicationData.getJobSearchId());
+			deadlineRepository.refreshJobSearch(jobSearchApplicationData.getJobSearchId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -264,6 +296,11 @@ public class JobSearchApplicationRepository {
 		// SQLクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_UPDATE_SCHOOL_CHECKED_ONE, params);
 
+		// 就職活動の最新状態に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			jobSearchLatestRepository.refresh(jobSearchId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -4,15 +4,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import com.api.domain.models.data.DashBoardSearchCondition;
 import com.api.domain.models.dbdata.JobSearchDashBoardData;
 import com.api.domain.models.dbdata.JobSearchDashBoardDetailData;
 import com.api.domain.models.entities.DashBoardEntity;
 import com.api.jobpal.common.base.DBDataConversion;
+import com.api.jobpal.common.base.StreamingQueryExecutor;
 
 /**
  * 就職活動ダッシュボードに関わるDBアクセスを実現するクラスです。
@@ -21,6 +24,8 @@ import com.api.jobpal.common.base.DBDataConversion;
  * 以下の処理を行います。
  * <ul>
  * <li>就職活動ダッシュボード一覧の取得</li>
+ * <li>就職活動ダッシュボード一覧のページ取得・件数取得</li>
+ * <li>就職活動ダッシュボード一覧の全件の逐次取得（CSV出力用）</li>
  * <li>就職活動ダッシュボード詳細の取得</li>
  * </ul>
  * <p>
@@ -48,15 +53,15 @@ public class JobSearchDashBoardRepository {
 			+ "TSUM.class_name, "
 			+ "TSUM.attendance_number, "
 			+ "UM.user_id, "
-			+ "GREATEST(JA.updated_at, COALESCE(JR.updated_at, '1970-01-01'), COALESCE(ER.updated_at, '1970-01-01')) AS max_updated_at "
+			+ "JL.max_updated_at AS max_updated_at "
 			+ "FROM "
 			+ "JOB_SEARCH_T AS JS "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL "
+			+ "ON JS.job_search_id = JL.job_search_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA "
-			+ "ON JS.job_search_id = JA.job_search_id "
+			+ "ON JL.job_application_id = JA.job_application_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T AS JR "
-			+ "ON JS.job_search_id = JR.job_search_id "
-			+ "LEFT OUTER JOIN EXAM_REPORT_T AS ER "
-			+ "ON JS.job_search_id = ER.job_search_id "
+			+ "ON JL.job_report_id = JR.job_report_id "
 			+ "LEFT OUTER JOIN USER_M AS UM "
 			+ "ON UM.user_id = JS.student_user_id "
 			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M AS TSUM "
@@ -80,15 +85,15 @@ public class JobSearchDashBoardRepository {
 			+ "TSUM.class_name, "
 			+ "TSUM.attendance_number, "
 			+ "UM.user_id, "
-			+ "GREATEST(JA.updated_at, COALESCE(JR.updated_at, '1970-01-01'), COALESCE(ER.updated_at, '1970-01-01')) AS max_updated_at "
+			+ "JL.max_updated_at AS max_updated_at "
 			+ "FROM "
 			+ "JOB_SEARCH_T AS JS "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL "
+			+ "ON JS.job_search_id = JL.job_search_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA "
-			+ "ON JS.job_search_id = JA.job_search_id "
+			+ "ON JL.job_application_id = JA.job_application_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T AS JR "
-			+ "ON JS.job_search_id = JR.job_search_id "
-			+ "LEFT OUTER JOIN EXAM_REPORT_T AS ER "
-			+ "ON JS.job_search_id = ER.job_search_id "
+			+ "ON JL.job_report_id = JR.job_report_id "
 			+ "LEFT OUTER JOIN USER_M AS UM "
 			+ "ON UM.user_id = JS.student_user_id "
 			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M AS TSUM "
@@ -114,15 +119,15 @@ public class JobSearchDashBoardRepository {
 			+ "TSUM.class_name, "
 			+ "TSUM.attendance_number, "
 			+ "UM.user_id, "
-			+ "GREATEST(JA.updated_at, COALESCE(JR.updated_at, '1970-01-01'), COALESCE(ER.updated_at, '1970-01-01')) AS max_updated_at "
+			+ "JL.max_updated_at AS max_updated_at "
 			+ "FROM "
 			+ "JOB_SEARCH_T AS JS "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL "
+			+ "ON JS.job_search_id = JL.job_search_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA "
-			+ "ON JS.job_search_id = JA.job_search_id "
+			+ "ON JL.job_application_id = JA.job_application_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T AS JR "
-			+ "ON JS.job_search_id = JR.job_search_id "
-			+ "LEFT OUTER JOIN EXAM_REPORT_T AS ER "
-			+ "ON JS.job_search_id = ER.job_search_id "
+			+ "ON JL.job_report_id = JR.job_report_id "
 			+ "INNER JOIN USER_M AS UM "
 			+ "ON UM.user_id = JS.student_user_id "
 			+ "INNER JOIN TEACHER_STUDENT_USER_M AS TSUM "
@@ -131,6 +136,65 @@ public class JobSearchDashBoardRepository {
 			+ "UM.user_id = :userId "
 			+ "AND JS.job_search_status <> '00'";
 
+	/**
+	 * SQL ダッシュボードのページ取得（取得項目）
+	 */
+	private static final String SQL_SELECT_JOB_SEARCH_DASHBOARD_PAGE = "SELECT "
+			+ "UM.user_name, "
+			+ "JS.job_search_status, "
+			+ "JA.start_time, "
+			+ "JA.company_name, "
+			+ "JA.event_category, "
+			+ "JR.result, "
+			+ "JA.school_check_flag, "
+			+ "JA.end_time, "
+			+ "JS.job_search_id, "
+			+ "TSUM.department, "
+			+ "TSUM.grade, "
+			+ "TSUM.class_name, "
+			+ "TSUM.attendance_number, "
+			+ "UM.user_id, "
+			+ "JL.max_updated_at AS max_updated_at ";
+
+	/**
+	 * SQL ダッシュボードの件数取得（取得項目）
+	 */
+	private static final String SQL_COUNT_JOB_SEARCH_DASHBOARD_PAGE = "SELECT "
+			+ "COUNT(*) AS total_count ";
+
+	/**
+	 * SQL ダッシュボードのページ取得・件数取得（結合）
+	 *
+	 * <p>
+	 * 申請・報告は就職活動最新状態トラン（就職活動ごとに1行）を経由して結合するため、
+	 * 申請・報告が複数ある就職活動も1行・1件となります。
+	 * </p>
+	 */
+	private static final String SQL_FROM_JOB_SEARCH_DASHBOARD_PAGE = "FROM "
+			+ "JOB_SEARCH_T AS JS "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL "
+			+ "ON JS.job_search_id = JL.job_search_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA "
+			+ "ON JL.job_application_id = JA.job_application_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T AS JR "
+			+ "ON JL.job_report_id = JR.job_report_id "
+			+ "LEFT OUTER JOIN USER_M AS UM "
+			+ "ON UM.user_id = JS.student_user_id "
+			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M AS TSUM "
+			+ "ON JS.student_user_id = TSUM.user_id ";
+
+	/**
+	 * 並び替え項目ごとの並び替えに使用する式
+	 *
+	 * <p>
+	 * カーソルによる比較ができるよう、NULLは固定値に置き換えます。
+	 * </p>
+	 */
+	private static final Map<String, String> SORT_EXPRESSIONS = Map.of(
+			DashBoardSearchCondition.SORT_START_TIME, "COALESCE(JA.start_time, TIMESTAMP '1970-01-01 00:00:00')",
+			DashBoardSearchCondition.SORT_JOB_SEARCH_STATUS, "JS.job_search_status",
+			DashBoardSearchCondition.SORT_EVENT_CATEGORY, "COALESCE(JA.event_category, '')");
+
 	/**
 	 * SQL ダッシュボードの詳細を取得
 	 */
@@ -166,15 +230,21 @@ public class JobSearchDashBoardRepository {
 			+ "TSUM.class_name, "
 			+ "TSUM.attendance_number, "
 			+ "TSUM.student_id, "
-			+ "GREATEST(JA.updated_at, COALESCE(JR.updated_at, '1970-01-01'), COALESCE(ER.updated_at, '1970-01-01')) AS max_updated_at "
+			+ "JL.max_updated_at AS max_updated_at, "
+			+ "EV.status AS evaluation_status, "
+			+ "EV.result AS evaluation_result "
 			+ "FROM "
 			+ "JOB_SEARCH_T AS JS "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL "
+			+ "ON JS.job_search_id = JL.job_search_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA "
-			+ "ON JS.job_search_id = JA.job_search_id "
+			+ "ON JL.job_application_id = JA.job_application_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T AS JR "
-			+ "ON JS.job_search_id = JR.job_search_id "
+			+ "ON JL.job_report_id = JR.job_report_id "
 			+ "LEFT OUTER JOIN EXAM_REPORT_T AS ER "
-			+ "ON JS.job_search_id = ER.job_search_id "
+			+ "ON JL.exam_report_id = ER.exam_report_id "
+			+ "LEFT OUTER JOIN EXAM_REPORT_EVALUATION_T AS EV "
+			+ "ON JL.exam_report_id = EV.exam_report_id "
 			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M AS TSUM "
 			+ "ON JS.student_user_id = TSUM.user_id "
 			+ "LEFT OUTER JOIN USER_M AS UM "
@@ -194,6 +264,12 @@ public class JobSearchDashBoardRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * 検索結果を1行ずつ処理するためのオブジェクト。
+	 */
+	@Autowired
+	private StreamingQueryExecutor streamingQueryExecutor;
+
 	/**
 	 * ダッシュボードのデータを全件取得します。(管理者・担任用)
 	 *
@@ -214,24 +290,12 @@ public class JobSearchDashBoardRepository {
 			sql = SQL_SELECT_JOB_SEARCH_DASHBOARD_ADMIN;
 		}
 
-		// SQLクエリを実行し、結果を取得
-		List<Map<String, Object>> resultDashBoardList = jdbc.queryForList(sql, params);
+		// SQLクエリを実行し、結果をDashBoardDataのリストに格納
+		List<JobSearchDashBoardData> dashBoardList = jdbc.query(sql, params, new JobSearchDashBoardRowMapper());
 
 		// DashBoardEntityを作成
 		DashBoardEntity dashBoardEntity = new DashBoardEntity();
 
-		// SQLのカラム名を取得
-		String[] queryList = dbdc.extractColumnNames(sql);
-
-		// DashBoardDataのリスト作成
-		List<JobSearchDashBoardData> dashBoardList = new ArrayList<>();
-
-		// DashBoardDataのリストにデータを格納
-		for (Map<String, Object> resultDashBoardData : resultDashBoardList) {
-			JobSearchDashBoardData jobSearchDashBoardData = packageJobSearchDashBoard(resultDashBoardData, queryList);
-			dashBoardList.add(jobSearchDashBoardData);
-		}
-
 		// DashBoardEntityにリストを設定
 		dashBoardEntity.setDashBoardList(dashBoardList);
 
@@ -253,24 +317,63 @@ public class JobSearchDashBoardRepository {
 		// クエリのパラメータを設定
 		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_JOB_SEARCH_DASHBOARD_STUDENT, userId);
 
-		// SQLクエリを実行し、結果を取得
-		List<Map<String, Object>> resultDashBoardUserList = jdbc.queryForList(SQL_SELECT_JOB_SEARCH_DASHBOARD_STUDENT,
-				params);
+		// SQLクエリを実行し、結果をDashBoardDataのリストに格納
+		List<JobSearchDashBoardData> dashBoardList = jdbc.query(SQL_SELECT_JOB_SEARCH_DASHBOARD_STUDENT, params,
+				new JobSearchDashBoardRowMapper());
 
 		// DashBoardEntityを作成
 		DashBoardEntity dashBoardEntity = new DashBoardEntity();
 
-		// SQLのカラム名を取得
-		String[] queryList = dbdc.extractColumnNames(SQL_SELECT_JOB_SEARCH_DASHBOARD_STUDENT);
+		// DashBoardEntityにリストを設定
+		dashBoardEntity.setDashBoardList(dashBoardList);
 
-		// DashBoardDataのリスト作成
-		List<JobSearchDashBoardData> dashBoardList = new ArrayList<>();
+		// 取得したデータを返却
+		return dashBoardEntity;
+	}
 
-		// DashBoardDataのリストにデータを格納
-		for (Map<String, Object> resultDashBoardData : resultDashBoardUserList) {
-			JobSearchDashBoardData jobSearchDashBoardData = packageJobSearchDashBoard(resultDashBoardData, queryList);
-			dashBoardList.add(jobSearchDashBoardData);
+	/**
+	 * ダッシュボードのデータを1ページ分取得します。
+	 *
+	 * <p>
+	 * 絞り込み条件と並び順をSQLで適用し、カーソルの次の行から指定件数を取得します。<br>
+	 * 並び順が同じ値の行は就職活動IDで順序を確定します。
+	 * </p>
+	 *
+	 * @param condition 取得条件 (null不可)
+	 * @return ダッシュボードのデータを格納したエンティティ
+	 */
+	public DashBoardEntity selectDashBoardPage(DashBoardSearchCondition condition) {
+		// クエリのパラメータを設定するマップ
+		Map<String, Object> params = new HashMap<>();
+
+		String sortExpression = SORT_EXPRESSIONS.get(condition.getSortKey());
+		String direction = condition.isDescending() ? "DESC" : "ASC";
+
+		// 絞り込み条件を設定
+		List<String> where = buildDashBoardConditions(condition, params);
+
+		// カーソルの次の行から取得
+		if (condition.getCursorJobSearchId() != null) {
+			String comparison = condition.isDescending() ? "<" : ">";
+			where.add("(" + sortExpression + " " + comparison + " :cursorValue "
+					+ "OR (" + sortExpression + " = :cursorValue "
+					+ "AND JS.job_search_id " + comparison + " :cursorJobSearchId))");
+			params.put("cursorValue", condition.getCursorValue());
+			params.put("cursorJobSearchId", condition.getCursorJobSearchId());
 		}
+		params.put("limit", condition.getLimit());
+
+		String sql = SQL_SELECT_JOB_SEARCH_DASHBOARD_PAGE
+				+ SQL_FROM_JOB_SEARCH_DASHBOARD_PAGE
+				+ toWhereClause(where)
+				+ "ORDER BY " + sortExpression + " " + direction + ", JS.job_search_id " + direction + " "
+				+ "LIMIT :limit";
+
+		// SQLクエリを実行し、結果をDashBoardDataのリストに格納
+		List<JobSearchDashBoardData> dashBoardList = jdbc.query(sql, params, new JobSearchDashBoardRowMapper());
+
+		// DashBoardEntityを作成
+		DashBoardEntity dashBoardEntity = new DashBoardEntity();
 
 		// DashBoardEntityにリストを設定
 		dashBoardEntity.setDashBoardList(dashBoardList);
@@ -279,6 +382,127 @@ public class JobSearchDashBoardRepository {
 		return dashBoardEntity;
 	}
 
+	/**
+	 * 絞り込み条件に該当するダッシュボードのデータの件数を取得します。
+	 *
+	 * <p>
+	 * カーソルと取得件数は使用しません。
+	 * </p>
+	 *
+	 * @param condition 取得条件 (null不可)
+	 * @return 該当する件数
+	 */
+	public int countDashBoard(DashBoardSearchCondition condition) {
+		// クエリのパラメータを設定するマップ
+		Map<String, Object> params = new HashMap<>();
+
+		// 絞り込み条件を設定
+		List<String> where = buildDashBoardConditions(condition, params);
+
+		String sql = SQL_COUNT_JOB_SEARCH_DASHBOARD_PAGE
+				+ SQL_FROM_JOB_SEARCH_DASHBOARD_PAGE
+				+ toWhereClause(where);
+
+		// SQLクエリを実行し、件数を返却
+		Integer totalCount = jdbc.queryForObject(sql, params, Integer.class);
+		return totalCount == null ? 0 : totalCount;
+	}
+
+	/**
+	 * 絞り込み条件に該当するダッシュボードのデータを、並び順に1行ずつ処理します。
+	 *
+	 * <p>
+	 * 絞り込み条件と並び順はページ取得と同一です。カーソルと取得件数は使用せず、該当するすべての行を処理します。<br>
+	 * 検索結果はメモリに保持しないため、件数が多い場合も使用できます。
+	 * </p>
+	 *
+	 * @param condition 取得条件 (null不可)
+	 * @param action    1行ごとの処理
+	 * @return 処理した件数
+	 */
+	public int streamDashBoard(DashBoardSearchCondition condition, Consumer<JobSearchDashBoardData> action) {
+		// クエリのパラメータを設定するマップ
+		Map<String, Object> params = new HashMap<>();
+
+		String sortExpression = SORT_EXPRESSIONS.get(condition.getSortKey());
+		String direction = condition.isDescending() ? "DESC" : "ASC";
+
+		// 絞り込み条件を設定
+		List<String> where = buildDashBoardConditions(condition, params);
+
+		String sql = SQL_SELECT_JOB_SEARCH_DASHBOARD_PAGE
+				+ SQL_FROM_JOB_SEARCH_DASHBOARD_PAGE
+				+ toWhereClause(where)
+				+ "ORDER BY " + sortExpression + " " + direction + ", JS.job_search_id " + direction;
+
+		// SQLクエリを実行し、1行ずつ処理
+		return streamingQueryExecutor.stream(sql, params, new JobSearchDashBoardRowMapper(), action);
+	}
+
+	/**
+	 * 取得範囲と絞り込み条件からWHERE句の条件を作成します。
+	 *
+	 * @param condition 取得条件
+	 * @param params    条件の値を格納するパラメータ
+	 * @return WHERE句の条件のリスト
+	 */
+	private List<String> buildDashBoardConditions(DashBoardSearchCondition condition, Map<String, Object> params) {
+		List<String> where = new ArrayList<>();
+
+		// 取得範囲（管理者以外は取り下げを除く）
+		if (condition.getScope() != DashBoardSearchCondition.Scope.ADMIN) {
+			where.add("JS.job_search_status <> '00'");
+		}
+		if (condition.getScope() == DashBoardSearchCondition.Scope.STUDENT) {
+			where.add("JS.student_user_id = :userId");
+			params.put("userId", condition.getStudentUserId());
+		}
+
+		// 絞り込み条件
+		addCondition(where, params, "TSUM.department = :department", "department", condition.getDepartment());
+		addCondition(where, params, "TSUM.grade = :grade", "grade", condition.getGrade());
+		addCondition(where, params, "TSUM.class_name = :className", "className", condition.getClassName());
+		addCondition(where, params, "JS.job_search_status = :jobSearchStatus", "jobSearchStatus",
+				condition.getJobSearchStatus());
+		addCondition(where, params, "JA.event_category = :eventCategory", "eventCategory",
+				condition.getEventCategory());
+		addCondition(where, params, "JA.start_time >= :startTimeFrom", "startTimeFrom",
+				condition.getStartTimeFrom());
+		addCondition(where, params, "JA.start_time < :startTimeTo", "startTimeTo", condition.getStartTimeTo());
+
+		return where;
+	}
+
+	/**
+	 * 値が指定されている場合のみ、条件とパラメータを追加します。
+	 *
+	 * @param where     WHERE句の条件のリスト
+	 * @param params    パラメータ
+	 * @param clause    追加する条件
+	 * @param paramName パラメータ名
+	 * @param value     条件の値
+	 */
+	private void addCondition(List<String> where, Map<String, Object> params, String clause, String paramName,
+			Object value) {
+		if (value != null) {
+			where.add(clause);
+			params.put(paramName, value);
+		}
+	}
+
+	/**
+	 * 条件のリストをWHERE句に変換します。
+	 *
+	 * @param where WHERE句の条件のリスト
+	 * @return WHERE句（条件がない場合は空文字）
+	 */
+	private String toWhereClause(List<String> where) {
+		if (where.isEmpty()) {
+			return "";
+		}
+		return "WHERE " + String.join(" AND ", where) + " ";
+	}
+
 	/**
 	 * ダッシュボードの詳細データを取得します。
 	 *
@@ -398,6 +622,10 @@ public class JobSearchDashBoardRepository {
 		jobSearchDashBoardDetailData.setStudentId(dbdc.getIntegerValue(jobSearchDashBoardDetail, queryList[30])); // 学生ID
 		jobSearchDashBoardDetailData
 				.setMaxUpdatedAt(dbdc.getTimestampValue(jobSearchDashBoardDetail, "max_updated_at")); // 最終更新日時
+		jobSearchDashBoardDetailData
+				.setEvaluationStatus(dbdc.getStringValue(jobSearchDashBoardDetail, "evaluation_status")); // 評価状態
+		jobSearchDashBoardDetailData
+				.setEvaluationResult(dbdc.getStringValue(jobSearchDashBoardDetail, "evaluation_result")); // 評価結果
 
 		// 格納されたオブジェクトを返却
 		return jobSearchDashBoardDetailData;
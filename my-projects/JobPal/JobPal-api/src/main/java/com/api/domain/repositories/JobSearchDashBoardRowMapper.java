@@ -0,0 +1,62 @@
+package com.api.domain.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.api.domain.models.dbdata.JobSearchDashBoardData;
+import com.api.jobpal.common.base.IndexedRowMapper;
+
+/**
+ * 就職活動ダッシュボード一覧の検索結果を`JobSearchDashBoardData`へ格納するクラスです。
+ *
+ * <p>
+ * 就職活動ダッシュボード一覧取得SQLのSELECT句に含まれる列を対象とします。<br>
+ * インスタンスはSQLの実行ごとに生成してください。
+ * </p>
+ */
+class JobSearchDashBoardRowMapper extends IndexedRowMapper<JobSearchDashBoardData> {
+
+	JobSearchDashBoardRowMapper() {
+		super("user_name",
+				"job_search_status",
+				"start_time",
+				"company_name",
+				"event_category",
+				"result",
+				"school_check_flag",
+				"end_time",
+				"job_search_id",
+				"department",
+				"grade",
+				"class_name",
+				"attendance_number",
+				"user_id",
+				"max_updated_at");
+	}
+
+	@Override
+	protected JobSearchDashBoardData mapRow(ResultSet rs, int[] columns) throws SQLException {
+		// JobSearchDashBoardDataオブジェクトを初期化
+		JobSearchDashBoardData jobSearchDashBoardData = new JobSearchDashBoardData();
+
+		// 各フィールドに値を設定
+		jobSearchDashBoardData.setUserName(getString(rs, columns[0])); // ユーザ名
+		jobSearchDashBoardData.setJobSearchStatus(getString(rs, columns[1])); // 就職活動の状態
+		jobSearchDashBoardData.setStartTime(getTimestamp(rs, columns[2])); // 開始時間
+		jobSearchDashBoardData.setCompanyName(getString(rs, columns[3])); // 会社名
+		jobSearchDashBoardData.setEventCategory(getString(rs, columns[4])); // イベントカテゴリ
+		jobSearchDashBoardData.setResult(getString(rs, columns[5])); // 結果
+		jobSearchDashBoardData.setSchoolCheckFlag(getBoolean(rs, columns[6])); // 学校チェックフラグ
+		jobSearchDashBoardData.setEndTime(getTimestamp(rs, columns[7])); // 終了時間
+		jobSearchDashBoardData.setJobSearchId(getString(rs, columns[8])); // 就職活動ID
+		jobSearchDashBoardData.setDepartment(getString(rs, columns[9])); // 学科名
+		jobSearchDashBoardData.setGrade(getInteger(rs, columns[10])); // 学年
+		jobSearchDashBoardData.setClassName(getString(rs, columns[11])); // クラス名
+		jobSearchDashBoardData.setAttendanceNumber(getInteger(rs, columns[12])); // 出席番号
+		jobSearchDashBoardData.setUserId(getString(rs, columns[13])); // ユーザID
+		jobSearchDashBoardData.setMaxUpdatedAt(getTimestamp(rs, columns[14])); // 最終更新日時
+
+		// 格納されたオブジェクトを返却
+		return jobSearchDashBoardData;
+	}
+}
@@ -0,0 +1,191 @@
+package com.api.domain.repositories;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.jobpal.common.base.DBDataConversion;
+
+/**
+ * 就職活動最新状態トラン（JOB_SEARCH_LATEST_T）の更新を実現するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>就職活動申請・報告・受験報告の登録/更新時の最新状態の更新</li>
+ * <li>最新状態の再構築</li>
+ * </ul>
+ * <p>
+ * 最新状態は就職活動ごとに1行で、最新の申請・報告・受験報告のIDと、集計に使用する項目（場所区分、場所、結果）、
+ * 最終更新日時を保持します。<br>
+ * ダッシュボード・CSV・期限の取得はこのテーブルを経由して申請・報告・受験報告を結合するため、
+ * 1件の就職活動に複数の申請・報告があっても行が増えません。
+ * </p>
+ * <p>
+ * 最新は更新日時の新しいもの（同一の場合はIDの大きいもの）とします。<br>
+ * 申請・報告・受験報告と同一のトランザクションで更新してください。SQLで直接更新した場合は{@link #rebuild()}で再構築してください。
+ * </p>
+ */
+@Repository
+public class JobSearchLatestRepository {
+	/**
+	 * SQL 就職活動の最新状態を作成（就職活動の絞り込み条件の前まで）
+	 */
+	private static final String SQL_INSERT_JOB_SEARCH_LATEST = "INSERT INTO "
+			+ "JOB_SEARCH_LATEST_T ("
+			+ "job_search_id, "
+			+ "job_application_id, "
+			+ "job_report_id, "
+			+ "exam_report_id, "
+			+ "location_type, "
+			+ "location, "
+			+ "result, "
+			+ "max_updated_at"
+			+ ") SELECT "
+			+ "JL.job_search_id, "
+			+ "JL.job_application_id, "
+			+ "JL.job_report_id, "
+			+ "JL.exam_report_id, "
+			+ "JA.location_type, "
+			+ "JA.location, "
+			+ "JR.result, "
+			+ "GREATEST(JA.updated_at, COALESCE(JR.updated_at, '1970-01-01'), COALESCE(ER.updated_at, '1970-01-01')) "
+			+ "FROM ( "
+			+ "SELECT "
+			+ "JS.job_search_id, "
+			+ "(SELECT JA2.job_application_id FROM JOB_SEARCH_APPLICATION_T JA2 "
+			+ "WHERE JA2.job_search_id = JS.job_search_id "
+			+ "ORDER BY JA2.updated_at DESC, JA2.job_application_id DESC LIMIT 1) AS job_application_id, "
+			+ "(SELECT JR2.job_report_id FROM JOB_SEARCH_REPORT_T JR2 "
+			+ "WHERE JR2.job_search_id = JS.job_search_id "
+			+ "ORDER BY JR2.updated_at DESC, JR2.job_report_id DESC LIMIT 1) AS job_report_id, "
+			+ "(SELECT ER2.exam_report_id FROM EXAM_REPORT_T ER2 "
+			+ "WHERE ER2.job_search_id = JS.job_search_id "
+			+ "ORDER BY ER2.updated_at DESC, ER2.exam_report_id DESC LIMIT 1) AS exam_report_id "
+			+ "FROM "
+			+ "JOB_SEARCH_T JS ";
+
+	/**
+	 * SQL 就職活動の最新状態を作成（最新の申請・報告・受験報告の結合）
+	 */
+	private static final String SQL_JOIN_JOB_SEARCH_LATEST = ") JL "
+			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T JA "
+			+ "ON JL.job_application_id = JA.job_application_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T JR "
+			+ "ON JL.job_report_id = JR.job_report_id "
+			+ "LEFT OUTER JOIN EXAM_REPORT_T ER "
+			+ "ON JL.exam_report_id = ER.exam_report_id";
+
+	/**
+	 * SQL 指定された就職活動の最新状態を作成
+	 */
+	private static final String SQL_INSERT_JOB_SEARCH_LATEST_ONE = SQL_INSERT_JOB_SEARCH_LATEST
+			+ "WHERE JS.job_search_id = :jobSearchId "
+			+ SQL_JOIN_JOB_SEARCH_LATEST;
+
+	/**
+	 * SQL 全就職活動の最新状態を作成
+	 */
+	private static final String SQL_INSERT_JOB_SEARCH_LATEST_ALL = SQL_INSERT_JOB_SEARCH_LATEST
+			+ SQL_JOIN_JOB_SEARCH_LATEST;
+
+	/**
+	 * SQL 指定された就職活動を更新用にロック
+	 *
+	 * <p>
+	 * 同じ就職活動の最新状態を同時に作り直すと、後の作成が主キー違反となるため、就職活動の行で排他します。
+	 * </p>
+	 */
+	private static final String SQL_SELECT_JOB_SEARCH_FOR_UPDATE = "SELECT "
+			+ "job_search_id "
+			+ "FROM "
+			+ "JOB_SEARCH_T "
+			+ "WHERE "
+			+ "job_search_id = :jobSearchId "
+			+ "FOR UPDATE";
+
+	/**
+	 * SQL 全就職活動を更新用にロック
+	 */
+	private static final String SQL_SELECT_JOB_SEARCH_ALL_FOR_UPDATE = "SELECT "
+			+ "job_search_id "
+			+ "FROM "
+			+ "JOB_SEARCH_T "
+			+ "FOR UPDATE";
+
+	/**
+	 * SQL 指定された就職活動の最新状態を削除
+	 */
+	private static final String SQL_DELETE_JOB_SEARCH_LATEST_ONE = "DELETE FROM "
+			+ "JOB_SEARCH_LATEST_T "
+			+ "WHERE "
+			+ "job_search_id = :jobSearchId";
+
+	/**
+	 * SQL 全就職活動の最新状態を削除
+	 */
+	private static final String SQL_DELETE_JOB_SEARCH_LATEST_ALL = "DELETE FROM "
+			+ "JOB_SEARCH_LATEST_T";
+
+	/**
+	 * 予想更新件数(ハードコーディング防止用)
+	 */
+	private static final int EXPECTED_UPDATE_COUNT = 1;
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * 指定された就職活動の最新状態を、申請・報告・受験報告から作り直します。
+	 *
+	 * <p>
+	 * 呼び出し元のトランザクションに参加します。トランザクション外の場合は削除と作成を1つのトランザクションで行います。<br>
+	 * 就職活動の行をロックしてから作り直すため、同じ就職活動を更新する他のトランザクションはコミットまで待機し、
+	 * コミット後の申請・報告・受験報告から作り直します。
+	 * </p>
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @return 最新状態を作成した場合は`true`、就職活動が存在しない場合は`false`を返却します。
+	 */
+	@Transactional
+	public Boolean refresh(String jobSearchId) {
+		// 就職活動の行をロック（存在しない場合は作成しない）
+		List<String> locked = jdbc.queryForList(SQL_SELECT_JOB_SEARCH_FOR_UPDATE,
+				dbdc.mapInputValues(SQL_SELECT_JOB_SEARCH_FOR_UPDATE, jobSearchId), String.class);
+		if (locked.isEmpty()) {
+			return false;
+		}
+
+		jdbc.update(SQL_DELETE_JOB_SEARCH_LATEST_ONE,
+				dbdc.mapInputValues(SQL_DELETE_JOB_SEARCH_LATEST_ONE, jobSearchId));
+		int updateRow = jdbc.update(SQL_INSERT_JOB_SEARCH_LATEST_ONE,
+				dbdc.mapInputValues(SQL_INSERT_JOB_SEARCH_LATEST_ONE, jobSearchId));
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 全就職活動の最新状態を、申請・報告・受験報告から再構築します。
+	 *
+	 * @return 作成した最新状態の件数
+	 */
+	@Transactional
+	public int rebuild() {
+		// 再構築中に個別の作り直しが割り込まないよう、全就職活動の行をロック
+		jdbc.queryForList(SQL_SELECT_JOB_SEARCH_ALL_FOR_UPDATE, Map.of(), String.class);
+		jdbc.update(SQL_DELETE_JOB_SEARCH_LATEST_ALL, Map.of());
+		return jdbc.update(SQL_INSERT_JOB_SEARCH_LATEST_ALL, Map.of());
+	}
+}
@@ -83,6 +83,24 @@ public class JobSearchReportRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * 就職活動最新状態リポジトリ。
+	 */
+	@Autowired
+	private JobSearchLatestRepository jobSearchLatestRepository;
+
+	/**
+	 * バッチ処理の期限リポジトリ。
+	 */
+	@Autowired
+	private DeadlineRepository deadlineRepository;
+
+	/**
+	 * クラス集計値リポジトリ。
+	 */
+	@Autowired
+	private ClassStatisticsRepository classStatisticsRepository;
+
 	/**
 	 * 就職活動報告を作成します。
 	 *
@@ -112,6 +130,13 @@ public class JobSearchReportRepository {
 		// SQLクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_INSERT_JOB_SEARCH_REPORT_ONE, params);
 
+		// 就職活動の最新状態・クラスの集計値・再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			jobSearchLatestRepository.refresh(jobSearchReportData.getJobSearchId());
+			classStatisticsRepository.refreshJobSearch(jobSearchReportData.getJobSearchId());
+			deadlineRepository.refreshJobSearch(jobSearchReportData.getJobSearchId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -143,6 +168,13 @@ public class JobSearchReportRepository {
 		// SQLクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_UPDATE_JOB_SEARCH_REPORT_ONE, params);
 
+		// 就職活動の最新状態・クラスの集計値・再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			jobSearchLatestRepository.refresh(jobSearchReportData.getJobSearchId());
+			classStatisticsRepository.refreshJobSearch(jobSearchReportData.getJobSearchId());
+			deadlineRepository.refreshJobSearch(jobSearchReportData.getJobSearchId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 
@@ -83,6 +83,12 @@ public class JobSearchRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * バッチ処理の期限リポジトリ。
+	 */
+	@Autowired
+	private DeadlineRepository deadlineRepository;
+
 	/**
 	 * 指定された `jobSearchId` に対応する `jobSearchStatus` を取得します。
 	 *
@@ -165,6 +171,11 @@ public class JobSearchRepository {
 		// SQLクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_UPDATE_JOB_STATE_ID, params);
 
+		// 再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			deadlineRepository.refreshJobSearch(jobSearchId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -187,6 +198,11 @@ public class JobSearchRepository {
 		// SQLクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_UPDATE_JOB_STATE_ID, params);
 
+		// 再通知の期限に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			deadlineRepository.refreshJobSearch(jobSearchId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
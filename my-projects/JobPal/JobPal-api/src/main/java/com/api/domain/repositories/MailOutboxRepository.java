@@ -0,0 +1,299 @@
+package com.api.domain.repositories;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import com.api.domain.models.dbdata.MailOutboxData;
+import com.api.jobpal.common.base.DBDataConversion;
+
+/**
+ * 送信待ちメールに関わるDBアクセスを実現するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>送信待ちメールの登録</li>
+ * <li>送信可能なメールの取得と送信権の取得</li>
+ * <li>送信結果（送信済み・再送待ち・送信不可）の更新</li>
+ * </ul>
+ * <p>
+ * 送信待ちメールの登録は、メール送信の契機となる更新と同じトランザクションで行ってください。<br>
+ * 処理が継続できない場合は、呼び出し元へ例外をスローします。<br>
+ * <strong>呼び出し元では適切な例外処理を行ってください。</strong>
+ */
+@Repository
+public class MailOutboxRepository {
+
+	/**
+	 * 送信状態：送信待ち
+	 */
+	public static final String STATUS_PENDING = "0";
+
+	/**
+	 * 送信状態：送信済み
+	 */
+	public static final String STATUS_SENT = "1";
+
+	/**
+	 * 送信状態：送信不可
+	 */
+	public static final String STATUS_DEAD = "9";
+
+	/**
+	 * SQL 送信待ちメールの登録
+	 */
+	private static final String SQL_INSERT_MAIL_OUTBOX_ONE = "INSERT INTO "
+			+ "MAIL_OUTBOX_T (from_address, to_address, subject, body, status, attempt_count, "
+			+ "next_attempt_at, created_at, updated_at) "
+			+ "VALUES "
+			+ "( :fromAddress , :toAddress , :subject , :body , '0', 0, :nextAttemptAt , :createdAt , :updatedAt )";
+
+	/**
+	 * SQL 送信可能なメールを取得
+	 */
+	private static final String SQL_SELECT_MAIL_OUTBOX_DISPATCHABLE = "SELECT "
+			+ "outbox_id, "
+			+ "from_address, "
+			+ "to_address, "
+			+ "subject, "
+			+ "body, "
+			+ "attempt_count "
+			+ "FROM "
+			+ "MAIL_OUTBOX_T "
+			+ "WHERE "
+			+ "status = '0' "
+			+ "AND next_attempt_at <= :now "
+			+ "ORDER BY next_attempt_at, outbox_id "
+			+ "LIMIT :limit ";
+
+	/**
+	 * SQL 送信権の取得
+	 *
+	 * <p>
+	 * 次の試行日時を送信権の期限まで延ばし、試行回数を加算します。<br>
+	 * 送信中に停止した場合は、期限を過ぎると再び送信可能となります。
+	 * </p>
+	 */
+	private static final String SQL_UPDATE_MAIL_OUTBOX_CLAIM = "UPDATE "
+			+ "MAIL_OUTBOX_T "
+			+ "SET "
+			+ "attempt_count = attempt_count + 1, "
+			+ "next_attempt_at = :leaseUntil , "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "outbox_id = :outboxId "
+			+ "AND status = '0' "
+			+ "AND attempt_count = :attemptCount ";
+
+	/**
+	 * SQL 送信結果の更新
+	 *
+	 * <p>
+	 * 送信権の取得後に試行回数が変わっていない場合のみ更新します（送信権の期限切れ後に他のインスタンスが取得した場合は更新しない）。
+	 * </p>
+	 */
+	private static final String SQL_UPDATE_MAIL_OUTBOX_RESULT = "UPDATE "
+			+ "MAIL_OUTBOX_T "
+			+ "SET "
+			+ "status = :status , "
+			+ "next_attempt_at = :nextAttemptAt , "
+			+ "last_error = :lastError , "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "outbox_id = :outboxId "
+			+ "AND attempt_count = :attemptCount ";
+
+	/**
+	 * 更新が成功した場合の期待値
+	 */
+	private static final int EXPECTED_UPDATE_COUNT = 1;
+
+	/**
+	 * エラー内容の最大文字数
+	 */
+	private static final int MAX_ERROR_LENGTH = 500;
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * 送信待ちメールを登録します。
+	 *
+	 * @param fromAddress 返信先メールアドレス
+	 * @param toAddress   受信者メールアドレス
+	 * @param subject     件名
+	 * @param body        本文
+	 * @return 処理成功時はtrue、失敗時はfalseを返却します。
+	 */
+	public Boolean insertMailOutbox(String fromAddress, String toAddress, String subject, String body) {
+		// 現在時刻を取得
+		Timestamp now = dbdc.getNowTime();
+
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_INSERT_MAIL_OUTBOX_ONE,
+				fromAddress, toAddress, subject, body, now, now, now);
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_INSERT_MAIL_OUTBOX_ONE, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 複数の送信待ちメールをバッチ処理で登録します。
+	 *
+	 * @param mailOutboxList 送信待ちメールのリスト（返信先・受信者・件名・本文を保持すること）
+	 * @return 登録した件数
+	 */
+	public int insertMailOutboxList(List<MailOutboxData> mailOutboxList) {
+		if (mailOutboxList.isEmpty()) {
+			return 0;
+		}
+		// 現在時刻を取得
+		Timestamp now = dbdc.getNowTime();
+
+		// 送信待ちメールごとのパラメータを設定
+		List<Map<String, Object>> paramsList = mailOutboxList.stream()
+				.map(mailOutboxData -> dbdc.mapInputValues(SQL_INSERT_MAIL_OUTBOX_ONE,
+						mailOutboxData.getFromAddress(), mailOutboxData.getToAddress(),
+						mailOutboxData.getSubject(), mailOutboxData.getBody(), now, now, now))
+				.toList();
+
+		// SQLクエリをバッチで実行し、登録件数を返却
+		int[] updateRows = jdbc.batchUpdate(SQL_INSERT_MAIL_OUTBOX_ONE, SqlParameterSourceUtils.createBatch(paramsList));
+		return Arrays.stream(updateRows).map(updateRow -> Math.max(updateRow, 0)).sum();
+	}
+
+	/**
+	 * 次の試行日時を過ぎた送信待ちメールを、試行日時の古い順に取得します。
+	 *
+	 * @param limit 取得する最大件数
+	 * @return 送信待ちメールのリスト
+	 */
+	public List<MailOutboxData> selectDispatchableMailOutbox(int limit) {
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_MAIL_OUTBOX_DISPATCHABLE,
+				dbdc.getNowTime(), limit);
+
+		// SQLクエリを実行
+		List<Map<String, Object>> resultList = jdbc.queryForList(SQL_SELECT_MAIL_OUTBOX_DISPATCHABLE, params);
+
+		// 送信待ちメールのリストを作成
+		return resultList.stream().map(result -> {
+			MailOutboxData mailOutboxData = new MailOutboxData();
+			mailOutboxData.setOutboxId(((Number) result.get("outbox_id")).longValue());
+			mailOutboxData.setFromAddress(dbdc.getStringValue(result, "from_address"));
+			mailOutboxData.setToAddress(dbdc.getStringValue(result, "to_address"));
+			mailOutboxData.setSubject(dbdc.getStringValue(result, "subject"));
+			mailOutboxData.setBody(dbdc.getStringValue(result, "body"));
+			mailOutboxData.setAttemptCount(dbdc.getIntegerValue(result, "attempt_count"));
+			return mailOutboxData;
+		}).toList();
+	}
+
+	/**
+	 * 送信権を取得します。
+	 *
+	 * <p>
+	 * 取得時から試行回数が変わっていない場合のみ取得できるため、複数のインスタンスで同じメールを送信しません。<br>
+	 * 取得に成功した場合、メールの試行回数は1加算されます。
+	 * </p>
+	 *
+	 * @param mailOutboxData 送信待ちメール（取得時の試行回数を保持していること）
+	 * @param leaseUntil     送信権の期限
+	 * @return 取得できた場合はtrue、他で取得済みの場合はfalseを返却します。
+	 */
+	public Boolean updateMailOutboxClaim(MailOutboxData mailOutboxData, Timestamp leaseUntil) {
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_MAIL_OUTBOX_CLAIM,
+				leaseUntil, dbdc.getNowTime(), mailOutboxData.getOutboxId(), mailOutboxData.getAttemptCount());
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_MAIL_OUTBOX_CLAIM, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 送信済みに更新します。
+	 *
+	 * @param outboxId     送信待ちID
+	 * @param attemptCount 送信権の取得後の試行回数
+	 * @return 処理成功時はtrue、送信権を失っていた場合はfalseを返却します。
+	 */
+	public Boolean updateMailOutboxSent(Long outboxId, int attemptCount) {
+		return updateMailOutboxResult(outboxId, attemptCount, STATUS_SENT, dbdc.getNowTime(), null);
+	}
+
+	/**
+	 * 送信に失敗したメールを再送待ちに更新します。
+	 *
+	 * @param outboxId      送信待ちID
+	 * @param attemptCount  送信権の取得後の試行回数
+	 * @param nextAttemptAt 次に送信を試行する日時
+	 * @param lastError     エラー内容
+	 * @return 処理成功時はtrue、送信権を失っていた場合はfalseを返却します。
+	 */
+	public Boolean updateMailOutboxRetry(Long outboxId, int attemptCount, Timestamp nextAttemptAt,
+			String lastError) {
+		return updateMailOutboxResult(outboxId, attemptCount, STATUS_PENDING, nextAttemptAt, lastError);
+	}
+
+	/**
+	 * 再送の上限に達したメールを送信不可に更新します。
+	 *
+	 * @param outboxId     送信待ちID
+	 * @param attemptCount 送信権の取得後の試行回数
+	 * @param lastError    エラー内容
+	 * @return 処理成功時はtrue、送信権を失っていた場合はfalseを返却します。
+	 */
+	public Boolean updateMailOutboxDead(Long outboxId, int attemptCount, String lastError) {
+		return updateMailOutboxResult(outboxId, attemptCount, STATUS_DEAD, dbdc.getNowTime(), lastError);
+	}
+
+	/**
+	 * 送信結果を更新します。
+	 *
+	 * @param outboxId      送信待ちID
+	 * @param attemptCount  送信権の取得後の試行回数
+	 * @param status        送信状態
+	 * @param nextAttemptAt 次に送信を試行する日時
+	 * @param lastError     エラー内容
+	 * @return 処理成功時はtrue、送信権を失っていた場合はfalseを返却します。
+	 */
+	private Boolean updateMailOutboxResult(Long outboxId, int attemptCount, String status,
+			Timestamp nextAttemptAt, String lastError) {
+		// エラー内容は列の長さに合わせて切り詰める
+		if (lastError != null && lastError.length() > MAX_ERROR_LENGTH) {
+			lastError = lastError.substring(0, MAX_ERROR_LENGTH);
+		}
+
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_MAIL_OUTBOX_RESULT,
+				status, nextAttemptAt, lastError, dbdc.getNowTime(), outboxId, attemptCount);
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_MAIL_OUTBOX_RESULT, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+}
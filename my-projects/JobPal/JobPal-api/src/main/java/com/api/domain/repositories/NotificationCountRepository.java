@@ -0,0 +1,355 @@
+package com.api.domain.repositories;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.api.jobpal.common.base.DBDataConversion;
+import com.api.jobpal.common.base.TransactionHooks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * ユーザごとの通知件数をメモリ上で保持するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>全ユーザの通知件数の読み込み（1回の集計）</li>
+ * <li>通知の登録/削除時の通知件数の増減</li>
+ * <li>定期的なDBとの照合と、差異の補正</li>
+ * </ul>
+ * <p>
+ * 通知件数の増減はトランザクションのコミット後に反映するため、ロールバックされた登録/削除は反映されません。<br>
+ * 通知件数はアプリケーションのインスタンスごとに保持します。他のインスタンスやSQLで直接更新した通知は、
+ * 「settings.notification.count.reconcile-ms」ごとの照合で反映されます。<br>
+ * 照合のためにDBを読み込んでいる間の増減は記録しておき、読み込んだ通知件数に反映してから置き換えます。
+ * </p>
+ */
+@Repository
+public class NotificationCountRepository {
+
+	/**
+	 * SQL ユーザごとの通知件数を取得
+	 */
+	private static final String SQL_SELECT_NOTIFICATION_COUNT_ALL = "SELECT "
+			+ "assigned_user_id, "
+			+ "COUNT(*) AS notification_count "
+			+ "FROM "
+			+ "NOTIFICATION_T "
+			+ "GROUP BY assigned_user_id";
+
+	/**
+	 * SQL 複数の就職活動IDを参照している通知のユーザごとの件数を取得
+	 */
+	private static final String SQL_SELECT_NOTIFICATION_COUNT_JOB_SEARCH_LIST = "SELECT "
+			+ "NT.assigned_user_id, "
+			+ "COUNT(*) AS notification_count "
+			+ "FROM "
+			+ "NOTIFICATION_T NT "
+			+ "INNER JOIN NOTIFICATION_JOB_SEARCH_T NJST ON NT.notification_id = NJST.notification_id "
+			+ "WHERE "
+			+ "NJST.job_search_id IN (:jobSearchIdList ) "
+			+ "GROUP BY NT.assigned_user_id";
+
+	/**
+	 * SQL 複数の証明書発行IDを参照している通知のユーザごとの件数を取得
+	 */
+	private static final String SQL_SELECT_NOTIFICATION_COUNT_CERTIFICATE_ISSUANCE_LIST = "SELECT "
+			+ "NT.assigned_user_id, "
+			+ "COUNT(*) AS notification_count "
+			+ "FROM "
+			+ "NOTIFICATION_T NT "
+			+ "INNER JOIN NOTIFICATION_CERTIFICATE_ISSUANCE_T NCIT ON NT.notification_id = NCIT.notification_id "
+			+ "WHERE "
+			+ "NCIT.certificate_issue_id IN (:certificateIssueIdList ) "
+			+ "GROUP BY NT.assigned_user_id";
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * メトリクスの登録先。
+	 */
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * ユーザIDごとの通知件数（照合時に置き換える）
+	 */
+	private volatile Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+	/**
+	 * 照合中の増減（照合中以外はnull）
+	 */
+	private Map<String, Long> reconcilingDeltas;
+
+	/**
+	 * 照合中に破棄したユーザID（照合中以外はnull）
+	 */
+	private Set<String> reconcilingRemovals;
+
+	/**
+	 * 通知件数の増減（読み取りロック）と、照合の開始・置き換え（書き込みロック）の排他
+	 */
+	private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+	/**
+	 * 通知件数を読み込み済みか
+	 */
+	private volatile boolean initialized = false;
+
+	/**
+	 * 照合で補正した通知件数の差異
+	 */
+	private Counter driftCounter;
+
+	@PostConstruct
+	void init() {
+		driftCounter = Counter.builder("notification.count.drift")
+				.description("照合で補正したメモリ上の通知件数とDBの差異の合計")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 通知件数を取得します。
+	 *
+	 * <p>
+	 * 初回の取得時は全ユーザの通知件数を読み込みます。
+	 * </p>
+	 *
+	 * @param userId ユーザID
+	 * @return 通知件数
+	 */
+	public int getCount(String userId) {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					reconcile();
+				}
+			}
+		}
+		LongAdder count = counts.get(userId);
+		return count == null ? 0 : (int) Math.max(count.sum(), 0);
+	}
+
+	/**
+	 * 通知の登録/削除に伴い、通知件数を増減します。
+	 *
+	 * @param userId ユーザID
+	 * @param delta  増減する件数
+	 */
+	public void add(String userId, long delta) {
+		if (userId == null || delta == 0) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> {
+			swapLock.readLock().lock();
+			try {
+				counts.computeIfAbsent(userId, key -> new LongAdder()).add(delta);
+				if (reconcilingDeltas != null) {
+					reconcilingDeltas.merge(userId, delta, Long::sum);
+				}
+			} finally {
+				swapLock.readLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * ユーザの削除に伴い、通知件数を破棄します。
+	 *
+	 * @param userId ユーザID
+	 */
+	public void remove(String userId) {
+		TransactionHooks.afterCommit(() -> {
+			swapLock.readLock().lock();
+			try {
+				counts.remove(userId);
+				if (reconcilingRemovals != null) {
+					reconcilingDeltas.remove(userId);
+					reconcilingRemovals.add(userId);
+				}
+			} finally {
+				swapLock.readLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * 削除する就職活動の通知について、ユーザごとの件数を取得します。削除前に呼び出してください。
+	 *
+	 * @param jobSearchIdList 就職活動IDのリスト
+	 * @return ユーザIDごとの通知件数
+	 */
+	public Map<String, Integer> selectCountJobSearchList(List<String> jobSearchIdList) {
+		return selectCounts(SQL_SELECT_NOTIFICATION_COUNT_JOB_SEARCH_LIST, jobSearchIdList);
+	}
+
+	/**
+	 * 削除する証明書発行の通知について、ユーザごとの件数を取得します。削除前に呼び出してください。
+	 *
+	 * @param certificateIssueIdList 証明書発行IDのリスト
+	 * @return ユーザIDごとの通知件数
+	 */
+	public Map<String, Integer> selectCountCertificateIssuanceList(List<String> certificateIssueIdList) {
+		return selectCounts(SQL_SELECT_NOTIFICATION_COUNT_CERTIFICATE_ISSUANCE_LIST, certificateIssueIdList);
+	}
+
+	/**
+	 * 削除した通知の件数を、ユーザごとに減算します。
+	 *
+	 * @param deletedCounts ユーザIDごとの削除した通知件数
+	 */
+	public void subtractAll(Map<String, Integer> deletedCounts) {
+		deletedCounts.forEach((userId, count) -> add(userId, -count));
+	}
+
+	/**
+	 * DBの通知件数と照合し、メモリ上の通知件数を置き換えます。
+	 *
+	 * <p>
+	 * 読み込み中の増減は読み込んだ通知件数に反映してから、差異の集計と置き換えを行います。<br>
+	 * 記録の開始から読み込みの開始までにコミットされた増減は二重に反映される場合がありますが、次回の照合で補正されます。
+	 * </p>
+	 *
+	 * @return 差異のあったユーザ数
+	 */
+	@Scheduled(fixedDelayString = "${settings.notification.count.reconcile-ms:300000}",
+			initialDelayString = "${settings.notification.count.reconcile-ms:300000}")
+	public synchronized int reconcile() {
+		// 読み込み中の増減の記録を開始
+		swapLock.writeLock().lock();
+		try {
+			reconcilingDeltas = new ConcurrentHashMap<>();
+			reconcilingRemovals = ConcurrentHashMap.newKeySet();
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+
+		Map<String, LongAdder> loaded = new ConcurrentHashMap<>();
+		try {
+			jdbc.query(SQL_SELECT_NOTIFICATION_COUNT_ALL, new HashMap<>(), (ResultSet rs) -> {
+				LongAdder count = new LongAdder();
+				count.add(rs.getLong("notification_count"));
+				loaded.put(rs.getString("assigned_user_id"), count);
+			});
+		} catch (DataAccessException e) {
+			logger.error("Failed to reconcile notification counts: " + e.getMessage());
+			stopRecording();
+			if (!initialized) {
+				throw e;
+			}
+			return 0;
+		}
+
+		int driftUsers = 0;
+		long drift = 0;
+		swapLock.writeLock().lock();
+		try {
+			// 読み込み中の増減を反映（読み込み結果に含まれない増減として扱う）
+			reconcilingRemovals.forEach(loaded::remove);
+			reconcilingDeltas.forEach((userId, delta) -> loaded.computeIfAbsent(userId, key -> new LongAdder())
+					.add(delta));
+
+			// 差異を集計（初回の読み込みは除く）
+			if (initialized) {
+				Map<String, LongAdder> current = counts;
+				for (String userId : union(current, loaded)) {
+					long before = current.containsKey(userId) ? current.get(userId).sum() : 0;
+					long after = loaded.containsKey(userId) ? loaded.get(userId).sum() : 0;
+					if (before != after) {
+						driftUsers++;
+						drift += Math.abs(before - after);
+					}
+				}
+			}
+
+			counts = loaded;
+			reconcilingDeltas = null;
+			reconcilingRemovals = null;
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+
+		if (initialized) {
+			driftCounter.increment(drift);
+			if (driftUsers > 0) {
+				logger.info("Notification counts reconciled: " + driftUsers + " users corrected");
+			}
+		}
+		initialized = true;
+		return driftUsers;
+	}
+
+	/**
+	 * 読み込み中の増減の記録を終了します。
+	 */
+	private void stopRecording() {
+		swapLock.writeLock().lock();
+		try {
+			reconcilingDeltas = null;
+			reconcilingRemovals = null;
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 対象のIDを参照している通知のユーザごとの件数を取得します。
+	 *
+	 * @param sql SQL文
+	 * @param ids 就職活動IDまたは証明書発行IDのリスト
+	 * @return ユーザIDごとの通知件数
+	 */
+	private Map<String, Integer> selectCounts(String sql, List<String> ids) {
+		Map<String, Integer> result = new HashMap<>();
+		if (ids.isEmpty()) {
+			return result;
+		}
+		jdbc.query(sql, dbdc.mapInputValues(sql, ids), (ResultSet rs) -> {
+			result.put(rs.getString("assigned_user_id"), rs.getInt("notification_count"));
+		});
+		return result;
+	}
+
+	/**
+	 * 2つの通知件数のユーザIDの和集合を取得します。
+	 */
+	private static Set<String> union(Map<String, LongAdder> a, Map<String, LongAdder> b) {
+		Set<String> userIds = new HashSet<>(a.keySet());
+		userIds.addAll(b.keySet());
+		return userIds;
+	}
+}
@@ -1,19 +1,20 @@
 package com.api.domain.repositories;
 
+import java.sql.Date;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.stereotype.Repository;
 
-import com.api.domain.models.dbdata.CertificateData;
 import com.api.domain.models.dbdata.CertificateIssuanceDashBoardData;
 import com.api.domain.models.dbdata.JobSearchDashBoardData;
-import com.api.domain.models.dbdata.MailingData;
 import com.api.domain.models.dbdata.NotificationDashBoardData;
 import com.api.domain.models.dbdata.NotificationTeacherData;
 import com.api.jobpal.common.base.DBDataConversion;
@@ -71,7 +72,7 @@ public class NotificationRepository {
 			+ "TSUM.class_name, "
 			+ "TSUM.attendance_number, "
 			+ "UM.user_id, "
-			+ "GREATEST(JA.updated_at, COALESCE(JR.updated_at, '1970-01-01'), COALESCE(ER.updated_at, '1970-01-01')) AS max_updated_at, "
+			+ "JL.max_updated_at AS max_updated_at, "
 			+ "NT.notification_id, "
 			+ "NT.assigned_user_id, "
 			+ "NT.resend_flag, "
@@ -79,12 +80,12 @@ public class NotificationRepository {
 			+ "NT.notification_timestamp "
 			+ "FROM "
 			+ "JOB_SEARCH_T AS JS "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL "
+			+ "ON JS.job_search_id = JL.job_search_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA "
-			+ "ON JS.job_search_id = JA.job_search_id "
+			+ "ON JL.job_application_id = JA.job_application_id "
 			+ "LEFT OUTER JOIN JOB_SEARCH_REPORT_T AS JR "
-			+ "ON JS.job_search_id = JR.job_search_id "
-			+ "LEFT OUTER JOIN EXAM_REPORT_T AS ER "
-			+ "ON JS.job_search_id = ER.job_search_id "
+			+ "ON JL.job_report_id = JR.job_report_id "
 			+ "LEFT OUTER JOIN USER_M AS UM "
 			+ "ON UM.user_id = JS.student_user_id "
 			+ "LEFT OUTER JOIN TEACHER_STUDENT_USER_M AS TSUM "
@@ -152,6 +153,28 @@ public class NotificationRepository {
 			+ "AND notification_grade = :grade "
 			+ "AND notification_class = :class";
 
+	/**
+	 * SQL 複数の就職活動IDから通知先ユーザを取得
+	 */
+	private static String SQL_SELECT_NOTIFICATION_USER_JOB_SEARCH_LIST = "SELECT DISTINCT "
+			+ "NT.assigned_user_id "
+			+ "FROM "
+			+ "NOTIFICATION_T NT "
+			+ "INNER JOIN NOTIFICATION_JOB_SEARCH_T NJST ON NT.notification_id = NJST.notification_id "
+			+ "WHERE "
+			+ "NJST.job_search_id IN (:jobSearchIdList )";
+
+	/**
+	 * SQL 複数の証明書発行IDから通知先ユーザを取得
+	 */
+	private static String SQL_SELECT_NOTIFICATION_USER_CERTIFICATE_ISSUANCE_LIST = "SELECT DISTINCT "
+			+ "NT.assigned_user_id "
+			+ "FROM "
+			+ "NOTIFICATION_T NT "
+			+ "INNER JOIN NOTIFICATION_CERTIFICATE_ISSUANCE_T NCIT ON NT.notification_id = NCIT.notification_id "
+			+ "WHERE "
+			+ "NCIT.certificate_issue_id IN (:certificateIssueIdList )";
+
 	/**
 	 * 通知を作成
 	 */
@@ -240,6 +263,81 @@ public class NotificationRepository {
 			+ "FROM NOTIFICATION_CERTIFICATE_ISSUANCE_T "
 			+ "WHERE certificate_issue_id = :certificateIssueId "
 			+ ")";
+
+	/**
+	 * SQL 複数の就職活動IDから再通知フラグを一括更新
+	 */
+	private static String SQL_UPDATE_NOTIFICATION_JOB_SEARCH_LIST = "UPDATE "
+			+ "NOTIFICATION_T "
+			+ "SET resend_flag = true "
+			+ "WHERE notification_id IN ( "
+			+ "SELECT notification_id "
+			+ "FROM NOTIFICATION_JOB_SEARCH_T "
+			+ "WHERE job_search_id IN (:jobSearchIdList ) "
+			+ ")";
+
+	/**
+	 * SQL 複数の証明書発行IDから再通知フラグを一括更新
+	 */
+	private static String SQL_UPDATE_NOTIFICATION_CERTIFICATE_ISSUANCE_LIST = "UPDATE "
+			+ "NOTIFICATION_T "
+			+ "SET resend_flag = true "
+			+ "WHERE notification_id IN ( "
+			+ "SELECT notification_id "
+			+ "FROM NOTIFICATION_CERTIFICATE_ISSUANCE_T "
+			+ "WHERE certificate_issue_id IN (:certificateIssueIdList ) "
+			+ ")";
+
+	/**
+	 * SQL 再通知の期限を過ぎた就職活動の通知の再通知フラグを一括更新
+	 *
+	 * <p>
+	 * 完了（33）以外で、状態が21・23の場合は終了日時、それ以外は最終更新日時が基準日時以前の就職活動が対象です。
+	 * </p>
+	 */
+	private static String SQL_UPDATE_NOTIFICATION_JOB_SEARCH_OVERDUE = "UPDATE "
+			+ "NOTIFICATION_T "
+			+ "SET resend_flag = true "
+			+ "WHERE resend_flag = false "
+			+ "AND notification_id IN ( "
+			+ "SELECT NJST.notification_id "
+			+ "FROM NOTIFICATION_JOB_SEARCH_T NJST "
+			+ "INNER JOIN JOB_SEARCH_T AS JS ON NJST.job_search_id = JS.job_search_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_LATEST_T AS JL ON JS.job_search_id = JL.job_search_id "
+			+ "LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T AS JA ON JL.job_application_id = JA.job_application_id "
+			+ "WHERE JS.job_search_status <> '33' "
+			+ "AND CASE WHEN JS.job_search_status IN ('21', '23') THEN JA.end_time "
+			+ "ELSE JL.max_updated_at "
+			+ "END <= :threshold "
+			+ ")";
+
+	/**
+	 * SQL 再通知の期限を過ぎた証明書発行の通知の再通知フラグを一括更新
+	 *
+	 * <p>
+	 * 完了（6）以外で、最終更新日が基準日以前の証明書発行が対象です。
+	 * </p>
+	 */
+	private static String SQL_UPDATE_NOTIFICATION_CERTIFICATE_ISSUANCE_OVERDUE = "UPDATE "
+			+ "NOTIFICATION_T "
+			+ "SET resend_flag = true "
+			+ "WHERE resend_flag = false "
+			+ "AND notification_id IN ( "
+			+ "SELECT NCIT.notification_id "
+			+ "FROM NOTIFICATION_CERTIFICATE_ISSUANCE_T NCIT "
+			+ "INNER JOIN CERTIFICATE_ISSUANCE_T CIT ON NCIT.certificate_issue_id = CIT.certificate_issue_id "
+			+ "LEFT OUTER JOIN PAPER_CERTIFICATE_ISSUANCE_T PCIT ON CIT.certificate_issue_id = PCIT.certificate_issue_id "
+			+ "LEFT OUTER JOIN MAILING_CERTIFICATE_ISSUANCE_T MCIT ON CIT.certificate_issue_id = MCIT.certificate_issue_id "
+			+ "WHERE CIT.status <> '6' "
+			+ "AND GREATEST( "
+			+ "COALESCE(CIT.application_date, '1900-01-01'), "
+			+ "COALESCE(CIT.approval_date, '1900-01-01'), "
+			+ "COALESCE(PCIT.delivery_due_date, '1900-01-01'), "
+			+ "COALESCE(PCIT.delivery_date, '1900-01-01'), "
+			+ "COALESCE(MCIT.post_date, '1900-01-01') "
+			+ ") <= :thresholdDate "
+			+ ")";
+
 	/**
 	 * SQL 就職活動が削除されるとき、参照している通知の削除
 	 */
@@ -343,10 +441,10 @@ public class NotificationRepository {
 	private CertificateIssuanceDashBoardRepository CIDBR;
 
 	/**
-	 * 証明書発行に関するRepository
+	 * ユーザごとの通知件数をメモリ上で保持するリポジトリ。
 	 */
 	@Autowired
-	private CertificateIssuanceRepository cir;
+	private NotificationCountRepository notificationCountRepository;
 
 	/**
 	 * ユーザIDに関連する通知の件数を取得します。
@@ -395,13 +493,13 @@ public class NotificationRepository {
 
 			// NotificationDashBoardDataに情報を設定
 			notificationDashBoardData.setJobSearchDashBoardData(jobSearchDashBoardData);
-			notificationDashBoardData.setNotifiationId(dbdc.getStringValue(resultDashBoardData, queryList[19]));
-			notificationDashBoardData.setAssignedUserId(dbdc.getStringValue(resultDashBoardData, queryList[20]));
-			notificationDashBoardData.setResendFlag(dbdc.getBooleanValue(resultDashBoardData, queryList[21]));
+			notificationDashBoardData.setNotifiationId(dbdc.getStringValue(resultDashBoardData, queryList[15]));
+			notificationDashBoardData.setAssignedUserId(dbdc.getStringValue(resultDashBoardData, queryList[16]));
+			notificationDashBoardData.setResendFlag(dbdc.getBooleanValue(resultDashBoardData, queryList[17]));
 			notificationDashBoardData
-					.setJobSearchCertificateCategory(dbdc.getStringValue(resultDashBoardData, queryList[22]));
+					.setJobSearchCertificateCategory(dbdc.getStringValue(resultDashBoardData, queryList[18]));
 			notificationDashBoardData
-					.setNotificationCreatedAt(dbdc.getTimestampValue(resultDashBoardData, queryList[23]));
+					.setNotificationCreatedAt(dbdc.getTimestampValue(resultDashBoardData, queryList[19]));
 
 			return notificationDashBoardData;
 		}).collect(Collectors.toList());
@@ -429,64 +527,28 @@ public class NotificationRepository {
 		// SQLのカラム名を取得
 		String[] queryList = dbdc.extractColumnNames(SQL_SELECT_NOTIFICATION_DASHBOARD_CERTIFICATE_ISSUANCE);
 
-		// 結果を格納するリストを作成
-		List<NotificationDashBoardData> dashBoardList = new ArrayList<>();
-		MailingData mailingData = cir.selectMailing();
-		Integer mailFee = mailingData.getPostalFee();
-		Integer mailWeight = mailingData.getPostalMaxWeight();
-
-		// 結果データを処理
-		for (Map<String, Object> resultDashBoardData : resultDashBoardList) {
-			String notificationId = dbdc.getStringValue(resultDashBoardData, "notification_id");
-			Boolean mediaTypeFlg = "2".equals(dbdc.getStringValue(resultDashBoardData, queryList[5]));
-			NotificationDashBoardData existingData = findExistingNotification(dashBoardList, notificationId);
-
-			if (existingData != null) {
-				// 既存の通知データに証明書情報を追加
-				CertificateData certificateData = CIDBR.packageCertificateDashBoard(resultDashBoardData);
-				existingData.getCertificateIssuanceDashBoardData()
-						.setUpTotalAmount(dbdc.getIntegerValue(resultDashBoardData, "total_fee"));
-				Integer beforeTotalWeight = existingData.getCertificateIssuanceDashBoardData().getTotalWeight();
-				existingData.getCertificateIssuanceDashBoardData()
-						.setUpTotalWeight(dbdc.getIntegerValue(resultDashBoardData, "certificate_quantity")
-								* dbdc.getIntegerValue(resultDashBoardData, "certificate_weight"));
-				Integer afterTotalWeight = existingData.getCertificateIssuanceDashBoardData().getTotalWeight();
-
-				if (mediaTypeFlg) {
-					Integer totalBeforeMailFee = (int) (mailFee
-							* Math.ceil((double) beforeTotalWeight / mailWeight));
-					Integer totalAfterMailFee = (int) (mailFee
-							* Math.ceil((double) afterTotalWeight / mailWeight));
-
-					existingData.getCertificateIssuanceDashBoardData()
-							.setUpTotalAmount(totalAfterMailFee - totalBeforeMailFee);
-				}
-
-				existingData.getCertificateIssuanceDashBoardData().getCertificateList().add(certificateData);
-			} else {
-				// 新しい通知データを作成
-				NotificationDashBoardData notificationDashBoardData = new NotificationDashBoardData();
-				CertificateIssuanceDashBoardData certificateIssuanceDashBoardData = CIDBR
-						.packageCertificateIssuanceDashBoard(resultDashBoardData, queryList);
-				if (mediaTypeFlg) {
-					Integer totalMailFee = (int) (mailFee
-							* Math.ceil((double) certificateIssuanceDashBoardData.getTotalWeight() / mailWeight));
-					certificateIssuanceDashBoardData.setUpTotalAmount(totalMailFee);
-				}
-				notificationDashBoardData.setCertificateIssuanceDashBoardData(certificateIssuanceDashBoardData);
-				notificationDashBoardData.setNotifiationId(dbdc.getStringValue(resultDashBoardData, queryList[20]));
-				notificationDashBoardData.setAssignedUserId(dbdc.getStringValue(resultDashBoardData, queryList[21]));
-				notificationDashBoardData.setResendFlag(dbdc.getBooleanValue(resultDashBoardData, queryList[22]));
-				notificationDashBoardData
-						.setJobSearchCertificateCategory(dbdc.getStringValue(resultDashBoardData, queryList[23]));
-				notificationDashBoardData
-						.setNotificationCreatedAt(dbdc.getTimestampValue(resultDashBoardData, queryList[24]));
-
-				dashBoardList.add(notificationDashBoardData);
-			}
-		}
+		// 行ごとに通知データを作成
+		List<NotificationDashBoardData> resultList = resultDashBoardList.stream().map(resultDashBoardData -> {
+			NotificationDashBoardData notificationDashBoardData = new NotificationDashBoardData();
+			CertificateIssuanceDashBoardData certificateIssuanceDashBoardData = CIDBR
+					.packageCertificateIssuanceDashBoard(resultDashBoardData, queryList);
+
+			// NotificationDashBoardDataに情報を設定
+			notificationDashBoardData.setCertificateIssuanceDashBoardData(certificateIssuanceDashBoardData);
+			notificationDashBoardData.setNotifiationId(dbdc.getStringValue(resultDashBoardData, queryList[20]));
+			notificationDashBoardData.setAssignedUserId(dbdc.getStringValue(resultDashBoardData, queryList[21]));
+			notificationDashBoardData.setResendFlag(dbdc.getBooleanValue(resultDashBoardData, queryList[22]));
+			notificationDashBoardData
+					.setJobSearchCertificateCategory(dbdc.getStringValue(resultDashBoardData, queryList[23]));
+			notificationDashBoardData
+					.setNotificationCreatedAt(dbdc.getTimestampValue(resultDashBoardData, queryList[24]));
+
+			return notificationDashBoardData;
+		}).collect(Collectors.toList());
 
-		return dashBoardList;
+		// 通知IDごとに証明書データを集約して返却
+		return CIDBR.groupCertificateIssuanceDashBoard(resultList, NotificationDashBoardData::getNotifiationId,
+				NotificationDashBoardData::getCertificateIssuanceDashBoardData);
 	}
 
 	/**
@@ -515,6 +577,50 @@ public class NotificationRepository {
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * 就職活動の通知先ユーザIDを取得します。
+	 *
+	 * <p>
+	 * 指定された就職活動IDを参照している通知の通知先ユーザIDを重複なしで返却します。
+	 * </p>
+	 *
+	 * @param jobSearchIdList 就職活動IDのリスト
+	 * @return 通知先ユーザIDのリスト。該当データが存在しない場合は空のリストを返却します。
+	 */
+	public List<String> getNotificationUserJobSearchList(List<String> jobSearchIdList) {
+		if (jobSearchIdList.isEmpty()) {
+			return List.of();
+		}
+		// クエリパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_NOTIFICATION_USER_JOB_SEARCH_LIST,
+				jobSearchIdList);
+
+		// SQLクエリを実行し、通知先ユーザIDを抽出
+		return jdbc.queryForList(SQL_SELECT_NOTIFICATION_USER_JOB_SEARCH_LIST, params, String.class);
+	}
+
+	/**
+	 * 証明書発行の通知先ユーザIDを取得します。
+	 *
+	 * <p>
+	 * 指定された証明書発行IDを参照している通知の通知先ユーザIDを重複なしで返却します。
+	 * </p>
+	 *
+	 * @param certificateIssueIdList 証明書発行IDのリスト
+	 * @return 通知先ユーザIDのリスト。該当データが存在しない場合は空のリストを返却します。
+	 */
+	public List<String> getNotificationUserCertificateIssuanceList(List<String> certificateIssueIdList) {
+		if (certificateIssueIdList.isEmpty()) {
+			return List.of();
+		}
+		// クエリパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_NOTIFICATION_USER_CERTIFICATE_ISSUANCE_LIST,
+				certificateIssueIdList);
+
+		// SQLクエリを実行し、通知先ユーザIDを抽出
+		return jdbc.queryForList(SQL_SELECT_NOTIFICATION_USER_CERTIFICATE_ISSUANCE_LIST, params, String.class);
+	}
+
 	/**
 	 * 指定されたクラス登録が通知テーブルに存在するかを確認します。
 	 *
@@ -580,6 +686,9 @@ public class NotificationRepository {
 		// 通知データを登録
 		int updateRow = jdbc.update(SQL_INSERT_NOTIFICATION, params);
 
+		// 通知件数を加算（コミット後に反映）
+		notificationCountRepository.add(userId, updateRow);
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -630,6 +739,37 @@ public class NotificationRepository {
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
 
+	/**
+	 * 複数のユーザへの就職活動通知をバッチ処理で作成するメソッド
+	 *
+	 * <p>
+	 * 通知先のユーザごとに通知IDを払い出し、通知と通知就職活動をそれぞれ1回のバッチで登録します。
+	 * </p>
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @param userIdList 通知先のユーザIDのリスト
+	 * @return 登録した通知の件数
+	 */
+	public int insertNotificationJobSearchList(String jobSearchId, List<String> userIdList) {
+		return insertNotificationList(userIdList, "0", SQL_INSERT_NOTIFICATION_JOB_SEARCH, jobSearchId);
+	}
+
+	/**
+	 * 複数のユーザへの証明書発行通知をバッチ処理で作成するメソッド
+	 *
+	 * <p>
+	 * 通知先のユーザごとに通知IDを払い出し、通知と通知証明書発行をそれぞれ1回のバッチで登録します。
+	 * </p>
+	 *
+	 * @param certificateIssueId 証明書発行ID
+	 * @param userIdList 通知先のユーザIDのリスト
+	 * @return 登録した通知の件数
+	 */
+	public int insertNotificationCertificateIssuanceList(String certificateIssueId, List<String> userIdList) {
+		return insertNotificationList(userIdList, "1", SQL_INSERT_NOTIFICATION_CERTIFICATE_ISSUANCE,
+				certificateIssueId);
+	}
+
 	/**
 	 * ユーザの就職活動通知を削除するメソッド
 	 *
@@ -647,6 +787,9 @@ public class NotificationRepository {
 		// クエリを実行し更新件数を取得
 		int updateRow = jdbc.update(SQL_DELETE_NOTIFICATION_JOB_SEARCH_USER, params);
 
+		// 通知件数を減算（コミット後に反映）
+		notificationCountRepository.add(userId, -updateRow);
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -669,6 +812,9 @@ public class NotificationRepository {
 		// クエリを実行し更新件数を取得
 		int updateRow = jdbc.update(SQL_DELETE_NOTIFICATION_CERTIFICATE_ISSUANCE_USER, params);
 
+		// 通知件数を減算（コミット後に反映）
+		notificationCountRepository.add(userId, -updateRow);
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -714,6 +860,88 @@ public class NotificationRepository {
 		return updateRow > 0;
 	}
 
+	/**
+	 * 複数の就職活動の再通知フラグを一括で更新するメソッド
+	 *
+	 * <p>
+	 * 指定された就職活動IDを参照している通知の再通知フラグを1回の更新で設定します。
+	 * </p>
+	 *
+	 * @param jobSearchIdList 就職活動IDのリスト
+	 * @return 更新した通知の件数
+	 */
+	public int updateNotificationJobSearchList(List<String> jobSearchIdList) {
+		if (jobSearchIdList.isEmpty()) {
+			return 0;
+		}
+		// クエリパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_NOTIFICATION_JOB_SEARCH_LIST, jobSearchIdList);
+
+		// クエリを実行し更新件数を返却
+		return jdbc.update(SQL_UPDATE_NOTIFICATION_JOB_SEARCH_LIST, params);
+	}
+
+	/**
+	 * 複数の証明書発行の再通知フラグを一括で更新するメソッド
+	 *
+	 * <p>
+	 * 指定された証明書発行IDを参照している通知の再通知フラグを1回の更新で設定します。
+	 * </p>
+	 *
+	 * @param certificateIssueIdList 証明書発行IDのリスト
+	 * @return 更新した通知の件数
+	 */
+	public int updateNotificationCertificateIssuanceList(List<String> certificateIssueIdList) {
+		if (certificateIssueIdList.isEmpty()) {
+			return 0;
+		}
+		// クエリパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_NOTIFICATION_CERTIFICATE_ISSUANCE_LIST,
+				certificateIssueIdList);
+
+		// クエリを実行し更新件数を返却
+		return jdbc.update(SQL_UPDATE_NOTIFICATION_CERTIFICATE_ISSUANCE_LIST, params);
+	}
+
+	/**
+	 * 再通知の期限を過ぎた就職活動の通知に、再通知フラグを一括で設定するメソッド
+	 *
+	 * <p>
+	 * 再通知の条件をSQLで判定するため、対象の件数によらず1回の更新で設定します。<br>
+	 * 再通知フラグが設定済みの通知は更新しません。
+	 * </p>
+	 *
+	 * @param threshold 基準日時（この日時以前に最終更新された就職活動が対象）
+	 * @return 再通知フラグを設定した通知の件数
+	 */
+	public int updateNotificationJobSearchOverdue(Timestamp threshold) {
+		// クエリパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_NOTIFICATION_JOB_SEARCH_OVERDUE, threshold);
+
+		// クエリを実行し更新件数を返却
+		return jdbc.update(SQL_UPDATE_NOTIFICATION_JOB_SEARCH_OVERDUE, params);
+	}
+
+	/**
+	 * 再通知の期限を過ぎた証明書発行の通知に、再通知フラグを一括で設定するメソッド
+	 *
+	 * <p>
+	 * 再通知の条件をSQLで判定するため、対象の件数によらず1回の更新で設定します。<br>
+	 * 再通知フラグが設定済みの通知は更新しません。
+	 * </p>
+	 *
+	 * @param thresholdDate 基準日（この日以前に最終更新された証明書発行が対象）
+	 * @return 再通知フラグを設定した通知の件数
+	 */
+	public int updateNotificationCertificateIssuanceOverdue(Date thresholdDate) {
+		// クエリパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_NOTIFICATION_CERTIFICATE_ISSUANCE_OVERDUE,
+				thresholdDate);
+
+		// クエリを実行し更新件数を返却
+		return jdbc.update(SQL_UPDATE_NOTIFICATION_CERTIFICATE_ISSUANCE_OVERDUE, params);
+	}
+
 	/**
 	 * 就職活動通知を削除します。
 	 *
@@ -723,9 +951,15 @@ public class NotificationRepository {
 	public Boolean deleteNotificationJobSearch(String jobSearchId) {
 		// クエリのパラメータを設定
 		Map<String, Object> params = dbdc.mapInputValues(SQL_DELETE_NOTIFICATION_JOB_SEARCH, jobSearchId);
+		// 削除する通知のユーザごとの件数を取得
+		Map<String, Integer> deletedCounts = notificationCountRepository
+				.selectCountJobSearchList(List.of(jobSearchId));
 		// クエリを実行し更新件数を取得
 		int updateRow = jdbc.update(SQL_DELETE_NOTIFICATION_JOB_SEARCH, params);
 
+		// 通知件数を減算（コミット後に反映）
+		notificationCountRepository.subtractAll(deletedCounts);
+
 		// 更新結果を返却
 		return updateRow > 0;
 	}
@@ -740,13 +974,48 @@ public class NotificationRepository {
 		// クエリのパラメータを設定
 		Map<String, Object> params = dbdc.mapInputValues(SQL_DELETE_NOTIFICATION_CERTIFICATE_ISSUANCE,
 				certificateIssueId);
+		// 削除する通知のユーザごとの件数を取得
+		Map<String, Integer> deletedCounts = notificationCountRepository
+				.selectCountCertificateIssuanceList(List.of(certificateIssueId));
 		// クエリを実行し更新件数を取得
 		int updateRow = jdbc.update(SQL_DELETE_NOTIFICATION_CERTIFICATE_ISSUANCE, params);
 
+		// 通知件数を減算（コミット後に反映）
+		notificationCountRepository.subtractAll(deletedCounts);
+
 		// 更新結果を返却
 		return updateRow > 0;
 	}
 
+	/**
+	 * 複数の証明書発行の通知をバッチ処理で削除します。
+	 *
+	 * @param certificateIssueIdList 証明書発行IDのリスト
+	 * @return 削除した通知の件数
+	 */
+	public int deleteNotificationCertificateIssuanceList(List<String> certificateIssueIdList) {
+		if (certificateIssueIdList.isEmpty()) {
+			return 0;
+		}
+		// 証明書発行IDごとのパラメータを設定
+		List<Map<String, Object>> paramsList = certificateIssueIdList.stream()
+				.map(certificateIssueId -> dbdc.mapInputValues(SQL_DELETE_NOTIFICATION_CERTIFICATE_ISSUANCE,
+						certificateIssueId))
+				.collect(Collectors.toList());
+		// 削除する通知のユーザごとの件数を取得
+		Map<String, Integer> deletedCounts = notificationCountRepository
+				.selectCountCertificateIssuanceList(certificateIssueIdList);
+		// クエリをバッチで実行し削除件数を取得
+		int[] updateRows = jdbc.batchUpdate(SQL_DELETE_NOTIFICATION_CERTIFICATE_ISSUANCE,
+				SqlParameterSourceUtils.createBatch(paramsList));
+
+		// 通知件数を減算（コミット後に反映）
+		notificationCountRepository.subtractAll(deletedCounts);
+
+		// 削除件数を返却
+		return Arrays.stream(updateRows).map(updateRow -> Math.max(updateRow, 0)).sum();
+	}
+
 	/**
 	 * 通知クラスを追加します。
 	 *
@@ -808,19 +1077,40 @@ public class NotificationRepository {
 	}
 
 	/**
-	 * 指定された通知リストから、同じ証明書発行IDを持つ通知データを検索します。
+	 * 複数のユーザへの通知と、通知が参照する就職活動/証明書発行をバッチ処理で登録します。
 	 *
-	 * @param dashBoardList 通知データのリスト
-	 * @param certificateIssueId 検索したい証明書発行ID
-	 * @return 一致する通知データ。存在しない場合はnullを返却します。
+	 * @param userIdList 通知先のユーザIDのリスト
+	 * @param category 就職活動/証明書区分
+	 * @param linkSql 通知就職活動または通知証明書発行の登録SQL
+	 * @param targetId 就職活動IDまたは証明書発行ID
+	 * @return 登録した通知の件数
 	 */
-	private NotificationDashBoardData findExistingNotification(List<NotificationDashBoardData> dashBoardList,
-			String notificationId) {
-		for (NotificationDashBoardData data : dashBoardList) {
-			if (notificationId.equals(data.getNotifiationId())) {
-				return data;
-			}
+	private int insertNotificationList(List<String> userIdList, String category, String linkSql, String targetId) {
+		if (userIdList.isEmpty()) {
+			return 0;
+		}
+		// 現在時刻を取得
+		Timestamp createdAt = dbdc.getNowTime();
+
+		// 通知先ごとに通知IDを払い出し、パラメータを設定
+		List<Map<String, Object>> notificationParamsList = new ArrayList<>();
+		List<Map<String, Object>> linkParamsList = new ArrayList<>();
+		for (String userId : userIdList) {
+			String notificationId = getNotificationId();
+			notificationParamsList.add(dbdc.mapInputValues(SQL_INSERT_NOTIFICATION, notificationId, userId, false,
+					category, createdAt));
+			linkParamsList.add(dbdc.mapInputValues(linkSql, notificationId, targetId));
 		}
-		return null;
+
+		// 通知と参照先をそれぞれバッチで登録
+		int[] updateRows = jdbc.batchUpdate(SQL_INSERT_NOTIFICATION,
+				SqlParameterSourceUtils.createBatch(notificationParamsList));
+		jdbc.batchUpdate(linkSql, SqlParameterSourceUtils.createBatch(linkParamsList));
+
+		// 通知件数を加算（登録に失敗した場合は例外となるため、通知先ごとに1件。コミット後に反映）
+		userIdList.forEach(userId -> notificationCountRepository.add(userId, 1));
+
+		// 登録件数を返却
+		return Arrays.stream(updateRows).map(updateRow -> Math.max(updateRow, 0)).sum();
 	}
 }
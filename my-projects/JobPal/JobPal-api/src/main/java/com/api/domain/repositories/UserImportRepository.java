@@ -0,0 +1,204 @@
+package com.api.domain.repositories;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.api.domain.models.dbdata.UserImportData;
+import com.api.jobpal.common.base.DBDataConversion;
+
+/**
+ * ユーザ一括登録の進捗に関わるDBアクセスを実現するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>一括登録の進捗の登録・取得</li>
+ * <li>コミット済みの行の更新</li>
+ * <li>完了への更新</li>
+ * </ul>
+ * <p>
+ * コミット済みの行の更新は、その行までのユーザの登録と同じトランザクションで行ってください。<br>
+ * 処理が継続できない場合は、呼び出し元へ例外をスローします。<br>
+ * <strong>呼び出し元では適切な例外処理を行ってください。</strong>
+ */
+@Repository
+public class UserImportRepository {
+
+	/**
+	 * 登録状態：登録中
+	 */
+	public static final String STATUS_RUNNING = "0";
+
+	/**
+	 * 登録状態：完了
+	 */
+	public static final String STATUS_COMPLETED = "1";
+
+	/**
+	 * SQL 一括登録の進捗の登録
+	 */
+	private static final String SQL_INSERT_USER_IMPORT_ONE = "INSERT INTO "
+			+ "USER_IMPORT_T (import_id, file_hash, committed_row, inserted_count, error_count, status, "
+			+ "created_by_user_id, created_at, updated_at) "
+			+ "VALUES "
+			+ "( :importId , :fileHash , 0, 0, 0, '0', :createdByUserId , :createdAt , :updatedAt )";
+
+	/**
+	 * SQL 一括登録の進捗を取得
+	 */
+	private static final String SQL_SELECT_USER_IMPORT_ONE = "SELECT "
+			+ "import_id, "
+			+ "file_hash, "
+			+ "committed_row, "
+			+ "inserted_count, "
+			+ "error_count, "
+			+ "status "
+			+ "FROM "
+			+ "USER_IMPORT_T "
+			+ "WHERE "
+			+ "import_id = :importId ";
+
+	/**
+	 * SQL コミット済みの行を更新
+	 *
+	 * <p>
+	 * 取得時からコミット済みの行が変わっていない場合のみ更新します（同じ一括登録を同時に再開した場合の重複登録を防ぐ）。
+	 * </p>
+	 */
+	private static final String SQL_UPDATE_USER_IMPORT_PROGRESS = "UPDATE "
+			+ "USER_IMPORT_T "
+			+ "SET "
+			+ "committed_row = :committedRow , "
+			+ "inserted_count = inserted_count + :insertedCount , "
+			+ "error_count = error_count + :errorCount , "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "import_id = :importId "
+			+ "AND committed_row = :expectedRow "
+			+ "AND status = '0'";
+
+	/**
+	 * SQL 一括登録を完了に更新
+	 */
+	private static final String SQL_UPDATE_USER_IMPORT_COMPLETED = "UPDATE "
+			+ "USER_IMPORT_T "
+			+ "SET "
+			+ "status = '1', "
+			+ "updated_at = :updatedAt "
+			+ "WHERE "
+			+ "import_id = :importId ";
+
+	/**
+	 * 更新が成功した場合の期待値
+	 */
+	private static final int EXPECTED_UPDATE_COUNT = 1;
+
+	/**
+	 * NamedParameterJdbcTemplateを使用してSQLを実行するためのオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * データベースから取得したデータを変換するためのユーティリティクラス。
+	 */
+	@Autowired
+	private DBDataConversion dbdc;
+
+	/**
+	 * 一括登録の進捗を登録します。
+	 *
+	 * @param importId        一括登録ID
+	 * @param fileHash        登録するCSVのSHA-256（16進数）
+	 * @param createdByUserId 一括登録を実行したユーザID
+	 * @return 処理成功時はtrue、失敗時はfalseを返却します。
+	 */
+	public Boolean insertUserImport(String importId, String fileHash, String createdByUserId) {
+		// 現在時刻を取得
+		Timestamp now = dbdc.getNowTime();
+
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_INSERT_USER_IMPORT_ONE,
+				importId, fileHash, createdByUserId, now, now);
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_INSERT_USER_IMPORT_ONE, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 一括登録の進捗を取得します。
+	 *
+	 * @param importId 一括登録ID
+	 * @return 一括登録の進捗。該当するデータが存在しない場合はnullを返却します。
+	 */
+	public UserImportData selectUserImport(String importId) {
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_USER_IMPORT_ONE, importId);
+
+		// SQLクエリを実行
+		List<Map<String, Object>> resultList = jdbc.queryForList(SQL_SELECT_USER_IMPORT_ONE, params);
+		if (resultList.isEmpty()) {
+			return null;
+		}
+
+		// 一括登録の進捗を作成
+		Map<String, Object> result = resultList.get(0);
+		UserImportData userImportData = new UserImportData();
+		userImportData.setImportId(dbdc.getStringValue(result, "import_id"));
+		userImportData.setFileHash(dbdc.getStringValue(result, "file_hash"));
+		userImportData.setCommittedRow(dbdc.getIntegerValue(result, "committed_row"));
+		userImportData.setInsertedCount(dbdc.getIntegerValue(result, "inserted_count"));
+		userImportData.setErrorCount(dbdc.getIntegerValue(result, "error_count"));
+		userImportData.setStatus(dbdc.getStringValue(result, "status"));
+		return userImportData;
+	}
+
+	/**
+	 * コミット済みの行を更新し、登録件数・エラー件数を加算します。
+	 *
+	 * @param importId      一括登録ID
+	 * @param expectedRow   取得時のコミット済みの行
+	 * @param committedRow  新たにコミットする最後の行
+	 * @param insertedCount 今回登録したユーザの件数
+	 * @param errorCount    今回登録できなかった行の件数
+	 * @return 更新できた場合はtrue、他の処理で更新済み（または完了済み）の場合はfalseを返却します。
+	 */
+	public Boolean updateUserImportProgress(String importId, int expectedRow, int committedRow, int insertedCount,
+			int errorCount) {
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_USER_IMPORT_PROGRESS,
+				committedRow, insertedCount, errorCount, dbdc.getNowTime(), importId, expectedRow);
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_USER_IMPORT_PROGRESS, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+
+	/**
+	 * 一括登録を完了に更新します。
+	 *
+	 * @param importId 一括登録ID
+	 * @return 処理成功時はtrue、失敗時はfalseを返却します。
+	 */
+	public Boolean updateUserImportCompleted(String importId) {
+		// SQLクエリのパラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_UPDATE_USER_IMPORT_COMPLETED,
+				dbdc.getNowTime(), importId);
+
+		// SQLクエリを実行して更新件数を取得
+		int updateRow = jdbc.update(SQL_UPDATE_USER_IMPORT_COMPLETED, params);
+
+		// 更新結果を返却
+		return updateRow == EXPECTED_UPDATE_COUNT;
+	}
+}
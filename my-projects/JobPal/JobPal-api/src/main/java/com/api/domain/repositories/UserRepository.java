@@ -2,6 +2,7 @@ package com.api.domain.repositories;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Repository;
 
@@ -30,6 +32,7 @@ import com.api.jobpal.common.base.DBDataConversion;
  * <li>担任・学生を含む特定ユーザデータ取得</li>
  * <li>ユーザ名、区分、存在確認</li>
  * <li>ユーザデータ、削除ユーザデータの追加</li>
+ * <li>ユーザデータの一括追加（バッチ処理）</li>
  * <li>ユーザ状態、共通情報、担任・学生情報の更新</li>
  * <li>特定ユーザの削除</li>
  * </ul>
@@ -172,6 +175,16 @@ public class UserRepository {
 			+ "WHERE "
 			+ "user_id = :userId ";
 
+	/**
+	 * SQL 指定したユーザIDのうち、登録済みのユーザIDを取得
+	 */
+	private static final String SQL_SELECT_EXISTING_USER_ID = "SELECT "
+			+ "user_id "
+			+ "FROM "
+			+ "USER_M "
+			+ "WHERE "
+			+ "user_id IN (:userIds )";
+
 	/**
 	 * SQL ユーザ共通情報を1件追加
 	 */
@@ -337,6 +350,18 @@ public class UserRepository {
 	@Autowired
 	private DBDataConversion dbdc;
 
+	/**
+	 * クラス集計値リポジトリ。
+	 */
+	@Autowired
+	private ClassStatisticsRepository classStatisticsRepository;
+
+	/**
+	 * 通知件数リポジトリ。
+	 */
+	@Autowired
+	private NotificationCountRepository notificationCountRepository;
+
 	/**
 	 * パスワードをエンコードおよび検証するためのエンコーダー。
 	 */
@@ -612,6 +637,20 @@ public class UserRepository {
 		}
 	}
 
+	/**
+	 * 指定したユーザIDのうち、既に登録されているユーザIDを取得します。
+	 *
+	 * @param userIdList 確認したいユーザIDのリスト（空のリストは不可）
+	 * @return 登録済みのユーザIDのリスト
+	 */
+	public List<String> selectExistingUserIdList(List<String> userIdList) {
+		// パラメータを設定
+		Map<String, Object> params = dbdc.mapInputValues(SQL_SELECT_EXISTING_USER_ID, userIdList);
+
+		// SQLクエリを実行し、登録済みのユーザIDを取得
+		return jdbc.queryForList(SQL_SELECT_EXISTING_USER_ID, params, String.class);
+	}
+
 	/**
 	 * ユーザを1件DBに追加します。
 	 *
@@ -670,6 +709,71 @@ public class UserRepository {
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
 
+	/**
+	 * 複数のユーザをバッチ処理でDBに追加します。
+	 *
+	 * <p>
+	 * {@link #insertUserOne(UserData)}と異なり、パスワードはエンコードしません。<br>
+	 * <strong>パスワードにはエンコード済みの値を設定してください。</strong>
+	 * </p>
+	 *
+	 * @param userDataList 追加したいユーザデータのリスト
+	 * @return 追加した件数
+	 */
+	public int insertUserList(List<UserData> userDataList) {
+		if (userDataList.isEmpty()) {
+			return 0;
+		}
+		// 現在のタイムスタンプを取得
+		Timestamp createdAt = dbdc.getNowTime();
+
+		// ユーザごとのパラメータを設定
+		List<Map<String, Object>> paramsList = userDataList.stream()
+				.map(userData -> dbdc.mapInputValues(
+						SQL_INSERT_USER_ONE,
+						userData.getUserId(),
+						userData.getPassword(),
+						userData.getUserName(),
+						userData.getUserStatus(),
+						userData.getUserType(),
+						userData.getCreatedByUserId(),
+						createdAt,
+						createdAt))
+				.toList();
+
+		// SQL_INSERT_USER_ONEクエリをバッチで実行し、追加件数を返却
+		int[] updateRows = jdbc.batchUpdate(SQL_INSERT_USER_ONE, SqlParameterSourceUtils.createBatch(paramsList));
+		return Arrays.stream(updateRows).map(updateRow -> Math.max(updateRow, 0)).sum();
+	}
+
+	/**
+	 * 複数の担任・学生のユーザをバッチ処理でDBに追加します。
+	 *
+	 * @param userDataList 追加したいユーザデータのリスト（ユーザ共通情報は追加済みであること）
+	 * @return 追加した件数
+	 */
+	public int insertTeacherStudentUserList(List<UserData> userDataList) {
+		if (userDataList.isEmpty()) {
+			return 0;
+		}
+		// ユーザごとのパラメータを設定
+		List<Map<String, Object>> paramsList = userDataList.stream()
+				.map(userData -> dbdc.mapInputValues(
+						SQL_INSERT_TEACHER_STUDENT_ONE,
+						userData.getUserId(),
+						userData.getDepartment(),
+						userData.getGrade(),
+						userData.getClassName(),
+						userData.getAttendanceNumber(),
+						userData.getStudentId()))
+				.toList();
+
+		// SQL_INSERT_TEACHER_STUDENT_ONEクエリをバッチで実行し、追加件数を返却
+		int[] updateRows = jdbc.batchUpdate(SQL_INSERT_TEACHER_STUDENT_ONE,
+				SqlParameterSourceUtils.createBatch(paramsList));
+		return Arrays.stream(updateRows).map(updateRow -> Math.max(updateRow, 0)).sum();
+	}
+
 	/**
 	 * 削除ユーザを1件DBに追加します。
 	 *
@@ -729,6 +833,11 @@ public class UserRepository {
 		// ユーザの状態を更新
 		int updateRow = jdbc.update(SQL_UPDATE_USER_STATUS_ONE, params);
 
+		// クラスの集計値に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			classStatisticsRepository.refreshUser(userId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -767,6 +876,11 @@ public class UserRepository {
 		// SQLクエリを実行し、更新件数を取得
 		int updateRow = jdbc.update(sql, params);
 
+		// クラスの集計値に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			classStatisticsRepository.refreshUser(userData.getUserId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -792,6 +906,11 @@ public class UserRepository {
 		// SQL_UPDATE_TEACHER_STUDENT_ONEクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_UPDATE_TEACHER_STUDENT_ONE, params);
 
+		// クラスの集計値に反映
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			classStatisticsRepository.refreshUser(userData.getUserId());
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
@@ -810,6 +929,12 @@ public class UserRepository {
 		// SQL_DELETE_USER_ONEクエリを実行し、結果を取得
 		int updateRow = jdbc.update(SQL_DELETE_USER_ONE, params);
 
+		// クラスの集計値と通知件数に反映（通知はユーザの削除に連動して削除される）
+		if (updateRow == EXPECTED_UPDATE_COUNT) {
+			classStatisticsRepository.refreshUser(userId);
+			notificationCountRepository.remove(userId);
+		}
+
 		// 更新結果を返却
 		return updateRow == EXPECTED_UPDATE_COUNT;
 	}
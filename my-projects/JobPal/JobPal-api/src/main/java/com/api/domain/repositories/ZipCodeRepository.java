@@ -0,0 +1,516 @@
+package com.api.domain.repositories;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.api.domain.models.data.ZipCodeData;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 郵便番号データ（日本郵便のKEN_ALL形式のCSV）をメモリ上で検索するクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>KEN_ALL形式のCSVの読み込みと索引の作成</li>
+ * <li>7桁の郵便番号による住所の検索</li>
+ * <li>郵便番号の先頭の数桁による住所の検索</li>
+ * <li>CSVの更新の検知と再読み込み</li>
+ * </ul>
+ * <p>
+ * 索引は郵便番号の昇順に並べた数値の配列と、住所の各項目を文字列表の番号で保持する配列で構成します。<br>
+ * 先頭3桁ごとの開始位置を保持し、その範囲を二分探索するため、検索時にオブジェクトを生成するのは返却する住所のみです。
+ * </p>
+ * <p>
+ * CSVは「settings.zipcode.ken-all-path」で指定します。未指定の場合は索引を作成しません（{@link #isLoaded()}が`false`）。<br>
+ * 「settings.zipcode.hot-reload」が`true`の場合、「settings.zipcode.reload-check-ms」ごとにCSVの更新日時を確認し、
+ * 更新されていれば索引を作り直して置き換えます。読み込みに失敗した場合は、それまでの索引を使用し続けます。
+ * </p>
+ */
+@Repository
+public class ZipCodeRepository {
+
+	/**
+	 * CSVの列 全国地方公共団体コード
+	 */
+	private static final int COLUMN_LOCAL_GOVERNMENT_CODE = 0;
+
+	/**
+	 * CSVの列 郵便番号(7桁)
+	 */
+	private static final int COLUMN_ZIPCODE = 2;
+
+	/**
+	 * CSVの列 都道府県名カナ
+	 */
+	private static final int COLUMN_KANA1 = 3;
+
+	/**
+	 * CSVの列 市区町村名カナ
+	 */
+	private static final int COLUMN_KANA2 = 4;
+
+	/**
+	 * CSVの列 町域名カナ
+	 */
+	private static final int COLUMN_KANA3 = 5;
+
+	/**
+	 * CSVの列 都道府県名
+	 */
+	private static final int COLUMN_ADDRESS1 = 6;
+
+	/**
+	 * CSVの列 市区町村名
+	 */
+	private static final int COLUMN_ADDRESS2 = 7;
+
+	/**
+	 * CSVの列 町域名
+	 */
+	private static final int COLUMN_ADDRESS3 = 8;
+
+	/**
+	 * 町域名が掲載されていない場合の町域名（空文字に置き換える）
+	 */
+	private static final String ADDRESS3_NOT_LISTED = "以下に掲載がない場合";
+
+	/**
+	 * 町域名が掲載されていない場合の町域名カナ（空文字に置き換える）
+	 */
+	private static final String KANA3_NOT_LISTED = "ｲｶﾆｹｲｻｲｶﾞﾅｲﾊﾞｱｲ";
+
+	/**
+	 * 郵便番号の桁数
+	 */
+	private static final int ZIPCODE_LENGTH = 7;
+
+	/**
+	 * 先頭3桁ごとの開始位置の数（000～999）
+	 */
+	private static final int BUCKET_COUNT = 1000;
+
+	/**
+	 * 先頭3桁を求めるための除数
+	 */
+	private static final int BUCKET_DIVISOR = 10000;
+
+	/**
+	 * 1件の住所が使用する配列の要素数（都道府県コード、都道府県名、市区町村名、町域名と各カナ）
+	 */
+	private static final int RECORD_SIZE = 7;
+
+	/**
+	 * 郵便番号CSV（KEN_ALL形式）のパス
+	 */
+	@Value("${settings.zipcode.ken-all-path:}")
+	private String kenAllPath;
+
+	/**
+	 * 郵便番号CSVの文字コード
+	 */
+	@Value("${settings.zipcode.charset:MS932}")
+	private String charset;
+
+	/**
+	 * 郵便番号CSVの更新を検知して再読み込みするか
+	 */
+	@Value("${settings.zipcode.hot-reload:true}")
+	private boolean hotReload;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * 使用中の索引（再読み込み時に置き換える）
+	 */
+	private volatile ZipCodeIndex index = ZipCodeIndex.EMPTY;
+
+	/**
+	 * 読み込んだCSVのパス
+	 */
+	private Path loadedPath;
+
+	/**
+	 * 読み込んだCSVの更新日時
+	 */
+	private long loadedModified;
+
+	@PostConstruct
+	void init() {
+		reload();
+	}
+
+	/**
+	 * 索引を作成済みかを返却します。
+	 *
+	 * @return 索引を作成済みの場合は`true`、CSVが未指定または読み込めていない場合は`false`
+	 */
+	public boolean isLoaded() {
+		return index != ZipCodeIndex.EMPTY;
+	}
+
+	/**
+	 * 郵便番号に対応する住所を取得します。
+	 *
+	 * <p>
+	 * 1つの郵便番号に複数の町域がある場合は、CSVの順に返却します。
+	 * </p>
+	 *
+	 * @param zipcode 郵便番号の文字列(7桁)
+	 * @return 住所のリスト（該当がない場合は空のリスト）
+	 */
+	public List<ZipCodeData> selectByZipCode(String zipcode) {
+		int code = parseCode(zipcode, ZIPCODE_LENGTH);
+		if (code < 0) {
+			return new ArrayList<>();
+		}
+		return index.select(code, code + 1, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * 郵便番号の先頭の数桁に対応する住所を、郵便番号の昇順に取得します。
+	 *
+	 * @param prefix 郵便番号の先頭(1～7桁)
+	 * @param limit  取得する最大件数
+	 * @return 住所のリスト（該当がない場合は空のリスト）
+	 */
+	public List<ZipCodeData> selectByPrefix(String prefix, int limit) {
+		int code = parseCode(prefix, prefix == null ? 0 : prefix.length());
+		if (code < 0 || prefix.isEmpty()) {
+			return new ArrayList<>();
+		}
+		int scale = 1;
+		for (int i = prefix.length(); i < ZIPCODE_LENGTH; i++) {
+			scale *= 10;
+		}
+		return index.select(code * scale, (code + 1) * scale, limit);
+	}
+
+	/**
+	 * 郵便番号CSVが更新されていれば、索引を作り直します。
+	 */
+	@Scheduled(fixedDelayString = "${settings.zipcode.reload-check-ms:60000}",
+			initialDelayString = "${settings.zipcode.reload-check-ms:60000}")
+	public void reloadIfModified() {
+		if (!hotReload) {
+			return;
+		}
+		Path path = resolvePath();
+		if (path == null || !Files.isReadable(path)) {
+			return;
+		}
+		try {
+			long modified = Files.getLastModifiedTime(path).toMillis();
+			synchronized (this) {
+				if (path.equals(loadedPath) && modified == loadedModified) {
+					return;
+				}
+			}
+		} catch (IOException e) {
+			logger.error("Failed to check zip code file: " + e.getMessage());
+			return;
+		}
+		reload();
+	}
+
+	/**
+	 * 郵便番号CSVを読み込み、索引を作り直します。
+	 *
+	 * <p>
+	 * CSVが未指定の場合は索引を破棄します。読み込みに失敗した場合は、それまでの索引を使用し続けます。
+	 * </p>
+	 *
+	 * @return 索引を作成した場合は`true`、それ以外の場合は`false`
+	 */
+	public synchronized boolean reload() {
+		Path path = resolvePath();
+		if (path == null) {
+			index = ZipCodeIndex.EMPTY;
+			loadedPath = null;
+			loadedModified = 0;
+			return false;
+		}
+		try {
+			long modified = Files.getLastModifiedTime(path).toMillis();
+			ZipCodeIndex loaded;
+			try (Reader reader = Files.newBufferedReader(path, Charset.forName(charset))) {
+				loaded = ZipCodeIndex.build(CSVFormat.DEFAULT.parse(reader));
+			}
+			index = loaded;
+			loadedPath = path;
+			loadedModified = modified;
+			logger.info("Zip code index loaded: " + loaded.size() + " records from " + path);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			logger.error("Failed to load zip code file " + path + ": " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * 郵便番号CSVのパスを取得します。
+	 *
+	 * @return パス（未指定の場合は`null`）
+	 */
+	private Path resolvePath() {
+		if (kenAllPath == null || kenAllPath.isBlank()) {
+			return null;
+		}
+		return Paths.get(kenAllPath.trim());
+	}
+
+	/**
+	 * 郵便番号の文字列を数値に変換します。
+	 *
+	 * @param value  郵便番号の文字列
+	 * @param length 桁数
+	 * @return 郵便番号の数値（数字以外を含む場合や桁数が異なる場合は-1）
+	 */
+	private static int parseCode(String value, int length) {
+		if (value == null || value.length() != length || length > ZIPCODE_LENGTH) {
+			return -1;
+		}
+		int code = 0;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			code = code * 10 + (c - '0');
+		}
+		return code;
+	}
+
+	/**
+	 * 郵便番号の索引です。作成後は変更しません。
+	 */
+	private static final class ZipCodeIndex {
+
+		/**
+		 * 空の索引
+		 */
+		static final ZipCodeIndex EMPTY = new ZipCodeIndex(new int[0], new int[0], new String[0],
+				new int[BUCKET_COUNT + 1]);
+
+		/**
+		 * 郵便番号（昇順）
+		 */
+		private final int[] codes;
+
+		/**
+		 * 住所（郵便番号と同じ順に、都道府県コードと各項目の文字列表の番号をRECORD_SIZE個ずつ）
+		 */
+		private final int[] records;
+
+		/**
+		 * 文字列表（同じ名称は1つにまとめる）
+		 */
+		private final String[] strings;
+
+		/**
+		 * 先頭3桁ごとの開始位置（末尾は件数）
+		 */
+		private final int[] buckets;
+
+		private ZipCodeIndex(int[] codes, int[] records, String[] strings, int[] buckets) {
+			this.codes = codes;
+			this.records = records;
+			this.strings = strings;
+			this.buckets = buckets;
+		}
+
+		/**
+		 * 件数を返却します。
+		 */
+		int size() {
+			return codes.length;
+		}
+
+		/**
+		 * 郵便番号が指定の範囲にある住所を取得します。
+		 *
+		 * @param from  郵便番号の下限（含む）
+		 * @param to    郵便番号の上限（含まない）
+		 * @param limit 取得する最大件数
+		 * @return 住所のリスト
+		 */
+		List<ZipCodeData> select(int from, int to, int limit) {
+			List<ZipCodeData> list = new ArrayList<>();
+			int low = buckets[from / BUCKET_DIVISOR];
+			int high = buckets[Math.min((to - 1) / BUCKET_DIVISOR + 1, BUCKET_COUNT)];
+			for (int i = lowerBound(low, high, from); i < high && codes[i] < to && list.size() < limit; i++) {
+				list.add(toData(i));
+			}
+			return list;
+		}
+
+		/**
+		 * 範囲内で、郵便番号が指定の値以上となる最初の位置を取得します。
+		 */
+		private int lowerBound(int low, int high, int code) {
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (codes[mid] < code) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * 指定の位置の住所を生成します。
+		 */
+		private ZipCodeData toData(int i) {
+			int offset = i * RECORD_SIZE;
+			ZipCodeData data = new ZipCodeData();
+			data.setZipcode(String.format("%07d", codes[i]));
+			data.setPrefcode(String.valueOf(records[offset]));
+			data.setAddress1(strings[records[offset + 1]]);
+			data.setAddress2(strings[records[offset + 2]]);
+			data.setAddress3(strings[records[offset + 3]]);
+			data.setKana1(strings[records[offset + 4]]);
+			data.setKana2(strings[records[offset + 5]]);
+			data.setKana3(strings[records[offset + 6]]);
+			return data;
+		}
+
+		/**
+		 * KEN_ALL形式のCSVから索引を作成します。
+		 *
+		 * <p>
+		 * 町域名が長く複数行に分かれている行（括弧が次の行で閉じる行）は1件にまとめます。
+		 * </p>
+		 *
+		 * @param csv CSVの各行
+		 * @return 索引
+		 */
+		static ZipCodeIndex build(Iterable<CSVRecord> csv) {
+			Map<String, Integer> stringIds = new HashMap<>();
+			List<String> strings = new ArrayList<>();
+			int[] codes = new int[1024];
+			int[] records = new int[codes.length * RECORD_SIZE];
+			int count = 0;
+
+			CSVRecord pending = null;
+			StringBuilder address3 = new StringBuilder();
+			StringBuilder kana3 = new StringBuilder();
+			for (CSVRecord row : csv) {
+				if (pending != null && !isContinued(address3)) {
+					pending = null;
+				}
+				if (pending != null && pending.get(COLUMN_ZIPCODE).equals(row.get(COLUMN_ZIPCODE))) {
+					// 前の行の町域名の続き
+					address3.append(row.get(COLUMN_ADDRESS3));
+					kana3.append(row.get(COLUMN_KANA3));
+				} else {
+					pending = row;
+					address3.setLength(0);
+					kana3.setLength(0);
+					address3.append(row.get(COLUMN_ADDRESS3));
+					kana3.append(row.get(COLUMN_KANA3));
+				}
+				if (isContinued(address3)) {
+					continue;
+				}
+
+				int code = parseCode(pending.get(COLUMN_ZIPCODE), ZIPCODE_LENGTH);
+				if (code < 0) {
+					throw new IllegalArgumentException("invalid zip code at line " + pending.getRecordNumber());
+				}
+				if (count == codes.length) {
+					codes = Arrays.copyOf(codes, count * 2);
+					records = Arrays.copyOf(records, count * 2 * RECORD_SIZE);
+				}
+				int offset = count * RECORD_SIZE;
+				codes[count] = code;
+				records[offset] = Integer.parseInt(pending.get(COLUMN_LOCAL_GOVERNMENT_CODE).substring(0, 2));
+				records[offset + 1] = intern(pending.get(COLUMN_ADDRESS1), stringIds, strings);
+				records[offset + 2] = intern(pending.get(COLUMN_ADDRESS2), stringIds, strings);
+				records[offset + 3] = intern(normalize(address3.toString(), ADDRESS3_NOT_LISTED), stringIds, strings);
+				records[offset + 4] = intern(pending.get(COLUMN_KANA1), stringIds, strings);
+				records[offset + 5] = intern(pending.get(COLUMN_KANA2), stringIds, strings);
+				records[offset + 6] = intern(normalize(kana3.toString(), KANA3_NOT_LISTED), stringIds, strings);
+				count++;
+			}
+			return sort(codes, records, count, strings.toArray(new String[0]));
+		}
+
+		/**
+		 * 郵便番号の昇順（同じ郵便番号はCSVの順）に並べ替え、先頭3桁ごとの開始位置を作成します。
+		 */
+		private static ZipCodeIndex sort(int[] codes, int[] records, int count, String[] strings) {
+			// 郵便番号と行番号を1つの数値にまとめて並べ替え（同じ郵便番号は行番号順）
+			long[] keys = new long[count];
+			for (int i = 0; i < count; i++) {
+				keys[i] = ((long) codes[i] << Integer.SIZE) | i;
+			}
+			Arrays.sort(keys);
+
+			int[] sortedCodes = new int[count];
+			int[] sortedRecords = new int[count * RECORD_SIZE];
+			int[] buckets = new int[BUCKET_COUNT + 1];
+			for (int i = 0; i < count; i++) {
+				int source = (int) keys[i];
+				sortedCodes[i] = codes[source];
+				System.arraycopy(records, source * RECORD_SIZE, sortedRecords, i * RECORD_SIZE, RECORD_SIZE);
+				buckets[sortedCodes[i] / BUCKET_DIVISOR + 1]++;
+			}
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				buckets[i + 1] += buckets[i];
+			}
+			return new ZipCodeIndex(sortedCodes, sortedRecords, strings, buckets);
+		}
+
+		/**
+		 * 町域名が次の行に続くか（括弧が閉じていないか）を返却します。
+		 */
+		private static boolean isContinued(CharSequence address3) {
+			String value = address3.toString();
+			return value.lastIndexOf('（') > value.lastIndexOf('）');
+		}
+
+		/**
+		 * 町域名が掲載されていない場合は空文字に置き換えます。
+		 */
+		private static String normalize(String value, String notListed) {
+			return notListed.equals(value) ? "" : value;
+		}
+
+		/**
+		 * 文字列表の番号を取得します（未登録の場合は追加します）。
+		 */
+		private static int intern(String value, Map<String, Integer> stringIds, List<String> strings) {
+			Integer id = stringIds.get(value);
+			if (id == null) {
+				id = strings.size();
+				stringIds.put(value, id);
+				strings.add(value);
+			}
+			return id;
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.api.domain.services;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.api.domain.repositories.BatchLeaseRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 複数のインスタンスで起動した場合に、バッチ処理を1つのインスタンスのみで実行するサービスクラスです。
+ *
+ * <p>
+ * 主な機能:
+ * <ul>
+ * <li>実行枠ごとのDB上の実行権の取得（取得できたインスタンスのみ実行）</li>
+ * <li>実行中の実行権の期限の延長</li>
+ * <li>実行後の実行権の解放</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 実行中のインスタンスが停止した場合、期限を過ぎた実行権は次の実行枠で他のインスタンスが取得します。
+ * </p>
+ */
+@Service
+public class BatchLeaseService {
+
+	/**
+	 * 実行権の期限（秒）。実行中は期限の1/3ごとに延長する。
+	 */
+	@Value("${settings.batch.lease.ttl-seconds:120}")
+	private long ttlSeconds;
+
+	/**
+	 * 実行権リポジトリ。
+	 */
+	@Autowired
+	private BatchLeaseRepository batchLeaseRepository;
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	Logger logger;
+
+	/**
+	 * このインスタンスのID（ホスト名と起動ごとの識別子）
+	 */
+	private String ownerId;
+
+	/**
+	 * 実行権の延長処理
+	 */
+	private ScheduledExecutorService renewer;
+
+	@PostConstruct
+	void init() {
+		if (ttlSeconds < 3) {
+			throw new IllegalStateException("settings.batch.lease.ttl-secondsには3以上を指定してください。");
+		}
+		ownerId = hostName() + "-" + UUID.randomUUID();
+		renewer = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("batch-lease-renewer").factory());
+	}
+
+	@PreDestroy
+	void destroy() {
+		renewer.shutdownNow();
+	}
+
+	/**
+	 * 実行権を取得できた場合のみ処理を実行します。
+	 *
+	 * @param leaseName   バッチ処理の名前
+	 * @param windowStart 実行枠の開始日時（同じ実行枠では1回のみ実行する）
+	 * @param task        処理
+	 * @return 実行した場合はtrue、他のインスタンスが実行中または実行済みの場合はfalse
+	 */
+	public boolean runExclusively(String leaseName, LocalDateTime windowStart, Runnable task) {
+		boolean acquired;
+		try {
+			acquired = batchLeaseRepository.acquireBatchLease(leaseName, ownerId, Timestamp.valueOf(windowStart),
+					leaseUntil());
+		} catch (DataAccessException e) {
+			logger.error("Failed to acquire batch lease " + leaseName + ": " + e.getMessage());
+			return false;
+		}
+		if (!acquired) {
+			logger.info("Batch lease " + leaseName + " is held by another instance. Skipped.");
+			return false;
+		}
+
+		// 実行中は期限を延長し、他のインスタンスに取得されないようにする
+		long renewSeconds = ttlSeconds / 3;
+		ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> renew(leaseName), renewSeconds,
+				renewSeconds, TimeUnit.SECONDS);
+		try {
+			task.run();
+			return true;
+		} finally {
+			renewal.cancel(false);
+			release(leaseName);
+		}
+	}
+
+	/**
+	 * 実行権の期限を延長します。
+	 *
+	 * @param leaseName バッチ処理の名前
+	 */
+	private void renew(String leaseName) {
+		try {
+			if (!batchLeaseRepository.updateBatchLeaseUntil(leaseName, ownerId, leaseUntil())) {
+				logger.warn("Batch lease " + leaseName + " was lost while running.");
+			}
+		} catch (DataAccessException e) {
+			logger.warn("Failed to renew batch lease " + leaseName + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 実行権を解放します。解放に失敗した場合も期限を過ぎると解放されます。
+	 *
+	 * @param leaseName バッチ処理の名前
+	 */
+	private void release(String leaseName) {
+		try {
+			batchLeaseRepository.updateBatchLeaseUntil(leaseName, ownerId, new Timestamp(System.currentTimeMillis()));
+		} catch (DataAccessException e) {
+			logger.warn("Failed to release batch lease " + leaseName + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 現在時刻から期限までの実行権の期限を算出します。
+	 *
+	 * @return 実行権の期限
+	 */
+	private Timestamp leaseUntil() {
+		return new Timestamp(System.currentTimeMillis() + ttlSeconds * 1000L);
+	}
+
+	/**
+	 * ホスト名を取得します。
+	 *
+	 * @return ホスト名（取得できない場合はunknown）
+	 */
+	private static String hostName() {
+		try {
+			String hostName = InetAddress.getLocalHost().getHostName();
+			return hostName.length() > 60 ? hostName.substring(0, 60) : hostName;
+		} catch (UnknownHostException e) {
+			return "unknown";
+		}
+	}
+}
@@ -2,32 +2,44 @@ package com.api.domain.services;
 
 import java.sql.Date;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
-import java.util.Calendar;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.api.domain.models.dbdata.CertificateIssuanceDashBoardData;
-import com.api.domain.models.dbdata.JobSearchDashBoardData;
-import com.api.domain.models.entities.DashBoardEntity;
-import com.api.domain.repositories.CertificateIssuanceDashBoardRepository;
+import com.api.domain.models.data.NotificationChangedEvent;
+import com.api.domain.models.dbdata.MailOutboxData;
 import com.api.domain.repositories.CertificateIssuanceRepository;
-import com.api.domain.repositories.JobSearchDashBoardRepository;
+import com.api.domain.repositories.DeadlineRepository;
+import com.api.domain.repositories.DeadlineRepository.DuePoll;
+import com.api.domain.repositories.DeadlineRepository.Kind;
+import com.api.domain.repositories.MailOutboxRepository;
 import com.api.domain.repositories.NotificationRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.api.jobpal.common.base.DashBoardCache;
+import com.api.jobpal.common.base.TransactionHooks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 /**
  * バッチ処理を管理するサービスクラスです。
@@ -35,13 +47,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * <p>
  * 主な機能:
  * <ul>
- * <li>定期的な再通知設定</li>
+ * <li>期限を迎えた申請の再通知設定</li>
  * <li>支払期限の過ぎた証明書申請の削除</li>
- * <li>証明書削除時の通知メール送信</li>
+ * <li>証明書削除時の通知メールの送信待ちへの登録</li>
  * </ul>
  * </p>
  *
  * <p>
+ * 複数のインスタンスで起動した場合、バッチ処理は{@link BatchLeaseService}で実行権を取得した1つのインスタンスのみで実行します。
+ * </p>
+ *
+ * <p>
  * <strong>エラー処理:</strong>
  * 処理中にエラーが発生した場合はログに記録され、呼び出し元は結果を判定することができます。<br>
  * 各メソッドの戻り値を使用して成功または失敗を判定してください。
@@ -50,15 +66,36 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Service
 public class BatchService {
 	/**
-	 * 就職活動ダッシュボードリポジトリ。
+	 * 証明書削除通知メールの件名
+	 */
+	private static final String DELETION_MAIL_SUBJECT = "証明書の削除通知";
+
+	/**
+	 * 証明書削除通知メールの本文
+	 */
+	private static final String DELETION_MAIL_BODY = "【申請番号：%s】証明書が削除されました。";
+
+	/**
+	 * 実行権に使用するバッチ処理の名前
+	 */
+	private static final String LEASE_NAME = "deadline-batch";
+
+	/**
+	 * 期限の索引を再構築する間隔（分）
+	 */
+	@Value("${settings.batch.deadline-resync-minutes:10}")
+	private long resyncMinutes;
+
+	/**
+	 * バッチ処理の実行権サービス。
 	 */
 	@Autowired
-	private JobSearchDashBoardRepository jobSearchDashBoardRepository;
+	private BatchLeaseService batchLeaseService;
 	/**
-	 * 証明書発行ダッシュボードリポジトリ。
+	 * バッチ処理の期限リポジトリ。
 	 */
 	@Autowired
-	private CertificateIssuanceDashBoardRepository certificateIssuanceDashBoardRepository;
+	private DeadlineRepository deadlineRepository;
 	/**
 	 * 証明書発行リポジトリ。
 	 */
@@ -70,10 +107,36 @@ public class BatchService {
 	@Autowired
 	private NotificationRepository notificationRepository;
 	/**
-	 * RestTemplateのインスタンス。
+	 * 送信待ちメールリポジトリ。
+	 */
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+	/**
+	 * 通知件数の配信サービス。
 	 */
 	@Autowired
-	private RestTemplate restTemplate;
+	private NotificationStreamService notificationStreamService;
+	/**
+	 * イベントの発行。
+	 */
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * ダッシュボードの表示データのキャッシュ
+	 */
+	@Autowired
+	private DashBoardCache dashBoardCache;
+	/**
+	 * トランザクションマネージャ。
+	 */
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	/**
+	 * メトリクスの登録先。
+	 */
+	@Autowired
+	private MeterRegistry meterRegistry;
 	/**
 	 * ロガー。
 	 */
@@ -81,24 +144,62 @@ public class BatchService {
 	Logger logger;
 
 	/**
-	 * 毎日0時にバッチ処理を実行します。
-	 * このスケジュールはCron形式で指定しています。
+	 * 証明書の削除と通知メールの登録を1つのトランザクションで行う
+	 */
+	private TransactionTemplate transactionTemplate;
+
+	/**
+	 * 期限の索引を最後に再構築した日時（このインスタンスでの値）
 	 */
-	@Scheduled(cron = "1 1/1 * * * ?")
+	private volatile LocalDateTime lastRebuiltAt;
+
+	@PostConstruct
+	void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * 期限を迎えた申請を処理します。
+	 * このスケジュールはCron形式で指定しています（初期値は毎分）。
+	 */
+	@Scheduled(cron = "${settings.batch.deadline-cron:0 * * * * ?}")
 	public void executeBatch() {
-		logger.info("Batch process started at: " + LocalDateTime.now());
-		// バッチ処理のロジックを記述
-		performBatchLogic();
-		logger.info("Batch process completed at: " + LocalDateTime.now());
+		// 複数のインスタンスで起動した場合も、実行枠（分）ごとに1つのインスタンスのみで実行する
+		LocalDateTime windowStart = LocalDateTime.now(ZoneId.of("Asia/Tokyo")).truncatedTo(ChronoUnit.MINUTES);
+		batchLeaseService.runExclusively(LEASE_NAME, windowStart, () -> {
+			logger.info("Batch process started at: " + LocalDateTime.now());
+			// バッチ処理のロジックを記述
+			performBatchLogic();
+			logger.info("Batch process completed at: " + LocalDateTime.now());
+		});
+	}
+
+	/**
+	 * 起動時に期限の索引を構築します。
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void initializeDeadlines() {
+		try {
+			int count = deadlineRepository.rebuild();
+			lastRebuiltAt = LocalDateTime.now(ZoneId.of("Asia/Tokyo"));
+			logger.info("Deadline index initialized: " + count + " deadlines");
+		} catch (DataAccessException e) {
+			// 構築に失敗した場合は初回のバッチ処理で構築する
+			logger.error("Failed to initialize deadline index: " + e.getMessage());
+		}
 	}
 
 	private void performBatchLogic() {
 		logger.info("Performing batch logic...");
-		boolean isSuccess = paymentDueCheck();
-		if (!isSuccess) {
+		LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Tokyo"));
+		resyncDeadlines(now);
+		PaymentDueSummary paymentDueSummary = paymentDueCheck(now);
+		if (paymentDueSummary == null) {
 			logger.error("Failed to process payment due check.");
+		} else if (paymentDueSummary.candidates() > 0) {
+			logger.info("Payment due check: " + paymentDueSummary);
 		}
-		isSuccess = resendCheack();
+		boolean isSuccess = resendCheack(now);
 		if (isSuccess) {
 			logger.info("Batch logic completed successfully.");
 		} else {
@@ -106,204 +207,287 @@ public class BatchService {
 		}
 	}
 
+	/**
+	 * 他のインスタンスで登録/更新された期限を反映するため、一定間隔で期限の索引を再構築します。
+	 *
+	 * <p>
+	 * 索引は登録/更新したインスタンスのみで更新されるため、実行権を取得したインスタンスは
+	 * 前回の再構築から一定時間が経過している場合に全件から再構築します。<br>
+	 * 再構築の前に、索引に反映されていなかった再通知の期限をSQLで一括して処理します。
+	 * </p>
+	 *
+	 * @param now 現在日時
+	 */
+	private void resyncDeadlines(LocalDateTime now) {
+		if (lastRebuiltAt != null && lastRebuiltAt.plusMinutes(resyncMinutes).isAfter(now)) {
+			return;
+		}
+		try {
+			ResendSummary resendSummary = sweepResend(now);
+			logger.info("Resend flags swept: " + resendSummary);
+		} catch (DataAccessException e) {
+			logger.error("Failed to sweep resend flags: " + e.getMessage());
+		}
+		try {
+			int count = deadlineRepository.rebuild();
+			lastRebuiltAt = now;
+			logger.info("Deadline index resynchronized: " + count + " deadlines");
+		} catch (DataAccessException e) {
+			logger.error("Failed to resynchronize deadline index: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * 再通知の設定をします。
 	 *
-	 * @return 二日前以降の場合はtrue、それ以外はfalse
+	 * <p>
+	 * 最終更新（状態が21・23の場合は終了日時）から2日を過ぎた申請の通知に、再通知フラグを一括で設定します。
+	 * </p>
+	 *
+	 * @param now 現在日時
+	 * @return 成功：true 失敗：false
 	 */
-	private boolean resendCheack() {
+	private boolean resendCheack(LocalDateTime now) {
 		try {
-			// すべての就職活動申請を取得
-			DashBoardEntity dashBoardEntity = jobSearchDashBoardRepository.selectDashBoardAll(true);
-			List<JobSearchDashBoardData> dashBoardList = dashBoardEntity.getDashBoardList();
-			// 再通知の設定をする
-			for (JobSearchDashBoardData jobSearchData : dashBoardList) {
-				String status = jobSearchData.getJobSearchStatus();
-				// 状態が完了の場合、スキップ
-				if ("33".equals(status)) {
-					continue;
-				}
-				// 対象の時間の設定
-				Timestamp Time = jobSearchData.getMaxUpdatedAt();
-				if ("21".equals(status) || "23".equals(status)) {
-					Time = jobSearchData.getEndTime();
-				}
-				// 時間が超過していた場合、再通知の設定
-				if (isOverTime(Time)) {
-					boolean isSuccess = notificationRepository
-							.updateNotificationJobSearch(jobSearchData.getJobSearchId());
-					if (!isSuccess) {
-						return false;
-					}
+			// 期限を迎えた就職活動申請の再通知の設定をする
+			processDeadlines(Kind.JOB_SEARCH_RESEND, now, dueIds -> {
+				int updated = notificationRepository.updateNotificationJobSearchList(dueIds);
+				if (updated > 0) {
+					List<String> userIds = notificationRepository.getNotificationUserJobSearchList(dueIds);
+					// 通知件数が変わるユーザの表示データを破棄
+					dashBoardCache.evictJobSearch(userIds.toArray(String[]::new));
+					publishNotificationChanged(NotificationChangedEvent.ACTION_RESEND,
+							NotificationChangedEvent.CATEGORY_JOB_SEARCH, dueIds, userIds);
 				}
-			}
-			// すべての証明書申請を取得
-			List<CertificateIssuanceDashBoardData> certificateIssuanceDashBoardDatas = certificateIssuanceDashBoardRepository
-					.selectCertificateIssuanceDashBoard();
-			for (CertificateIssuanceDashBoardData certificateIssuanceDashBoardData : certificateIssuanceDashBoardDatas) {
-				String status = certificateIssuanceDashBoardData.getStatus();
-				// 状態が完了の場合、スキップ
-				if ("6".equals(status)) {
-					continue;
-				}
-				// 時間が超過していた場合、再通知の設定
-				if (isOverTime(new Timestamp(certificateIssuanceDashBoardData.getLatestDate().getTime()))) {
-					Boolean isSuccess = notificationRepository.updateNotificationCertificateIssuance(
-							certificateIssuanceDashBoardData.getCertificateIssueId());
-					if (!isSuccess) {
-						return false;
-					}
+				return updated;
+			});
+			// 期限を迎えた証明書申請の再通知の設定をする
+			processDeadlines(Kind.CERTIFICATE_RESEND, now, dueIds -> {
+				int updated = notificationRepository.updateNotificationCertificateIssuanceList(dueIds);
+				if (updated > 0) {
+					List<String> userIds = notificationRepository.getNotificationUserCertificateIssuanceList(dueIds);
+					// 通知件数が変わるユーザの表示データを破棄
+					dashBoardCache.evictCertificate(userIds.toArray(String[]::new));
+					publishNotificationChanged(NotificationChangedEvent.ACTION_RESEND,
+							NotificationChangedEvent.CATEGORY_CERTIFICATE, dueIds, userIds);
 				}
-			}
+				return updated;
+			});
 			return true;
 			// エラーが発生した場合、falseを返す
 		} catch (Exception e) {
+			logger.error("Failed to set resend flag: " + e.getMessage());
 			return false;
 		}
 	}
 
 	/**
-	 * 指定された日時が現在時刻の二日前以降かを判定します。
+	 * 再通知の期限を過ぎた申請の通知に、再通知フラグを一括で設定します。
+	 *
+	 * <p>
+	 * 期限の索引を使わず、再通知の条件（完了以外、状態が21・23の場合は終了日時、証明書は最終更新日）をSQLで判定し、
+	 * 対象の件数によらず就職活動・証明書発行それぞれ1回の更新で設定します。<br>
+	 * 再通知フラグが設定済みの通知は対象外のため、索引による設定と重複しても件数には含まれません。<br>
+	 * 対象のユーザを特定しないため、設定した通知がある場合はダッシュボードの表示データをすべて破棄します。
+	 * </p>
 	 *
-	 * @param timestamp 判定対象の日時
-	 * @return 二日前以降の場合はtrue、それ以外はfalse
+	 * @param now 現在日時
+	 * @return 再通知フラグを設定した通知の件数
 	 */
-	private boolean isOverTime(Timestamp timestamp) {
-		LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Tokyo"));
-		LocalDateTime targetDate = timestamp.toLocalDateTime();
-		return ChronoUnit.DAYS.between(targetDate, now) >= 2;
+	public ResendSummary sweepResend(LocalDateTime now) {
+		LocalDateTime threshold = now.minusDays(DeadlineRepository.RESEND_DAYS);
+		int jobSearches = notificationRepository.updateNotificationJobSearchOverdue(Timestamp.valueOf(threshold));
+		int certificates = notificationRepository
+				.updateNotificationCertificateIssuanceOverdue(Date.valueOf(threshold.toLocalDate()));
+		if (jobSearches + certificates > 0) {
+			dashBoardCache.evictAll();
+		}
+		meterRegistry.counter("batch.resend.swept", "kind", Kind.JOB_SEARCH_RESEND.name().toLowerCase())
+				.increment(jobSearches);
+		meterRegistry.counter("batch.resend.swept", "kind", Kind.CERTIFICATE_RESEND.name().toLowerCase())
+				.increment(certificates);
+		return new ResendSummary(jobSearches, certificates);
+	}
+
+	/**
+	 * 再通知を設定した通知の通知先ユーザへ、通知の更新を配信します。
+	 *
+	 * <p>
+	 * 配信中のユーザがいない場合は、配信を行いません。
+	 * </p>
+	 *
+	 * @param action    操作
+	 * @param category  就職活動/証明書区分
+	 * @param targetIds 就職活動IDまたは証明書発行IDのリスト
+	 * @param userIds   通知先ユーザIDのリスト
+	 */
+	private void publishNotificationChanged(String action, String category, List<String> targetIds,
+			List<String> userIds) {
+		if (targetIds.isEmpty() || userIds.isEmpty() || !notificationStreamService.hasSubscribers()) {
+			return;
+		}
+		eventPublisher.publishEvent(new NotificationChangedEvent(action, category, targetIds, new HashSet<>(userIds)));
 	}
 
 	/**
 	 * 証明書の支払期限の過ぎた申請を削除し、メールで通達する
 	 *
-	 * @return 成功：ture 失敗：false
+	 * @param now 現在日時
+	 * @return 処理結果の件数（失敗時はnull）
 	 */
-	private boolean paymentDueCheck() {
+	private PaymentDueSummary paymentDueCheck(LocalDateTime now) {
+		AtomicReference<PaymentDueSummary> summary = new AtomicReference<>(new PaymentDueSummary(0, 0, 0, 0, 0));
 		try {
-			// 証明書の支払期限が過ぎた申請を削除する
-			List<Map<String, Date>> certificateList = issuanceRepository.selectCertificateIssuanceApprovalDateOne();
-			// 本日の日付を取得
-			Calendar today = Calendar.getInstance();
-			today.set(Calendar.HOUR_OF_DAY, 0);
-			today.set(Calendar.MINUTE, 0);
-			today.set(Calendar.SECOND, 0);
-			today.set(Calendar.MILLISECOND, 0);
-			for (Map<String, Date> certificate : certificateList) {
-				Date valueDate = certificate.values().iterator().next();
-				// 指定された日付の2日後を計算
-				Calendar valueDatePlusTwo = Calendar.getInstance();
-				valueDatePlusTwo.setTime(valueDate);
-				valueDatePlusTwo.add(Calendar.DAY_OF_YEAR, 2);
-				// 日付を比較
-				if (!today.getTime().after(valueDatePlusTwo.getTime())) {
-					continue;
+			// 証明書の支払期限（承認日の2日後の翌日）が過ぎた申請を削除する
+			processDeadlines(Kind.PAYMENT_DUE, now, dueIds -> {
+				summary.set(sweepPaymentDue(dueIds, now.toLocalDate()));
+				return summary.get().deletedIssuances();
+			});
+			// 成功した場合、処理結果を返す
+			return summary.get();
+		} catch (Exception e) {
+			// エラーが発生した場合、nullを返す
+			logger.error("Failed to delete payment due certificate issuance: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 支払期限の過ぎた証明書申請をまとめて削除し、削除通知メールを送信待ちに登録する
+	 *
+	 * <p>
+	 * 期限切れの判定と宛先の取得は1回の問い合わせで行い、通知・証明書発行の削除と送信待ちの登録は
+	 * バッチ処理で同一トランザクションにて行います。メールは{@link MailDispatchService}が送信します。<br>
+	 * コミット後に、学生・担任・通知先ユーザのダッシュボードの表示データを破棄します。
+	 * </p>
+	 *
+	 * @param candidateIds 支払期限を迎えた可能性のある証明書発行IDのリスト
+	 * @param today        本日の日付
+	 * @return 処理結果の件数
+	 */
+	public PaymentDueSummary sweepPaymentDue(List<String> candidateIds, LocalDate today) {
+		return transactionTemplate.execute(status -> {
+			// 支払期限を過ぎた申請と宛先を取得
+			List<Map<String, String>> overdueList = issuanceRepository
+					.selectPaymentDueCertificateIssuanceList(candidateIds, today);
+			List<String> overdueIds = overdueList.stream().map(overdue -> overdue.get("certificateIssueId"))
+					.toList();
+
+			// 削除前に通知先ユーザを取得
+			Set<String> notifiedUserIds = overdueIds.isEmpty() ? Set.of()
+					: new HashSet<>(notificationRepository.getNotificationUserCertificateIssuanceList(overdueIds));
+
+			// 通知、証明書発行の順に削除
+			int deletedNotifications = notificationRepository.deleteNotificationCertificateIssuanceList(overdueIds);
+			int deletedIssuances = issuanceRepository.deleteCertificateIssuanceList(overdueIds);
+			if (!overdueIds.isEmpty()) {
+				// コミット後に学生・担任・通知先ユーザの表示データを破棄
+				Set<String> evictedUserIds = new HashSet<>(notifiedUserIds);
+				for (Map<String, String> overdue : overdueList) {
+					evictedUserIds.add(overdue.get("student"));
+					evictedUserIds.add(overdue.get("teacher"));
 				}
-				String certificateIssueId = certificate.keySet().iterator().next();
-				Map<String, String> userIdList = issuanceRepository.selectCertificateIssueUserId(certificateIssueId);
-				String from = userIdList.get("teacher");
-				String to = userIdList.get("student");
-				boolean isSuccess = notificationRepository.deleteNotificationCertificateIssuance(certificateIssueId);
-				if (!isSuccess) {
-					logger.error(
-							"Failed to delete notification for certificate issuance with ID: " + certificateIssueId);
+				TransactionHooks.afterCommit(
+						() -> dashBoardCache.evictCertificate(evictedUserIds.toArray(String[]::new)));
+			}
+			if (!notifiedUserIds.isEmpty() && notificationStreamService.hasSubscribers()) {
+				// コミット後に通知件数を配信
+				eventPublisher.publishEvent(new NotificationChangedEvent(NotificationChangedEvent.ACTION_DELETED,
+						NotificationChangedEvent.CATEGORY_CERTIFICATE, overdueIds, notifiedUserIds));
+			}
+
+			// 宛先がある申請のみ削除通知メールを登録
+			List<MailOutboxData> mailOutboxList = new ArrayList<>();
+			for (Map<String, String> overdue : overdueList) {
+				String from = overdue.get("teacher");
+				String to = overdue.get("student");
+				if (from == null || from.isEmpty() || to == null || to.isEmpty()) {
+					logger.error("No email address for certificate deletion with ID: "
+							+ overdue.get("certificateIssueId"));
 					continue;
 				}
-				isSuccess = issuanceRepository.deleteCertificateIssuanceOne(certificateIssueId);
-				if (isSuccess) {
-					isSuccess = sendCertificateDeletionNotification(from, to,
-							certificateIssueId);
-					if (isSuccess) {
-						logger.info("Sent email notification for certificate deletion with ID: " + certificateIssueId);
-					} else {
-						logger.error("Failed to send email notification for certificate deletion with ID: "
-								+ certificateIssueId);
-					}
-					logger.info("Deleted certificate issuance with ID: " + certificateIssueId);
-				} else {
-					logger.error("Failed to delete certificate issuance with ID: " + certificateIssueId);
-				}
+				MailOutboxData mailOutboxData = new MailOutboxData();
+				mailOutboxData.setFromAddress(from);
+				mailOutboxData.setToAddress(to);
+				mailOutboxData.setSubject(DELETION_MAIL_SUBJECT);
+				mailOutboxData.setBody(String.format(DELETION_MAIL_BODY, overdue.get("certificateIssueId")));
+				mailOutboxList.add(mailOutboxData);
 			}
-			// 成功した場合、trueを返す
-			return true;
-		} catch (Exception e) {
-			// エラーが発生した場合、falseを返す
-			return false;
-		}
+			int queuedMails = mailOutboxRepository.insertMailOutboxList(mailOutboxList);
+
+			if (!overdueIds.isEmpty()) {
+				logger.info("Deleted certificate issuance with ID: " + overdueIds);
+			}
+			return new PaymentDueSummary(candidateIds.size(), overdueIds.size(), deletedNotifications,
+					deletedIssuances, queuedMails);
+		});
 	}
 
 	/**
-	 * メール送信APIを用いて証明書が削除されたことを通知します。
+	 * 期限を迎えた申請を取り出して処理し、件数と処理時間をメトリクスに記録します。
+	 *
+	 * <p>
+	 * メトリクスは種類（kind）ごとに以下の名前で参照できます。
+	 * <ul>
+	 * <li>batch.deadline.scanned：期限を確認した件数</li>
+	 * <li>batch.deadline.fired：期限を迎えた件数</li>
+	 * <li>batch.deadline.processed：処理（更新・削除）した件数</li>
+	 * <li>batch.deadline.duration：処理時間</li>
+	 * </ul>
+	 * </p>
 	 *
-	 * @param from               返信先メールアドレス
-	 * @param to                 受信者メールアドレス
-	 * @param certificateIssueId 証明書発行ID
-	 * @return 成功：ture 失敗：false
+	 * @param kind      期限の種類
+	 * @param now       現在日時
+	 * @param processor 期限を迎えたIDの処理（処理した件数を返却）
 	 */
-	private boolean sendCertificateDeletionNotification(String from, String to, String certificateIssueId) {
-		if (from == null || from.isEmpty()) {
-			return false;
-		}
-		if (to == null || to.isEmpty()) {
-			return false;
-		}
+	private void processDeadlines(Kind kind, LocalDateTime now, ToIntFunction<List<String>> processor) {
+		String kindTag = kind.name().toLowerCase();
+		Timer.Sample sample = Timer.start(meterRegistry);
 		try {
-			String json = request(from, to, certificateIssueId);
-			logger.info("Email notification response: " + json);
-			return convert(json);
-		} catch (Exception e) {
-			return false;
+			DuePoll poll = deadlineRepository.pollDue(kind, now);
+			int processed = 0;
+			try {
+				processed = poll.dueIds().isEmpty() ? 0 : processor.applyAsInt(poll.dueIds());
+			} catch (RuntimeException e) {
+				// 取り出した期限は索引から削除済みのため、次回に再処理できるよう再設定する
+				for (String id : poll.dueIds()) {
+					if (kind == Kind.JOB_SEARCH_RESEND) {
+						deadlineRepository.refreshJobSearch(id);
+					} else {
+						deadlineRepository.refreshCertificateIssuance(id);
+					}
+				}
+				throw e;
+			}
+			meterRegistry.counter("batch.deadline.scanned", "kind", kindTag).increment(poll.scannedCount());
+			meterRegistry.counter("batch.deadline.fired", "kind", kindTag).increment(poll.dueIds().size());
+			meterRegistry.counter("batch.deadline.processed", "kind", kindTag).increment(processed);
+			logger.info("Deadline " + kindTag + ": scanned=" + poll.scannedCount() + ", fired="
+					+ poll.dueIds().size() + ", processed=" + processed);
+		} finally {
+			sample.stop(meterRegistry.timer("batch.deadline.duration", "kind", kindTag));
 		}
 	}
 
 	/**
-	 * 外部AIサービスにリクエストを送信します。
+	 * 支払期限の過ぎた証明書申請の削除結果
 	 *
-	 * @param examReport 受験報告テキスト
-	 * @return AIサービスのレスポンス
+	 * @param candidates           支払期限を迎えた可能性のある件数
+	 * @param overdue              支払期限を過ぎていた件数
+	 * @param deletedNotifications 削除した通知の件数
+	 * @param deletedIssuances     削除した証明書発行の件数
+	 * @param queuedMails          送信待ちに登録した削除通知メールの件数
 	 */
-	private String request(String from, String to, String certificateIssueId) {
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.APPLICATION_JSON);
-		// 件名、本文を設定
-		String subject = "証明書の削除通知";
-		String body = String.format("【申請番号：%s】証明書が削除されました。", certificateIssueId);
-		// JSON形式のリクエストボディを作成
-		String jsonRequest = String.format(
-				"{\"from\":\"%s\", \"to\":\"%s\", \"subject\":\"%s\", \"body\":\"%s\"}",
-				from, to, subject, body);
-		HttpEntity<String> request = new HttpEntity<>(jsonRequest, headers);
-		// メール送信APIのエンドポイント
-		String apiUrl = "https://script.google.com/macros/s/AKfycbwCn_EU5ogoeKYJFNhh9ckCfdv__XtSWzEI6iEWfp6KpxtdfgBBkJiHCBROszJxShVL/exec";
-		// POSTリクエストを送信してレスポンスを取得
-		return restTemplate.postForObject(apiUrl, request, String.class);
+	public record PaymentDueSummary(int candidates, int overdue, int deletedNotifications, int deletedIssuances,
+			int queuedMails) {
 	}
 
 	/**
-	 * AIサービスからのJSONレスポンスを解析します。
+	 * 再通知フラグの一括設定の結果
 	 *
-	 * @param json JSONレスポンス
-	 * @return 解析結果の文字列
+	 * @param jobSearches  再通知フラグを設定した就職活動の通知の件数
+	 * @param certificates 再通知フラグを設定した証明書発行の通知の件数
 	 */
-	private boolean convert(String json) {
-		try {
-			// JacksonのObjectMapperを使用してJSONレスポンスを解析
-			ObjectMapper mapper = new ObjectMapper();
-			JsonNode rootNode = mapper.readTree(json);
-			// "status"と"message"フィールドを取得
-			int status = rootNode.get("status").asInt();
-			String message = rootNode.get("message").asText();
-			// ステータスが200の場合はtrueを返す
-			if (status == 200) {
-				return true;
-			}
-			// ステータスが200以外の場合はfalseを返す
-			logger.error("Failed to send email: " + message);
-			return false;
-		} catch (JsonProcessingException e) {
-			// JSON解析エラー時の例外処理
-			logger.error("Failed to parse JSON response: " + e.getMessage());
-			return false;
-		}
+	public record ResendSummary(int jobSearches, int certificates) {
 	}
 }
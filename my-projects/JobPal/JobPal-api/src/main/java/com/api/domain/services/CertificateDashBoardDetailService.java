@@ -1,6 +1,7 @@
 package com.api.domain.services;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +18,7 @@ import com.api.domain.models.forms.CertificateStateUpdateForm;
 import com.api.domain.repositories.CertificateIssuanceDashBoardRepository;
 import com.api.domain.repositories.CertificateIssuanceRepository;
 import com.api.domain.repositories.UserRepository;
+import com.api.jobpal.common.base.DashBoardCache;
 import com.api.jobpal.common.base.Util;
 
 /**
@@ -64,6 +66,12 @@ public class CertificateDashBoardDetailService {
 	@Autowired
 	private NotificationService notificationService;
 
+	/**
+	 * ダッシュボードキャッシュ。
+	 */
+	@Autowired
+	private DashBoardCache dashBoardCache;
+
 	/**
 	 * 指定された証明書発行IDの詳細データを取得します。
 	 *
@@ -241,33 +249,17 @@ public class CertificateDashBoardDetailService {
 				return notificationService.deleteCertificateNotification(certificateIssueId);
 				// 受取待ちの場合
 			} else if ("5".equals(stateId)) {
-				// 事務への通知データの追加
-				isSuccess = notificationService.insertCertificateNotification(certificateIssueId, userId);
-				if (!isSuccess) {
-					return false;
-				}
-				// 学生への通知データの追加
-				userId = userIdList.get("student");
-				return notificationService.insertCertificateNotification(certificateIssueId, userId);
+				// 事務と学生への通知データの追加
+				return notificationService.insertCertificateNotificationList(certificateIssueId,
+						Arrays.asList(userId, userIdList.get("student")), false);
 				// 支払待ちの場合
 			} else if ("1".equals(stateId)) {
-				// 学生への通知データの追加
-				userId = userIdList.get("student");
-				isSuccess = notificationService.insertCertificateNotification(certificateIssueId, userId);
-				if (!isSuccess) {
-					// 通知データの追加に失敗した場合
-					return false;
-				}
-				// 全ての事務への通知データの追加
-				List<String> officeList = newUserRepository.selectOfficeUserIdList();
-				for (String office : officeList) {
-					isSuccess = notificationService.insertCertificateNotification(certificateIssueId, office, true);
-					if (!isSuccess) {
-						// 通知データの追加に失敗した場合
-						return false;
-					}
-				}
-				return true;
+				// 学生と全ての事務への通知データの追加
+				List<String> notificationUserIdList = new ArrayList<>();
+				notificationUserIdList.add(userIdList.get("student"));
+				notificationUserIdList.addAll(newUserRepository.selectOfficeUserIdList());
+				return notificationService.insertCertificateNotificationList(certificateIssueId,
+						notificationUserIdList, false);
 				// その他の場合
 			} else {
 				// 通知データの追加
@@ -279,6 +271,8 @@ public class CertificateDashBoardDetailService {
 		} catch (Exception e) {
 			// その他のエラーが発生した場合
 			return false;
+		} finally {
+			evictDashBoardCache(userIdList, certificateStateUpdateForm.getUserId());
 		}
 	}
 
@@ -289,6 +283,8 @@ public class CertificateDashBoardDetailService {
 	 * @return true 削除成功, false 削除失敗
 	 */
 	public boolean deleteOne(String certificateIssueId) {
+		// 削除後は申請者を取得できないため、先に取得
+		Map<String, String> userIdList = issuanceRepository.selectCertificateIssueUserId(certificateIssueId);
 		try {
 			// 通知データの削除
 			boolean isSuccess = notificationService.deleteCertificateNotification(certificateIssueId);
@@ -299,7 +295,20 @@ public class CertificateDashBoardDetailService {
 			return issuanceRepository.deleteCertificateIssuanceOne(certificateIssueId);
 		} catch (IncorrectResultSizeDataAccessException e) {
 			return false;
+		} finally {
+			evictDashBoardCache(userIdList, null);
 		}
 	}
 
+	/**
+	 * 証明書申請の更新に伴い、関係するユーザのダッシュボードの表示データを破棄します。
+	 *
+	 * @param userIdList 証明書申請に関連するユーザ情報のマップ
+	 * @param userId     操作したユーザID
+	 */
+	private void evictDashBoardCache(Map<String, String> userIdList, String userId) {
+		dashBoardCache.evictCertificate(userIdList.get("student"), userIdList.get("teacher"),
+				userIdList.get("office"), userId);
+	}
+
 }
@@ -22,8 +22,9 @@ import com.api.domain.models.forms.CertificateDetailDataForm;
 import com.api.domain.models.forms.CertificateInsertForm;
 import com.api.domain.repositories.CertificateIssuanceDashBoardRepository;
 import com.api.domain.repositories.CertificateIssuanceRepository;
-import com.api.domain.repositories.NotificationRepository;
+import com.api.domain.repositories.NotificationCountRepository;
 import com.api.domain.repositories.UserRepository;
+import com.api.jobpal.common.base.DashBoardCache;
 import com.api.jobpal.common.base.Util;
 
 /**
@@ -68,10 +69,16 @@ public class CertificateDashBoardService {
 	private UserRepository newUserRepository;
 
 	/**
-	 * 通知リポジトリ。
+	 * 通知件数リポジトリ。
 	 */
 	@Autowired
-	private NotificationRepository notificationRepository;
+	private NotificationCountRepository notificationCountRepository;
+
+	/**
+	 * ダッシュボードキャッシュ。
+	 */
+	@Autowired
+	private DashBoardCache dashBoardCache;
 
 	/**
 	 * 証明書ダッシュボード詳細サービス。
@@ -93,6 +100,19 @@ public class CertificateDashBoardService {
 	 * @throws Exception 処理エラー
 	 */
 	public CertificateDashBoardEntity getDashBoardAll(String userId) throws Exception {
+		// 保持している表示データがあれば返却
+		return dashBoardCache.get(DashBoardCache.Region.CERTIFICATE, true, userId, null,
+				() -> loadDashBoardAll(userId));
+	}
+
+	/**
+	 * 全ユーザーの証明書発行申請を取得します。
+	 *
+	 * @param userId ユーザID
+	 * @return CertificateDashBoardEntity ダッシュボード表示用エンティティ
+	 * @throws Exception 処理エラー
+	 */
+	private CertificateDashBoardEntity loadDashBoardAll(String userId) throws Exception {
 
 		// ダッシュボードデータの取得
 		List<CertificateIssuanceDashBoardData> certificateDatas = dashBoardRepository
@@ -108,7 +128,7 @@ public class CertificateDashBoardService {
 		}
 
 		// 通知件数を設定
-		int alertCnt = notificationRepository.getNotificationCount(userId);
+		int alertCnt = notificationCountRepository.getCount(userId);
 		dashBoardEntity.setAlertCnt(alertCnt);
 
 		return dashBoardEntity;
@@ -123,6 +143,21 @@ public class CertificateDashBoardService {
 	 * @throws Exception 処理エラー
 	 */
 	public CertificateDashBoardEntity getDashBoardUser(String userId, String userType) throws Exception {
+		// 保持している表示データがあれば返却（学生以外は複数の学生の申請を表示する）
+		boolean shared = !"0".equals(Util.getIdByUserTypeName(userType));
+		return dashBoardCache.get(DashBoardCache.Region.CERTIFICATE, shared, userId, userType,
+				() -> loadDashBoardUser(userId, userType));
+	}
+
+	/**
+	 * ユーザーごとの証明書発行申請を取得します。
+	 *
+	 * @param userId   ユーザID
+	 * @param userType ユーザータイプ
+	 * @return CertificateDashBoardEntity ダッシュボード表示用エンティティ
+	 * @throws Exception 処理エラー
+	 */
+	private CertificateDashBoardEntity loadDashBoardUser(String userId, String userType) throws Exception {
 
 		// 指定ユーザーのダッシュボードデータを取得
 		List<CertificateIssuanceDashBoardData> certificateDatas = dashBoardRepository
@@ -138,7 +173,7 @@ public class CertificateDashBoardService {
 		}
 
 		// 通知件数を設定
-		int alertCnt = notificationRepository.getNotificationCount(userId);
+		int alertCnt = notificationCountRepository.getCount(userId);
 		dashBoardEntity.setAlertCnt(alertCnt);
 
 		return dashBoardEntity;
@@ -151,9 +186,10 @@ public class CertificateDashBoardService {
 	 * @return 成功時true, 失敗時false
 	 */
 	public boolean createNewCertificate(CertificateInsertForm certificateInsertForm) {
+		String teacherId = null;
 		try {
 			// 担任のユーザーIDを取得
-			String teacherId = newUserRepository.selectTeacherUserId(certificateInsertForm.getUserId());
+			teacherId = newUserRepository.selectTeacherUserId(certificateInsertForm.getUserId());
 
 			// 証明書発行エンティティを作成
 			CertificateIssuanceEntity certificateIssuanceEntity = refillCertificateInsert(certificateInsertForm,
@@ -206,6 +242,9 @@ public class CertificateDashBoardService {
 		} catch (Exception e) {
 			// その他のエラーが発生した場合、false を返却
 			return false;
+		} finally {
+			// 途中で失敗した場合も登録済みのデータがあるため、表示データを破棄
+			dashBoardCache.evictCertificate(certificateInsertForm.getUserId(), teacherId);
 		}
 	}
 
@@ -0,0 +1,94 @@
+package com.api.domain.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.api.domain.models.displaydata.CsvDisplayData;
+import com.api.domain.repositories.ClassStatisticsRepository;
+import com.api.domain.repositories.CsvRepository;
+
+/**
+ * 担任のクラスの集計値を管理するサービスクラスです。
+ *
+ * <p>
+ * 以下の処理を行います。
+ * <ul>
+ * <li>保持している集計値の再構築</li>
+ * <li>保持している集計値とDBから集計した値の整合性確認</li>
+ * </ul>
+ * </p>
+ */
+@Service
+public class ClassStatisticsService {
+	/**
+	 * クラス集計値リポジトリ。
+	 */
+	@Autowired
+	private ClassStatisticsRepository classStatisticsRepository;
+
+	/**
+	 * CSVリポジトリ。
+	 */
+	@Autowired
+	private CsvRepository csvRepository;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * 保持している集計値を全件から再構築します。
+	 *
+	 * @return 集計対象となったクラスの数
+	 */
+	public int rebuild() {
+		int classCount = classStatisticsRepository.rebuild();
+		logger.info("クラスの集計値を再構築しました: クラス数={}", classCount);
+		return classCount;
+	}
+
+	/**
+	 * すべての担任について、保持している集計値とDBから集計した値を比較します。
+	 *
+	 * @return 集計値が一致しない担任のユーザIDのリスト。すべて一致する場合は空のリストを返却します。
+	 */
+	public List<String> checkConsistency() {
+		List<String> mismatchUserIdList = new ArrayList<>();
+
+		for (String userId : classStatisticsRepository.selectTeacherUserIdList()) {
+			CsvDisplayData cached = classStatisticsRepository.selectClassStatistics(userId);
+			CsvDisplayData actual = csvRepository.selectCsvClassStatistics(userId);
+			if (!isSameStatistics(cached, actual)) {
+				logger.warn("クラスの集計値が一致しません: userId={}", userId);
+				mismatchUserIdList.add(userId);
+			}
+		}
+
+		return mismatchUserIdList;
+	}
+
+	/**
+	 * 2つの集計値がすべての項目で一致するか判定します。
+	 *
+	 * @param left  比較する集計値
+	 * @param right 比較する集計値
+	 * @return すべての項目が一致する場合はtrue
+	 */
+	private boolean isSameStatistics(CsvDisplayData left, CsvDisplayData right) {
+		return Objects.equals(left.getStudentsInAction(), right.getStudentsInAction())
+				&& Objects.equals(left.getStudentsOfEnd(), right.getStudentsOfEnd())
+				&& Objects.equals(left.getActivityLocationInTokyo(), right.getActivityLocationInTokyo())
+				&& Objects.equals(left.getActivityLocationInSapporo(), right.getActivityLocationInSapporo())
+				&& Objects.equals(left.getActivityLocationInOther(), right.getActivityLocationInOther())
+				&& Objects.equals(left.getActivityFormInOnline(), right.getActivityFormInOnline())
+				&& Objects.equals(left.getActivityFormInLocal(), right.getActivityFormInLocal())
+				&& Objects.equals(left.getActivityFormInOther(), right.getActivityFormInOther());
+	}
+}
@@ -0,0 +1,272 @@
+package com.api.domain.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.api.domain.models.data.DashBoardSearchCondition;
+import com.api.domain.models.dbdata.CertificateData;
+import com.api.domain.models.displaydata.CsvDisplayData;
+import com.api.domain.models.forms.DashBoardPageForm;
+import com.api.domain.repositories.CsvRepository;
+import com.api.domain.repositories.JobSearchDashBoardRepository;
+import com.api.jobpal.common.base.Util;
+
+/**
+ * CSV出力に関連するビジネスロジックを管理するサービスクラスです。
+ *
+ * <p>
+ * 以下のCSVを作成します。
+ * <ul>
+ * <li>就職活動ダッシュボード（絞り込み・並び替えはダッシュボードのページ取得と同一）</li>
+ * <li>クラスごとの就職活動の集計値</li>
+ * <li>証明書発行ダッシュボード（証明書1種類につき1行）</li>
+ * <li>削除ユーザ</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 検索結果は1行ずつCSVに変換してレスポンスへ書き出し、すべての行をメモリに保持しません。<br>
+ * 入力値の確認は書き出し前に行い、不正な場合は{@link IllegalArgumentException}をスローします。<br>
+ * CSVはExcelで開けるよう、BOM付きのUTF-8で出力します。
+ * </p>
+ */
+@Service
+public class CsvExportService {
+
+	/**
+	 * 就職活動ダッシュボードのCSVの見出し
+	 */
+	private static final String[] DASHBOARD_HEADER = { "就職活動ID", "クラス", "出席番号", "氏名", "状態", "企業名",
+			"区分", "結果", "学校確認", "開始日時", "終了日時" };
+
+	/**
+	 * クラスの集計値のCSVの見出し
+	 */
+	private static final String[] CLASS_STATISTICS_HEADER = { "クラス", "活動中", "活動終了", "活動地域（東京）",
+			"活動地域（札幌）", "活動地域（その他）", "活動形式（オンライン）", "活動形式（現地）", "活動形式（その他）" };
+
+	/**
+	 * 証明書発行のCSVの見出し
+	 */
+	private static final String[] CERTIFICATE_ISSUANCE_HEADER = { "証明書発行ID", "学籍番号", "氏名", "状態", "媒体",
+			"最終更新日", "証明書", "部数", "金額", "重量" };
+
+	/**
+	 * 削除ユーザのCSVの見出し
+	 */
+	private static final String[] DELETED_USER_HEADER = { "ユーザID", "氏名", "ユーザ区分", "クラス", "出席番号",
+			"学籍番号", "作成者", "作成日時", "削除日時" };
+
+	/**
+	 * 日時の出力形式
+	 */
+	private static final String DATE_TIME_PATTERN = "yyyy/MM/dd HH:mm";
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * ダッシュボードサービス（取得条件の変換に使用）。
+	 */
+	@Autowired
+	private DashBoardService dashBoardService;
+
+	/**
+	 * 就職活動ダッシュボードリポジトリ。
+	 */
+	@Autowired
+	private JobSearchDashBoardRepository dashBoardRepository;
+
+	/**
+	 * CSVリポジトリ。
+	 */
+	@Autowired
+	private CsvRepository csvRepository;
+
+	/**
+	 * 絞り込み条件に該当する就職活動ダッシュボードのCSVを作成します。
+	 *
+	 * <p>
+	 * カーソルと取得件数は使用せず、該当するすべての申請を出力します。
+	 * </p>
+	 *
+	 * @param form 取得条件（ユーザIDと権限は操作しているユーザのもの）
+	 * @return CSVをレスポンスへ書き出す処理
+	 * @throws IllegalArgumentException 日付が不正な場合
+	 */
+	public StreamingResponseBody exportDashBoard(DashBoardPageForm form) {
+		form.setCursor(null);
+		DashBoardSearchCondition condition = dashBoardService.toSearchCondition(form);
+
+		return toCsv("dashboard", DASHBOARD_HEADER,
+				printer -> dashBoardRepository.streamDashBoard(condition, data -> print(printer,
+						data.getJobSearchId(),
+						Util.formatUserClass(data.getDepartment(), data.getGrade(), data.getClassName()),
+						Util.formatToTwoDigits(data.getAttendanceNumber()),
+						data.getUserName(),
+						Util.getJobStateName(data.getJobSearchStatus()),
+						data.getCompanyName(),
+						Util.getEventCategoryDescription(data.getEventCategory()),
+						Util.getResultStatus(data.getResult()),
+						Boolean.TRUE.equals(data.getSchoolCheckFlag()) ? "済" : "未",
+						Util.formatDate(data.getStartTime(), DATE_TIME_PATTERN),
+						Util.formatDate(data.getEndTime(), DATE_TIME_PATTERN))));
+	}
+
+	/**
+	 * クラスごとの就職活動の集計値のCSVを作成します。
+	 *
+	 * @param teacherUserId 担任のユーザID（担任のクラスのみ出力）。すべてのクラスの場合はnull。
+	 * @return CSVをレスポンスへ書き出す処理
+	 */
+	public StreamingResponseBody exportClassStatistics(String teacherUserId) {
+		return toCsv("classStatistics", CLASS_STATISTICS_HEADER,
+				printer -> csvRepository.streamClassStatistics(teacherUserId, data -> {
+					CsvDisplayData statistics = data.getStatistics();
+					print(printer,
+							Util.formatUserClass(data.getDepartment(), data.getGrade(), data.getClassName()),
+							statistics.getStudentsInAction(),
+							statistics.getStudentsOfEnd(),
+							statistics.getActivityLocationInTokyo(),
+							statistics.getActivityLocationInSapporo(),
+							statistics.getActivityLocationInOther(),
+							statistics.getActivityFormInOnline(),
+							statistics.getActivityFormInLocal(),
+							statistics.getActivityFormInOther());
+				}));
+	}
+
+	/**
+	 * 権限に応じた範囲の証明書発行のCSVを作成します。
+	 *
+	 * @param userId 操作しているユーザのユーザID
+	 * @param grant  操作しているユーザの権限ID
+	 * @return CSVをレスポンスへ書き出す処理
+	 */
+	public StreamingResponseBody exportCertificateIssuance(String userId, String grant) {
+		return toCsv("certificateIssuance", CERTIFICATE_ISSUANCE_HEADER,
+				printer -> csvRepository.streamCertificateIssuance(userId, grant, data -> {
+					CertificateData certificate = data.getCertificateList().get(0);
+					print(printer,
+							data.getCertificateIssueId(),
+							data.getStudentId(),
+							data.getStudentUserName(),
+							Util.getCertificateStatusDescription(data.getStatus()),
+							Util.getMediaTypeById(data.getMediaType()),
+							Util.formatDate(data.getLatestDate(), "yyyy/MM/dd"),
+							certificate.getCertificateName(),
+							certificate.getCertificateQuantity(),
+							data.getTotalAmount(),
+							data.getTotalWeight());
+				}));
+	}
+
+	/**
+	 * 削除日時が指定した期間内の削除ユーザのCSVを作成します。
+	 *
+	 * @param dateFrom 削除日の開始（yyyy-MM-dd。この日を含む）。指定しない場合はnull。
+	 * @param dateTo   削除日の終了（yyyy-MM-dd。この日を含む）。指定しない場合はnull。
+	 * @return CSVをレスポンスへ書き出す処理
+	 * @throws IllegalArgumentException 日付が不正な場合
+	 */
+	public StreamingResponseBody exportDeletedUser(String dateFrom, String dateTo) {
+		Timestamp deletedFrom;
+		Timestamp deletedTo;
+		try {
+			deletedFrom = dateFrom == null ? null : Timestamp.valueOf(LocalDate.parse(dateFrom).atStartOfDay());
+			// 指定日を含めるため、翌日の0時より前を対象とする
+			deletedTo = dateTo == null ? null
+					: Timestamp.valueOf(LocalDate.parse(dateTo).plusDays(1).atStartOfDay());
+		} catch (DateTimeException e) {
+			throw new IllegalArgumentException("日付が不正です", e);
+		}
+
+		return toCsv("deletedUser", DELETED_USER_HEADER,
+				printer -> csvRepository.streamDeletedUser(deletedFrom, deletedTo, data -> print(printer,
+						data.getUserId(),
+						data.getUserName(),
+						Util.getUserTypeNameById(data.getUserType()),
+						Util.formatUserClass(data.getDepartment(), data.getGrade(), data.getClassName()),
+						Util.formatToTwoDigits(data.getAttendanceNumber()),
+						data.getStudentId(),
+						data.getCreatedByUserId(),
+						Util.formatDate(data.getCreatedAt(), DATE_TIME_PATTERN),
+						Util.formatDate(data.getDeletedAt(), DATE_TIME_PATTERN))));
+	}
+
+	/**
+	 * 見出しと行をCSVとしてレスポンスへ書き出す処理を作成します。
+	 *
+	 * <p>
+	 * 書き出しに失敗した場合（クライアントの切断など）は、検索を中断して{@link IOException}をスローします。
+	 * </p>
+	 *
+	 * @param exportName 出力するCSVの名前（ログ出力用）
+	 * @param header     見出し
+	 * @param rows       行を書き出し、書き出した行数を返却する処理
+	 * @return CSVをレスポンスへ書き出す処理
+	 */
+	private StreamingResponseBody toCsv(String exportName, String[] header, RowWriter rows) {
+		return outputStream -> {
+			long start = System.nanoTime();
+			Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			// Excelで文字化けしないようBOMを出力
+			writer.write('\uFEFF');
+			CSVPrinter printer = CSVFormat.EXCEL.builder().setHeader(header).build().print(writer);
+			int rowCount;
+			try {
+				rowCount = rows.write(printer);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			// レスポンスは呼び出し元が閉じるため、書き出した内容のみ送信
+			printer.flush();
+			logger.info("CSV出力 {}: {}件 {}ms", exportName, rowCount, (System.nanoTime() - start) / 1_000_000);
+		};
+	}
+
+	/**
+	 * 1行分の値をCSVに書き出します。
+	 *
+	 * @param printer CSVの書き出し先
+	 * @param values  1行分の値（nullは空欄）
+	 * @throws UncheckedIOException 書き出しに失敗した場合
+	 */
+	private static void print(CSVPrinter printer, Object... values) {
+		try {
+			printer.printRecord(values);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * CSVに行を書き出す処理
+	 */
+	@FunctionalInterface
+	private interface RowWriter {
+
+		/**
+		 * @param printer CSVの書き出し先
+		 * @return 書き出した行数
+		 */
+		int write(CSVPrinter printer);
+	}
+}
@@ -1,21 +1,22 @@
 package com.api.domain.services;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
 
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import com.api.domain.models.dbdata.ExamReportData;
+import com.api.domain.models.dbdata.ExamReportEvaluationData;
 import com.api.domain.models.dbdata.JobSearchDashBoardDetailData;
 import com.api.domain.models.dbdata.JobSearchReportData;
 import com.api.domain.models.displaydata.DetailDisplayData;
+import com.api.domain.models.displaydata.EvaluationDisplayData;
 import com.api.domain.models.forms.DetailFormForReport;
 import com.api.domain.models.forms.DetailFormForUpdate;
+import com.api.domain.repositories.ExamReportEvaluationRepository;
 import com.api.domain.repositories.ExamReportRepository;
 import com.api.domain.repositories.JobSearchApplicationRepository;
 import com.api.domain.repositories.JobSearchDashBoardRepository;
@@ -23,6 +24,7 @@ import com.api.domain.repositories.JobSearchReportRepository;
 import com.api.domain.repositories.JobSearchRepository;
 import com.api.domain.repositories.UserRepository;
 import com.api.jobpal.common.base.DBDataConversion;
+import com.api.jobpal.common.base.DashBoardCache;
 import com.api.jobpal.common.base.Util;
 
 /**
@@ -34,11 +36,15 @@ import com.api.jobpal.common.base.Util;
  * <li>申請詳細データの取得と表示形式への変換</li>
  * <li>申請データの更新（受験報告、申請書状態、詳細データ）</li>
  * <li>申請データの削除</li>
- * <li>AIを用いた受験報告の評価</li>
+ * <li>AIを用いた受験報告の評価の依頼と、評価状態の取得</li>
  * </ul>
  * </p>
  *
  * <p>
+ * 受験報告のAI評価は{@link ExamReportEvaluationService}が非同期で行います。受験報告の更新は評価の完了を待たずに返却します。
+ * </p>
+ *
+ * <p>
  * 処理が継続できない場合、適切なエラーハンドリングを行い、呼び出し元がエラー状態を判定できるようにします。<br>
  * 呼び出し元は返却された結果に基づいて適切な処理を実施してください。
  * </p>
@@ -86,10 +92,20 @@ public class DashBoardDetailService {
 	@Autowired
 	private DBDataConversion dbdc;
 	/**
-	 * RESTテンプレート。
+	 * 受験報告評価サービス。
+	 */
+	@Autowired
+	private ExamReportEvaluationService examReportEvaluationService;
+	/**
+	 * ダッシュボードキャッシュ。
 	 */
 	@Autowired
-	private RestTemplate restTemplate;
+	private DashBoardCache dashBoardCache;
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
 
 	/**
 	 * 指定された申請IDに基づき、申請詳細データを取得します。
@@ -149,7 +165,8 @@ public class DashBoardDetailService {
 			// 遅刻早退時間の取得
 			tradyLeaveDate = Timestamp.valueOf(remarksList[0] + " 00:00:00");
 		}
-		String predResult = evaluateExamReport(dashBoardDetailData.getImpressions());
+		String evaluationStatus = dashBoardDetailData.getEvaluationStatus();
+		String predResult = toPredResult(evaluationStatus, dashBoardDetailData.getEvaluationResult());
 		String finishTime = Util.formatDate(dashBoardDetailData.getEndTime(), "MM/dd HH:mm");
 		String tardyLeaveTime = Util.getTardyLeaveTime(tradyLeaveDate,
 				dashBoardDetailData.getTardyLeaveTime());
@@ -181,6 +198,7 @@ public class DashBoardDetailService {
 				.setTardyLeaveTime(tardyLeaveTime)
 				.setRemarks(remarks)
 				.setPredResult(predResult)
+				.setEvaluationStatus(evaluationStatus)
 				.build();
 		return detailDisplayData;
 	}
@@ -198,13 +216,21 @@ public class DashBoardDetailService {
 		try {
 			// 既存データがある場合は更新、なければ挿入
 			boolean exists = dbdc.existsJobSearchId(jobSearchId, "ER");
+			boolean result;
 			if (exists) {
-				return jobExamRepository.updateExamReport(jobExamData);
+				result = jobExamRepository.updateExamReport(jobExamData);
 			} else {
-				return jobExamRepository.insertExamReport(jobExamData);
+				result = jobExamRepository.insertExamReport(jobExamData);
+			}
+			// 感想のAI評価を依頼（評価の完了は待たない）
+			if (result) {
+				requestEvaluation(jobSearchId);
 			}
+			return result;
 		} catch (Exception e) {
 			return false;
+		} finally {
+			evictDashBoardCache(jobSearchId);
 		}
 	}
 
@@ -290,20 +316,18 @@ public class DashBoardDetailService {
 				// 通知データの削除
 				return notificationService.deleteJobsearchNotification(jobHuntId);
 			} else if (state_num == 12) {
-				// 学生への通知データの追加
-				isSuccess = notificationService.insertJobsearchNotification(jobHuntId, userId);
-				if (!isSuccess) {
-					return false;
-				}
-				userId = newUserRepository.selectTeacherUserId(userId);
-				// 担任への通知データの追加
-				return notificationService.insertJobsearchNotification(jobHuntId, userId, true);
+				// 学生と担任への通知データの追加
+				String teacherUserId = newUserRepository.selectTeacherUserId(userId);
+				return notificationService.insertJobsearchNotificationList(jobHuntId,
+						Arrays.asList(userId, teacherUserId), false);
 			} else {
 				// 通知データの追加
 				return notificationService.insertJobsearchNotification(jobHuntId, userId);
 			}
 		} catch (Exception e) {
 			return false;
+		} finally {
+			evictDashBoardCache(jobHuntId);
 		}
 	}
 
@@ -314,6 +338,8 @@ public class DashBoardDetailService {
 	 * @return 削除成功時true, 失敗時false
 	 */
 	public boolean deleteOne(String jobHuntId) {
+		// 削除後は申請者を取得できないため、先に取得
+		String[] userIds = selectDashBoardUserIds(jobHuntId);
 		try {
 			// 申請書の削除
 			boolean isSuccess = jobSearchRepository.deleteJobSearchStatus(jobHuntId);
@@ -324,6 +350,8 @@ public class DashBoardDetailService {
 			return notificationService.deleteJobsearchNotification(jobHuntId);
 		} catch (Exception e) {
 			return false;
+		} finally {
+			evictDashBoardCache(userIds);
 		}
 	}
 
@@ -351,6 +379,8 @@ public class DashBoardDetailService {
 			return false;
 		} catch (Exception e) {
 			return false;
+		} finally {
+			evictDashBoardCache(jobHuntId);
 		}
 	}
 
@@ -394,48 +424,102 @@ public class DashBoardDetailService {
 			return false;
 		} catch (Exception ex) {
 			return false;
+		} finally {
+			evictDashBoardCache(jobSearchReportData.getJobSearchId());
 		}
 		return true;
 	}
 
 	/**
-	 * AIを用いて受験報告を評価します。
+	 * 指定された申請の更新により表示データが変わるユーザ（申請した学生と担任）を取得します。
 	 *
-	 * @param examReport 受験報告のテキスト
-	 * @return "合格", "不合格", またはエラーメッセージ
+	 * @param jobHuntId 申請ID
+	 * @return ユーザIDの配列（取得できなかった場合はnull）
 	 */
-	private String evaluateExamReport(String examReport) {
-		if (examReport == null || examReport.isEmpty()) {
-			return null;
-		}
+	private String[] selectDashBoardUserIds(String jobHuntId) {
 		try {
-			String json = request(examReport);
-			return convert(json);
+			String studentUserId = jobSearchRepository.selectJobSearchUserId(jobHuntId);
+			return new String[] { studentUserId, newUserRepository.selectTeacherUserId(studentUserId) };
 		} catch (Exception e) {
-			return "エラーが発生しました。";
+			return null;
 		}
 	}
 
 	/**
-	 * 外部AIサービスにリクエストを送信します。
+	 * 指定された申請の更新に伴い、ダッシュボードの表示データを破棄します。
 	 *
-	 * @param examReport 受験報告テキスト
-	 * @return AIサービスのレスポンス
+	 * @param jobHuntId 申請ID
 	 */
-	private String request(String examReport) {
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.APPLICATION_JSON);
-		HttpEntity<String> request = new HttpEntity<>("{\"text\":\"" + examReport + "\"}", headers);
-		return restTemplate.postForObject("http://127.0.0.1:8000/jobdetail", request, String.class);
+	private void evictDashBoardCache(String jobHuntId) {
+		evictDashBoardCache(selectDashBoardUserIds(jobHuntId));
 	}
 
 	/**
-	 * AIサービスからのJSONレスポンスを解析します。
+	 * ダッシュボードの表示データを破棄します。
 	 *
-	 * @param json JSONレスポンス
-	 * @return 解析結果の文字列
+	 * @param userIds 表示データが変わるユーザID（nullの場合はすべて破棄）
 	 */
-	private String convert(String json) {
-		return json.replace("\"", "");
+	private void evictDashBoardCache(String[] userIds) {
+		if (userIds == null) {
+			dashBoardCache.evictAll();
+			return;
+		}
+		dashBoardCache.evictJobSearch(userIds);
+	}
+
+	/**
+	 * 就職活動の受験報告のAI評価の状態を取得します。
+	 *
+	 * @param jobHuntId 就職活動ID
+	 * @return 評価の状態（受験報告がない場合は評価状態・予測結果ともにnull）
+	 */
+	public EvaluationDisplayData getEvaluation(String jobHuntId) {
+		EvaluationDisplayData evaluationDisplayData = new EvaluationDisplayData();
+		ExamReportEvaluationData examReportEvaluationData = examReportEvaluationService.getEvaluation(jobHuntId);
+		if (examReportEvaluationData != null) {
+			evaluationDisplayData.setEvaluationStatus(examReportEvaluationData.getStatus());
+			evaluationDisplayData.setPredResult(
+					toPredResult(examReportEvaluationData.getStatus(), examReportEvaluationData.getResult()));
+		}
+		return evaluationDisplayData;
+	}
+
+	/**
+	 * 受験報告のAI評価を依頼します。
+	 *
+	 * <p>
+	 * 依頼に失敗しても受験報告の更新は成功として扱います（評価は表示されません）。
+	 * </p>
+	 *
+	 * @param jobHuntId 就職活動ID
+	 */
+	private void requestEvaluation(String jobHuntId) {
+		try {
+			examReportEvaluationService.submit(jobHuntId);
+		} catch (Exception e) {
+			// 評価の依頼に失敗した場合も、受験報告の更新結果は変えない
+			logger.warn("Failed to request exam report evaluation " + jobHuntId + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * AI評価の状態と結果を、表示用の予測結果に変換します。
+	 *
+	 * @param evaluationStatus 評価状態
+	 * @param evaluationResult 評価結果
+	 * @return "合格", "不合格", 評価中・エラーのメッセージ、または評価がない場合はnull
+	 */
+	private String toPredResult(String evaluationStatus, String evaluationResult) {
+		if (evaluationStatus == null) {
+			return null;
+		}
+		switch (evaluationStatus) {
+		case ExamReportEvaluationRepository.STATUS_PENDING:
+			return "評価中です。";
+		case ExamReportEvaluationRepository.STATUS_EVALUATED:
+			return evaluationResult;
+		default:
+			return "エラーが発生しました。";
+		}
 	}
 }
@@ -1,19 +1,30 @@
 package com.api.domain.services;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.api.domain.models.data.DashBoardSearchCondition;
 import com.api.domain.models.dbdata.JobSearchDashBoardData;
 import com.api.domain.models.displaydata.CsvDisplayData;
 import com.api.domain.models.displaydata.DashBoardDisplayData;
 import com.api.domain.models.entities.DashBoardDisplayEntity;
 import com.api.domain.models.entities.DashBoardEntity;
-import com.api.domain.repositories.CsvRepository;
+import com.api.domain.models.entities.DashBoardPageDisplayEntity;
+import com.api.domain.models.forms.DashBoardPageForm;
+import com.api.domain.repositories.ClassStatisticsRepository;
 import com.api.domain.repositories.JobSearchDashBoardRepository;
-import com.api.domain.repositories.NotificationRepository;
+import com.api.domain.repositories.NotificationCountRepository;
+import com.api.jobpal.common.base.DashBoardCache;
+import com.api.jobpal.common.base.ParallelQueryExecutor;
 import com.api.jobpal.common.base.Util;
 
 /**
@@ -24,11 +35,20 @@ import com.api.jobpal.common.base.Util;
  * <ul>
  * <li>全ユーザの申請データ取得と表示データ構築</li>
  * <li>指定ユーザの申請データ取得と表示データ構築</li>
+ * <li>申請データのページ取得と表示データ構築</li>
  * <li>ダッシュボードデータのCSV表示データ追加</li>
  * </ul>
  * </p>
  *
  * <p>
+ * 全ユーザ・指定ユーザの表示データは{@link DashBoardCache}で保持し、申請・報告の更新時に破棄されます。
+ * </p>
+ *
+ * <p>
+ * 申請データ・通知件数・クラスの集計値は互いに依存しないため、{@link ParallelQueryExecutor}で同時に取得します。
+ * </p>
+ *
+ * <p>
  * 処理が継続できない場合は、例外を内部で処理し、適切な結果を返却します。<br>
  * 呼び出し元は返却されたデータを基に適切な処理を行ってください。
  * </p>
@@ -36,21 +56,46 @@ import com.api.jobpal.common.base.Util;
 
 @Service
 public class DashBoardService {
+	/**
+	 * 1ページの取得件数の既定値
+	 */
+	private static final int DEFAULT_PAGE_SIZE = 50;
+
+	/**
+	 * 開始日時が未設定の申請の並び替えに使用する値（SQLの並び替えの式と同一）
+	 */
+	private static final Timestamp NO_START_TIME = Timestamp.valueOf("1970-01-01 00:00:00");
+
+	/**
+	 * カーソルの項目区切り文字
+	 */
+	private static final String CURSOR_SEPARATOR = "\t";
+
 	/**
 	 * 就職活動ダッシュボードリポジトリ。
 	 */
 	@Autowired
 	private JobSearchDashBoardRepository dashBoardRepository;
 	/**
-	 * 通知リポジトリ。
+	 * 通知件数リポジトリ。
+	 */
+	@Autowired
+	private NotificationCountRepository notificationCountRepository;
+	/**
+	 * クラス集計値リポジトリ。
+	 */
+	@Autowired
+	private ClassStatisticsRepository classStatisticsRepository;
+	/**
+	 * ダッシュボードキャッシュ。
 	 */
 	@Autowired
-	private NotificationRepository notificationRepository;
+	private DashBoardCache dashBoardCache;
 	/**
-	 * CSVリポジトリ。
+	 * 参照処理の並列実行。
 	 */
 	@Autowired
-	private CsvRepository csvRepository;
+	private ParallelQueryExecutor parallelQueryExecutor;
 
 	/**
 	 * 全ユーザーの申請データを取得し、ダッシュボードに表示するデータを構築します。
@@ -60,12 +105,38 @@ public class DashBoardService {
 	 * @return DashBoardDisplayEntity ダッシュボード表示用エンティティ
 	 */
 	public DashBoardDisplayEntity getDashBoardAll(String userId, String userType) {
+		// 保持している表示データがあれば返却
+		return dashBoardCache.get(DashBoardCache.Region.JOB_SEARCH, true, userId, userType,
+				() -> loadDashBoardAll(userId, userType));
+	}
+
+	/**
+	 * 全ユーザーの申請データを取得し、ダッシュボードに表示するデータを構築します。
+	 *
+	 * @param userId   ユーザID
+	 * @param userType ユーザ種別 ("2"が管理者を表します)
+	 * @return DashBoardDisplayEntity ダッシュボード表示用エンティティ
+	 */
+	private DashBoardDisplayEntity loadDashBoardAll(String userId, String userType) {
 
 		// 管理者フラグを判定
 		Boolean adminFlg = "2".equals(userType);
 
-		// ダッシュボード用のデータを取得
-		DashBoardEntity dashBoardEntity = dashBoardRepository.selectDashBoardAll(adminFlg);
+		// ダッシュボード用のデータ・通知件数・クラスの集計値を同時に取得
+		DashBoardEntity dashBoardEntity;
+		int alertCnt;
+		CsvDisplayData csvDisplayData;
+		try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+			Supplier<DashBoardEntity> dashBoard = scope.fork(() -> dashBoardRepository.selectDashBoardAll(adminFlg));
+			Supplier<Integer> notificationCount = scope
+					.fork(() -> notificationCountRepository.getCount(userId));
+			Supplier<CsvDisplayData> classStatistics = scope
+					.fork(() -> classStatisticsRepository.selectClassStatistics(userId));
+			scope.join();
+			dashBoardEntity = dashBoard.get();
+			alertCnt = notificationCount.get();
+			csvDisplayData = classStatistics.get();
+		}
 
 		DashBoardDisplayEntity dashBoardDisplayEntity = new DashBoardDisplayEntity();
 		dashBoardDisplayEntity.setDashBoardList(new ArrayList<>());
@@ -76,17 +147,192 @@ public class DashBoardService {
 			dashBoardDisplayEntity.getDashBoardList().add(data);
 		}
 
-		// 通知件数を取得
-		int alertCnt = notificationRepository.getNotificationCount(userId);
+		// 通知件数を設定
 		dashBoardDisplayEntity.setAlertCnt(alertCnt);
 
 		// CSV表示用データを追加
 		dashBoardDisplayEntity.setCsvList(new ArrayList<>());
-		dashBoardDisplayEntity = addCsvData(dashBoardDisplayEntity, userId);
+		dashBoardDisplayEntity.getCsvList().add(csvDisplayData);
 
 		return dashBoardDisplayEntity;
 	}
 
+	/**
+	 * 絞り込み条件に該当する申請データを1ページ分取得し、ダッシュボードに表示するデータを構築します。
+	 *
+	 * <p>
+	 * 絞り込み・並び替え・ページ分割はSQLで行います。<br>
+	 * 次ページが存在する場合は、次ページの取得に使用するカーソルを返却します。
+	 * </p>
+	 *
+	 * @param form 取得条件
+	 * @return DashBoardPageDisplayEntity ダッシュボードのページ表示用エンティティ
+	 * @throws IllegalArgumentException カーソルや日付が不正な場合
+	 */
+	public DashBoardPageDisplayEntity getDashBoardPage(DashBoardPageForm form) {
+		DashBoardSearchCondition condition = toSearchCondition(form);
+
+		// 次ページの有無を判定するため、1件多く取得
+		int limit = condition.getLimit();
+		condition.setLimit(limit + 1);
+		boolean student = condition.getScope() == DashBoardSearchCondition.Scope.STUDENT;
+
+		// ページ・全件数・通知件数・クラスの集計値（学生以外）を同時に取得
+		List<JobSearchDashBoardData> dashBoardList;
+		int totalCount;
+		int alertCnt;
+		CsvDisplayData csvDisplayData;
+		try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+			Supplier<DashBoardEntity> page = scope.fork(() -> dashBoardRepository.selectDashBoardPage(condition));
+			Supplier<Integer> count = scope.fork(() -> dashBoardRepository.countDashBoard(condition));
+			Supplier<Integer> notificationCount = scope
+					.fork(() -> notificationCountRepository.getCount(form.getUserId()));
+			Supplier<CsvDisplayData> classStatistics = student ? () -> null
+					: scope.fork(() -> classStatisticsRepository.selectClassStatistics(form.getUserId()));
+			scope.join();
+			dashBoardList = page.get().getDashBoardList();
+			totalCount = count.get();
+			alertCnt = notificationCount.get();
+			csvDisplayData = classStatistics.get();
+		}
+
+		boolean hasNext = dashBoardList.size() > limit;
+		if (hasNext) {
+			dashBoardList = dashBoardList.subList(0, limit);
+		}
+
+		DashBoardPageDisplayEntity dashBoardPageDisplayEntity = new DashBoardPageDisplayEntity();
+		dashBoardPageDisplayEntity.setDashBoardList(new ArrayList<>());
+
+		// ダッシュボードデータを表示用データに変換
+		for (JobSearchDashBoardData dashBoardData : dashBoardList) {
+			DashBoardDisplayData data = convertToDashBoardDisplayData(dashBoardData);
+			dashBoardPageDisplayEntity.getDashBoardList().add(data);
+		}
+
+		// 全件数と次ページのカーソルを設定
+		dashBoardPageDisplayEntity.setTotalCount(totalCount);
+		if (hasNext) {
+			dashBoardPageDisplayEntity
+					.setNextCursor(encodeCursor(condition, dashBoardList.get(dashBoardList.size() - 1)));
+		}
+
+		// 通知件数を設定
+		dashBoardPageDisplayEntity.setAlertCnt(alertCnt);
+
+		// CSV表示用データを追加（学生の場合は追加しない）
+		if (student) {
+			dashBoardPageDisplayEntity.setCsvList(null);
+		} else {
+			dashBoardPageDisplayEntity.setCsvList(new ArrayList<>());
+			dashBoardPageDisplayEntity.getCsvList().add(csvDisplayData);
+		}
+
+		return dashBoardPageDisplayEntity;
+	}
+
+	/**
+	 * 入力値をページ取得条件に変換します。
+	 *
+	 * @param form 入力値
+	 * @return ページ取得条件
+	 * @throws IllegalArgumentException カーソルや日付が不正な場合
+	 */
+	DashBoardSearchCondition toSearchCondition(DashBoardPageForm form) {
+		DashBoardSearchCondition condition = new DashBoardSearchCondition();
+
+		// 権限から取得範囲を判定
+		if ("0".equals(form.getGrant())) {
+			condition.setScope(DashBoardSearchCondition.Scope.STUDENT);
+			condition.setStudentUserId(form.getUserId());
+		} else if ("2".equals(form.getGrant())) {
+			condition.setScope(DashBoardSearchCondition.Scope.ADMIN);
+		} else {
+			condition.setScope(DashBoardSearchCondition.Scope.TEACHER);
+		}
+
+		// 絞り込み条件
+		condition.setDepartment(form.getDepartment());
+		condition.setGrade(form.getGrade());
+		condition.setClassName(form.getClassName());
+		condition.setJobSearchStatus(form.getJobSearchStatus());
+		condition.setEventCategory(form.getEventCategory());
+		try {
+			if (form.getDateFrom() != null) {
+				condition.setStartTimeFrom(Timestamp.valueOf(LocalDate.parse(form.getDateFrom()).atStartOfDay()));
+			}
+			if (form.getDateTo() != null) {
+				// 指定日を含めるため、翌日の0時より前を対象とする
+				condition.setStartTimeTo(
+						Timestamp.valueOf(LocalDate.parse(form.getDateTo()).plusDays(1).atStartOfDay()));
+			}
+		} catch (DateTimeException e) {
+			throw new IllegalArgumentException("日付が不正です", e);
+		}
+
+		// 並び順と取得件数（未指定の場合は開始日時の降順）
+		if (form.getSortKey() != null) {
+			condition.setSortKey(form.getSortKey());
+		}
+		condition.setDescending(!"asc".equals(form.getSortOrder()));
+		condition.setLimit(form.getLimit() == null ? DEFAULT_PAGE_SIZE : form.getLimit());
+
+		// カーソルを復元
+		if (form.getCursor() != null) {
+			decodeCursor(form.getCursor(), condition);
+		}
+
+		return condition;
+	}
+
+	/**
+	 * ページの最終行からカーソルを作成します。
+	 *
+	 * <p>
+	 * 並び替え項目・並び順・最終行の並び替え項目の値・就職活動IDをBase64(URL)で符号化します。
+	 * </p>
+	 *
+	 * @param condition ページ取得条件
+	 * @param lastData  ページの最終行
+	 * @return カーソル
+	 */
+	private String encodeCursor(DashBoardSearchCondition condition, JobSearchDashBoardData lastData) {
+		String value = switch (condition.getSortKey()) {
+		case DashBoardSearchCondition.SORT_JOB_SEARCH_STATUS -> lastData.getJobSearchStatus();
+		case DashBoardSearchCondition.SORT_EVENT_CATEGORY ->
+			lastData.getEventCategory() == null ? "" : lastData.getEventCategory();
+		default -> (lastData.getStartTime() == null ? NO_START_TIME : lastData.getStartTime()).toString();
+		};
+
+		String cursor = String.join(CURSOR_SEPARATOR, condition.getSortKey(),
+				condition.isDescending() ? "desc" : "asc", value, lastData.getJobSearchId());
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * カーソルを復元し、ページ取得条件に設定します。
+	 *
+	 * @param cursor    カーソル
+	 * @param condition ページ取得条件
+	 * @throws IllegalArgumentException カーソルが不正、または並び順が作成時と異なる場合
+	 */
+	private void decodeCursor(String cursor, DashBoardSearchCondition condition) {
+		String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+				.split(CURSOR_SEPARATOR, -1);
+		if (values.length != 4
+				|| !values[0].equals(condition.getSortKey())
+				|| !values[1].equals(condition.isDescending() ? "desc" : "asc")) {
+			throw new IllegalArgumentException("カーソルが不正です");
+		}
+
+		if (DashBoardSearchCondition.SORT_START_TIME.equals(condition.getSortKey())) {
+			condition.setCursorValue(Timestamp.valueOf(values[2]));
+		} else {
+			condition.setCursorValue(values[2]);
+		}
+		condition.setCursorJobSearchId(values[3]);
+	}
+
 	/**
 	 * ダッシュボードデータを表示用データ形式に変換します。
 	 *
@@ -118,45 +364,15 @@ public class DashBoardService {
 	}
 
 	/**
-	 * ダッシュボード表示エンティティにCSV表示データを追加します。
+	 * 指定ユーザの申請データを取得し、ダッシュボードに表示するデータを構築します。
 	 *
-	 * @param dashBoardDisplayEntity 表示用エンティティ
-	 * @param userId                 ユーザID
-	 * @return DashBoardDisplayEntity 更新後の表示用エンティティ
-	 */
-	private DashBoardDisplayEntity addCsvData(DashBoardDisplayEntity dashBoardDisplayEntity, String userId) {
-		Integer studentsInAction = csvRepository.selectCsvActivity(userId);
-		Integer studentsOfEnd = csvRepository.selectCsvActivityFinish(userId);
-		Integer activityLocationInTokyo = csvRepository.selectCsvTokyo(userId);
-		Integer activityLocationInSapporo = csvRepository.selectCsvSapporo(userId);
-		Integer activityLocationInOther = csvRepository.selectCsvOthers(userId);
-		Integer activityFormInOnline = 0;
-		Integer activityFormInLocal = 0;
-		Integer activityFormInOther = 0;
-
-		// 活動形式に応じたデータをカウント
-		List<String> csvLocationList = csvRepository.selectCsvLocationList(userId);
-		for (String csvLocation : csvLocationList) {
-			switch (csvLocation) {
-			case "自宅" -> activityFormInLocal++;
-			case "学校" -> activityFormInOther++;
-			default -> activityFormInOnline++;
-			}
-		}
-
-		CsvDisplayData csvDisplayData = new CsvDisplayData.Builder()
-				.studentsInAction(studentsInAction)
-				.studentsOfEnd(studentsOfEnd)
-				.activityLocationInTokyo(activityLocationInTokyo)
-				.activityLocationInSapporo(activityLocationInSapporo)
-				.activityLocationInOther(activityLocationInOther)
-				.activityFormInOnline(activityFormInOnline)
-				.activityFormInLocal(activityFormInLocal)
-				.activityFormInOther(activityFormInOther)
-				.build();
-
-		dashBoardDisplayEntity.getCsvList().add(csvDisplayData);
-		return dashBoardDisplayEntity;
+	 * @param userId ユーザID
+	 * @return DashBoardDisplayEntity ダッシュボード表示用エンティティ
+	 */
+	public DashBoardDisplayEntity getDashBoardUser(String userId) {
+		// 保持している表示データがあれば返却
+		return dashBoardCache.get(DashBoardCache.Region.JOB_SEARCH, false, userId, "0",
+				() -> loadDashBoardUser(userId));
 	}
 
 	/**
@@ -165,10 +381,19 @@ public class DashBoardService {
 	 * @param userId ユーザID
 	 * @return DashBoardDisplayEntity ダッシュボード表示用エンティティ
 	 */
-	public DashBoardDisplayEntity getDashBoardUser(String userId) {
+	private DashBoardDisplayEntity loadDashBoardUser(String userId) {
 
-		// 指定ユーザのダッシュボードデータを取得
-		DashBoardEntity dashBoardEntity = dashBoardRepository.selectDashBoardStudent(userId);
+		// 指定ユーザのダッシュボードデータと通知件数を同時に取得
+		DashBoardEntity dashBoardEntity;
+		int alertCnt;
+		try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+			Supplier<DashBoardEntity> dashBoard = scope.fork(() -> dashBoardRepository.selectDashBoardStudent(userId));
+			Supplier<Integer> notificationCount = scope
+					.fork(() -> notificationCountRepository.getCount(userId));
+			scope.join();
+			dashBoardEntity = dashBoard.get();
+			alertCnt = notificationCount.get();
+		}
 
 		DashBoardDisplayEntity dashBoardDisplayEntity = new DashBoardDisplayEntity();
 		dashBoardDisplayEntity.setDashBoardList(new ArrayList<>());
@@ -179,8 +404,7 @@ public class DashBoardService {
 			dashBoardDisplayEntity.getDashBoardList().add(data);
 		}
 
-		// 通知件数を取得
-		int alertCnt = notificationRepository.getNotificationCount(userId);
+		// 通知件数を設定
 		dashBoardDisplayEntity.setAlertCnt(alertCnt);
 
 		// CSV表示用データを追加（現在の実装では空）
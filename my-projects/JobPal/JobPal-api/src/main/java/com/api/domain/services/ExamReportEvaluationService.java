@@ -0,0 +1,386 @@
+package com.api.domain.services;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.api.domain.models.dbdata.ExamReportEvaluationData;
+import com.api.domain.repositories.ExamReportEvaluationRepository;
+import com.api.jobpal.common.base.CircuitBreaker;
+import com.api.jobpal.common.base.TransactionHooks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 受験報告の感想をAIで評価するサービスクラスです。
+ *
+ * <p>
+ * 主な機能:
+ * <ul>
+ * <li>受験報告の登録/更新時の評価の依頼（評価待ちとして登録し、キューに追加）</li>
+ * <li>キューに追加する評価待ちへの評価中の期限の設定（複数のインスタンスで同じ受験報告を評価しない）</li>
+ * <li>ワーカーによる評価（キューから複数件をまとめて取り出し、1回のリクエストで評価）</li>
+ * <li>評価結果の受験報告評価トランへの更新</li>
+ * <li>キューに追加できなかった評価待ちの定期的な再追加</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 評価の依頼はキューに追加するのみで、評価の完了を待たずに返却します。評価の状態は受験報告評価トランで参照してください。<br>
+ * キューには評価中の期限を設定できた評価待ちのみを追加します。評価中に停止した場合は、
+ * 「settings.evaluation.claim-seconds」秒の期限を過ぎた後、いずれかのインスタンスの定期的な再追加で再評価します。<br>
+ * AIサービスへの呼び出しが「settings.evaluation.breaker.failure-threshold」回連続で失敗した場合、
+ * 「settings.evaluation.breaker.open-seconds」秒の間は呼び出しを止め、評価待ちのまま残します。<br>
+ * 失敗した評価は定期的な再追加で再評価し、「settings.evaluation.max-attempts」回失敗した場合は評価不可とします。
+ * </p>
+ *
+ * <p>
+ * 評価時間と結果はメトリクス（exam.evaluation.score、result=success/failure）で参照できます。
+ * </p>
+ */
+@Service
+public class ExamReportEvaluationService {
+
+	/**
+	 * 評価結果のメトリクス名
+	 */
+	private static final String METRIC_SCORE = "exam.evaluation.score";
+
+	/**
+	 * キューの最大件数
+	 */
+	@Value("${settings.evaluation.queue-capacity:200}")
+	private int queueCapacity;
+
+	/**
+	 * ワーカー数
+	 */
+	@Value("${settings.evaluation.workers:2}")
+	private int workers;
+
+	/**
+	 * 1回のリクエストで評価する最大件数
+	 */
+	@Value("${settings.evaluation.batch-size:8}")
+	private int batchSize;
+
+	/**
+	 * まとめて評価するために、次の評価待ちを待つ時間（ミリ秒）
+	 */
+	@Value("${settings.evaluation.batch-wait-ms:200}")
+	private long batchWaitMillis;
+
+	/**
+	 * 評価不可とするまでの最大試行回数
+	 */
+	@Value("${settings.evaluation.max-attempts:3}")
+	private int maxAttempts;
+
+	/**
+	 * 評価中の期限（秒）
+	 */
+	@Value("${settings.evaluation.claim-seconds:300}")
+	private long claimSeconds;
+
+	/**
+	 * AIサービスへの呼び出しを止めるまでの連続した失敗回数
+	 */
+	@Value("${settings.evaluation.breaker.failure-threshold:5}")
+	private int breakerFailureThreshold;
+
+	/**
+	 * AIサービスへの呼び出しを止める時間（秒）
+	 */
+	@Value("${settings.evaluation.breaker.open-seconds:30}")
+	private long breakerOpenSeconds;
+
+	/**
+	 * 受験報告評価リポジトリ。
+	 */
+	@Autowired
+	private ExamReportEvaluationRepository examReportEvaluationRepository;
+
+	/**
+	 * 受験報告の評価。
+	 */
+	@Autowired
+	private ExamReportScorer examReportScorer;
+
+	/**
+	 * メトリクスの登録先。
+	 */
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * 評価待ちのキュー
+	 */
+	private BlockingQueue<ExamReportEvaluationData> queue;
+
+	/**
+	 * キューに追加済みの評価待ち（受験報告IDと依頼日時）
+	 */
+	private final Set<String> queuedKeys = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * ワーカーの実行環境
+	 */
+	private ExecutorService workerPool;
+
+	/**
+	 * AIサービスへの呼び出しの制御
+	 */
+	private CircuitBreaker circuitBreaker;
+
+	@PostConstruct
+	void init() {
+		queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+		circuitBreaker = new CircuitBreaker(breakerFailureThreshold, breakerOpenSeconds * 1000L);
+		meterRegistry.gauge("exam.evaluation.queue", queue, BlockingQueue::size);
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		workerPool = Executors.newFixedThreadPool(Math.max(workers, 1), runnable -> {
+			Thread thread = new Thread(runnable, "exam-evaluation-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (int i = 0; i < Math.max(workers, 1); i++) {
+			workerPool.submit(this::runWorker);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		// 評価中の受験報告は評価待ちのまま残り、評価中の期限を過ぎた後に再評価する
+		workerPool.shutdownNow();
+	}
+
+	/**
+	 * 指定された就職活動の受験報告の評価を依頼します。
+	 *
+	 * <p>
+	 * 評価待ちとして登録し、トランザクションのコミット後にキューへ追加します。評価の完了は待ちません。<br>
+	 * キューが満杯の場合は評価待ちのまま残し、定期的な再追加で評価します。
+	 * </p>
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @return 評価待ちにした場合は`true`、受験報告が存在しない場合は`false`
+	 */
+	public boolean submit(String jobSearchId) {
+		if (!examReportEvaluationRepository.requestExamReportEvaluation(jobSearchId)) {
+			return false;
+		}
+		TransactionHooks.afterCommit(() -> {
+			try {
+				examReportEvaluationRepository.selectPendingExamReportEvaluationJobSearch(jobSearchId)
+						.forEach(this::enqueue);
+			} catch (Exception e) {
+				logger.error("Failed to enqueue exam report evaluation " + jobSearchId + ": " + e.getMessage());
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * 就職活動の最新の受験報告の評価を取得します。
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @return 評価（受験報告がない場合はnull）
+	 */
+	public ExamReportEvaluationData getEvaluation(String jobSearchId) {
+		return examReportEvaluationRepository.selectExamReportEvaluationJobSearch(jobSearchId);
+	}
+
+	/**
+	 * キューに追加されていない評価待ちを、定期的にキューへ追加します。
+	 *
+	 * <p>
+	 * AIサービスへの呼び出しを止めている間は追加しません。
+	 * </p>
+	 *
+	 * @return キューに追加した件数
+	 */
+	@Scheduled(fixedDelayString = "${settings.evaluation.sweep-ms:30000}",
+			initialDelayString = "${settings.evaluation.sweep-ms:30000}")
+	public int sweep() {
+		if (circuitBreaker.getState() == CircuitBreaker.State.OPEN || queue.remainingCapacity() == 0) {
+			return 0;
+		}
+		int enqueued = 0;
+		try {
+			for (ExamReportEvaluationData examReportEvaluationData : examReportEvaluationRepository
+					.selectPendingExamReportEvaluation(queue.remainingCapacity())) {
+				if (enqueue(examReportEvaluationData)) {
+					enqueued++;
+				}
+			}
+		} catch (Exception e) {
+			logger.error("Failed to sweep exam report evaluations: " + e.getMessage());
+		}
+		return enqueued;
+	}
+
+	/**
+	 * 評価中の期限を設定し、評価待ちをキューに追加します。
+	 *
+	 * @param examReportEvaluationData 評価待ちの受験報告
+	 * @return 追加した場合は`true`、追加済み、他のインスタンスで評価中、またはキューが満杯の場合は`false`
+	 */
+	private boolean enqueue(ExamReportEvaluationData examReportEvaluationData) {
+		String key = queuedKey(examReportEvaluationData);
+		if (!queuedKeys.add(key)) {
+			return false;
+		}
+		// 他のインスタンスが評価中の場合は追加しない
+		Timestamp claimedUntil = new Timestamp(System.currentTimeMillis() + claimSeconds * 1000L);
+		if (queue.remainingCapacity() == 0
+				|| !examReportEvaluationRepository.updateExamReportEvaluationClaim(examReportEvaluationData,
+						claimedUntil)) {
+			queuedKeys.remove(key);
+			return false;
+		}
+		examReportEvaluationData.setClaimedUntil(claimedUntil);
+		if (!queue.offer(examReportEvaluationData)) {
+			queuedKeys.remove(key);
+			examReportEvaluationRepository.updateExamReportEvaluationRelease(examReportEvaluationData);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * キューから評価待ちをまとめて取り出し、評価を繰り返します。
+	 *
+	 * <p>
+	 * 1件目を取り出した後、「settings.evaluation.batch-wait-ms」の間に追加された評価待ちを最大件数まで同じリクエストで評価します。
+	 * </p>
+	 */
+	private void runWorker() {
+		while (!Thread.currentThread().isInterrupted()) {
+			List<ExamReportEvaluationData> batch = new ArrayList<>();
+			try {
+				batch.add(queue.take());
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWaitMillis);
+				while (batch.size() < batchSize) {
+					ExamReportEvaluationData next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				evaluate(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (Exception e) {
+				// 結果を更新できなかった評価待ちは、定期的な再追加で再評価する
+				logger.error("Failed to evaluate exam reports: " + e.getMessage());
+			} finally {
+				batch.forEach(examReportEvaluationData -> queuedKeys.remove(queuedKey(examReportEvaluationData)));
+			}
+		}
+	}
+
+	/**
+	 * 評価待ちをまとめて評価し、結果を更新します。
+	 *
+	 * @param batch 評価待ちの受験報告のリスト
+	 */
+	private void evaluate(List<ExamReportEvaluationData> batch) {
+		// 感想がない場合は評価せずに評価済みとする
+		List<ExamReportEvaluationData> targets = new ArrayList<>();
+		for (ExamReportEvaluationData examReportEvaluationData : batch) {
+			String impressions = examReportEvaluationData.getImpressions();
+			if (impressions == null || impressions.isBlank()) {
+				examReportEvaluationRepository.updateExamReportEvaluated(examReportEvaluationData, null);
+			} else {
+				targets.add(examReportEvaluationData);
+			}
+		}
+		if (targets.isEmpty()) {
+			return;
+		}
+
+		// AIサービスへの呼び出しを止めている場合は評価中の期限を解除し、評価待ちのまま残す
+		if (!circuitBreaker.tryAcquire()) {
+			targets.forEach(examReportEvaluationRepository::updateExamReportEvaluationRelease);
+			return;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		List<String> results;
+		try {
+			results = examReportScorer.score(
+					targets.stream().map(ExamReportEvaluationData::getImpressions).toList());
+			if (results == null || results.size() != targets.size()) {
+				throw new IllegalStateException("Unexpected evaluation result count: "
+						+ (results == null ? null : results.size()) + " for " + targets.size());
+			}
+			circuitBreaker.recordSuccess();
+			sample.stop(meterRegistry.timer(METRIC_SCORE, "result", "success"));
+		} catch (Exception e) {
+			circuitBreaker.recordFailure();
+			sample.stop(meterRegistry.timer(METRIC_SCORE, "result", "failure"));
+			recordFailure(targets, e.getClass().getSimpleName() + ": " + e.getMessage());
+			return;
+		}
+
+		for (int i = 0; i < targets.size(); i++) {
+			examReportEvaluationRepository.updateExamReportEvaluated(targets.get(i), results.get(i));
+		}
+	}
+
+	/**
+	 * 評価に失敗した評価待ちを、再評価待ちまたは評価不可に更新します。
+	 *
+	 * @param targets 評価待ちの受験報告のリスト
+	 * @param error   エラー内容
+	 */
+	private void recordFailure(List<ExamReportEvaluationData> targets, String error) {
+		for (ExamReportEvaluationData examReportEvaluationData : targets) {
+			int attempt = examReportEvaluationData.getAttemptCount() + 1;
+			if (attempt >= maxAttempts) {
+				examReportEvaluationRepository.updateExamReportEvaluationFailed(examReportEvaluationData, error);
+				logger.error("Exam report evaluation " + examReportEvaluationData.getExamReportId()
+						+ " failed after " + attempt + " attempts: " + error);
+			} else {
+				examReportEvaluationRepository.updateExamReportEvaluationRetry(examReportEvaluationData, error);
+				logger.warn("Exam report evaluation " + examReportEvaluationData.getExamReportId()
+						+ " will be retried (attempt " + attempt + "): " + error);
+			}
+		}
+	}
+
+	/**
+	 * キューに追加済みかを判定するためのキーを作成します。
+	 *
+	 * <p>
+	 * 依頼日時を含めるため、評価中に再度依頼された受験報告も新しい依頼としてキューに追加できます。
+	 * </p>
+	 */
+	private String queuedKey(ExamReportEvaluationData examReportEvaluationData) {
+		return examReportEvaluationData.getExamReportId() + "@" + examReportEvaluationData.getRequestedAt().getTime();
+	}
+}
@@ -0,0 +1,36 @@
+package com.api.domain.services;
+
+import java.util.List;
+
+/**
+ * 受験報告の感想を評価するインターフェースです。
+ *
+ * <p>
+ * 複数の感想をまとめて評価し、感想と同じ順に評価結果（「合格」または「不合格」）を返却します。<br>
+ * 評価できない場合は例外をスローします。
+ * </p>
+ *
+ * <p>
+ * 利用する実装は「settings.evaluation.scorer」で切り替えます。
+ * </p>
+ */
+public interface ExamReportScorer {
+
+	/**
+	 * 評価結果：合格
+	 */
+	String RESULT_PASS = "合格";
+
+	/**
+	 * 評価結果：不合格
+	 */
+	String RESULT_FAIL = "不合格";
+
+	/**
+	 * 感想を評価します。
+	 *
+	 * @param impressionsList 感想のリスト
+	 * @return 評価結果のリスト（感想と同じ順・同じ件数）
+	 */
+	List<String> score(List<String> impressionsList);
+}
@@ -0,0 +1,316 @@
+package com.api.domain.services;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.api.domain.models.dbdata.MailOutboxData;
+import com.api.domain.repositories.MailOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 送信待ちメールをメール送信APIへ送信するサービスクラスです。
+ *
+ * <p>
+ * 主な機能:
+ * <ul>
+ * <li>送信待ちメールの定期的な送信（仮想スレッドで並列に送信し、同時送信数は上限までとする）</li>
+ * <li>送信に失敗したメールの再送（試行回数に応じて間隔を延ばす）</li>
+ * <li>再送の上限に達したメールの送信不可への更新</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 送信時間と結果はメトリクス（mail.outbox.send、result=sent/retry/dead）で参照できます。
+ * </p>
+ */
+@Service
+public class MailDispatchService {
+
+	/**
+	 * 送信結果のメトリクス名
+	 */
+	private static final String METRIC_SEND = "mail.outbox.send";
+
+	/**
+	 * 再送間隔の上限（秒）
+	 */
+	private static final long MAX_BACKOFF_SECONDS = 60L * 60L;
+
+	/**
+	 * メール送信APIのエンドポイント
+	 */
+	@Value("${settings.mail.api-url}")
+	private String apiUrl;
+
+	/**
+	 * 1回の送信処理で取得する最大件数
+	 */
+	@Value("${settings.mail.outbox.batch-size:50}")
+	private int batchSize;
+
+	/**
+	 * 同時に送信する最大件数
+	 */
+	@Value("${settings.mail.outbox.parallelism:4}")
+	private int parallelism;
+
+	/**
+	 * 送信不可とするまでの最大試行回数
+	 */
+	@Value("${settings.mail.outbox.max-attempts:5}")
+	private int maxAttempts;
+
+	/**
+	 * 初回の再送間隔（秒）。2回目以降は試行ごとに倍にする。
+	 */
+	@Value("${settings.mail.outbox.backoff-seconds:30}")
+	private long backoffSeconds;
+
+	/**
+	 * 送信権の期限（秒）。送信中に停止した場合、期限を過ぎると再送する。
+	 */
+	@Value("${settings.mail.outbox.lease-seconds:300}")
+	private long leaseSeconds;
+
+	/**
+	 * 送信待ちメールリポジトリ。
+	 */
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+	/**
+	 * メール送信API用のRestTemplateのインスタンス。
+	 */
+	@Autowired
+	@Qualifier("mailRestTemplate")
+	private RestTemplate restTemplate;
+	/**
+	 * ObjectMapperのインスタンス。
+	 */
+	@Autowired
+	private ObjectMapper objectMapper;
+	/**
+	 * メトリクスの登録先。
+	 */
+	@Autowired
+	private MeterRegistry meterRegistry;
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	Logger logger;
+
+	/**
+	 * 定期的に送信待ちメールを送信します。
+	 */
+	@Scheduled(initialDelayString = "${settings.mail.outbox.interval-ms:10000}", fixedDelayString = "${settings.mail.outbox.interval-ms:10000}")
+	public void executeDispatch() {
+		try {
+			DispatchResult result = dispatch();
+			if (result.total() > 0) {
+				logger.info("Mail outbox dispatched: " + result);
+			}
+		} catch (Exception e) {
+			logger.error("Failed to dispatch mail outbox: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 送信可能なメールを送信します。
+	 *
+	 * <p>
+	 * 取得したメールを仮想スレッドで並列に送信し、すべての送信が終わるまで待機します。
+	 * </p>
+	 *
+	 * @return 送信結果の件数
+	 */
+	public DispatchResult dispatch() {
+		List<MailOutboxData> mailOutboxList = mailOutboxRepository.selectDispatchableMailOutbox(batchSize);
+		AtomicInteger sent = new AtomicInteger();
+		AtomicInteger retried = new AtomicInteger();
+		AtomicInteger dead = new AtomicInteger();
+		if (mailOutboxList.isEmpty()) {
+			return new DispatchResult(0, 0, 0);
+		}
+
+		// 同時送信数を制限し、メール送信APIへの負荷を抑える
+		Semaphore permits = new Semaphore(parallelism);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (MailOutboxData mailOutboxData : mailOutboxList) {
+				executor.submit(() -> {
+					permits.acquireUninterruptibly();
+					try {
+						switch (dispatchOne(mailOutboxData)) {
+						case SENT -> sent.incrementAndGet();
+						case RETRY -> retried.incrementAndGet();
+						case DEAD -> dead.incrementAndGet();
+						case SKIPPED, LOST -> {
+						}
+						}
+					} finally {
+						permits.release();
+					}
+				});
+			}
+		}
+		return new DispatchResult(sent.get(), retried.get(), dead.get());
+	}
+
+	/**
+	 * メールを1件送信し、結果を更新します。
+	 *
+	 * @param mailOutboxData 送信待ちメール
+	 * @return 送信結果
+	 */
+	private Outcome dispatchOne(MailOutboxData mailOutboxData) {
+		Long outboxId = mailOutboxData.getOutboxId();
+		try {
+			// 他のインスタンスで送信中の場合はスキップ
+			Timestamp leaseUntil = new Timestamp(System.currentTimeMillis() + leaseSeconds * 1000L);
+			if (!mailOutboxRepository.updateMailOutboxClaim(mailOutboxData, leaseUntil)) {
+				return Outcome.SKIPPED;
+			}
+			int attempt = mailOutboxData.getAttemptCount() + 1;
+
+			Timer.Sample sample = Timer.start(meterRegistry);
+			String error = send(mailOutboxData);
+			Outcome outcome;
+			if (error == null) {
+				outcome = mailOutboxRepository.updateMailOutboxSent(outboxId, attempt) ? Outcome.SENT : Outcome.LOST;
+			} else if (attempt >= maxAttempts) {
+				outcome = mailOutboxRepository.updateMailOutboxDead(outboxId, attempt, error) ? Outcome.DEAD
+						: Outcome.LOST;
+				if (outcome == Outcome.DEAD) {
+					logger.error("Mail outbox " + outboxId + " moved to dead letter after " + attempt + " attempts: "
+							+ error);
+				}
+			} else {
+				outcome = mailOutboxRepository.updateMailOutboxRetry(outboxId, attempt, nextAttemptAt(attempt), error)
+						? Outcome.RETRY
+						: Outcome.LOST;
+				if (outcome == Outcome.RETRY) {
+					logger.warn("Mail outbox " + outboxId + " will be retried (attempt " + attempt + "): " + error);
+				}
+			}
+			if (outcome == Outcome.LOST) {
+				// 送信中に送信権の期限が切れ、他のインスタンスが取得した場合は結果を更新しない
+				logger.warn("Mail outbox " + outboxId + " lost its claim before the result was recorded (attempt "
+						+ attempt + ")");
+			}
+			sample.stop(meterRegistry.timer(METRIC_SEND, "result", outcome.name().toLowerCase()));
+			return outcome;
+		} catch (Exception e) {
+			// 結果を更新できなかった場合は、送信権の期限後に再送する
+			logger.error("Failed to update mail outbox " + outboxId + ": " + e.getMessage());
+			return Outcome.SKIPPED;
+		}
+	}
+
+	/**
+	 * 次に送信を試行する日時を算出します。
+	 *
+	 * @param attempt 試行した回数
+	 * @return 次に送信を試行する日時
+	 */
+	private Timestamp nextAttemptAt(int attempt) {
+		long delaySeconds = Math.min(backoffSeconds << Math.min(attempt - 1, 20), MAX_BACKOFF_SECONDS);
+		return new Timestamp(System.currentTimeMillis() + delaySeconds * 1000L);
+	}
+
+	/**
+	 * メール送信APIにメールを送信します。
+	 *
+	 * @param mailOutboxData 送信待ちメール
+	 * @return 成功：null 失敗：エラー内容
+	 */
+	private String send(MailOutboxData mailOutboxData) {
+		try {
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_JSON);
+			// JSON形式のリクエストボディを作成
+			ObjectNode jsonRequest = objectMapper.createObjectNode()
+					.put("from", mailOutboxData.getFromAddress())
+					.put("to", mailOutboxData.getToAddress())
+					.put("subject", mailOutboxData.getSubject())
+					.put("body", mailOutboxData.getBody());
+			HttpEntity<String> request = new HttpEntity<>(objectMapper.writeValueAsString(jsonRequest), headers);
+			// POSTリクエストを送信してレスポンスを解析
+			return convert(restTemplate.postForObject(apiUrl, request, String.class));
+		} catch (Exception e) {
+			return e.getClass().getSimpleName() + ": " + e.getMessage();
+		}
+	}
+
+	/**
+	 * メール送信APIからのJSONレスポンスを解析します。
+	 *
+	 * @param json JSONレスポンス
+	 * @return 成功：null 失敗：エラー内容
+	 */
+	private String convert(String json) {
+		try {
+			JsonNode rootNode = objectMapper.readTree(json);
+			// ステータスが200の場合は成功
+			if (rootNode.path("status").asInt() == 200) {
+				return null;
+			}
+			return "status=" + rootNode.path("status").asText() + ", message=" + rootNode.path("message").asText();
+		} catch (JsonProcessingException | IllegalArgumentException e) {
+			// JSON解析エラー時の例外処理
+			return "Failed to parse JSON response: " + e.getMessage();
+		}
+	}
+
+	/**
+	 * 1件の送信結果
+	 */
+	private enum Outcome {
+		/** 送信済み */
+		SENT,
+		/** 再送待ち */
+		RETRY,
+		/** 送信不可 */
+		DEAD,
+		/** 他で送信中などで送信しなかった */
+		SKIPPED,
+		/** 送信中に送信権を失い、結果を更新しなかった */
+		LOST
+	}
+
+	/**
+	 * 送信処理の結果
+	 *
+	 * @param sent    送信済みとした件数
+	 * @param retried 再送待ちとした件数
+	 * @param dead    送信不可とした件数
+	 */
+	public record DispatchResult(int sent, int retried, int dead) {
+
+		/**
+		 * @return 送信を試行した件数
+		 */
+		public int total() {
+			return sent + retried + dead;
+		}
+	}
+}
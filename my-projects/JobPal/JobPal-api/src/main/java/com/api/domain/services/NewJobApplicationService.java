@@ -16,6 +16,7 @@ import com.api.domain.models.forms.NewJobApplicationForm;
 import com.api.domain.repositories.JobSearchApplicationRepository;
 import com.api.domain.repositories.JobSearchRepository;
 import com.api.domain.repositories.UserRepository;
+import com.api.jobpal.common.base.DashBoardCache;
 import com.api.jobpal.common.base.Util;
 
 /**
@@ -64,6 +65,12 @@ public class NewJobApplicationService {
 	@Autowired
 	private JobSearchApplicationRepository jsar;
 
+	/*
+	 * ダッシュボードキャッシュ
+	 */
+	@Autowired
+	private DashBoardCache dashBoardCache;
+
 	/**
 	 * 指定されたユーザIDに基づき、ユーザ情報を整形して返却します。
 	 *
@@ -174,6 +181,9 @@ public class NewJobApplicationService {
 		} catch (Exception e) {
 			// その他のエラーが発生した場合、false を返却
 			return false;
+		} finally {
+			// 途中で失敗した場合も登録済みのデータがあるため、表示データを破棄
+			evictDashBoardCache(newJobApplicationForm.getUserId());
 		}
 	}
 
@@ -245,6 +255,23 @@ public class NewJobApplicationService {
 		} catch (Exception e) {
 			// その他のエラーが発生した場合、false を返却
 			return false;
+		} finally {
+			// 途中で失敗した場合も登録済みのデータがあるため、表示データを破棄
+			evictDashBoardCache(newJobApplicationForm.getUserId());
+		}
+	}
+
+	/**
+	 * 申請の登録・変更に伴い、申請した学生と担任のダッシュボードの表示データを破棄します。
+	 *
+	 * @param studentUserId 申請した学生のユーザID
+	 */
+	private void evictDashBoardCache(String studentUserId) {
+		try {
+			dashBoardCache.evictJobSearch(studentUserId, newUserRepository.selectTeacherUserId(studentUserId));
+		} catch (Exception e) {
+			// 担任を取得できない場合はすべて破棄
+			dashBoardCache.evictAll();
 		}
 	}
 
@@ -2,11 +2,20 @@ package com.api.domain.services;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.api.domain.models.data.NotificationChangedEvent;
 import com.api.domain.models.dbdata.CertificateData;
 import com.api.domain.models.dbdata.CertificateIssuanceDashBoardData;
 import com.api.domain.models.dbdata.JobSearchDashBoardData;
@@ -17,6 +26,7 @@ import com.api.domain.models.displaydata.DashBoardDisplayData;
 import com.api.domain.models.entities.AlertDisplayEntity;
 import com.api.domain.repositories.NotificationRepository;
 import com.api.domain.repositories.UserRepository;
+import com.api.jobpal.common.base.ParallelQueryExecutor;
 import com.api.jobpal.common.base.Util;
 
 /**
@@ -35,6 +45,11 @@ import com.api.jobpal.common.base.Util;
  * 各種申請（証明書、就職活動など）に関する通知データを取得し、フロントエンドで表示できる形式で整形します。
  * 通知データの再送や新規作成にも対応しています。
  * </p>
+ *
+ * <p>
+ * 通知データの挿入・削除時は{@link NotificationChangedEvent}を発行し、
+ * {@link NotificationStreamService}が接続中のユーザへ通知件数を配信します。
+ * </p>
  */
 
 @Service
@@ -52,6 +67,24 @@ public class NotificationService {
 	@Autowired
 	private UserRepository userRepository;
 
+	/**
+	 * 参照処理の並列実行。
+	 */
+	@Autowired
+	private ParallelQueryExecutor parallelQueryExecutor;
+
+	/**
+	 * 通知件数の配信サービス。
+	 */
+	@Autowired
+	private NotificationStreamService notificationStreamService;
+
+	/**
+	 * イベントの発行。
+	 */
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	/**
 	 * 指定されたユーザIDの全通知データを取得します。
 	 *
@@ -62,17 +95,29 @@ public class NotificationService {
 		// 通知エンティティの初期化
 		AlertDisplayEntity alertDisplayEntity = new AlertDisplayEntity();
 
-		// ユーザ名を取得してエンティティに設定
-		alertDisplayEntity.setUserName(userRepository.selectUserName(userId));
+		// ユーザ名・就職活動関連・証明書関連の通知データを同時に取得
+		String userName;
+		List<NotificationDashBoardData> notificationJobSearchList;
+		List<NotificationDashBoardData> notificationCertificateList;
+		try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+			Supplier<String> user = scope.fork(() -> userRepository.selectUserName(userId));
+			Supplier<List<NotificationDashBoardData>> jobSearch = scope
+					.fork(() -> notificationRepository.getNotificationJobSearchList(userId));
+			Supplier<List<NotificationDashBoardData>> certificate = scope
+					.fork(() -> notificationRepository.getNotificationCertificateIssuanceList(userId));
+			scope.join();
+			userName = user.get();
+			notificationJobSearchList = jobSearch.get();
+			notificationCertificateList = certificate.get();
+		}
+
+		// ユーザ名をエンティティに設定
+		alertDisplayEntity.setUserName(userName);
 
-		// 就職活動関連の通知データ取得
-		List<NotificationDashBoardData> notificationJobSearchList = notificationRepository
-				.getNotificationJobSearchList(userId);
+		// 就職活動関連の通知データを整形
 		alertDisplayEntity = getJobSearchAllForAlert(alertDisplayEntity, notificationJobSearchList);
 
-		// 証明書関連の通知データ取得
-		List<NotificationDashBoardData> notificationCertificateList = notificationRepository
-				.getNotificationCertificateIssuanceList(userId);
+		// 証明書関連の通知データを整形
 		alertDisplayEntity = getCertificateAllForAlert(alertDisplayEntity, notificationCertificateList);
 
 		return alertDisplayEntity;
@@ -266,24 +311,41 @@ public class NotificationService {
 	 * @param isFirst     通知データが存在する場合はtrue、それ以外はfalse
 	 * @return 挿入に成功した場合はtrue、それ以外はfalse
 	 */
+	@Transactional
 	public Boolean insertJobsearchNotification(String jobSearchId, String userId, Boolean isFirst) {
-		Boolean isSuccess;
+		return insertJobsearchNotificationList(jobSearchId, Collections.singletonList(userId), isFirst);
+	}
+
+	/**
+	 * 複数のユーザへの就職活動の通知データを1つのトランザクションで挿入します。
+	 *
+	 * <p>
+	 * 通知IDは採番済みの範囲から払い出し、通知と通知就職活動をそれぞれ1回のバッチで登録します。
+	 * </p>
+	 *
+	 * @param jobSearchId 就職活動ID
+	 * @param userIdList  通知先のユーザIDのリスト
+	 * @param isFirst     通知データが存在する場合はtrue、それ以外はfalse
+	 * @return 挿入に成功した場合はtrue、それ以外はfalse
+	 */
+	@Transactional
+	public Boolean insertJobsearchNotificationList(String jobSearchId, List<String> userIdList, Boolean isFirst) {
 		// 通知データが存在する場合、削除
 		if (!isFirst) {
-			isSuccess = deleteJobsearchNotification(jobSearchId);
+			Boolean isSuccess = deleteJobsearchNotification(jobSearchId);
 			if (!isSuccess) {
 				return false;
 			}
 		}
-		// 新規通知ID取得
-		String notificationId = notificationRepository.getNotificationId();
-		// 通知データを挿入
-		isSuccess = notificationRepository.insertNotification(notificationId, userId, false, "0");
-		if (!isSuccess) {
+		// 通知先ごとの通知データをまとめて挿入
+		List<String> targetUserIdList = userIdList.stream().distinct().collect(Collectors.toList());
+		int insertCount = notificationRepository.insertNotificationJobSearchList(jobSearchId, targetUserIdList);
+		if (insertCount != targetUserIdList.size()) {
 			return false;
 		}
-		// 通知データの挿入に成功した場合、trueを返却
-		return notificationRepository.insertNotificationJobSearch(notificationId, jobSearchId);
+		publishNotificationChanged(NotificationChangedEvent.ACTION_CREATED,
+				NotificationChangedEvent.CATEGORY_JOB_SEARCH, jobSearchId, toUserIdSet(targetUserIdList));
+		return true;
 	}
 
 	/**
@@ -293,8 +355,18 @@ public class NotificationService {
 	 * @return true: 削除成功, false: 削除失敗
 	 */
 	public Boolean deleteJobsearchNotification(String jobSearchId) {
+		// 配信中のユーザがいる場合、削除前に通知先ユーザを取得
+		Set<String> userIds = notificationStreamService.hasSubscribers()
+				? new HashSet<>(notificationRepository.getNotificationUserJobSearchList(List.of(jobSearchId)))
+				: Set.of();
+
 		// 通知データが存在する場合、削除
-		return notificationRepository.deleteNotificationJobSearch(jobSearchId);
+		Boolean isSuccess = notificationRepository.deleteNotificationJobSearch(jobSearchId);
+		if (isSuccess) {
+			publishNotificationChanged(NotificationChangedEvent.ACTION_DELETED,
+					NotificationChangedEvent.CATEGORY_JOB_SEARCH, jobSearchId, userIds);
+		}
+		return isSuccess;
 	}
 
 	/**
@@ -316,25 +388,43 @@ public class NotificationService {
 	 * @param isFirst     通知データが存在する場合はtrue、それ以外はfalse
 	 * @return 挿入に成功した場合はtrue、それ以外はfalse
 	 */
+	@Transactional
 	public Boolean insertCertificateNotification(String certificateIssuanceId, String userId, Boolean isFirst) {
-		Boolean isSuccess;
+		return insertCertificateNotificationList(certificateIssuanceId, Collections.singletonList(userId), isFirst);
+	}
+
+	/**
+	 * 複数のユーザへの証明書発行の通知データを1つのトランザクションで挿入します。
+	 *
+	 * <p>
+	 * 通知IDは採番済みの範囲から払い出し、通知と通知証明書発行をそれぞれ1回のバッチで登録します。
+	 * </p>
+	 *
+	 * @param certificateIssuanceId 証明書発行ID
+	 * @param userIdList            通知先のユーザIDのリスト
+	 * @param isFirst               通知データが存在する場合はtrue、それ以外はfalse
+	 * @return 挿入に成功した場合はtrue、それ以外はfalse
+	 */
+	@Transactional
+	public Boolean insertCertificateNotificationList(String certificateIssuanceId, List<String> userIdList,
+			Boolean isFirst) {
 		// 通知データが存在する場合、削除
 		if (!isFirst) {
-			isSuccess = deleteCertificateNotification(certificateIssuanceId);
+			Boolean isSuccess = deleteCertificateNotification(certificateIssuanceId);
 			if (!isSuccess) {
 				return false;
 			}
 		}
-
-		String notificationId = notificationRepository.getNotificationId();
-		// 通知データを挿入
-		isSuccess = notificationRepository.insertNotification(notificationId, userId, false, "1");
-		if (!isSuccess) {
+		// 通知先ごとの通知データをまとめて挿入
+		List<String> targetUserIdList = userIdList.stream().distinct().collect(Collectors.toList());
+		int insertCount = notificationRepository.insertNotificationCertificateIssuanceList(certificateIssuanceId,
+				targetUserIdList);
+		if (insertCount != targetUserIdList.size()) {
 			return false;
 		}
-
-		// 通知データの挿入に成功した場合、trueを返却
-		return notificationRepository.insertNotificationCertificateIssuance(notificationId, certificateIssuanceId);
+		publishNotificationChanged(NotificationChangedEvent.ACTION_CREATED,
+				NotificationChangedEvent.CATEGORY_CERTIFICATE, certificateIssuanceId, toUserIdSet(targetUserIdList));
+		return true;
 	}
 
 	/**
@@ -344,7 +434,43 @@ public class NotificationService {
 	 * @return true: 削除成功, false: 削除失敗
 	 */
 	public Boolean deleteCertificateNotification(String certificateIssuanceId) {
+		// 配信中のユーザがいる場合、削除前に通知先ユーザを取得
+		Set<String> userIds = notificationStreamService.hasSubscribers()
+				? new HashSet<>(notificationRepository
+						.getNotificationUserCertificateIssuanceList(List.of(certificateIssuanceId)))
+				: Set.of();
+
 		// 通知データが存在する場合、削除
-		return notificationRepository.deleteNotificationCertificateIssuance(certificateIssuanceId);
+		Boolean isSuccess = notificationRepository.deleteNotificationCertificateIssuance(certificateIssuanceId);
+		if (isSuccess) {
+			publishNotificationChanged(NotificationChangedEvent.ACTION_DELETED,
+					NotificationChangedEvent.CATEGORY_CERTIFICATE, certificateIssuanceId, userIds);
+		}
+		return isSuccess;
+	}
+
+	/**
+	 * 通知の更新を知らせるイベントを発行します。
+	 *
+	 * @param action   操作
+	 * @param category 就職活動/証明書区分
+	 * @param targetId 就職活動IDまたは証明書発行ID
+	 * @param userIds  通知先ユーザIDの集合
+	 */
+	private void publishNotificationChanged(String action, String category, String targetId, Set<String> userIds) {
+		if (userIds.isEmpty()) {
+			return;
+		}
+		eventPublisher.publishEvent(new NotificationChangedEvent(action, category, List.of(targetId), userIds));
+	}
+
+	/**
+	 * 通知先ユーザIDの集合に変換します。
+	 *
+	 * @param userIdList 通知先のユーザIDのリスト
+	 * @return 通知先ユーザIDの集合（nullは除く）
+	 */
+	private Set<String> toUserIdSet(List<String> userIdList) {
+		return userIdList.stream().filter(Objects::nonNull).collect(Collectors.toSet());
 	}
 }
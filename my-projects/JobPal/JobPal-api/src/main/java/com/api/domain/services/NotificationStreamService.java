@@ -0,0 +1,265 @@
+package com.api.domain.services;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.api.domain.models.data.NotificationChangedEvent;
+import com.api.domain.repositories.NotificationCountRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 通知件数と通知の概要をServer-Sent Eventsで配信するサービスクラスです。
+ *
+ * <p>
+ * 主な機能:
+ * <ul>
+ * <li>ユーザごとの配信の接続の管理</li>
+ * <li>通知の登録・削除・再通知時の通知件数（count）と概要（alert）の配信</li>
+ * <li>切断された接続を検出するための定期的な送信</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 待機中の接続はサーブレットの非同期処理で保持するため、スレッドを占有しません。<br>
+ * 配信は{@link NotificationChangedEvent}を受け取り、通知を更新したトランザクションのコミット後に行います。<br>
+ * イベントはこのインスタンス内でのみ配信されるため、他のインスタンスで更新された通知は次の接続時の件数で反映されます。
+ * </p>
+ */
+@Service
+public class NotificationStreamService {
+
+	/**
+	 * 配信するイベント名：通知件数
+	 */
+	public static final String EVENT_COUNT = "count";
+
+	/**
+	 * 配信するイベント名：通知の概要
+	 */
+	public static final String EVENT_ALERT = "alert";
+
+	/**
+	 * 接続の保持期間（ミリ秒）。経過後はクライアントが再接続する。
+	 */
+	@Value("${settings.notification.stream.timeout-ms:1800000}")
+	private long timeoutMillis;
+
+	/**
+	 * 1ユーザあたりの最大接続数。超えた場合は古い接続から切断する。
+	 */
+	@Value("${settings.notification.stream.max-per-user:5}")
+	private int maxPerUser;
+
+	/**
+	 * 通知件数リポジトリ。
+	 */
+	@Autowired
+	private NotificationCountRepository notificationCountRepository;
+
+	/**
+	 * メトリクスの登録先。
+	 */
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * ユーザIDごとの接続
+	 */
+	private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+	/**
+	 * 接続数
+	 */
+	private final AtomicInteger connectionCount = new AtomicInteger();
+
+	/**
+	 * 配信処理（通知件数の取得と送信をイベントの発行元とは別の仮想スレッドで行う）
+	 */
+	private ExecutorService pusher;
+
+	@PostConstruct
+	void init() {
+		if (maxPerUser < 1) {
+			throw new IllegalStateException("settings.notification.stream.max-per-userには1以上を指定してください。");
+		}
+		pusher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-stream-", 0).factory());
+		Gauge.builder("notification.stream.connections", connectionCount, AtomicInteger::get)
+				.description("通知件数の配信の接続数")
+				.register(meterRegistry);
+	}
+
+	@PreDestroy
+	void destroy() {
+		emitters.values().forEach(list -> list.forEach(SseEmitter::complete));
+		pusher.shutdownNow();
+	}
+
+	/**
+	 * 配信の接続を登録し、現在の通知件数を送信します。
+	 *
+	 * @param userId ユーザID
+	 * @return 接続
+	 */
+	public SseEmitter subscribe(String userId) {
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		emitter.onCompletion(() -> unsubscribe(userId, emitter));
+		emitter.onTimeout(() -> unsubscribe(userId, emitter));
+		emitter.onError(e -> unsubscribe(userId, emitter));
+
+		List<SseEmitter> userEmitters = emitters.compute(userId, (key, list) -> {
+			List<SseEmitter> result = list == null ? new CopyOnWriteArrayList<>() : list;
+			result.add(emitter);
+			return result;
+		});
+		connectionCount.incrementAndGet();
+
+		// 最大接続数を超えた場合は古い接続から切断
+		while (userEmitters.size() > maxPerUser) {
+			SseEmitter oldest = userEmitters.get(0);
+			unsubscribe(userId, oldest);
+			oldest.complete();
+		}
+
+		// 接続時点の通知件数を送信
+		pusher.execute(() -> pushCount(userId, List.of(emitter)));
+		return emitter;
+	}
+
+	/**
+	 * 配信の接続があるかを判定します。
+	 *
+	 * @return 接続がある場合はtrue
+	 */
+	public boolean hasSubscribers() {
+		return connectionCount.get() > 0;
+	}
+
+	/**
+	 * 指定されたユーザの接続数を取得します。
+	 *
+	 * @param userId ユーザID
+	 * @return 接続数
+	 */
+	public int getConnectionCount(String userId) {
+		List<SseEmitter> userEmitters = emitters.get(userId);
+		return userEmitters == null ? 0 : userEmitters.size();
+	}
+
+	/**
+	 * 通知の更新を、接続中の対象ユーザへ配信します。
+	 *
+	 * <p>
+	 * トランザクション内で発行された場合はコミット後に、トランザクション外の場合はすぐに配信します。
+	 * </p>
+	 *
+	 * @param event 通知の更新
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onNotificationChanged(NotificationChangedEvent event) {
+		Map<String, Object> alert = Map.of(
+				"action", event.action(),
+				"category", event.category(),
+				"targetIds", event.targetIds());
+		for (String userId : event.userIds()) {
+			List<SseEmitter> userEmitters = emitters.get(userId);
+			if (userEmitters == null || userEmitters.isEmpty()) {
+				continue;
+			}
+			pusher.execute(() -> {
+				for (SseEmitter emitter : userEmitters) {
+					send(userId, emitter, SseEmitter.event().name(EVENT_ALERT).data(alert, MediaType.APPLICATION_JSON));
+				}
+				pushCount(userId, userEmitters);
+			});
+		}
+	}
+
+	/**
+	 * 切断された接続を検出するため、すべての接続へコメントを送信します。
+	 */
+	@Scheduled(fixedDelayString = "${settings.notification.stream.heartbeat-ms:30000}")
+	public void heartbeat() {
+		emitters.forEach((userId, userEmitters) -> pusher.execute(() -> {
+			for (SseEmitter emitter : userEmitters) {
+				send(userId, emitter, SseEmitter.event().comment("ping"));
+			}
+		}));
+	}
+
+	/**
+	 * 通知件数を取得して送信します。
+	 *
+	 * @param userId       ユーザID
+	 * @param userEmitters 送信先の接続
+	 */
+	private void pushCount(String userId, List<SseEmitter> userEmitters) {
+		int alertCnt;
+		try {
+			alertCnt = notificationCountRepository.getCount(userId);
+		} catch (DataAccessException e) {
+			logger.warn("Failed to count notifications for stream: " + e.getMessage());
+			return;
+		}
+		for (SseEmitter emitter : userEmitters) {
+			send(userId, emitter,
+					SseEmitter.event().name(EVENT_COUNT).data(Map.of("alertCnt", alertCnt), MediaType.APPLICATION_JSON));
+		}
+	}
+
+	/**
+	 * 接続へ送信します。送信できない接続は登録を解除します。
+	 *
+	 * @param userId  ユーザID
+	 * @param emitter 接続
+	 * @param event   送信内容
+	 */
+	private void send(String userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+		try {
+			emitter.send(event);
+		} catch (IOException | IllegalStateException e) {
+			// クライアントが切断済み、または接続が終了済み
+			unsubscribe(userId, emitter);
+		}
+	}
+
+	/**
+	 * 接続の登録を解除します。
+	 *
+	 * @param userId  ユーザID
+	 * @param emitter 接続
+	 */
+	private void unsubscribe(String userId, SseEmitter emitter) {
+		emitters.computeIfPresent(userId, (key, list) -> {
+			if (list.remove(emitter)) {
+				connectionCount.decrementAndGet();
+			}
+			return list.isEmpty() ? null : list;
+		});
+	}
+}
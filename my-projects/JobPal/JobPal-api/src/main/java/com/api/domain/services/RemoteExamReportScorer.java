@@ -0,0 +1,86 @@
+package com.api.domain.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * AIサービス（JobPal-AI）で受験報告の感想を評価するクラスです。
+ *
+ * <p>
+ * 感想のリストを1回のリクエストで送信します（{"texts": [...]}）。レスポンスは評価結果の配列です。<br>
+ * 接続と応答の待ち時間は「settings.http.integrations.evaluation.*」で指定します（{@link com.api.jobpal.common.base.OutboundHttpClients}）。
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "settings.evaluation.scorer", havingValue = "remote", matchIfMissing = true)
+public class RemoteExamReportScorer implements ExamReportScorer {
+
+	/**
+	 * AIサービスのエンドポイント
+	 */
+	@Value("${settings.evaluation.api-url:http://127.0.0.1:8000/jobdetail/batch}")
+	private String apiUrl;
+
+	/**
+	 * AIサービス用のRestTemplateのインスタンス。
+	 */
+	@Autowired
+	@Qualifier("evaluationRestTemplate")
+	private RestTemplate restTemplate;
+
+	/**
+	 * ObjectMapperのインスタンス。
+	 */
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Override
+	public List<String> score(List<String> impressionsList) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		try {
+			// JSON形式のリクエストボディを作成（感想はエスケープして格納）
+			JsonNode jsonRequest = objectMapper.createObjectNode()
+					.set("texts", objectMapper.valueToTree(impressionsList));
+			HttpEntity<String> request = new HttpEntity<>(objectMapper.writeValueAsString(jsonRequest), headers);
+			// POSTリクエストを送信してレスポンスを解析
+			return convert(restTemplate.postForObject(apiUrl, request, String.class), impressionsList.size());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to process evaluation JSON: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * AIサービスからのJSONレスポンスを解析します。
+	 *
+	 * @param json     JSONレスポンス
+	 * @param expected 期待する件数
+	 * @return 評価結果のリスト
+	 * @throws JsonProcessingException JSONの解析に失敗した場合
+	 */
+	private List<String> convert(String json, int expected) throws JsonProcessingException {
+		JsonNode rootNode = objectMapper.readTree(json);
+		if (rootNode == null || !rootNode.isArray() || rootNode.size() != expected) {
+			throw new IllegalStateException("Unexpected evaluation response: " + json);
+		}
+		List<String> results = new ArrayList<>();
+		for (JsonNode node : rootNode) {
+			results.add(node.asText());
+		}
+		return results;
+	}
+}
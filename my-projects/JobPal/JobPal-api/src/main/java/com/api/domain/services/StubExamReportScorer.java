@@ -0,0 +1,32 @@
+package com.api.domain.services;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * AIサービスを使用せずに受験報告の感想を評価するクラスです。
+ *
+ * <p>
+ * テストやAIサービスを起動しない環境で、「settings.evaluation.scorer=stub」を指定した場合のみ使用します。<br>
+ * 感想に否定的な語句が含まれる場合は「不合格」、それ以外は「合格」とします。
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "settings.evaluation.scorer", havingValue = "stub")
+public class StubExamReportScorer implements ExamReportScorer {
+
+	/**
+	 * 否定的な語句
+	 */
+	private static final List<String> NEGATIVE_WORDS = List.of("不安", "失敗", "できなかった", "だめ", "ダメ");
+
+	@Override
+	public List<String> score(List<String> impressionsList) {
+		return impressionsList.stream()
+				.map(impressions -> NEGATIVE_WORDS.stream().anyMatch(impressions::contains) ? RESULT_FAIL
+						: RESULT_PASS)
+				.toList();
+	}
+}
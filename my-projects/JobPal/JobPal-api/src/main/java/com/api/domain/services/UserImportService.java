@@ -0,0 +1,600 @@
+package com.api.domain.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.api.domain.models.dbdata.UserData;
+import com.api.domain.models.dbdata.UserImportData;
+import com.api.domain.models.forms.UserForm;
+import com.api.domain.repositories.UserImportRepository;
+import com.api.domain.repositories.UserRepository;
+import com.api.jobpal.common.base.ResponseMessage;
+import com.api.jobpal.common.base.Util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * CSVによるユーザの一括登録を管理するサービスクラスです。
+ *
+ * <p>
+ * 主な機能:
+ * <ul>
+ * <li>CSVの1行ずつの読み込みと入力チェック（ユーザ追加と同じ入力チェック）</li>
+ * <li>パスワードのエンコード（上限のあるスレッドで並列に実行）</li>
+ * <li>「settings.user-import.chunk-size」行ごとのバッチ処理による登録とコミット</li>
+ * <li>中断した一括登録の、コミット済みの行の次からの再開</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * CSVは見出し付きのUTF-8（BOMの有無は問わない）とし、見出しには{@link #HEADER}の項目を含めてください。<br>
+ * 入力チェックでエラーとなった行や、既に存在するユーザの行は登録せず、行番号（見出しを除き1から数える）と内容を返却します。<br>
+ * 登録の途中でDBエラーが発生した場合は、コミット済みの行までを登録した状態で中断します。
+ * 同じファイルと一括登録IDを指定すると、コミット済みの行の次から再開します（返却するエラーは再開後の行のみ）。
+ * </p>
+ */
+@Service
+public class UserImportService {
+
+	/**
+	 * CSVの見出し（ユーザ追加の入力値の項目名）
+	 */
+	static final String[] HEADER = { "userId", "password", "userName", "userClass", "classNumber", "schoolNumber",
+			"grant", "status" };
+
+	/**
+	 * CSVの形式（見出し付き、空行は無視、値の前後の空白は除去）
+	 */
+	private static final CSVFormat FORMAT = CSVFormat.EXCEL.builder()
+			.setHeader()
+			.setSkipHeaderRecord(true)
+			.setIgnoreEmptyLines(true)
+			.setTrim(true)
+			.build();
+
+	/**
+	 * 1回のコミットで登録する行数
+	 */
+	@Value("${settings.user-import.chunk-size:500}")
+	private int chunkSize;
+
+	/**
+	 * パスワードのエンコードに使用するスレッド数
+	 */
+	@Value("${settings.user-import.hash-threads:2}")
+	private int hashThreads;
+
+	/**
+	 * ユーザサービス（入力値の変換に使用）。
+	 */
+	@Autowired
+	private UserService userService;
+
+	/**
+	 * ユーザ情報を操作するリポジトリ。
+	 */
+	@Autowired
+	private UserRepository userRepository;
+
+	/**
+	 * ユーザ一括登録リポジトリ。
+	 */
+	@Autowired
+	private UserImportRepository userImportRepository;
+
+	/**
+	 * パスワードのエンコーダ。
+	 */
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	/**
+	 * 入力チェック。
+	 */
+	@Autowired
+	private LocalValidatorFactoryBean validator;
+
+	/**
+	 * エラーメッセージの取得元。
+	 */
+	@Autowired
+	private MessageSource messageSource;
+
+	/**
+	 * トランザクションマネージャ。
+	 */
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * ユーザの登録とコミット済みの行の更新を1つのトランザクションで行う
+	 */
+	private TransactionTemplate transactionTemplate;
+
+	/**
+	 * パスワードのエンコードの実行環境（すべての一括登録で共有）
+	 */
+	private ExecutorService hashPool;
+
+	@PostConstruct
+	void init() {
+		if (chunkSize < 1) {
+			throw new IllegalStateException("settings.user-import.chunk-sizeには1以上を指定してください。");
+		}
+		if (hashThreads < 1) {
+			throw new IllegalStateException("settings.user-import.hash-threadsには1以上を指定してください。");
+		}
+		transactionTemplate = new TransactionTemplate(transactionManager);
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		hashPool = Executors.newFixedThreadPool(hashThreads, runnable -> {
+			Thread thread = new Thread(runnable, "user-import-hash-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	void shutdown() {
+		// エンコード中の行はコミットされないため、再開時に再度登録する
+		hashPool.shutdownNow();
+	}
+
+	/**
+	 * CSVのユーザを一括登録します。
+	 *
+	 * @param csv             登録するCSV（再開時の確認のため、2回読み込みます）
+	 * @param importId        再開する一括登録ID。新たに登録する場合はnull。
+	 * @param createdByUserId 一括登録を実行したユーザID（登録するユーザの作成者）
+	 * @return 一括登録の結果（DBエラーで中断した場合は、完了フラグがfalse）
+	 * @throws IllegalArgumentException 一括登録IDが存在しない、再開時のファイルが異なる、CSVの形式が不正な場合
+	 * @throws IOException              CSVの読み込みに失敗した場合
+	 */
+	public ImportResult importUsers(InputStreamSource csv, String importId, String createdByUserId)
+			throws IOException {
+		long start = System.nanoTime();
+		String fileHash = hash(csv);
+
+		try (Reader reader = openReader(csv); CSVParser parser = FORMAT.parse(reader)) {
+			List<String> missing = Arrays.stream(HEADER)
+					.filter(name -> !parser.getHeaderNames().contains(name))
+					.toList();
+			if (!missing.isEmpty()) {
+				throw new IllegalArgumentException("CSVの見出しに必要な項目がありません: " + missing);
+			}
+
+			// 一括登録の進捗を取得（新たに登録する場合は作成）
+			ImportProgress state = new ImportProgress(startImport(importId, fileHash, createdByUserId));
+			if (state.completed) {
+				return state.toResult(true);
+			}
+			try {
+				importRows(parser, state, createdByUserId);
+			} catch (DataAccessException e) {
+				logger.error("ユーザの一括登録を中断 {}: {}行目までコミット済み", state.importId, state.committedRow, e);
+				return state.toResult(false);
+			}
+
+			userImportRepository.updateUserImportCompleted(state.importId);
+			long elapsedMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+			logger.info("ユーザの一括登録 {}: {}行 登録{}件 エラー{}件 {}ms ({}件/秒)", state.importId, state.committedRow,
+					state.insertedCount, state.errorCount, elapsedMillis, state.insertedCount * 1000L / elapsedMillis);
+			return state.toResult(true);
+		} catch (UncheckedIOException e) {
+			throw new IllegalArgumentException("CSVの形式が不正です", e);
+		}
+	}
+
+	/**
+	 * 一括登録の進捗を作成します。再開する場合は、登録済みの進捗を取得します。
+	 *
+	 * @param importId        再開する一括登録ID。新たに登録する場合はnull。
+	 * @param fileHash        登録するCSVのSHA-256
+	 * @param createdByUserId 一括登録を実行したユーザID
+	 * @return 一括登録の進捗
+	 * @throws IllegalArgumentException 一括登録IDが存在しない、再開時のファイルが異なる場合
+	 */
+	private UserImportData startImport(String importId, String fileHash, String createdByUserId) {
+		if (importId == null) {
+			String newImportId = UUID.randomUUID().toString();
+			userImportRepository.insertUserImport(newImportId, fileHash, createdByUserId);
+			return userImportRepository.selectUserImport(newImportId);
+		}
+		UserImportData progress = userImportRepository.selectUserImport(importId);
+		if (progress == null) {
+			throw new IllegalArgumentException("一括登録IDが存在しません: " + importId);
+		}
+		if (!progress.getFileHash().equals(fileHash)) {
+			throw new IllegalArgumentException("一括登録の開始時とファイルが異なります: " + importId);
+		}
+		return progress;
+	}
+
+	/**
+	 * コミット済みの行の次から、すべての行を登録します。
+	 *
+	 * @param parser          CSV（見出しは読み込み済み）
+	 * @param state           一括登録の進捗
+	 * @param createdByUserId 作成者のユーザID
+	 * @throws DataAccessException 登録に失敗した場合（失敗した行を含むコミット分は登録されない）
+	 */
+	private void importRows(CSVParser parser, ImportProgress state, String createdByUserId) {
+		Chunk chunk = new Chunk();
+		int rowNumber = 0;
+		for (CSVRecord record : parser) {
+			rowNumber++;
+			// コミット済みの行は読み飛ばす
+			if (rowNumber <= state.committedRow) {
+				continue;
+			}
+			chunk.add(rowNumber, record, createdByUserId);
+			if (rowNumber - state.committedRow >= chunkSize) {
+				commitChunk(state, chunk, rowNumber);
+				chunk = new Chunk();
+			}
+		}
+		if (rowNumber > state.committedRow) {
+			commitChunk(state, chunk, rowNumber);
+		}
+	}
+
+	/**
+	 * 1回のコミット分の行を登録し、コミット済みの行を更新します。
+	 *
+	 * <p>
+	 * 既に存在するユーザの確認とパスワードのエンコードはトランザクションの外で行い、ロックの保持時間を短くします。
+	 * </p>
+	 *
+	 * @param state   一括登録の進捗
+	 * @param chunk   1回のコミット分の行
+	 * @param lastRow 1回のコミット分の最後の行の番号
+	 * @throws OptimisticLockingFailureException 同じ一括登録が他の処理で進んでいた場合
+	 */
+	private void commitChunk(ImportProgress state, Chunk chunk, int lastRow) {
+		// 既に存在するユーザの行をエラーとする
+		List<ImportRow> rows = new ArrayList<>(chunk.rows.size());
+		if (!chunk.rows.isEmpty()) {
+			Set<String> existingUserIds = new HashSet<>(userRepository.selectExistingUserIdList(
+					chunk.rows.stream().map(row -> row.userData.getUserId()).toList()));
+			for (ImportRow row : chunk.rows) {
+				if (existingUserIds.contains(row.userData.getUserId())) {
+					chunk.errors.add(new RowError(row.rowNumber, ResponseMessage.ADD_USER_ERROR_MESSAGE));
+				} else {
+					rows.add(row);
+				}
+			}
+		}
+		List<UserData> userDataList = hashPasswords(rows);
+		List<UserData> teacherStudentList = userDataList.stream()
+				.filter(userData -> Integer.parseInt(userData.getUserType()) <= 1)
+				.toList();
+
+		int expectedRow = state.committedRow;
+		int errorCount = chunk.errors.size();
+		int insertedCount = transactionTemplate.execute(status -> {
+			int inserted = userRepository.insertUserList(userDataList);
+			userRepository.insertTeacherStudentUserList(teacherStudentList);
+			if (!userImportRepository.updateUserImportProgress(state.importId, expectedRow, lastRow, inserted,
+					errorCount)) {
+				throw new OptimisticLockingFailureException("ユーザの一括登録が他の処理で進んでいます: " + state.importId);
+			}
+			return inserted;
+		});
+
+		// コミットできた行のみを進捗に反映
+		state.committedRow = lastRow;
+		state.insertedCount += insertedCount;
+		state.errorCount += errorCount;
+		chunk.errors.sort(Comparator.comparingInt(RowError::row));
+		state.errors.addAll(chunk.errors);
+	}
+
+	/**
+	 * パスワードを並列にエンコードします。
+	 *
+	 * @param rows 登録する行
+	 * @return パスワードをエンコード済みの値に置き換えたユーザ情報
+	 */
+	private List<UserData> hashPasswords(List<ImportRow> rows) {
+		List<Callable<UserData>> tasks = rows.stream().<Callable<UserData>>map(row -> () -> {
+			row.userData.setPassword(passwordEncoder.encode(row.userData.getPassword()));
+			return row.userData;
+		}).toList();
+		try {
+			List<UserData> userDataList = new ArrayList<>(rows.size());
+			for (Future<UserData> future : hashPool.invokeAll(tasks)) {
+				userDataList.add(future.get());
+			}
+			return userDataList;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("パスワードのエンコードが中断されました。", e);
+		}
+	}
+
+	/**
+	 * 1行分の値を入力チェックし、ユーザ情報に変換します。
+	 *
+	 * @param record          1行分の値
+	 * @param createdByUserId 作成者のユーザID
+	 * @param errors          エラーの格納先
+	 * @return ユーザ情報。入力チェックでエラーとなった場合はnull。
+	 */
+	private UserData toUserData(CSVRecord record, String createdByUserId, BindingResult errors) {
+		UserForm form = (UserForm) errors.getTarget();
+		form.setUserId(value(record, "userId"));
+		form.setPassword(value(record, "password"));
+		form.setUserName(value(record, "userName"));
+		form.setUserClass(value(record, "userClass"));
+		form.setGrant(value(record, "grant"));
+		form.setStatus(value(record, "status"));
+		form.setCreateUserId(createdByUserId);
+		try {
+			form.setClassNumber(toInteger(value(record, "classNumber")));
+		} catch (NumberFormatException e) {
+			reject(errors, "classNumber", "number_check");
+		}
+		try {
+			form.setSchoolNumber(toInteger(value(record, "schoolNumber")));
+		} catch (NumberFormatException e) {
+			reject(errors, "schoolNumber", "number_check");
+		}
+
+		// ユーザ追加と同じ入力チェック（数値でない項目は、必須入力のエラーを重ねて出さない）
+		BindingResult formErrors = new BeanPropertyBindingResult(form, errors.getObjectName());
+		validator.validate(form, formErrors);
+		formErrors.getFieldErrors().stream()
+				.filter(fieldError -> !errors.hasFieldErrors(fieldError.getField()))
+				.forEach(errors::addError);
+
+		// 列の長さを超える値は、1回のコミット分の登録がすべて失敗するため事前に確認する
+		if (form.getStatus() == null) {
+			reject(errors, "status", "require_check");
+		}
+		if (form.getUserClass() != null && !form.getUserClass().isBlank()) {
+			String[] userClass = Util.splitString(form.getUserClass().toUpperCase());
+			if (userClass == null || userClass[2].length() > 2) {
+				reject(errors, "userClass", "user_class_check");
+			}
+		}
+		if (form.getClassNumber() != null && form.getClassNumber() < 1) {
+			reject(errors, "classNumber", "min_check", 1);
+		}
+		if (form.getClassNumber() != null && form.getClassNumber() > 99) {
+			reject(errors, "classNumber", "max_check", 99);
+		}
+
+		if (errors.hasErrors()) {
+			return null;
+		}
+		return userService.refillToData(form);
+	}
+
+	/**
+	 * 入力チェックのエラーを追加します。
+	 *
+	 * @param errors    エラーの格納先
+	 * @param field     項目名
+	 * @param code      メッセージのコード
+	 * @param arguments メッセージの2つ目以降の引数
+	 */
+	private static void reject(BindingResult errors, String field, String code, Object... arguments) {
+		Object[] args = new Object[arguments.length + 1];
+		args[0] = new DefaultMessageSourceResolvable(new String[] { field }, field);
+		System.arraycopy(arguments, 0, args, 1, arguments.length);
+		errors.rejectValue(field, code, args, code);
+	}
+
+	/**
+	 * 項目の値を取得します。
+	 *
+	 * @param record 1行分の値
+	 * @param name   項目名
+	 * @return 値。項目がない、または空欄の場合はnull。
+	 */
+	private static String value(CSVRecord record, String name) {
+		if (!record.isSet(name)) {
+			return null;
+		}
+		String value = record.get(name);
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * 数値に変換します。
+	 *
+	 * @param value 値（null可）
+	 * @return 数値。値がnullの場合はnull。
+	 * @throws NumberFormatException 数値でない場合
+	 */
+	private static Integer toInteger(String value) {
+		return value == null ? null : Integer.valueOf(value);
+	}
+
+	/**
+	 * CSVのSHA-256を計算します。
+	 *
+	 * @param csv CSV
+	 * @return SHA-256（16進数）
+	 * @throws IOException CSVの読み込みに失敗した場合
+	 */
+	private static String hash(InputStreamSource csv) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		try (InputStream inputStream = new DigestInputStream(csv.getInputStream(), digest)) {
+			inputStream.transferTo(OutputStream.nullOutputStream());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * CSVを読み込むReaderを作成します。先頭のBOMは読み飛ばします。
+	 *
+	 * @param csv CSV
+	 * @return Reader
+	 * @throws IOException CSVの読み込みに失敗した場合
+	 */
+	private static Reader openReader(InputStreamSource csv) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(csv.getInputStream(), StandardCharsets.UTF_8));
+		reader.mark(1);
+		if (reader.read() != '\uFEFF') {
+			reader.reset();
+		}
+		return reader;
+	}
+
+	/**
+	 * 1回のコミット分の行
+	 */
+	private class Chunk {
+		/** 登録する行 */
+		private final List<ImportRow> rows = new ArrayList<>();
+		/** 登録できない行 */
+		private final List<RowError> errors = new ArrayList<>();
+		/** 登録する行のユーザID（ファイル内の重複の確認に使用） */
+		private final Set<String> userIds = new HashSet<>();
+
+		/**
+		 * 1行分の値を入力チェックし、登録する行またはエラーとして追加します。
+		 *
+		 * @param rowNumber       行番号
+		 * @param record          1行分の値
+		 * @param createdByUserId 作成者のユーザID
+		 */
+		private void add(int rowNumber, CSVRecord record, String createdByUserId) {
+			BindingResult bindingResult = new BeanPropertyBindingResult(new UserForm(), "userForm");
+			UserData userData = toUserData(record, createdByUserId, bindingResult);
+			if (userData == null) {
+				String message = String.join(" / ", bindingResult.getFieldErrors().stream()
+						.map(fieldError -> messageSource.getMessage(fieldError, Locale.JAPANESE))
+						.toList());
+				errors.add(new RowError(rowNumber, message));
+			} else if (!userIds.add(userData.getUserId())) {
+				errors.add(new RowError(rowNumber, ResponseMessage.ADD_USER_ERROR_MESSAGE));
+			} else {
+				rows.add(new ImportRow(rowNumber, userData));
+			}
+		}
+	}
+
+	/**
+	 * 登録する1行分のユーザ情報
+	 *
+	 * @param rowNumber 行番号
+	 * @param userData  ユーザ情報
+	 */
+	private record ImportRow(int rowNumber, UserData userData) {
+	}
+
+	/**
+	 * 一括登録の進捗（このサービス内での集計）
+	 */
+	private static final class ImportProgress {
+		/** 一括登録ID */
+		private final String importId;
+		/** 完了済みの一括登録か */
+		private final boolean completed;
+		/** コミット済みの最後の行の番号 */
+		private int committedRow;
+		/** 登録したユーザの件数 */
+		private int insertedCount;
+		/** 登録できなかった行の件数 */
+		private int errorCount;
+		/** 今回の処理で登録できなかった行 */
+		private final List<RowError> errors = new ArrayList<>();
+
+		private ImportProgress(UserImportData progress) {
+			this.importId = progress.getImportId();
+			this.completed = UserImportRepository.STATUS_COMPLETED.equals(progress.getStatus());
+			this.committedRow = progress.getCommittedRow();
+			this.insertedCount = progress.getInsertedCount();
+			this.errorCount = progress.getErrorCount();
+		}
+
+		private ImportResult toResult(boolean completed) {
+			return new ImportResult(importId, completed, committedRow, insertedCount, errorCount, errors);
+		}
+	}
+
+	/**
+	 * 一括登録の結果
+	 *
+	 * @param importId      一括登録ID（中断した場合は、再開時に指定する）
+	 * @param completed     すべての行を処理した場合はtrue
+	 * @param committedRow  コミット済みの最後の行の番号
+	 * @param insertedCount 登録したユーザの件数（再開前の登録を含む）
+	 * @param errorCount    登録できなかった行の件数（再開前の行を含む）
+	 * @param errors        今回の処理で登録できなかった行
+	 */
+	public record ImportResult(String importId, boolean completed, int committedRow, int insertedCount,
+			int errorCount, List<RowError> errors) {
+	}
+
+	/**
+	 * 登録できなかった行
+	 *
+	 * @param row     行番号（見出しを除き1から数える）
+	 * @param message エラー内容
+	 */
+	public record RowError(int row, String message) {
+	}
+}
@@ -24,7 +24,10 @@ import com.api.domain.repositories.CsvRepository;
 import com.api.domain.repositories.JobSearchRepository;
 import com.api.domain.repositories.UserRepository;
 import com.api.jobpal.common.base.DBDataConversion;
+import com.api.jobpal.common.base.DashBoardCache;
+import com.api.jobpal.common.base.TransactionHooks;
 import com.api.jobpal.common.base.Util;
+import com.api.jobpal.common.security.PrincipalCache;
 
 /**
  * ユーザ情報を管理するサービスクラスです。
@@ -83,6 +86,18 @@ public class UserService {
 	@Autowired
 	private NotificationService notificationService;
 
+	/**
+	 * 認証済みユーザのユーザ区分キャッシュ
+	 */
+	@Autowired
+	private PrincipalCache principalCache;
+
+	/**
+	 * ダッシュボードの表示データのキャッシュ
+	 */
+	@Autowired
+	private DashBoardCache dashBoardCache;
+
 	/**
 	 * ユーザ情報を全件取得します。
 	 *
@@ -179,12 +194,13 @@ public class UserService {
 	 * UserFormをuserDataへ変換します。
 	 *
 	 * <p>
-	 * <strong>このメソッドは入力チェックを実施したうえで呼び出すこと</strong>
+	 * <strong>このメソッドは入力チェックを実施したうえで呼び出すこと</strong><br>
+	 * ユーザの一括登録（{@link UserImportService}）でも同じ変換を行います。
 	 *
 	 * @param userForm 入力データ(null不可)
 	 * @return userData ユーザ情報
 	 */
-	private UserData refillToData(UserForm userForm) {
+	UserData refillToData(UserForm userForm) {
 
 		// 整形処理を参考にして各フィールドを設定
 		String userId = userForm.getUserId();
@@ -284,6 +300,11 @@ public class UserService {
 
 		} catch (IncorrectResultSizeDataAccessException e) {
 			return false;
+		} finally {
+			// ユーザ区分・ステータスの変更を次のリクエストから反映
+			principalCache.invalidate(userData.getUserId());
+			// 氏名・クラス・ステータスはダッシュボードにも表示するため、コミット後に破棄
+			evictDashBoard(userData.getUserId());
 		}
 	}
 
@@ -354,9 +375,26 @@ public class UserService {
 
 		} catch (IncorrectResultSizeDataAccessException e) {
 			return false;
+		} finally {
+			// 削除したユーザを次のリクエストから拒否
+			principalCache.invalidate(userId);
+			// 削除したユーザの申請をダッシュボードから除くため、コミット後に破棄
+			evictDashBoard(userId);
 		}
 	}
 
+	/**
+	 * コミット後に、指定されたユーザの表示データと、複数の学生の申請を表示するデータを破棄します。
+	 *
+	 * @param userId ユーザID
+	 */
+	private void evictDashBoard(String userId) {
+		TransactionHooks.afterCommit(() -> {
+			dashBoardCache.evictJobSearch(userId);
+			dashBoardCache.evictCertificate(userId);
+		});
+	}
+
 	/**
 	 * 指定されたユーザIDに関連する削除ユーザ情報のCSVデータを取得します。
 	 *
@@ -1,14 +1,18 @@
 package com.api.domain.services;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import com.api.domain.models.data.ZipCodeData;
 import com.api.domain.models.entities.ZipCodeEntity;
+import com.api.domain.repositories.ZipCodeRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -18,7 +22,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * <p>
  * 以下の処理を行います。
  * <ul>
- * <li>指定された郵便番号を基に、郵便番号APIから住所情報を取得</li>
+ * <li>指定された郵便番号を基に、メモリ上の郵便番号データから住所情報を取得</li>
+ * <li>郵便番号データにない場合や、郵便番号データを読み込んでいない場合に、郵便番号APIから住所情報を取得</li>
+ * <li>郵便番号の先頭の数桁から住所の候補を取得</li>
  * <li>取得したデータをエンティティ形式に変換</li>
  * <li>通信失敗時やデータ変換失敗時にエラーメッセージを設定</li>
  * </ul>
@@ -32,6 +38,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * <p>
  * 例外処理を内部で行い、呼び出し元に例外をスローしません。
  * </p>
+ *
+ * <p>
+ * 郵便番号データにない郵便番号を郵便番号APIで検索するかは「settings.zipcode.remote-fallback」で指定します。<br>
+ * 郵便番号データを読み込んでいない場合は、設定にかかわらず郵便番号APIで検索します。
+ * </p>
  */
 
 @Service
@@ -39,11 +50,35 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class ZipCodeService {
 
 	/**
-	 * RestTemplateのインスタンス。
+	 * 郵便番号API用のRestTemplateのインスタンス。
 	 */
 	@Autowired
+	@Qualifier("zipCodeRestTemplate")
 	private RestTemplate restTemplate;
 
+	/**
+	 * 郵便番号データのリポジトリ。
+	 */
+	@Autowired
+	private ZipCodeRepository zipCodeRepository;
+
+	/**
+	 * 郵便番号データにない場合に郵便番号APIで検索するか
+	 */
+	@Value("${settings.zipcode.remote-fallback:true}")
+	private boolean remoteFallback;
+
+	/**
+	 * 郵便番号の先頭から検索する場合の最大件数
+	 */
+	@Value("${settings.zipcode.prefix-limit:20}")
+	private int prefixLimit;
+
+	/**
+	 * 検索成功時のステータス（郵便番号APIと同じ値）
+	 */
+	private static final String STATUS_SUCCESS = "200";
+
 	/**
 	 * エンドポイント
 	 */
@@ -59,6 +94,14 @@ public class ZipCodeService {
 	 * @return 郵便番号検索のレスポンス
 	 */
 	public ZipCodeEntity execute(String zipcode) {
+		// 郵便番号データから検索
+		if (zipCodeRepository.isLoaded()) {
+			List<ZipCodeData> list = zipCodeRepository.selectByZipCode(zipcode);
+			if (!list.isEmpty() || !remoteFallback) {
+				return toEntity(list);
+			}
+		}
+
 		// レスポンス(json形式)を取得
 		String json = request(zipcode);
 		// 結果(箱)を生成
@@ -69,6 +112,34 @@ public class ZipCodeService {
 		return zipCodeEntity;
 	}
 
+	/**
+	 * 郵便番号の先頭の数桁から、住所の候補を郵便番号の昇順に取得します。
+	 *
+	 * <p>
+	 * 郵便番号データのみを検索します（郵便番号APIは先頭からの検索に対応していません）。<br>
+	 * 郵便番号データを読み込んでいない場合は、空のリストを返却します。
+	 * </p>
+	 *
+	 * @param prefix 郵便番号の先頭(1～7桁)を格納(null不可)
+	 * @return 郵便番号検索のレスポンス
+	 */
+	public ZipCodeEntity executePrefix(String prefix) {
+		return toEntity(zipCodeRepository.selectByPrefix(prefix, prefixLimit));
+	}
+
+	/**
+	 * 郵便番号データの検索結果を、郵便番号APIと同じ検索結果形式に変換します。
+	 *
+	 * @param list 住所のリスト
+	 * @return 郵便番号検索のレスポンス
+	 */
+	private ZipCodeEntity toEntity(List<ZipCodeData> list) {
+		ZipCodeEntity zipCodeEntity = new ZipCodeEntity();
+		zipCodeEntity.setStatus(STATUS_SUCCESS);
+		zipCodeEntity.setList(list);
+		return zipCodeEntity;
+	}
+
 	private void convert(String json, ZipCodeEntity zipCodeEntity) {
 
 		// 変換ライブラリの生成
@@ -3,6 +3,9 @@ package com.api.domain.validations;
 import java.util.Arrays;
 import java.util.Optional;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
 /**
  * ユーザ権限を表す列挙型
  *
@@ -61,4 +64,17 @@ public enum UserAuthority {
     public static Optional<UserAuthority> getByGrantId(String grantId) {
         return Arrays.stream(values()).filter(e -> e.getGrantId().equals(grantId)).findFirst();
     }
+
+    /**
+     * 認証済みユーザの権限名を取得します
+     *
+     * @param user 認証済みユーザ
+     * @return 権限名（権限がない場合はnull）
+     */
+    public static String grantIdOf(UserDetails user) {
+        return user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
+    }
 }
@@ -111,6 +111,17 @@ public record BaseResponse(
 				message);
 	}
 
+	/**
+	 * 失敗時(500)のレスポンス生成処理（途中までの処理結果を返却する場合用）.
+	 *
+	 * @param message メッセージ
+	 * @param body    途中までの処理結果
+	 * @return レスポンス(本クラス)
+	 */
+	public static BaseResponse internalServerError(String message, Object body) {
+		return new BaseResponse(String.valueOf(HttpServletResponse.SC_INTERNAL_SERVER_ERROR), message, body);
+	}
+
 	/**
 	 * 失敗時(500)のレスポンス生成処理.
 	 *
@@ -0,0 +1,264 @@
+package com.api.jobpal.common.base;
+
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 採番テーブルからIDをブロック単位で予約し、メモリ上で払い出す採番クラス
+ *
+ * <p>接頭辞・西暦ごとにID_COUNTER_Tの連番を「settings.id.block-size」件ずつ予約し、<br>
+ * 予約した範囲内のIDはアトミックカウンタで払い出します。</p>
+ * <ul>
+ * <li>予約済みの範囲はDBに記録されるため、再起動後も払い出し済みのIDは再利用されません。</li>
+ * <li>複数のアプリケーションが同時に予約しても、範囲が重複することはありません。</li>
+ * <li>採番テーブルに行が存在しない場合は、既存テーブルの最大IDを初期値とします。</li>
+ * <li>採番テーブルへのアクセスは専用のNamedParameterJdbcTemplateで行います（リポジトリと共有しない）。</li>
+ * </ul>
+ *
+ * <p>連番が上限を超える場合、または予約を一定回数試行しても確保できない場合は、呼び出し元へ例外をスローします。</p>
+ */
+@Component
+@ConditionalOnProperty(name = "settings.id.allocator", havingValue = "block", matchIfMissing = true)
+public class BlockIdAllocator implements IdAllocator {
+	/**
+	 * SQL 連番の範囲を予約
+	 */
+	private static final String SQL_UPDATE_ID_COUNTER = "UPDATE "
+			+ "ID_COUNTER_T "
+			+ "SET "
+			+ "next_value = next_value + :blockSize "
+			+ "WHERE "
+			+ "id_prefix = :idPrefix "
+			+ "AND id_year = :idYear";
+
+	/**
+	 * SQL 次に予約される連番を取得
+	 */
+	private static final String SQL_SELECT_ID_COUNTER = "SELECT "
+			+ "next_value "
+			+ "FROM "
+			+ "ID_COUNTER_T "
+			+ "WHERE "
+			+ "id_prefix = :idPrefix "
+			+ "AND id_year = :idYear";
+
+	/**
+	 * SQL 採番の初期値を登録
+	 */
+	private static final String SQL_INSERT_ID_COUNTER = "INSERT INTO "
+			+ "ID_COUNTER_T ("
+			+ "id_prefix, "
+			+ "id_year, "
+			+ "next_value "
+			+ ") VALUES ("
+			+ ":idPrefix , "
+			+ ":idYear , "
+			+ ":nextValue "
+			+ ")";
+
+	/**
+	 * 範囲の予約を試行する回数の上限
+	 */
+	private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+	@Autowired
+	private DataSource dataSource;
+
+	/**
+	 * 採番テーブルへのアクセスに使用する（リポジトリと共有するBeanとは別のインスタンス）
+	 */
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/**
+	 * 1回の予約で確保する件数
+	 */
+	@Value("${settings.id.block-size:50}")
+	private int blockSize;
+
+	/**
+	 * 予約はID登録のトランザクションとは独立してコミットする
+	 */
+	private TransactionTemplate transactionTemplate;
+
+	/**
+	 * 接頭辞ごとの予約済みブロック
+	 */
+	private final Map<String, IdBlock> blocks = new ConcurrentHashMap<>();
+
+	/**
+	 * 接頭辞ごとの予約処理のロック
+	 */
+	private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void init() {
+		if (blockSize < 1) {
+			throw new IllegalStateException("settings.id.block-sizeには1以上を指定してください。");
+		}
+		jdbc = new NamedParameterJdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * 予約済みブロックから新規IDを払い出します。
+	 *
+	 * @param headString IDの先頭の文字
+	 * @param maxIdSql 現在の最大のIDを取得するSQL文（採番テーブルの初期値に使用）
+	 * @return 新規ID
+	 */
+	@Override
+	public String nextId(String headString, String maxIdSql) {
+		int year = Year.now().getValue();
+
+		while (true) {
+			IdBlock block = blocks.get(headString);
+
+			// 予約済みの範囲が残っていればメモリ上で払い出す
+			if (block != null && block.year == year) {
+				long number = block.cursor.getAndIncrement();
+				if (number < block.end) {
+					return toId(headString, year, number);
+				}
+			}
+
+			// 範囲を使い切った場合は、最初に到達したスレッドのみが次の範囲を予約する
+			synchronized (locks.computeIfAbsent(headString, key -> new Object())) {
+				if (blocks.get(headString) == block) {
+					long start = reserveBlock(headString, year, maxIdSql);
+					blocks.put(headString, new IdBlock(year, start, start + blockSize));
+				}
+			}
+		}
+	}
+
+	/**
+	 * 採番テーブルから連番の範囲を予約します。
+	 *
+	 * @param headString IDの先頭の文字
+	 * @param year 西暦
+	 * @param maxIdSql 現在の最大のIDを取得するSQL文
+	 * @return 予約した範囲の先頭の連番
+	 * @throws IncorrectUpdateSemanticsDataAccessException 初期値を登録できない場合、または試行回数の上限まで予約できない場合
+	 */
+	private long reserveBlock(String headString, int year, String maxIdSql) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("idPrefix", headString);
+		params.put("idYear", year);
+		params.put("blockSize", blockSize);
+
+		for (int attempt = 1; attempt <= MAX_RESERVE_ATTEMPTS; attempt++) {
+			Long nextValue = transactionTemplate.execute(status -> {
+				// 行ロックを取得して範囲を確保し、確保後の値を取得
+				int updateRow = jdbc.update(SQL_UPDATE_ID_COUNTER, params);
+				if (updateRow == 0) {
+					return null;
+				}
+				return jdbc.queryForObject(SQL_SELECT_ID_COUNTER, params, Long.class);
+			});
+
+			if (nextValue != null) {
+				return nextValue - blockSize;
+			}
+
+			// 採番テーブルに行がない場合は、既存の最大IDの次の値で登録してから再度予約する
+			params.put("nextValue", selectCurrentNumber(headString, year, maxIdSql) + 1);
+			try {
+				Integer insertRow = transactionTemplate
+						.execute(status -> jdbc.update(SQL_INSERT_ID_COUNTER, params));
+				if (insertRow == null || insertRow == 0) {
+					throw new JdbcUpdateAffectedIncorrectNumberOfRowsException(SQL_INSERT_ID_COUNTER, 1,
+							insertRow == null ? 0 : insertRow);
+				}
+			} catch (DuplicateKeyException e) {
+				// 他のスレッド・アプリケーションが先に登録した場合はそのまま予約に進む
+			}
+		}
+		throw new IncorrectUpdateSemanticsDataAccessException(
+				"採番テーブルの連番を予約できませんでした。接頭辞: " + headString + " 年: " + year);
+	}
+
+	/**
+	 * 既存テーブルの最大IDから、当年の連番を取得します。
+	 *
+	 * @param headString IDの先頭の文字
+	 * @param year 西暦
+	 * @param maxIdSql 現在の最大のIDを取得するSQL文
+	 * @return 当年の最大の連番（当年のIDがない場合は0）
+	 */
+	private long selectCurrentNumber(String headString, int year, String maxIdSql) {
+		String maxId;
+		try {
+			// SQLクエリを実行し、結果を取得
+			maxId = jdbc.queryForObject(maxIdSql, new HashMap<>(), String.class);
+		} catch (EmptyResultDataAccessException e) {
+			return 0;
+		}
+
+		String currentPrefix = headString + "_" + year + "_";
+		if (maxId == null || !maxId.trim().startsWith(currentPrefix)) {
+			return 0;
+		}
+		try {
+			return Long.parseLong(maxId.trim().substring(currentPrefix.length()));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * 連番の上限を確認してIDに整形します。
+	 *
+	 * @param headString IDの先頭の文字
+	 * @param year 西暦
+	 * @param number 連番
+	 * @return 新規ID
+	 */
+	private String toId(String headString, int year, long number) {
+		if (number > IdAllocator.maxNumber(headString)) {
+			throw new IllegalStateException("IDの連番が上限を超えました。接頭辞: " + headString + " 年: " + year);
+		}
+		return IdAllocator.formatId(headString, year, number);
+	}
+
+	/**
+	 * 予約済みの連番の範囲
+	 */
+	private static final class IdBlock {
+		/** 西暦 */
+		private final int year;
+		/** 次に払い出す連番 */
+		private final AtomicLong cursor;
+		/** 範囲の終端（この値は含まない） */
+		private final long end;
+
+		private IdBlock(int year, long start, long end) {
+			this.year = year;
+			this.cursor = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+}
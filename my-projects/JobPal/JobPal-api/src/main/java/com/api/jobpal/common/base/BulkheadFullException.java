@@ -0,0 +1,21 @@
+package com.api.jobpal.common.base;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 連携先への同時呼び出し数が上限に達し、呼び出しを拒否した場合の例外クラス
+ *
+ * <p>上限は「settings.http.integrations.&lt;連携先&gt;.max-concurrent」で指定します。</p>
+ */
+public class BulkheadFullException extends RestClientException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @param integration   連携先
+	 * @param maxConcurrent 同時呼び出し数の上限
+	 */
+	public BulkheadFullException(String integration, int maxConcurrent) {
+		super("Too many concurrent calls to " + integration + " (max " + maxConcurrent + ")");
+	}
+}
@@ -0,0 +1,141 @@
+package com.api.jobpal.common.base;
+
+/**
+ * 外部サービスの呼び出しを、連続した失敗の後に一定時間止めるクラス
+ *
+ * <p>状態は以下のとおり遷移します。</p>
+ * <ul>
+ * <li>CLOSED：呼び出しを許可します。失敗が指定回数連続するとOPENにします。</li>
+ * <li>OPEN：呼び出しを許可しません。指定時間が過ぎるとHALF_OPENにします。</li>
+ * <li>HALF_OPEN：1件のみ試行を許可し、成功した場合はCLOSED、失敗した場合は再びOPENにします。</li>
+ * </ul>
+ *
+ * <pre>
+ * if (circuitBreaker.tryAcquire()) {
+ * 	try {
+ * 		call();
+ * 		circuitBreaker.recordSuccess();
+ * 	} catch (Exception e) {
+ * 		circuitBreaker.recordFailure();
+ * 	}
+ * }
+ * </pre>
+ *
+ * <p>{@link #tryAcquire()}が`true`を返却した場合は、必ず{@link #recordSuccess()}または{@link #recordFailure()}を呼び出してください。</p>
+ */
+public class CircuitBreaker {
+
+	/**
+	 * 状態
+	 */
+	public enum State {
+		/** 呼び出しを許可 */
+		CLOSED,
+		/** 呼び出しを停止 */
+		OPEN,
+		/** 1件のみ試行を許可 */
+		HALF_OPEN
+	}
+
+	/**
+	 * OPENにするまでの連続した失敗回数
+	 */
+	private final int failureThreshold;
+
+	/**
+	 * OPENを維持する時間（ミリ秒）
+	 */
+	private final long openMillis;
+
+	/**
+	 * 現在の状態
+	 */
+	private State state = State.CLOSED;
+
+	/**
+	 * 連続した失敗回数
+	 */
+	private int consecutiveFailures;
+
+	/**
+	 * OPENにした時刻（ミリ秒）
+	 */
+	private long openedAt;
+
+	/**
+	 * HALF_OPENで試行中か
+	 */
+	private boolean trialInFlight;
+
+	/**
+	 * @param failureThreshold OPENにするまでの連続した失敗回数（1以上）
+	 * @param openMillis       OPENを維持する時間（ミリ秒）
+	 */
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		this.failureThreshold = Math.max(failureThreshold, 1);
+		this.openMillis = Math.max(openMillis, 0);
+	}
+
+	/**
+	 * 呼び出しを許可するかを判定します。
+	 *
+	 * @return 許可する場合は`true`
+	 */
+	public synchronized boolean tryAcquire() {
+		switch (currentState()) {
+		case CLOSED:
+			return true;
+		case HALF_OPEN:
+			if (trialInFlight) {
+				return false;
+			}
+			trialInFlight = true;
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * 呼び出しの成功を記録します。
+	 */
+	public synchronized void recordSuccess() {
+		consecutiveFailures = 0;
+		trialInFlight = false;
+		state = State.CLOSED;
+	}
+
+	/**
+	 * 呼び出しの失敗を記録します。
+	 */
+	public synchronized void recordFailure() {
+		trialInFlight = false;
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * 現在の状態を返却します（OPENの期限が過ぎている場合はHALF_OPENにしてから返却します）。
+	 *
+	 * @return 状態
+	 */
+	public synchronized State getState() {
+		return currentState();
+	}
+
+	/**
+	 * OPENの期限が過ぎている場合はHALF_OPENにし、現在の状態を返却します。
+	 *
+	 * @return 状態
+	 */
+	private State currentState() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+			state = State.HALF_OPEN;
+			trialInFlight = false;
+		}
+		return state;
+	}
+}
@@ -0,0 +1,44 @@
+package com.api.jobpal.common.base;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * CSVをダウンロードさせるレスポンスを作成するクラス
+ *
+ * <p>レスポンスボディは非同期で書き出されるため、書き出し中に発生した例外はステータスに反映されません（送信済みのため）。<br>
+ * 入力値の確認は、このクラスでレスポンスを作成する前に行ってください。</p>
+ */
+public final class CsvResponse {
+
+	/**
+	 * CSVのContent-Type
+	 */
+	private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+	private CsvResponse() {
+	}
+
+	/**
+	 * CSVを添付ファイルとして返却するレスポンスを作成します。
+	 *
+	 * @param baseName ファイル名（拡張子を除く）。末尾に出力日（yyyyMMdd）を付加します。
+	 * @param body     CSVを書き出す処理
+	 * @return レスポンス
+	 */
+	public static ResponseEntity<StreamingResponseBody> attachment(String baseName, StreamingResponseBody body) {
+		String fileName = baseName + "_" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".csv";
+		return ResponseEntity.ok()
+				.contentType(TEXT_CSV)
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString())
+				.body(body);
+	}
+}
@@ -3,14 +3,12 @@ package com.api.jobpal.common.base;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
-import java.time.Year;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
@@ -58,6 +56,9 @@ public class DBDataConversion {
 	@Autowired
 	private NamedParameterJdbcTemplate jdbc;
 
+	@Autowired
+	private IdAllocator idAllocator;
+
 	public boolean grantConvert(String grant) {
 
 		if (grant.equals("VALID")) {
@@ -69,52 +70,15 @@ public class DBDataConversion {
 
 	/**
 	 * SQL文に必要なパラメータをバインドするためのMapを提供します。
+	 * <p>パラメータ名の解析結果はSQL文ごとにキャッシュされます。</p>
 	 *
 	 * @param query      SQL文
 	 * @param inputValue パラメータの可変長引数
 	 * @return バインド用のMap型のparams
 	 */
 	public Map<String, Object> mapInputValues(String query, Object... inputValue) {
-
-		// クエリのパラメータを設定するマップ
-		Map<String, Object> params = new HashMap<String, Object>();
-
-		// 検索する文字を定義
-		String searchStr = ":";
-		String endStr = " ";
-
-		// 必要な文字の先頭のindexを取得
-		int result = query.indexOf(searchStr) + 1;
-
-		// indexからクエリ名を取得
-		String str = query.substring(result, query.length());
-
-		int i = 0;
-
-		// カラム名とパラメータをセットするループ
-		while (result != -1) {
-			// 必要な文字の末尾のindexを取得
-			int endIndex = str.indexOf(endStr);
-
-			// 末尾が見つからなかった場合文字の末尾を取得する。
-			if (endIndex == -1) {
-				endIndex = str.length();
-			}
-
-			// カラム名を取得
-			String queryName = str.substring(0, endIndex);
-
-			// カラム名とパラメータをセット
-			params.put(queryName, inputValue[i]);
-
-			// 必要な文字の先頭のindexを取得
-			result = str.indexOf(searchStr);
-
-			// indexからクエリ名を取得
-			str = str.substring(result + 1, str.length());
-			i++;
-		}
-		return params;
+		// 解析済みのパラメータ名に値をセット
+		return SqlParameterPlan.of(query).bind(inputValue);
 	}
 
 	public String[] extractColumnNames(String sql) {
@@ -182,60 +146,13 @@ public class DBDataConversion {
 
 	/**
 	 * 新規IDを取得するロジック
+	 * <p>採番は{@link IdAllocator}の実装に委譲します。</p>
 	 * @param sql 現在の最大のIDを取得するSQL文
 	 * @param headString IDの先頭の文字
-	 * @return
+	 * @return 新規ID
 	 */
 	public String getLargerId(String sql, String headString) {
-		// 文字の長さを指定
-		String idStringFormat = headString.length() == 1 ? "%06d" : "%05d";
-
-		// 現在の年を取得して、新しいIDを作成
-		String currentYear = String.valueOf(Year.now().getValue());
-		String newId = String.format("%s_%s_" + idStringFormat, headString, currentYear, 1);
-
-		// パラメータを格納するためのマップを作成
-		Map<String, Object> params = new HashMap<>();
-
-		String incrementedId = null;
-		try {
-			// SQLクエリを実行し、結果を取得
-			String maxId = jdbc.queryForObject(sql, params, String.class);
-
-			// nullチェックとパターン検証
-			if (maxId != null && maxId.contains("_")) {
-				// パターンに基づいて接頭辞部分を特定
-				int lastUnderscoreIndex = maxId.lastIndexOf("_");
-				String prefix = maxId.substring(0, lastUnderscoreIndex + 1);
-				String numericPart = maxId.substring(lastUnderscoreIndex + 1);
-
-				try {
-					// 数字部分をパースしてインクリメント
-					int number = Integer.parseInt(numericPart);
-					number += 1; // 数字に1を足す
-
-					// ゼロ埋めを維持
-					incrementedId = prefix + String.format(idStringFormat, number);
-				} catch (NumberFormatException e) {
-					// 数字部分の解析に失敗した場合はnullにする
-					incrementedId = null;
-				}
-			}
-		} catch (EmptyResultDataAccessException e) {
-			// 結果が見つからない場合は新しいIDにフォールバック
-			incrementedId = null;
-		} catch (Exception e) {
-			// その他の予期しないエラーをキャッチ
-			e.printStackTrace();
-			incrementedId = null;
-		}
-
-		// 比較ロジック
-		if (incrementedId == null || incrementedId.compareTo(newId) <= 0) {
-			return newId;
-		} else {
-			return incrementedId;
-		}
+		return idAllocator.nextId(headString, sql);
 	}
 
 	/**
@@ -0,0 +1,200 @@
+package com.api.jobpal.common.base;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * ダッシュボードの表示データを保持するキャッシュ
+ *
+ * <p>表示データを対象（就職活動・証明書）、表示範囲、ユーザID、ユーザ区分ごとに保持し、<br>
+ * 申請・報告・証明書・ユーザの更新時に影響する表示データのみを破棄します。</p>
+ * <ul>
+ * <li>複数の学生の申請を表示するデータ（管理者・担任・事務）は、対象の更新で破棄します。</li>
+ * <li>学生個人の表示データ、および通知件数は、指定されたユーザの分のみ破棄します。</li>
+ * <li>バッチ処理による再通知の設定・支払期限切れの証明書の削除でも、同様に破棄します。</li>
+ * <li>ユーザの更新・削除では、両方の対象の複数の学生の申請を表示するデータと、そのユーザの表示データを破棄します。</li>
+ * <li>受験報告の評価結果は詳細（キャッシュ対象外）にのみ表示するため、評価の更新では破棄しません。</li>
+ * <li>破棄は更新したインスタンスのみで行われるため、他のインスタンスでは保持期間を過ぎるまで更新前のデータを返す場合があります。</li>
+ * </ul>
+ * <p>ヒット・ミス・上限超過による破棄の件数はアクチュエータのメトリクス（cache.gets、cache.evictionsなど、
+ * cache=dashboard）で、更新による破棄の件数はdashboard.cache.invalidationsで参照できます。</p>
+ */
+@Component
+public class DashBoardCache {
+
+	/**
+	 * キャッシュの対象
+	 */
+	public enum Region {
+		/** 就職活動ダッシュボード */
+		JOB_SEARCH,
+		/** 証明書ダッシュボード */
+		CERTIFICATE
+	}
+
+	/**
+	 * 表示データの読み込み処理
+	 *
+	 * @param <T> 表示データ
+	 * @param <E> 読み込み時にスローされる例外
+	 */
+	@FunctionalInterface
+	public interface Loader<T, E extends Exception> {
+		T load() throws E;
+	}
+
+	/**
+	 * キャッシュのキー
+	 *
+	 * @param region   対象
+	 * @param shared   複数の学生の申請を表示するデータか
+	 * @param userId   ユーザID
+	 * @param userType ユーザ区分
+	 */
+	private record Key(Region region, boolean shared, String userId, String userType) {
+	}
+
+	/**
+	 * メトリクスに使用するキャッシュ名
+	 */
+	private static final String CACHE_NAME = "dashboard";
+
+	/**
+	 * 保持する表示データの最大件数
+	 */
+	@Value("${settings.dashboard.cache.max-size:500}")
+	private long maxSize;
+
+	/**
+	 * 表示データの保持期間（秒）
+	 */
+	@Value("${settings.dashboard.cache.ttl-seconds:60}")
+	private long ttlSeconds;
+
+	/**
+	 * メトリクスの登録先
+	 */
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * 表示データ
+	 */
+	private Cache<Key, Object> cache;
+
+	/**
+	 * 更新により破棄した表示データの件数
+	 */
+	private Counter invalidationCounter;
+
+	/**
+	 * 破棄の世代（読み込み中に破棄された表示データを保持しないために使用）
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	@PostConstruct
+	void init() {
+		cache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+		GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+		invalidationCounter = Counter.builder("dashboard.cache.invalidations")
+				.description("更新により破棄したダッシュボードの表示データの件数")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 表示データを取得します。保持していない場合は読み込んで保持します。
+	 *
+	 * @param region   対象
+	 * @param shared   複数の学生の申請を表示するデータか（管理者・担任・事務はtrue、学生はfalse）
+	 * @param userId   ユーザID
+	 * @param userType ユーザ区分
+	 * @param loader   表示データの読み込み処理
+	 * @return 表示データ
+	 * @throws E 読み込みに失敗した場合
+	 */
+	@SuppressWarnings("unchecked")
+	public <T, E extends Exception> T get(Region region, boolean shared, String userId, String userType,
+			Loader<T, E> loader) throws E {
+		Key key = new Key(region, shared, userId, userType);
+		Object cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return (T) cached;
+		}
+
+		// 読み込み中に破棄が行われた場合は、古いデータの可能性があるため保持しない
+		long loadedGeneration = generation.get();
+		T value = loader.load();
+		if (value != null && generation.get() == loadedGeneration) {
+			cache.put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * 就職活動の更新に伴い、表示データを破棄します。
+	 *
+	 * @param userIds 表示データ（通知件数を含む）が変わるユーザID（申請した学生、担任など）
+	 */
+	public void evictJobSearch(String... userIds) {
+		evict(Region.JOB_SEARCH, userIds);
+	}
+
+	/**
+	 * 証明書の更新に伴い、表示データを破棄します。
+	 *
+	 * @param userIds 表示データ（通知件数を含む）が変わるユーザID（申請した学生、担任、事務など）
+	 */
+	public void evictCertificate(String... userIds) {
+		evict(Region.CERTIFICATE, userIds);
+	}
+
+	/**
+	 * すべての表示データを破棄します。
+	 */
+	public void evictAll() {
+		generation.incrementAndGet();
+		invalidationCounter.increment(cache.size());
+		cache.invalidateAll();
+	}
+
+	/**
+	 * 指定された対象の複数の学生の申請を表示するデータと、指定されたユーザの表示データを破棄します。
+	 *
+	 * @param region  対象
+	 * @param userIds ユーザID（nullは無視）
+	 */
+	private void evict(Region region, String... userIds) {
+		generation.incrementAndGet();
+		Set<String> users = new HashSet<>();
+		for (String userId : userIds) {
+			if (userId != null) {
+				users.add(userId);
+			}
+		}
+		cache.asMap().keySet().removeIf(key -> {
+			boolean evicted = (key.region() == region && key.shared()) || users.contains(key.userId());
+			if (evicted) {
+				invalidationCounter.increment();
+			}
+			return evicted;
+		});
+	}
+}
@@ -0,0 +1,49 @@
+package com.api.jobpal.common.base;
+
+/**
+ * 各テーブルの新規IDを払い出すインターフェース
+ *
+ * <p>IDは「接頭辞_西暦_連番」の形式で払い出します。<br>
+ * 連番の桁数は接頭辞の長さによって決まります。</p>
+ * <ul>
+ * <li>接頭辞が1文字の場合: 6桁（例: N_2024_000001）</li>
+ * <li>接頭辞が2文字の場合: 5桁（例: JS_2024_00001）</li>
+ * </ul>
+ *
+ * <p>利用する実装は「settings.id.allocator」で切り替えます。</p>
+ */
+public interface IdAllocator {
+
+	/**
+	 * 新規IDを払い出します。
+	 *
+	 * @param headString IDの先頭の文字
+	 * @param maxIdSql 現在の最大のIDを取得するSQL文（採番の初期値の算出に使用）
+	 * @return 新規ID
+	 */
+	String nextId(String headString, String maxIdSql);
+
+	/**
+	 * IDの形式に整形します。
+	 *
+	 * @param headString IDの先頭の文字
+	 * @param year 西暦
+	 * @param number 連番
+	 * @return 整形したID
+	 */
+	static String formatId(String headString, int year, long number) {
+		// 文字の長さを指定
+		String idStringFormat = headString.length() == 1 ? "%06d" : "%05d";
+		return String.format("%s_%d_" + idStringFormat, headString, year, number);
+	}
+
+	/**
+	 * 連番の上限値を取得します。
+	 *
+	 * @param headString IDの先頭の文字
+	 * @return 連番の上限値
+	 */
+	static long maxNumber(String headString) {
+		return headString.length() == 1 ? 999_999L : 99_999L;
+	}
+}
@@ -0,0 +1,145 @@
+package com.api.jobpal.common.base;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * 列の位置を1度だけ解決し、検索結果を直接モデルへ格納するRowMapperの基底クラス
+ *
+ * <p>コンストラクタで指定した列名の位置を1行目の読み込み時に解決し、<br>
+ * 2行目以降は解決済みの位置で値を取得します。</p>
+ * <ul>
+ * <li>行ごとのMap生成や列名による検索を行いません。</li>
+ * <li>列の位置を保持するため、インスタンスはSQLの実行ごとに生成してください。</li>
+ * </ul>
+ *
+ * @param <T> 格納先のモデル
+ */
+public abstract class IndexedRowMapper<T> implements RowMapper<T> {
+
+	/**
+	 * 取得する列名
+	 */
+	private final String[] columnLabels;
+
+	/**
+	 * 列名に対応する列の位置（未解決の場合はnull）
+	 */
+	private int[] columnIndexes;
+
+	/**
+	 * @param columnLabels 取得する列名（{@link #mapRow(ResultSet, int[])}で参照する順番）
+	 */
+	protected IndexedRowMapper(String... columnLabels) {
+		this.columnLabels = columnLabels;
+	}
+
+	@Override
+	public final T mapRow(ResultSet rs, int rowNum) throws SQLException {
+		if (columnIndexes == null) {
+			// 列名から列の位置を解決
+			int[] indexes = new int[columnLabels.length];
+			for (int i = 0; i < columnLabels.length; i++) {
+				indexes[i] = rs.findColumn(columnLabels[i]);
+			}
+			columnIndexes = indexes;
+		}
+		return mapRow(rs, columnIndexes);
+	}
+
+	/**
+	 * 1行分の検索結果をモデルへ格納します。
+	 *
+	 * @param rs 検索結果
+	 * @param columns コンストラクタで指定した列名の順に並んだ列の位置
+	 * @return 格納したモデル
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	protected abstract T mapRow(ResultSet rs, int[] columns) throws SQLException;
+
+	/**
+	 * 文字列データを取得します。
+	 *
+	 * @param rs 検索結果
+	 * @param column 列の位置
+	 * @return 取得した文字列データ。存在しない場合はnull。
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	protected static String getString(ResultSet rs, int column) throws SQLException {
+		return rs.getString(column);
+	}
+
+	/**
+	 * 整数データを取得します。
+	 * <p>文字型の列（学年・出席番号など）は数値に変換します。</p>
+	 *
+	 * @param rs 検索結果
+	 * @param column 列の位置
+	 * @return 取得した整数データ。存在しない場合はnull。
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	protected static Integer getInteger(ResultSet rs, int column) throws SQLException {
+		Object value = rs.getObject(column);
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof Number number) {
+			return number.intValue();
+		}
+		return Integer.parseInt(value.toString().trim());
+	}
+
+	/**
+	 * ブールデータを取得します。
+	 *
+	 * @param rs 検索結果
+	 * @param column 列の位置
+	 * @return 取得したブールデータ。存在しない場合はnull。
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	protected static Boolean getBoolean(ResultSet rs, int column) throws SQLException {
+		boolean value = rs.getBoolean(column);
+		return rs.wasNull() ? null : value;
+	}
+
+	/**
+	 * タイムスタンプデータを取得します。
+	 *
+	 * @param rs 検索結果
+	 * @param column 列の位置
+	 * @return 取得したタイムスタンプデータ。存在しない場合はnull。
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	protected static Timestamp getTimestamp(ResultSet rs, int column) throws SQLException {
+		return rs.getTimestamp(column);
+	}
+
+	/**
+	 * 日付データを取得します。
+	 *
+	 * @param rs 検索結果
+	 * @param column 列の位置
+	 * @return 取得した日付データ。存在しない場合はnull。
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	protected static Date getDate(ResultSet rs, int column) throws SQLException {
+		return rs.getDate(column);
+	}
+
+	/**
+	 * 時間データを取得します。
+	 *
+	 * @param rs 検索結果
+	 * @param column 列の位置
+	 * @return 取得した時間データ。存在しない場合はnull。
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	protected static Time getTime(ResultSet rs, int column) throws SQLException {
+		return rs.getTime(column);
+	}
+}
@@ -0,0 +1,83 @@
+package com.api.jobpal.common.base;
+
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 現在の最大のIDから新規IDを算出する採番クラス
+ *
+ * <p>払い出しのたびにテーブルの最大IDを取得し、連番を1加算します。<br>
+ * 同時に登録が行われた場合はIDが重複するため、「settings.id.allocator=max」を指定した場合のみ使用します。</p>
+ */
+@Component
+@ConditionalOnProperty(name = "settings.id.allocator", havingValue = "max")
+public class MaxQueryIdAllocator implements IdAllocator {
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * 新規IDを取得するロジック
+	 * @param headString IDの先頭の文字
+	 * @param maxIdSql 現在の最大のIDを取得するSQL文
+	 * @return 新規ID
+	 */
+	@Override
+	public String nextId(String headString, String maxIdSql) {
+		// 文字の長さを指定
+		String idStringFormat = headString.length() == 1 ? "%06d" : "%05d";
+
+		// 現在の年を取得して、新しいIDを作成
+		String newId = IdAllocator.formatId(headString, Year.now().getValue(), 1);
+
+		// パラメータを格納するためのマップを作成
+		Map<String, Object> params = new HashMap<>();
+
+		String incrementedId = null;
+		try {
+			// SQLクエリを実行し、結果を取得
+			String maxId = jdbc.queryForObject(maxIdSql, params, String.class);
+
+			// nullチェックとパターン検証
+			if (maxId != null && maxId.contains("_")) {
+				// パターンに基づいて接頭辞部分を特定
+				int lastUnderscoreIndex = maxId.lastIndexOf("_");
+				String prefix = maxId.substring(0, lastUnderscoreIndex + 1);
+				String numericPart = maxId.substring(lastUnderscoreIndex + 1);
+
+				try {
+					// 数字部分をパースしてインクリメント
+					int number = Integer.parseInt(numericPart);
+					number += 1; // 数字に1を足す
+
+					// ゼロ埋めを維持
+					incrementedId = prefix + String.format(idStringFormat, number);
+				} catch (NumberFormatException e) {
+					// 数字部分の解析に失敗した場合はnullにする
+					incrementedId = null;
+				}
+			}
+		} catch (EmptyResultDataAccessException e) {
+			// 結果が見つからない場合は新しいIDにフォールバック
+			incrementedId = null;
+		} catch (Exception e) {
+			// その他の予期しないエラーをキャッチ
+			e.printStackTrace();
+			incrementedId = null;
+		}
+
+		// 比較ロジック
+		if (incrementedId == null || incrementedId.compareTo(newId) <= 0) {
+			return newId;
+		} else {
+			return incrementedId;
+		}
+	}
+}
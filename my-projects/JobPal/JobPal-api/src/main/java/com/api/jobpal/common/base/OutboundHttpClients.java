@@ -0,0 +1,364 @@
+package com.api.jobpal.common.base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 外部サービスを呼び出すRestTemplateを、連携先ごとに生成するクラス
+ *
+ * <p>
+ * すべての連携先で1つの接続プールを共有し、接続先ごとの接続数を「settings.http.max-per-route」までに制限します。<br>
+ * 連携先ごとに以下を「settings.http.integrations.&lt;連携先&gt;.*」で指定できます（未指定の場合は「settings.http.*」の値）。
+ * </p>
+ * <ul>
+ * <li>connect-timeout-ms：接続の待ち時間</li>
+ * <li>read-timeout-ms：応答の待ち時間</li>
+ * <li>max-concurrent：同時呼び出し数の上限。上限に達した場合はacquire-timeout-msだけ待ち、空かない場合は{@link BulkheadFullException}をスローします。</li>
+ * <li>acquire-timeout-ms：同時呼び出しの空きを待つ時間</li>
+ * </ul>
+ *
+ * <p>
+ * 呼び出し時間と結果はメトリクス（http.outbound.requests、integration=連携先、outcome=success/client_error/server_error/io_error/rejected）で参照できます。
+ * </p>
+ */
+@Component
+public class OutboundHttpClients {
+
+	/**
+	 * 呼び出し結果のメトリクス名
+	 */
+	private static final String METRIC_REQUESTS = "http.outbound.requests";
+
+	/**
+	 * 連携先ごとの設定の接頭辞
+	 */
+	private static final String INTEGRATION_PREFIX = "settings.http.integrations.";
+
+	/**
+	 * 接続プール全体の最大接続数
+	 */
+	@Value("${settings.http.max-total:50}")
+	private int maxTotal;
+
+	/**
+	 * 接続先ごとの最大接続数
+	 */
+	@Value("${settings.http.max-per-route:10}")
+	private int maxPerRoute;
+
+	/**
+	 * 接続プールから接続を取得するまでの待ち時間（ミリ秒）
+	 */
+	@Value("${settings.http.connection-request-timeout-ms:1000}")
+	private long connectionRequestTimeoutMillis;
+
+	/**
+	 * 使用されていない接続を閉じるまでの時間（秒）
+	 */
+	@Value("${settings.http.idle-timeout-seconds:30}")
+	private long idleTimeoutSeconds;
+
+	/**
+	 * 接続の待ち時間（ミリ秒）
+	 */
+	@Value("${settings.http.connect-timeout-ms:1000}")
+	private long connectTimeoutMillis;
+
+	/**
+	 * 応答の待ち時間（ミリ秒）
+	 */
+	@Value("${settings.http.read-timeout-ms:5000}")
+	private long readTimeoutMillis;
+
+	/**
+	 * 連携先ごとの同時呼び出し数の上限
+	 */
+	@Value("${settings.http.max-concurrent:10}")
+	private int maxConcurrent;
+
+	/**
+	 * 同時呼び出しの空きを待つ時間（ミリ秒）
+	 */
+	@Value("${settings.http.acquire-timeout-ms:100}")
+	private long acquireTimeoutMillis;
+
+	/**
+	 * RestTemplateの生成に使用するビルダー。
+	 */
+	@Autowired
+	private RestTemplateBuilder restTemplateBuilder;
+
+	/**
+	 * 連携先ごとの設定の参照先。
+	 */
+	@Autowired
+	private Environment environment;
+
+	/**
+	 * メトリクスの登録先。
+	 */
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * 共有する接続プール
+	 */
+	private PoolingHttpClientConnectionManager connectionManager;
+
+	/**
+	 * 接続プールを所有し、使用されていない接続を閉じるHTTPクライアント
+	 */
+	private CloseableHttpClient httpClient;
+
+	/**
+	 * 連携先ごとのHTTPクライアント（接続プールは共有し、応答の待ち時間のみ連携先ごとに設定）
+	 */
+	private final List<CloseableHttpClient> integrationHttpClients = new CopyOnWriteArrayList<>();
+
+	/**
+	 * 生成済みのRestTemplate（連携先ごと）
+	 */
+	private final Map<String, RestTemplate> restTemplates = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void init() {
+		connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(Math.max(maxTotal, 1))
+				.setMaxConnPerRoute(Math.max(maxPerRoute, 1))
+				.build();
+		httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.ofSeconds(idleTimeoutSeconds))
+				.build();
+
+		Gauge.builder("http.outbound.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+				.register(meterRegistry);
+		Gauge.builder("http.outbound.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+				.register(meterRegistry);
+		Gauge.builder("http.outbound.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+				.register(meterRegistry);
+	}
+
+	@PreDestroy
+	void close() throws IOException {
+		for (CloseableHttpClient integrationHttpClient : integrationHttpClients) {
+			integrationHttpClient.close();
+		}
+		httpClient.close();
+	}
+
+	/**
+	 * 指定された連携先のRestTemplateを返却します。同じ連携先には同じインスタンスを返却します。
+	 *
+	 * @param integration 連携先（メトリクスと設定の名前）
+	 * @return RestTemplate
+	 */
+	public RestTemplate restTemplate(String integration) {
+		return restTemplates.computeIfAbsent(integration, this::create);
+	}
+
+	/**
+	 * 連携先の設定でRestTemplateを生成します。
+	 *
+	 * @param integration 連携先
+	 * @return RestTemplate
+	 */
+	private RestTemplate create(String integration) {
+		// 応答の待ち時間は、接続プールを共有するHTTPクライアントの既定のリクエスト設定で指定する
+		CloseableHttpClient integrationHttpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setConnectionManagerShared(true)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setResponseTimeout(Timeout.ofMilliseconds(
+								integrationProperty(integration, "read-timeout-ms", readTimeoutMillis)))
+						.build())
+				.build();
+		integrationHttpClients.add(integrationHttpClient);
+
+		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(
+				integrationHttpClient);
+		requestFactory.setConnectionRequestTimeout(Duration.ofMillis(connectionRequestTimeoutMillis));
+		requestFactory.setConnectTimeout(
+				Duration.ofMillis(integrationProperty(integration, "connect-timeout-ms", connectTimeoutMillis)));
+
+		int integrationMaxConcurrent = Math.max(
+				(int) integrationProperty(integration, "max-concurrent", maxConcurrent), 1);
+		long integrationAcquireTimeout = integrationProperty(integration, "acquire-timeout-ms", acquireTimeoutMillis);
+		BulkheadInterceptor bulkhead = new BulkheadInterceptor(integration, integrationMaxConcurrent,
+				integrationAcquireTimeout);
+		Gauge.builder("http.outbound.in-flight", bulkhead, BulkheadInterceptor::inFlight)
+				.tag("integration", integration)
+				.register(meterRegistry);
+
+		return restTemplateBuilder
+				.requestFactory(() -> requestFactory)
+				.additionalInterceptors(bulkhead)
+				.build();
+	}
+
+	/**
+	 * 連携先の設定値を取得します。
+	 *
+	 * @param integration  連携先
+	 * @param name         設定名
+	 * @param defaultValue 連携先の設定がない場合の値
+	 * @return 設定値
+	 */
+	private long integrationProperty(String integration, String name, long defaultValue) {
+		return environment.getProperty(INTEGRATION_PREFIX + integration + "." + name, Long.class, defaultValue);
+	}
+
+	/**
+	 * 連携先への同時呼び出し数を制限し、呼び出し時間と結果を記録するインターセプタ
+	 *
+	 * <p>
+	 * 同時呼び出しの枠はレスポンスを閉じるまで保持します（レスポンスボディの読み込みを含めて制限します）。
+	 * </p>
+	 */
+	private final class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+
+		private final String integration;
+
+		private final int maxConcurrent;
+
+		private final long acquireTimeoutMillis;
+
+		private final Semaphore permits;
+
+		BulkheadInterceptor(String integration, int maxConcurrent, long acquireTimeoutMillis) {
+			this.integration = integration;
+			this.maxConcurrent = maxConcurrent;
+			this.acquireTimeoutMillis = Math.max(acquireTimeoutMillis, 0);
+			this.permits = new Semaphore(maxConcurrent);
+		}
+
+		int inFlight() {
+			return maxConcurrent - permits.availablePermits();
+		}
+
+		@Override
+		public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+				throws IOException {
+			Timer.Sample sample = Timer.start(meterRegistry);
+			try {
+				if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+					record(sample, "rejected");
+					throw new BulkheadFullException(integration, maxConcurrent);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				record(sample, "rejected");
+				throw new InterruptedIOException("Interrupted while waiting for " + integration);
+			}
+
+			ClientHttpResponse response;
+			try {
+				response = execution.execute(request, body);
+			} catch (IOException | RuntimeException e) {
+				permits.release();
+				record(sample, "io_error");
+				throw e;
+			}
+			return new ReleasingResponse(response, sample);
+		}
+
+		private void record(Timer.Sample sample, String outcome) {
+			sample.stop(meterRegistry.timer(METRIC_REQUESTS, "integration", integration, "outcome", outcome));
+		}
+
+		/**
+		 * 閉じた時に同時呼び出しの枠を解放し、呼び出し時間を記録するレスポンス
+		 */
+		private final class ReleasingResponse implements ClientHttpResponse {
+
+			private final ClientHttpResponse delegate;
+
+			private final Timer.Sample sample;
+
+			private final AtomicBoolean closed = new AtomicBoolean();
+
+			ReleasingResponse(ClientHttpResponse delegate, Timer.Sample sample) {
+				this.delegate = delegate;
+				this.sample = sample;
+			}
+
+			@Override
+			public HttpStatusCode getStatusCode() throws IOException {
+				return delegate.getStatusCode();
+			}
+
+			@Override
+			public String getStatusText() throws IOException {
+				return delegate.getStatusText();
+			}
+
+			@Override
+			public HttpHeaders getHeaders() {
+				return delegate.getHeaders();
+			}
+
+			@Override
+			public InputStream getBody() throws IOException {
+				return delegate.getBody();
+			}
+
+			@Override
+			public void close() {
+				if (!closed.compareAndSet(false, true)) {
+					return;
+				}
+				String outcome;
+				try {
+					HttpStatusCode status = delegate.getStatusCode();
+					outcome = status.is5xxServerError() ? "server_error"
+							: status.is4xxClientError() ? "client_error" : "success";
+				} catch (IOException e) {
+					outcome = "io_error";
+				}
+				try {
+					delegate.close();
+				} finally {
+					permits.release();
+					record(sample, outcome);
+				}
+			}
+		}
+	}
+}
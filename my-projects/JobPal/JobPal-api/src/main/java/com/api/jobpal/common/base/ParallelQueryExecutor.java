@@ -0,0 +1,179 @@
+package com.api.jobpal.common.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 互いに依存しない複数の参照処理を仮想スレッドで同時に実行するクラス
+ *
+ * <p>{@link #open()}で作成したスコープ内で処理を登録し、{@link Scope#join()}ですべての完了を待ちます。<br>
+ * 処理時間は最も遅い処理の時間に近づきます。</p>
+ * <ul>
+ * <li>いずれかの処理が失敗した場合は、残りの処理を中断し、失敗した処理の例外をスローします。</li>
+ * <li>スコープの作成から「settings.query.parallel.timeout-ms」を過ぎても完了しない場合は、
+ * 残りの処理を中断し、{@link QueryTimeoutException}をスローします。</li>
+ * <li>スコープを閉じた時点で完了していない処理は中断します。</li>
+ * </ul>
+ *
+ * <pre>
+ * try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+ * 	Supplier&lt;A&gt; a = scope.fork(() -&gt; repositoryA.select());
+ * 	Supplier&lt;B&gt; b = scope.fork(() -&gt; repositoryB.select());
+ * 	scope.join();
+ * 	return new Result(a.get(), b.get());
+ * }
+ * </pre>
+ *
+ * <p>登録した処理は別のスレッドで実行されるため、呼び出し元のトランザクションには参加しません。<br>
+ * 更新処理や、同じトランザクション内の未コミットのデータを参照する処理には使用しないでください。</p>
+ */
+@Component
+public class ParallelQueryExecutor {
+
+	/**
+	 * スコープ内のすべての処理の完了を待つ時間（ミリ秒）
+	 */
+	@Value("${settings.query.parallel.timeout-ms:5000}")
+	private long timeoutMillis;
+
+	/**
+	 * 処理ごとに仮想スレッドを作成する実行環境
+	 */
+	private ExecutorService executor;
+
+	@PostConstruct
+	void init() {
+		if (timeoutMillis < 1) {
+			throw new IllegalStateException("settings.query.parallel.timeout-msには1以上を指定してください。");
+		}
+		executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("parallel-query-", 0).factory());
+	}
+
+	@PreDestroy
+	void destroy() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * 処理を登録するスコープを作成します。待ち時間はこの時点から計測します。
+	 *
+	 * @return スコープ（try-with-resourcesで閉じること）
+	 */
+	public Scope open() {
+		return new Scope(executor, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+	}
+
+	/**
+	 * 同時に実行する処理のまとまり
+	 *
+	 * <p>1つのスレッドから使用してください。</p>
+	 */
+	public static final class Scope implements AutoCloseable {
+		/** 完了した順に処理を受け取るための実行環境 */
+		private final CompletionService<Object> completionService;
+		/** 登録した処理 */
+		private final List<Future<Object>> futures = new ArrayList<>();
+		/** 待ち時間の期限（System.nanoTime()の値） */
+		private final long deadlineNanos;
+		/** すべての処理が完了したか */
+		private boolean joined;
+
+		private Scope(ExecutorService executor, long deadlineNanos) {
+			this.completionService = new ExecutorCompletionService<>(executor);
+			this.deadlineNanos = deadlineNanos;
+		}
+
+		/**
+		 * 処理を登録し、実行を開始します。
+		 *
+		 * @param <T>  処理結果
+		 * @param task 処理
+		 * @return 処理結果の取得（{@link #join()}の後に使用すること）
+		 */
+		@SuppressWarnings("unchecked")
+		public <T> Supplier<T> fork(Callable<T> task) {
+			if (joined) {
+				throw new IllegalStateException("join後に処理は登録できません。");
+			}
+			Future<Object> future = completionService.submit((Callable<Object>) task);
+			futures.add(future);
+			return () -> {
+				if (!joined) {
+					throw new IllegalStateException("joinの前に処理結果は取得できません。");
+				}
+				return (T) future.resultNow();
+			};
+		}
+
+		/**
+		 * 登録したすべての処理の完了を待ちます。
+		 *
+		 * @throws QueryTimeoutException 期限までに完了しなかった場合
+		 * @throws RuntimeException      処理が失敗した場合（処理がスローした例外）
+		 */
+		public void join() {
+			try {
+				for (int remaining = futures.size(); remaining > 0; remaining--) {
+					long waitNanos = deadlineNanos - System.nanoTime();
+					Future<Object> done = completionService.poll(Math.max(waitNanos, 0), TimeUnit.NANOSECONDS);
+					if (done == null) {
+						throw new QueryTimeoutException("並列で実行した参照処理が期限内に完了しませんでした。");
+					}
+					// 失敗した処理があれば、その例外をスローする
+					done.get();
+				}
+				joined = true;
+			} catch (ExecutionException e) {
+				cancelAll();
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (cause instanceof Error error) {
+					throw error;
+				}
+				throw new IllegalStateException(cause);
+			} catch (InterruptedException e) {
+				cancelAll();
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("参照処理の完了待ちが中断されました。", e);
+			} catch (RuntimeException e) {
+				cancelAll();
+				throw e;
+			}
+		}
+
+		/**
+		 * 完了していない処理を中断します。
+		 */
+		@Override
+		public void close() {
+			cancelAll();
+		}
+
+		/**
+		 * 完了していない処理を中断します。
+		 */
+		private void cancelAll() {
+			for (Future<Object> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+}
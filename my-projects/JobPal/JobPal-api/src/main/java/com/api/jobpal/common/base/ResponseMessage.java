@@ -29,5 +29,6 @@ public class ResponseMessage {
     public static final String STATUS_NOT_ALLOWED_MESSAGE = "処理が許可されないステータスです";
     public static final String API_CONNECTION_ERROR_MESSAGE = "外部API通信に失敗しました";
     public static final String ADD_USER_ERROR_MESSAGE = "そのユーザは既に存在します";
+    public static final String IMPORT_USER_INTERRUPTED_MESSAGE = "ユーザの一括登録が中断されました。同じファイルと一括登録IDを指定すると続きから登録します";
 
 }
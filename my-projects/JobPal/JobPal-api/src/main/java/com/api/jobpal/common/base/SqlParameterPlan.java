@@ -0,0 +1,109 @@
+package com.api.jobpal.common.base;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL文のパラメータ名を解析済みの状態で保持するクラス
+ *
+ * <p>SQL文中の「:パラメータ名」を出現順に配列で保持し、<br>
+ * 可変長引数の値を同じ順番でバインド用のMapに設定します。</p>
+ * <ul>
+ * <li>パラメータ名は「:」の直後から次の半角スペース（またはSQL文の末尾）までとします。</li>
+ * <li>解析結果はSQL文ごとにキャッシュし、2回目以降は再解析しません。</li>
+ * </ul>
+ */
+final class SqlParameterPlan {
+	/**
+	 * キャッシュするSQL文の上限数
+	 * <p>SQL文は定数のため通常は到達しませんが、動的に組み立てたSQL文でキャッシュが肥大化しないようにします。</p>
+	 */
+	private static final int MAX_CACHE_SIZE = 1024;
+
+	/**
+	 * SQL文ごとの解析結果
+	 */
+	private static final Map<String, SqlParameterPlan> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * 出現順のパラメータ名
+	 */
+	private final String[] parameterNames;
+
+	private SqlParameterPlan(String[] parameterNames) {
+		this.parameterNames = parameterNames;
+	}
+
+	/**
+	 * SQL文の解析結果を取得します。
+	 *
+	 * @param query SQL文
+	 * @return 解析結果
+	 */
+	static SqlParameterPlan of(String query) {
+		SqlParameterPlan plan = CACHE.get(query);
+		if (plan != null) {
+			return plan;
+		}
+		plan = new SqlParameterPlan(parse(query));
+		if (CACHE.size() < MAX_CACHE_SIZE) {
+			CACHE.putIfAbsent(query, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * パラメータの値をバインド用のMapに設定します。
+	 *
+	 * @param inputValue パラメータの値（SQL文中の出現順）
+	 * @return バインド用のMap型のparams
+	 */
+	Map<String, Object> bind(Object... inputValue) {
+		Map<String, Object> params = new HashMap<>(parameterNames.length * 2);
+		for (int i = 0; i < parameterNames.length; i++) {
+			params.put(parameterNames[i], inputValue[i]);
+		}
+		return params;
+	}
+
+	/**
+	 * 出現順のパラメータ名を取得します。
+	 *
+	 * @return パラメータ名の配列
+	 */
+	String[] getParameterNames() {
+		return parameterNames.clone();
+	}
+
+	/**
+	 * SQL文からパラメータ名を出現順に取り出します。
+	 *
+	 * @param query SQL文
+	 * @return パラメータ名の配列
+	 */
+	private static String[] parse(String query) {
+		List<String> names = new ArrayList<>();
+
+		// 必要な文字の先頭のindexを取得
+		int start = query.indexOf(':') + 1;
+		while (true) {
+			// 必要な文字の末尾のindexを取得し、見つからなかった場合は文字の末尾とする
+			int end = query.indexOf(' ', start);
+			if (end == -1) {
+				end = query.length();
+			}
+			names.add(query.substring(start, end));
+
+			// 次のパラメータの先頭のindexを取得
+			int next = query.indexOf(':', start);
+			if (next == -1) {
+				break;
+			}
+			start = next + 1;
+		}
+		return names.toArray(new String[0]);
+	}
+}
@@ -0,0 +1,78 @@
+package com.api.jobpal.common.base;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 検索結果を1行ずつ読み込み、読み込んだ行から順に処理するクラス
+ *
+ * <p>検索結果は「settings.csv.fetch-size」行ずつDBから取得し、すべての行をメモリに保持しません。<br>
+ * CSV出力など、件数に上限のない検索結果をそのまま書き出す処理に使用します。</p>
+ *
+ * <p>PostgreSQLはトランザクション内でのみ指定した行数ずつ取得するため、読み取り専用のトランザクションで実行します。<br>
+ * 行の処理が終わるまで接続を保持するため、行の処理では書き出し以外の時間のかかる処理を行わないでください。</p>
+ */
+@Component
+public class StreamingQueryExecutor {
+
+	/**
+	 * DBから1度に取得する行数
+	 */
+	@Value("${settings.csv.fetch-size:500}")
+	private int fetchSize;
+
+	/**
+	 * 接続先の参照に使用するオブジェクト。
+	 */
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * 取得行数を指定したSQLの実行オブジェクト
+	 */
+	private NamedParameterJdbcTemplate streamingJdbc;
+
+	@PostConstruct
+	void init() {
+		if (fetchSize < 1) {
+			throw new IllegalStateException("settings.csv.fetch-sizeには1以上を指定してください。");
+		}
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(jdbc.getJdbcTemplate().getDataSource());
+		jdbcTemplate.setFetchSize(fetchSize);
+		streamingJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+	}
+
+	/**
+	 * SQLを実行し、検索結果を1行ずつモデルへ格納して処理します。
+	 *
+	 * @param <T>       格納先のモデル
+	 * @param sql       SQL
+	 * @param params    パラメータ
+	 * @param rowMapper 1行分の検索結果をモデルへ格納するオブジェクト
+	 * @param action    1行ごとの処理
+	 * @return 処理した行数
+	 */
+	@Transactional(readOnly = true)
+	public <T> int stream(String sql, Map<String, ?> params, RowMapper<T> rowMapper, Consumer<? super T> action) {
+		Integer rowCount = streamingJdbc.query(sql, params, (ResultSetExtractor<Integer>) rs -> {
+			int rowNum = 0;
+			while (rs.next()) {
+				action.accept(rowMapper.mapRow(rs, rowNum));
+				rowNum++;
+			}
+			return rowNum;
+		});
+		return rowCount == null ? 0 : rowCount;
+	}
+}
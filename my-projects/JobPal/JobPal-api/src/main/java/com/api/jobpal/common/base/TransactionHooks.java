@@ -0,0 +1,39 @@
+package com.api.jobpal.common.base;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * トランザクションのコミットに合わせて処理を実行するためのクラス
+ *
+ * <p>メモリ上の索引・集計値の更新など、ロールバックされた変更を反映してはならない処理に使用します。</p>
+ *
+ * <pre>
+ * TransactionHooks.afterCommit(() -> refresh(id));
+ * </pre>
+ */
+public final class TransactionHooks {
+
+	private TransactionHooks() {
+	}
+
+	/**
+	 * トランザクション中の場合はコミット後に、それ以外はすぐに処理を実行します。
+	 *
+	 * <p>コミット後の処理で発生した例外は、コミット済みのトランザクションには影響しません。必要に応じて処理内で捕捉してください。</p>
+	 *
+	 * @param task 処理
+	 */
+	public static void afterCommit(Runnable task) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			task.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				task.run();
+			}
+		});
+	}
+}
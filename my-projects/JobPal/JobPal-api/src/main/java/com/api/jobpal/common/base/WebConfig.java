@@ -65,11 +65,27 @@ public class WebConfig {
     }
 
     /**
-     * RestTemplateのインスタンスを生成.
+     * 郵便番号API用のRestTemplateのインスタンスを生成.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate zipCodeRestTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.restTemplate("zipcode");
+    }
+
+    /**
+     * メール送信API用のRestTemplateのインスタンスを生成.
+     */
+    @Bean
+    public RestTemplate mailRestTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.restTemplate("mail");
+    }
+
+    /**
+     * AIサービス用のRestTemplateのインスタンスを生成.
+     */
+    @Bean
+    public RestTemplate evaluationRestTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.restTemplate("evaluation");
     }
 
     /**
@@ -17,8 +17,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.web.filter.GenericFilterBean;
 
-import com.api.domain.models.dbdata.UserData;
-import com.api.domain.repositories.UserRepository;
 import com.api.domain.validations.UserAuthority;
 import com.api.jobpal.common.base.ResponseMessage;
 import com.api.jobpal.common.base.WebConfig;
@@ -44,7 +42,7 @@ public class JwtTokenFilter extends GenericFilterBean {
 
     private final ObjectMapper objectMapper;
 
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     private final JWTVerifier accessJwtVerifier;
 
@@ -59,8 +57,8 @@ public class JwtTokenFilter extends GenericFilterBean {
             UserAuthority.STUDENT.getGrantId(),
             Collections.singleton(new SimpleGrantedAuthority(UserAuthority.STUDENT.getGrantId())));
 
-    public JwtTokenFilter(JWTVerifier accessJwtVerifier, UserRepository userRepository, ObjectMapper objectMapper) {
-        this.userRepository = userRepository;
+    public JwtTokenFilter(JWTVerifier accessJwtVerifier, PrincipalCache principalCache, ObjectMapper objectMapper) {
+        this.principalCache = principalCache;
         this.accessJwtVerifier = accessJwtVerifier;
         this.objectMapper = objectMapper;
     }
@@ -116,16 +114,21 @@ public class JwtTokenFilter extends GenericFilterBean {
     }
 
     /**
-     * デコードされたJWTを使用しDBからユーザデータを取得し、Principalを作成する.
+     * デコードされたJWTを使用しユーザ区分を取得し、Principalを作成する.
+     * 存在しないユーザ、ロックなどで無効なユーザの場合は認証しない.
      *
      * @param jwt デコードされたJWT
      */
     private void authentication(DecodedJWT jwt) {
         String userId = jwt.getClaim(WebConfig.JWT_USER_ID_CLAIM_NAME).asString();
-        UserData userData = userRepository.selectTeacherStudentOne(userId, false);
-        Collection<GrantedAuthority> authorities = getAuthorityCollection(userData.getUserType());
+        String userType = principalCache.getActiveUserType(userId);
+        if (userType == null) {
+            SecurityContextHolder.clearContext();
+            return;
+        }
+        Collection<GrantedAuthority> authorities = getAuthorityCollection(userType);
 
-        User user = new User(userData.getUserId(), "", authorities);
+        User user = new User(userId, "", authorities);
         SecurityContextHolder.getContext()
                 .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
     }
@@ -32,6 +32,9 @@ public class JwtUsernamePasswordAuthenticationFilter extends UsernamePasswordAut
     @Autowired
     private LoginAttemptService attemptService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     private final ObjectMapper objectMapper;
 
     public JwtUsernamePasswordAuthenticationFilter(AuthenticationManager authenticationManager,
@@ -79,6 +82,7 @@ public class JwtUsernamePasswordAuthenticationFilter extends UsernamePasswordAut
                 if (attemptService.isBlocked(userId)) {
                     // ロック状態(1)に変更
                     userRepository.updateUserStateOne(userId, "1");
+                    principalCache.invalidate(userId);
                     System.out.println("ユーザID: " + userId + " がロックされました");
                 }
             }
@@ -0,0 +1,117 @@
+package com.api.jobpal.common.security;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.api.domain.models.dbdata.UserData;
+import com.api.domain.repositories.UserRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 認証済みリクエストのユーザ区分を保持するキャッシュ
+ *
+ * <p>JWTトークンで認証されたリクエストごとにユーザ情報を取得しないよう、ユーザIDごとにユーザ区分を保持します。<br>
+ * ユーザの更新・削除・ロック時は{@link #invalidate(String)}で破棄し、
+ * それ以外の経路で無効となったユーザも保持期間を過ぎると拒否します。</p>
+ * <p>ヒット・ミスの件数はアクチュエータのメトリクス（cache.gets、cache=principal）で参照できます。</p>
+ */
+@Component
+public class PrincipalCache {
+
+	/**
+	 * メトリクスに使用するキャッシュ名
+	 */
+	private static final String CACHE_NAME = "principal";
+
+	/**
+	 * 有効なユーザのステータス
+	 */
+	private static final String ACTIVE_STATUS = "0";
+
+	/**
+	 * 保持するユーザの最大件数
+	 */
+	@Value("${settings.security.principal-cache.max-size:1000}")
+	private long maxSize;
+
+	/**
+	 * ユーザ区分の保持期間（秒）
+	 */
+	@Value("${settings.security.principal-cache.ttl-seconds:30}")
+	private long ttlSeconds;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * ユーザIDごとのユーザ区分（存在しない・無効なユーザは空）
+	 */
+	private Cache<String, Optional<String>> cache;
+
+	/**
+	 * 破棄の世代（読み込み中に破棄されたユーザ区分を保持しないために使用）
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	@PostConstruct
+	void init() {
+		cache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+		GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/**
+	 * 有効なユーザのユーザ区分を取得します。保持していない場合はDBから取得して保持します。
+	 *
+	 * @param userId ユーザID
+	 * @return ユーザ区分（ユーザが存在しない、またはロックなどで無効な場合はnull）
+	 */
+	public String getActiveUserType(String userId) {
+		if (userId == null) {
+			return null;
+		}
+		Optional<String> cached = cache.getIfPresent(userId);
+		if (cached != null) {
+			return cached.orElse(null);
+		}
+
+		// 読み込み中に破棄が行われた場合は、古いデータの可能性があるため保持しない
+		long loadedGeneration = generation.get();
+		UserData userData = userRepository.selectTeacherStudentOne(userId, false);
+		Optional<String> userType = Optional.ofNullable(userData)
+				.filter(data -> ACTIVE_STATUS.equals(data.getUserStatus()))
+				.map(UserData::getUserType);
+		if (generation.get() == loadedGeneration) {
+			cache.put(userId, userType);
+		}
+		return userType.orElse(null);
+	}
+
+	/**
+	 * 指定されたユーザのユーザ区分を破棄します。
+	 *
+	 * @param userId ユーザID
+	 */
+	public void invalidate(String userId) {
+		generation.incrementAndGet();
+		if (userId != null) {
+			cache.invalidate(userId);
+		}
+	}
+}
@@ -33,6 +33,8 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.JWTVerifier;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.DispatcherType;
+
 /**
  * セキュリティ設定クラス.
  */
@@ -64,6 +66,9 @@ public class SecurityConfig {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    PrincipalCache principalCache;
+
     @Bean
     @Autowired
     SecurityFilterChain securityFilterChain(HttpSecurity http, Map<String, JWTVerifier> jwtVerifierMap)
@@ -85,8 +90,11 @@ public class SecurityConfig {
         }
 
         http.authorizeHttpRequests(authz -> {
-            authz.requestMatchers(
-                    AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/login"))
+            authz.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll() // 認証済みのリクエストの非同期処理（通知件数の配信）
+
+                    .requestMatchers(
+                            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/login"))
                     .permitAll() // ログイン不要
 
                     .requestMatchers(
@@ -109,6 +117,10 @@ public class SecurityConfig {
                             AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/user/**"))
                     .hasAuthority(UserAuthority.ADMIN.getGrantId()) // 管理者のみ
 
+                    .requestMatchers(
+                            AntPathRequestMatcher.antMatcher("/admin/**"))
+                    .hasAuthority(UserAuthority.ADMIN.getGrantId()) // 管理者のみ
+
                     // 上記以外はログインを必須とする
                     .anyRequest().authenticated();
         })
@@ -151,7 +163,7 @@ public class SecurityConfig {
                 })
 
                 // AUTHORIZE
-                .addFilterBefore(new JwtTokenFilter(jwtVerifierMap.get("accessVerifier"), userRepository, objectMapper),
+                .addFilterBefore(new JwtTokenFilter(jwtVerifierMap.get("accessVerifier"), principalCache, objectMapper),
                         UsernamePasswordAuthenticationFilter.class)
 
                 // SESSION
@@ -3,6 +3,9 @@ package com.api.jobpal.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +14,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.api.domain.models.entities.CertificateDashBoardEntity;
 import com.api.domain.models.entities.CertificateFeeAndWeightEntity;
@@ -18,7 +22,10 @@ import com.api.domain.models.forms.CertificateDashBoardForm;
 import com.api.domain.models.forms.CertificateInsertForm;
 import com.api.domain.repositories.UserRepository;
 import com.api.domain.services.CertificateDashBoardService;
+import com.api.domain.services.CsvExportService;
+import com.api.domain.validations.UserAuthority;
 import com.api.jobpal.common.base.BaseResponse;
+import com.api.jobpal.common.base.CsvResponse;
 import com.api.jobpal.common.base.ResponseMessage;
 import com.api.jobpal.common.base.Util;
 
@@ -32,6 +39,7 @@ import com.api.jobpal.common.base.Util;
  * <li>証明書料金・重量データの取得</li>
  * <li>新規証明書発行の作成</li>
  * <li>既存証明書発行データの更新</li>
+ * <li>証明書ダッシュボードデータのCSV出力</li>
  * </ul>
  * </p>
  *
@@ -61,6 +69,12 @@ public class CertificateDashBoardController {
 	@Autowired
 	private CertificateDashBoardService dashBoardService;
 
+	/**
+	 * CSV出力サービス。
+	 */
+	@Autowired
+	private CsvExportService csvExportService;
+
 	/**
 	 * ユーザリポジトリ。
 	 */
@@ -241,4 +255,20 @@ public class CertificateDashBoardController {
 		}
 	}
 
+	/**
+	 * 証明書ダッシュボードのデータを、証明書1種類につき1行のCSVで出力します。
+	 *
+	 * <p>
+	 * 出力範囲はログインしているユーザの権限で判定します（ダッシュボードの表示範囲と同一）。
+	 * </p>
+	 *
+	 * @param user ログインしているユーザ
+	 * @return CSVのレスポンス
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportDashBoard(@AuthenticationPrincipal User user) {
+		return CsvResponse.attachment("certificate",
+				csvExportService.exportCertificateIssuance(user.getUsername(), UserAuthority.grantIdOf(user)));
+	}
+
 }
@@ -0,0 +1,61 @@
+package com.api.jobpal.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.api.domain.services.ClassStatisticsService;
+import com.api.jobpal.common.base.BaseResponse;
+import com.api.jobpal.common.base.ResponseMessage;
+
+/**
+ * 担任のクラスの集計値を管理するコントローラークラスです。
+ *
+ * <p>
+ * <strong>主な機能:</strong>
+ * <ul>
+ * <li>保持している集計値の再構築</li>
+ * <li>保持している集計値の整合性確認</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * <strong>この機能は管理者ロールのユーザのみが利用できます</strong>
+ * </p>
+ */
+@RestController
+@RequestMapping("admin/statistics")
+public class ClassStatisticsController {
+
+	/**
+	 * クラス集計値サービス。
+	 */
+	@Autowired
+	private ClassStatisticsService classStatisticsService;
+
+	/**
+	 * 【管理者】保持しているクラスの集計値を全件から再構築します。
+	 *
+	 * @return 集計対象となったクラスの数
+	 */
+	@PostMapping("/rebuild")
+	public BaseResponse rebuild() {
+		int classCount = classStatisticsService.rebuild();
+		return BaseResponse.success(classCount, ResponseMessage.SUCCESS);
+	}
+
+	/**
+	 * 【管理者】保持しているクラスの集計値とDBから集計した値を比較します。
+	 *
+	 * @return 集計値が一致しない担任のユーザIDのリスト
+	 */
+	@GetMapping("/check")
+	public BaseResponse check() {
+		List<String> mismatchUserIdList = classStatisticsService.checkConsistency();
+		return BaseResponse.success(mismatchUserIdList, ResponseMessage.SUCCESS);
+	}
+}
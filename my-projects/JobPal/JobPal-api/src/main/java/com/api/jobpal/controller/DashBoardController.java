@@ -1,19 +1,33 @@
 package com.api.jobpal.controller;
 
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.api.domain.models.entities.DashBoardDisplayEntity;
+import com.api.domain.models.entities.DashBoardPageDisplayEntity;
 import com.api.domain.models.forms.DashBoardForm;
+import com.api.domain.models.forms.DashBoardPageForm;
 import com.api.domain.repositories.UserRepository;
+import com.api.domain.services.CsvExportService;
 import com.api.domain.services.DashBoardService;
+import com.api.domain.validations.UserAuthority;
 import com.api.jobpal.common.base.BaseResponse;
+import com.api.jobpal.common.base.CsvResponse;
+import com.api.jobpal.common.base.ParallelQueryExecutor;
 import com.api.jobpal.common.base.ResponseMessage;
 
 /**
@@ -24,6 +38,8 @@ import com.api.jobpal.common.base.ResponseMessage;
  * <ul>
  * <li>管理者および担任のダッシュボード情報取得</li>
  * <li>学生の個別ダッシュボード情報取得</li>
+ * <li>絞り込み・並び替え済みのダッシュボード情報のページ取得</li>
+ * <li>ダッシュボード情報・クラスの集計値のCSV出力</li>
  * </ul>
  * </p>
  *
@@ -67,27 +83,41 @@ public class DashBoardController {
 	@Autowired
 	private DashBoardService dashBoardService;
 
+	/**
+	 * CSV出力サービス。
+	 */
+	@Autowired
+	private CsvExportService csvExportService;
+
 	/**
 	 * ユーザリポジトリ。
 	 */
 	@Autowired
 	private UserRepository userRepository;
 
+	/**
+	 * 参照処理の並列実行。
+	 */
+	@Autowired
+	private ParallelQueryExecutor parallelQueryExecutor;
+
 	/**
 	 * ダッシュボード画面を表示します。
 	 *
 	 * <p>
 	 * - 管理者および担任の場合: 全件の申請情報を表示します。<br>
-	 * - 学生の場合: 個人の申請情報のみを表示します。
+	 * - 学生の場合: 個人の申請情報のみを表示します。<br>
+	 * 表示範囲は入力値ではなく、ログインしているユーザの権限で判定します。
 	 * </p>
 	 *
 	 * @param dashBoardForm 操作しているユーザの情報（必須）
 	 * @param bindingResult 入力バリデーションの結果
+	 * @param user          ログインしているユーザ
 	 * @return ダッシュボードのJSONレスポンス
 	 */
 	@PostMapping
 	public BaseResponse getDashBoardAll(@RequestBody @Validated DashBoardForm dashBoardForm,
-			BindingResult bindingResult) {
+			BindingResult bindingResult, @AuthenticationPrincipal User user) {
 
 		// 入力チェックエラーの場合
 		if (bindingResult.hasErrors()) {
@@ -95,23 +125,151 @@ public class DashBoardController {
 			return BaseResponse.badRequest();
 		}
 
+		// 表示範囲はログインしているユーザで判定
+		dashBoardForm.setUserId(user.getUsername());
+		dashBoardForm.setGrant(UserAuthority.grantIdOf(user));
+
 		DashBoardDisplayEntity dashBoardDisplayEntity;
+		String userName;
 		String grant = dashBoardForm.getGrant(); // ユーザ権限を取得
 
-		// 学生ユーザの場合
-		if ("0".equals(grant)) {
-			// 学生個人のダッシュボード情報を取得
-			dashBoardDisplayEntity = dashBoardService.getDashBoardUser(dashBoardForm.getUserId());
-		} else {
-			// 学生以外（管理者または担任）の場合、全件のダッシュボード情報を取得
-			dashBoardDisplayEntity = dashBoardService.getDashBoardAll(dashBoardForm.getUserId(), grant);
+		// ダッシュボード情報とユーザ名を同時に取得
+		try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+			Supplier<DashBoardDisplayEntity> dashBoard;
+			// 学生ユーザの場合
+			if ("0".equals(grant)) {
+				// 学生個人のダッシュボード情報を取得
+				dashBoard = scope.fork(() -> dashBoardService.getDashBoardUser(dashBoardForm.getUserId()));
+			} else {
+				// 学生以外（管理者または担任）の場合、全件のダッシュボード情報を取得
+				dashBoard = scope.fork(() -> dashBoardService.getDashBoardAll(dashBoardForm.getUserId(), grant));
+			}
+			Supplier<String> userNameSupplier = scope
+					.fork(() -> userRepository.selectUserName(user.getUsername()));
+			scope.join();
+			dashBoardDisplayEntity = dashBoard.get();
+			userName = userNameSupplier.get();
 		}
 
-		// ユーザ名を取得し、ダッシュボード情報に設定
-		dashBoardDisplayEntity.setUserName(userRepository.selectUserName(dashBoardForm.getUserId()));
+		// ユーザ名をダッシュボード情報に設定
+		dashBoardDisplayEntity.setUserName(userName);
 
 		// 成功レスポンスを返却
 		return BaseResponse.success(dashBoardDisplayEntity, ResponseMessage.SUCCESS);
 	}
 
+	/**
+	 * ダッシュボード画面を1ページ分表示します。
+	 *
+	 * <p>
+	 * 絞り込み条件・並び順を指定し、カーソルの次の行から指定件数を返却します。<br>
+	 * 次ページはレスポンスのnextCursorを指定して取得します。<br>
+	 * 取得範囲は入力値ではなく、ログインしているユーザの権限で判定します。
+	 * </p>
+	 *
+	 * @param dashBoardPageForm 操作しているユーザの情報と取得条件（必須）
+	 * @param bindingResult     入力バリデーションの結果
+	 * @param user              ログインしているユーザ
+	 * @return ダッシュボードのJSONレスポンス
+	 */
+	@PostMapping("/page")
+	public BaseResponse getDashBoardPage(@RequestBody @Validated DashBoardPageForm dashBoardPageForm,
+			BindingResult bindingResult, @AuthenticationPrincipal User user) {
+
+		// 入力チェックエラーの場合
+		if (bindingResult.hasErrors()) {
+			logger.warn("入力エラー: {}", bindingResult.toString());
+			return BaseResponse.badRequest();
+		}
+
+		// 取得範囲はログインしているユーザで判定
+		dashBoardPageForm.setUserId(user.getUsername());
+		dashBoardPageForm.setGrant(UserAuthority.grantIdOf(user));
+
+		DashBoardPageDisplayEntity dashBoardPageDisplayEntity;
+		String userName;
+		// 取得条件に該当するダッシュボード情報とユーザ名を同時に取得
+		try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+			Supplier<DashBoardPageDisplayEntity> dashBoardPage = scope
+					.fork(() -> dashBoardService.getDashBoardPage(dashBoardPageForm));
+			Supplier<String> userNameSupplier = scope
+					.fork(() -> userRepository.selectUserName(user.getUsername()));
+			scope.join();
+			dashBoardPageDisplayEntity = dashBoardPage.get();
+			userName = userNameSupplier.get();
+		} catch (IllegalArgumentException e) {
+			// カーソルや日付が不正な場合
+			logger.warn("入力エラー: {}", e.getMessage());
+			return BaseResponse.badRequest();
+		}
+
+		// ユーザ名をダッシュボード情報に設定
+		dashBoardPageDisplayEntity.setUserName(userName);
+
+		// 成功レスポンスを返却
+		return BaseResponse.success(dashBoardPageDisplayEntity, ResponseMessage.SUCCESS);
+	}
+
+	/**
+	 * 絞り込み条件に該当するダッシュボード情報をCSVで出力します。
+	 *
+	 * <p>
+	 * 絞り込み条件・並び順はページ取得と同一で、該当するすべての申請を出力します（カーソル・取得件数は使用しません）。<br>
+	 * 取得範囲は入力値ではなく、ログインしているユーザの権限で判定します。
+	 * </p>
+	 *
+	 * @param dashBoardPageForm 取得条件（必須）
+	 * @param bindingResult     入力バリデーションの結果
+	 * @param user              ログインしているユーザ
+	 * @return CSVのレスポンス（入力値が不正な場合は400 Bad Request）
+	 */
+	@PostMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportDashBoard(
+			@RequestBody @Validated DashBoardPageForm dashBoardPageForm, BindingResult bindingResult,
+			@AuthenticationPrincipal User user) {
+
+		// 入力チェックエラーの場合
+		if (bindingResult.hasErrors()) {
+			logger.warn("入力エラー: {}", bindingResult.toString());
+			return ResponseEntity.badRequest().build();
+		}
+
+		// 取得範囲はログインしているユーザで判定
+		dashBoardPageForm.setUserId(user.getUsername());
+		dashBoardPageForm.setGrant(UserAuthority.grantIdOf(user));
+
+		try {
+			return CsvResponse.attachment("dashboard", csvExportService.exportDashBoard(dashBoardPageForm));
+		} catch (IllegalArgumentException e) {
+			// 日付が不正な場合
+			logger.warn("入力エラー: {}", e.getMessage());
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * クラスごとの就職活動の集計値をCSVで出力します。
+	 *
+	 * <p>
+	 * - 管理者の場合: すべてのクラスを出力します。<br>
+	 * - 担任の場合: 担任のクラスのみを出力します。<br>
+	 * - 学生の場合: 403 Forbiddenを返却します。
+	 * </p>
+	 *
+	 * @param user ログインしているユーザ
+	 * @return CSVのレスポンス
+	 */
+	@GetMapping("/export/statistics")
+	public ResponseEntity<StreamingResponseBody> exportClassStatistics(@AuthenticationPrincipal User user) {
+		String grant = UserAuthority.grantIdOf(user);
+		if (UserAuthority.ADMIN.getGrantId().equals(grant)) {
+			return CsvResponse.attachment("classStatistics", csvExportService.exportClassStatistics(null));
+		}
+		if (UserAuthority.TEACHER.getGrantId().equals(grant)) {
+			return CsvResponse.attachment("classStatistics",
+					csvExportService.exportClassStatistics(user.getUsername()));
+		}
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+	}
+
 }
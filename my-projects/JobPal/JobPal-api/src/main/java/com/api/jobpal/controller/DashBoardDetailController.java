@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.api.domain.models.displaydata.DetailDisplayData;
+import com.api.domain.models.displaydata.EvaluationDisplayData;
 import com.api.domain.models.forms.DetailFormForReport;
 import com.api.domain.models.forms.DetailFormForUpdate;
 import com.api.domain.models.forms.JobStateUpdateForm;
@@ -29,6 +30,7 @@ import com.api.jobpal.common.base.ResponseMessage;
  * <strong>主な機能:</strong>
  * <ul>
  * <li>就職活動詳細情報の取得</li>
+ * <li>受験報告のAI評価の状態の取得</li>
  * <li>就職活動受験報告の更新</li>
  * <li>就職活動状態の更新</li>
  * <li>就職活動申請書の削除</li>
@@ -87,6 +89,22 @@ public class DashBoardDetailController {
 		return BaseResponse.success(data, ResponseMessage.SUCCESS);
 	}
 
+	/**
+	 * 受験報告のAI評価の状態を返却します。
+	 *
+	 * <p>
+	 * 評価は受験報告の更新後に非同期で行うため、評価状態が評価待ち（0）の間は画面から再取得してください。
+	 * </p>
+	 *
+	 * @param jobHantId 就職活動ID（必須）
+	 * @return 評価状態とAI予測結果
+	 */
+	@GetMapping("/{jobHantId}/evaluation")
+	public BaseResponse getEvaluation(@PathVariable(value = "jobHantId") String jobHantId) {
+		EvaluationDisplayData data = dashBoardDetailService.getEvaluation(jobHantId);
+		return BaseResponse.success(data, ResponseMessage.SUCCESS);
+	}
+
 	/**
 	 * 就職活動受験報告を更新します。
 	 *
@@ -0,0 +1,62 @@
+package com.api.jobpal.controller;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.api.domain.services.CsvExportService;
+import com.api.jobpal.common.base.CsvResponse;
+
+/**
+ * 削除されたユーザを参照するコントローラークラスです。
+ *
+ * <p>
+ * <strong>主な機能:</strong>
+ * <ul>
+ * <li>削除ユーザのCSV出力</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * <strong>この機能は管理者ロールのユーザのみが利用できます</strong>
+ * </p>
+ */
+@RestController
+@RequestMapping("admin/deleted-users")
+public class DeletedUserController {
+
+	/**
+	 * ロガー。
+	 */
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * CSV出力サービス。
+	 */
+	@Autowired
+	private CsvExportService csvExportService;
+
+	/**
+	 * 【管理者】削除日が指定した期間内の削除ユーザをCSVで出力します。
+	 *
+	 * @param from 削除日の開始（yyyy-MM-dd。この日を含む。省略可）
+	 * @param to   削除日の終了（yyyy-MM-dd。この日を含む。省略可）
+	 * @return CSVのレスポンス（日付が不正な場合は400 Bad Request）
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> export(@RequestParam(name = "from", required = false) String from,
+			@RequestParam(name = "to", required = false) String to) {
+		try {
+			return CsvResponse.attachment("deletedUser", csvExportService.exportDeletedUser(from, to));
+		} catch (IllegalArgumentException e) {
+			logger.warn("入力エラー: {}", e.getMessage());
+			return ResponseEntity.badRequest().build();
+		}
+	}
+}
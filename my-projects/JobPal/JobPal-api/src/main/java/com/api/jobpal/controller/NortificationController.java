@@ -2,16 +2,23 @@ package com.api.jobpal.controller;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.api.domain.models.entities.AlertDisplayEntity;
 import com.api.domain.models.forms.AlertForm;
 import com.api.domain.services.NotificationService;
+import com.api.domain.services.NotificationStreamService;
 import com.api.jobpal.common.base.BaseResponse;
 import com.api.jobpal.common.base.ResponseMessage;
 
@@ -24,6 +31,7 @@ import com.api.jobpal.common.base.ResponseMessage;
  * <li>ユーザーの権限に応じた通知データの取得</li>
  * <li>管理者および担任ユーザーの場合: 全通知データを取得</li>
  * <li>学生ユーザーの場合: 個人の通知データのみ取得</li>
+ * <li>ログイン中のユーザーへの通知件数の配信（Server-Sent Events）</li>
  * </ul>
  * </p>
  *
@@ -68,6 +76,12 @@ public class NortificationController {
 	@Autowired
 	private NotificationService alertService;
 
+	/**
+	 * 通知件数の配信サービス。
+	 */
+	@Autowired
+	private NotificationStreamService notificationStreamService;
+
 	/**
 	 * 通知画面を表示する
 	 *
@@ -105,4 +119,21 @@ public class NortificationController {
 		return BaseResponse.success(alertDisplayEntity, ResponseMessage.SUCCESS);
 	}
 
+	/**
+	 * 通知件数の配信を開始する
+	 *
+	 * <p>
+	 * ログイン中のユーザ（トークンのユーザID）への通知件数・通知の概要をServer-Sent Eventsで配信します。<br>
+	 * - count: 通知件数（接続時および通知の更新時）<br>
+	 * - alert: 通知の概要（操作・就職活動/証明書区分・対象ID）
+	 * </p>
+	 *
+	 * @param user ログイン中のユーザ
+	 * @return 配信の接続（ログ出力の対象とするためResponseEntityで返却）
+	 */
+	@GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> streamAlertCount(@AuthenticationPrincipal User user) {
+		return ResponseEntity.ok(notificationStreamService.subscribe(user.getUsername()));
+	}
+
 }
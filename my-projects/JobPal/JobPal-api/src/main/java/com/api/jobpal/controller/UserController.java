@@ -1,5 +1,6 @@
 package com.api.jobpal.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -18,12 +19,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.api.domain.models.displaydata.UserDataDisplay;
 import com.api.domain.models.displaydata.UserDetailDisplay;
 import com.api.domain.models.entities.UserDeleteEntity;
 import com.api.domain.models.forms.UserForm;
 import com.api.domain.models.forms.UserUpdateForm;
+import com.api.domain.services.UserImportService;
+import com.api.domain.services.UserImportService.ImportResult;
 import com.api.domain.services.UserService;
 import com.api.jobpal.common.base.BaseResponse;
 import com.api.jobpal.common.base.ResponseMessage;
@@ -37,6 +41,7 @@ import com.api.jobpal.common.base.ResponseMessage;
  * <li>ユーザ一覧の取得</li>
  * <li>ユーザ詳細情報の取得</li>
  * <li>新規ユーザの追加</li>
+ * <li>CSVによるユーザの一括登録</li>
  * <li>既存ユーザの更新</li>
  * <li>ユーザの削除</li>
  * </ul>
@@ -83,6 +88,12 @@ public class UserController {
 	@Autowired
 	private UserService userService;
 
+	/**
+	 * ユーザ一括登録サービス。
+	 */
+	@Autowired
+	private UserImportService userImportService;
+
 	/**
 	 * 【管理者・上位のみ】ユーザ一覧を返却します。
 	 *
@@ -145,6 +156,41 @@ public class UserController {
 		}
 	}
 
+	/**
+	 * 【管理者】CSVのユーザを一括登録します。
+	 *
+	 * <p>
+	 * 本機能は、ユーザ管理機能の一括登録機能を提供します。<br>
+	 * 入力チェックでエラーとなった行は登録せず、行番号とエラー内容を返却します。<br>
+	 * 途中で中断した場合は、返却した一括登録IDと同じファイルを指定すると、コミット済みの行の次から再開します。<br>
+	 * <strong>この機能は管理者ロールのユーザのみが利用できます</strong>
+	 * </p>
+	 *
+	 * @param file     登録するCSV(null不可)
+	 * @param importId 再開する一括登録ID（新たに登録する場合は指定しない）
+	 * @param user     操作しているユーザ（登録するユーザの作成者）
+	 * @return 一括登録の結果(null不可)
+	 */
+	@PostMapping("/import")
+	public BaseResponse importUsers(@RequestParam(name = "file") MultipartFile file,
+			@RequestParam(name = "importId", required = false) String importId, @AuthenticationPrincipal User user) {
+		ImportResult result;
+		try {
+			result = userImportService.importUsers(file, importId, user.getUsername());
+		} catch (IllegalArgumentException e) {
+			logger.warn("入力エラー: {}", e.getMessage());
+			return BaseResponse.badRequest();
+		} catch (IOException e) {
+			logger.error("CSVの読み込みに失敗しました", e);
+			return BaseResponse.internalServerError();
+		}
+
+		if (!result.completed()) {
+			return BaseResponse.internalServerError(ResponseMessage.IMPORT_USER_INTERRUPTED_MESSAGE, result);
+		}
+		return BaseResponse.success(result, ResponseMessage.SUCCESS);
+	}
+
 	/**
 	 * 【管理者】ユーザを更新します。
 	 *
@@ -24,6 +24,7 @@ import com.api.jobpal.common.base.ResponseMessage;
  * <ul>
  * <li>郵便番号検索APIの利用</li>
  * <li>住所データと住所カナの返却</li>
+ * <li>郵便番号の先頭の数桁からの住所候補の返却</li>
  * <li>入力された郵便番号の形式チェック</li>
  * </ul>
  * </p>
@@ -94,4 +95,32 @@ public class ZipCodeController {
 		}
 	}
 
+	/**
+	 * 郵便番号の先頭の数桁から住所の候補を返却します。
+	 *
+	 * <p>
+	 * 入力途中の郵便番号から候補を表示するために使用します。<br>
+	 * 郵便番号データを読み込んでいない場合は、候補は空になります。
+	 * </p>
+	 *
+	 * @param zipCode 郵便番号の先頭の文字列(3～7桁)を格納(null不可)
+	 * @return 処理結果(null不可)
+	 */
+	@GetMapping("candidates")
+	public BaseResponse getCandidates(@RequestParam("zipCode") String zipCode) {
+		// 入力値のバリデーション（候補が多くなりすぎないよう3桁以上）
+		if (zipCode == null || !zipCode.matches("\\d{3,7}")) {
+			logger.warn("不正な郵便番号形式: {}", zipCode);
+			return BaseResponse.badRequest();
+		}
+
+		try {
+			ZipCodeEntity entity = zipCodeService.executePrefix(zipCode);
+			return BaseResponse.success(entity, ResponseMessage.SUCCESS);
+		} catch (Exception e) {
+			logger.error("郵便番号候補検索エラー: {}", e.getMessage(), e);
+			return BaseResponse.internalServerError(ResponseMessage.INTERNAL_SERVER_ERROR_MESSAGE);
+		}
+	}
+
 }
@@ -24,6 +24,8 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (user_id) REFERENCES USER_M (user_id) ON DELETE CASCADE
   );
 
+CREATE INDEX IF NOT EXISTS TEACHER_STUDENT_USER_M_CLASS_IX ON TEACHER_STUDENT_USER_M (department, grade, class_name); -- クラスの学生・担任の検索
+
 --通知クラスマスタ
 CREATE TABLE IF NOT EXISTS
   NOTIFICATION_CLASS_M (
@@ -49,6 +51,8 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (student_user_id) REFERENCES USER_M (user_id)  ON DELETE SET NULL-- ユーザマスタへの外部キー参照
   );
 
+CREATE INDEX IF NOT EXISTS JOB_SEARCH_T_STUDENT_IX ON JOB_SEARCH_T (student_user_id); -- 学生の就職活動の検索
+
 --就職活動申請トラン
 CREATE TABLE IF NOT EXISTS
   JOB_SEARCH_APPLICATION_T (
@@ -70,6 +74,8 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (job_search_id) REFERENCES JOB_SEARCH_T (job_search_id) -- 就職活動トランへの外部キー参照
   );
 
+CREATE INDEX IF NOT EXISTS JOB_SEARCH_APPLICATION_T_JOB_SEARCH_IX ON JOB_SEARCH_APPLICATION_T (job_search_id); -- 就職活動との結合
+
 --就職活動報告トラン
 CREATE TABLE IF NOT EXISTS
   JOB_SEARCH_REPORT_T (
@@ -82,6 +88,8 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (job_search_id) REFERENCES JOB_SEARCH_T (job_search_id) -- 就職活動トランへの外部キー参照
   );
 
+CREATE INDEX IF NOT EXISTS JOB_SEARCH_REPORT_T_JOB_SEARCH_IX ON JOB_SEARCH_REPORT_T (job_search_id); -- 就職活動との結合
+
 --受験報告トラン
 CREATE TABLE IF NOT EXISTS
   EXAM_REPORT_T (
@@ -98,6 +106,38 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (job_search_id) REFERENCES JOB_SEARCH_T (job_search_id) -- 就職活動トランへの外部キー参照
   );
 
+CREATE INDEX IF NOT EXISTS EXAM_REPORT_T_JOB_SEARCH_IX ON EXAM_REPORT_T (job_search_id); -- 就職活動との結合
+
+--受験報告評価トラン（感想のAI評価。受験報告の登録/更新時に評価待ちとし、評価処理が結果を更新する）
+CREATE TABLE IF NOT EXISTS
+  EXAM_REPORT_EVALUATION_T (
+    exam_report_id CHAR(13) PRIMARY KEY, -- 受験報告に割り振られるID。13文字の固定長。
+    status CHAR(1) NOT NULL, -- 評価状態（0：評価待ち、1：評価済み、9：評価不可）。
+    result VARCHAR(20), -- 評価結果（合格、不合格）。評価済みの場合のみ格納。
+    attempt_count INT NOT NULL, -- 評価を試行した回数。
+    last_error VARCHAR(500), -- 最後に失敗した際のエラー内容。
+    requested_at TIMESTAMP NOT NULL, -- 評価を依頼した日時。受験報告の更新ごとに更新し、古い依頼の結果は反映しない。
+    claimed_until TIMESTAMP, -- 評価中の期限。キューに追加したインスタンスが評価する間のみ格納し、期限を過ぎると他のインスタンスが評価できる。
+    updated_at TIMESTAMP NOT NULL, -- 更新日時。
+    FOREIGN KEY (exam_report_id) REFERENCES EXAM_REPORT_T (exam_report_id) ON DELETE CASCADE -- 受験報告トランへの外部キー参照
+  );
+
+CREATE INDEX IF NOT EXISTS EXAM_REPORT_EVALUATION_T_STATUS_IX ON EXAM_REPORT_EVALUATION_T (status, requested_at); -- 評価待ちの取得
+
+--就職活動最新状態トラン（就職活動ごとの最新の申請・報告・受験報告。申請・報告・受験報告の登録/更新時に更新する）
+CREATE TABLE IF NOT EXISTS
+  JOB_SEARCH_LATEST_T (
+    job_search_id CHAR(13) PRIMARY KEY, -- 就職活動に割り振られるID。13文字の固定長。
+    job_application_id CHAR(13), -- 最新の就職活動申請ID。申請がない場合はNULL。
+    job_report_id CHAR(13), -- 最新の就職活動報告ID。報告がない場合はNULL。
+    exam_report_id CHAR(13), -- 最新の受験報告ID。受験報告がない場合はNULL。
+    location_type CHAR(1), -- 最新の申請の場所の種類を示すコード。
+    location VARCHAR(200), -- 最新の申請の場所。
+    result CHAR(1), -- 最新の報告の結果を示すコード。
+    max_updated_at TIMESTAMP, -- 申請・報告・受験報告の最終更新日時。
+    FOREIGN KEY (job_search_id) REFERENCES JOB_SEARCH_T (job_search_id) ON DELETE CASCADE -- 就職活動トランへの外部キー参照
+  );
+
 --証明書発行トラン
 CREATE TABLE IF NOT EXISTS
   CERTIFICATE_ISSUANCE_T (
@@ -115,6 +155,10 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (office_user_id) REFERENCES USER_M (user_id) ON DELETE SET NULL
   );
 
+CREATE INDEX IF NOT EXISTS CERTIFICATE_ISSUANCE_T_STUDENT_IX ON CERTIFICATE_ISSUANCE_T (student_user_id); -- 学生の証明書発行の検索
+CREATE INDEX IF NOT EXISTS CERTIFICATE_ISSUANCE_T_TEACHER_IX ON CERTIFICATE_ISSUANCE_T (teacher_user_id); -- 担任の証明書発行の検索
+CREATE INDEX IF NOT EXISTS CERTIFICATE_ISSUANCE_T_OFFICE_IX ON CERTIFICATE_ISSUANCE_T (office_user_id); -- ユーザ削除時の参照の解除
+
 --郵送マスタ
 CREATE TABLE IF NOT EXISTS
   MAILING_M (
@@ -185,6 +229,8 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (assigned_user_id) REFERENCES USER_M (user_id) ON DELETE CASCADE-- ユーザマスタへの外部キー参照
   );
 
+CREATE INDEX IF NOT EXISTS NOTIFICATION_T_ASSIGNED_USER_IX ON NOTIFICATION_T (assigned_user_id); -- ユーザの通知の件数・一覧
+
 --通知就職活動トラン
 CREATE TABLE IF NOT EXISTS
   NOTIFICATION_JOB_SEARCH_T (
@@ -194,6 +240,8 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (job_search_id) REFERENCES JOB_SEARCH_T (job_search_id) -- 就職活動トランへの外部キー参照
   );
 
+CREATE INDEX IF NOT EXISTS NOTIFICATION_JOB_SEARCH_T_JOB_SEARCH_IX ON NOTIFICATION_JOB_SEARCH_T (job_search_id); -- 就職活動の通知の検索・削除
+
 --通知証明書発行トラン
 CREATE TABLE IF NOT EXISTS
   NOTIFICATION_CERTIFICATE_ISSUANCE_T (
@@ -203,6 +251,8 @@ CREATE TABLE IF NOT EXISTS
     FOREIGN KEY (certificate_issue_id) REFERENCES CERTIFICATE_ISSUANCE_T (certificate_issue_id) -- 証明書発行トランへの外部キー参照
   );
 
+CREATE INDEX IF NOT EXISTS NOTIFICATION_CERTIFICATE_ISSUANCE_T_CERTIFICATE_IX ON NOTIFICATION_CERTIFICATE_ISSUANCE_T (certificate_issue_id); -- 証明書発行の通知の検索・削除
+
 --削除ユーザマスタ
 CREATE TABLE IF NOT EXISTS
   DELETED_USER_M (
@@ -233,3 +283,54 @@ CREATE TABLE IF NOT EXISTS
   
   );
   
+
+--ID採番テーブル
+CREATE TABLE IF NOT EXISTS
+  ID_COUNTER_T (
+    id_prefix VARCHAR(2) NOT NULL, -- IDの接頭辞。
+    id_year INT NOT NULL, -- 採番対象の西暦。
+    next_value INT NOT NULL, -- 次に予約される連番。
+    PRIMARY KEY (id_prefix, id_year) -- 複合主キー
+  );
+
+--メール送信待ちテーブル
+CREATE TABLE IF NOT EXISTS
+  MAIL_OUTBOX_T (
+    outbox_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, -- 送信待ちID。自動採番。
+    from_address VARCHAR(254) NOT NULL, -- 返信先メールアドレス。
+    to_address VARCHAR(254) NOT NULL, -- 受信者メールアドレス。
+    subject VARCHAR(100) NOT NULL, -- 件名。
+    body VARCHAR(1000) NOT NULL, -- 本文。
+    status CHAR(1) NOT NULL, -- 送信状態（0：送信待ち、1：送信済み、9：送信不可）。
+    attempt_count INT NOT NULL, -- 送信を試行した回数。
+    next_attempt_at TIMESTAMP NOT NULL, -- 次に送信を試行する日時。
+    last_error VARCHAR(500), -- 最後に失敗した際のエラー内容。
+    created_at TIMESTAMP NOT NULL, -- 作成日時。
+    updated_at TIMESTAMP NOT NULL -- 更新日時。
+  );
+
+CREATE INDEX IF NOT EXISTS MAIL_OUTBOX_T_STATUS_IX ON MAIL_OUTBOX_T (status, next_attempt_at);
+
+--バッチ実行権テーブル
+CREATE TABLE IF NOT EXISTS
+  BATCH_LEASE_T (
+    lease_name VARCHAR(50) PRIMARY KEY, -- バッチ処理の名前。
+    owner_id VARCHAR(100) NOT NULL, -- 実行権を保持するインスタンスのID。
+    lease_until TIMESTAMP NOT NULL, -- 実行権の期限。期限を過ぎると他のインスタンスが取得できる。
+    window_start TIMESTAMP NOT NULL, -- 最後に実行した実行枠の開始日時。
+    updated_at TIMESTAMP NOT NULL -- 更新日時。
+  );
+
+--ユーザ一括登録トラン（CSVによるユーザの一括登録の進捗。中断した場合はコミット済みの行の次から再開する）
+CREATE TABLE IF NOT EXISTS
+  USER_IMPORT_T (
+    import_id CHAR(36) PRIMARY KEY, -- 一括登録に割り振られるID（UUID）。
+    file_hash CHAR(64) NOT NULL, -- 登録するCSVのSHA-256（16進数）。再開時に同じファイルであることを確認する。
+    committed_row INT NOT NULL, -- コミット済みの最後の行の番号（見出しを除き1から数える）。
+    inserted_count INT NOT NULL, -- 登録したユーザの件数。
+    error_count INT NOT NULL, -- 登録できなかった行の件数。
+    status CHAR(1) NOT NULL, -- 登録状態（0：登録中、1：完了）。
+    created_by_user_id VARCHAR(254) NOT NULL, -- 一括登録を実行したユーザID。
+    created_at TIMESTAMP NOT NULL, -- 作成日時。
+    updated_at TIMESTAMP NOT NULL -- 更新日時。
+  );
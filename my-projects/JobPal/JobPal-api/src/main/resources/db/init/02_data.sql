@@ -1,3 +1,6 @@
+DELETE FROM USER_IMPORT_T;
+DELETE FROM BATCH_LEASE_T;
+DELETE FROM MAIL_OUTBOX_T;
 DELETE FROM NOTIFICATION_CERTIFICATE_ISSUANCE_T;
 DELETE FROM NOTIFICATION_JOB_SEARCH_T;
 DELETE FROM NOTIFICATION_T;
@@ -6,6 +9,8 @@ DELETE FROM MAILING_CERTIFICATE_ISSUANCE_T;
 DELETE FROM PAPER_CERTIFICATE_ISSUANCE_T;
 DELETE FROM ELECTRONIC_CERTIFICATE_ISSUANCE_T;
 DELETE FROM CERTIFICATE_ISSUANCE_T;
+DELETE FROM JOB_SEARCH_LATEST_T;
+DELETE FROM EXAM_REPORT_EVALUATION_T;
 DELETE FROM EXAM_REPORT_T;
 DELETE FROM JOB_SEARCH_REPORT_T;
 DELETE FROM JOB_SEARCH_APPLICATION_T;
@@ -327,6 +332,61 @@ VALUES
     '2024-02-01 10:00:00',
     'JS_2024_00006'
   );
+--受験報告評価トラン（受験報告を評価待ちとして作成）
+INSERT INTO
+  EXAM_REPORT_EVALUATION_T (
+    exam_report_id,
+    status,
+    result,
+    attempt_count,
+    last_error,
+    requested_at,
+    updated_at
+  )
+SELECT
+  ER.exam_report_id,
+  '0',
+  NULL,
+  0,
+  NULL,
+  ER.updated_at,
+  ER.updated_at
+FROM
+  EXAM_REPORT_T ER;
+--就職活動最新状態トラン（申請・報告・受験報告から作成）
+INSERT INTO
+  JOB_SEARCH_LATEST_T (
+    job_search_id,
+    job_application_id,
+    job_report_id,
+    exam_report_id,
+    location_type,
+    location,
+    result,
+    max_updated_at
+  )
+SELECT
+  JL.job_search_id,
+  JL.job_application_id,
+  JL.job_report_id,
+  JL.exam_report_id,
+  JA.location_type,
+  JA.location,
+  JR.result,
+  GREATEST(JA.updated_at, COALESCE(JR.updated_at, '1970-01-01'), COALESCE(ER.updated_at, '1970-01-01'))
+FROM
+  (
+    SELECT
+      JS.job_search_id,
+      (SELECT JA2.job_application_id FROM JOB_SEARCH_APPLICATION_T JA2 WHERE JA2.job_search_id = JS.job_search_id ORDER BY JA2.updated_at DESC, JA2.job_application_id DESC LIMIT 1) AS job_application_id,
+      (SELECT JR2.job_report_id FROM JOB_SEARCH_REPORT_T JR2 WHERE JR2.job_search_id = JS.job_search_id ORDER BY JR2.updated_at DESC, JR2.job_report_id DESC LIMIT 1) AS job_report_id,
+      (SELECT ER2.exam_report_id FROM EXAM_REPORT_T ER2 WHERE ER2.job_search_id = JS.job_search_id ORDER BY ER2.updated_at DESC, ER2.exam_report_id DESC LIMIT 1) AS exam_report_id
+    FROM
+      JOB_SEARCH_T JS
+  ) JL
+  LEFT OUTER JOIN JOB_SEARCH_APPLICATION_T JA ON JL.job_application_id = JA.job_application_id
+  LEFT OUTER JOIN JOB_SEARCH_REPORT_T JR ON JL.job_report_id = JR.job_report_id
+  LEFT OUTER JOIN EXAM_REPORT_T ER ON JL.exam_report_id = ER.exam_report_id;
 --
 INSERT INTO
   CERTIFICATE_ISSUANCE_T (
@@ -3,14 +3,17 @@ package com.api.domain.repositories;
 import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.sql.Date;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
@@ -18,6 +21,7 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
@@ -61,20 +65,6 @@ class CertificateIssuanceDashBoardRepositoryTest {
 				Map.entry("certificate_id", "C001"),
 				Map.entry("certificate_name", "卒業証明書"));
 
-		// queryList (カラム名)
-		String[] queryList = {
-				"certificate_issue_id", // [0]
-				"student_user_id", // [1]
-				"student_user_name", // 使用されていない（直接キー指定）
-				"student_id", // [3]
-				"status", // [4]
-				"media_type", // [5]
-				"latest_date", // 使用されていない（直接キー指定）
-				"total_fee", // 使用されていない（直接キー指定）
-				"certificate_quantity", // 使用されていない（直接キー指定）
-				"certificate_weight" // 使用されていない（直接キー指定）
-		};
-
 		mockResultList.add(resultData);
 		mockResultList.add(resultData);
 
@@ -86,8 +76,8 @@ class CertificateIssuanceDashBoardRepositoryTest {
 		dummyData.setTotalAmount(100);
 		dummyData.setCertificateList(new ArrayList<>());
 		// モックの振る舞いを定義
-		doReturn(mockResultList).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(queryList).when(dbdc).extractColumnNames(anyString());
+		doAnswer(invocation -> MockResultSets.mapRows(mockResultList, invocation.getArgument(2))).when(jdbc)
+				.query(anyString(), anyMap(), any(RowMapper.class));
 		doReturn(mockMailingData).when(cir).selectMailing();
 
 		// テスト実行
@@ -125,20 +115,6 @@ class CertificateIssuanceDashBoardRepositoryTest {
 				Map.entry("certificate_id", "C001"),
 				Map.entry("certificate_name", "卒業証明書"));
 
-		// queryList (カラム名)
-		String[] queryList = {
-				"certificate_issue_id", // [0]
-				"student_user_id", // [1]
-				"student_user_name", // 使用されていない（直接キー指定）
-				"student_id", // [3]
-				"status", // [4]
-				"media_type", // [5]
-				"latest_date", // 使用されていない（直接キー指定）
-				"total_fee", // 使用されていない（直接キー指定）
-				"certificate_quantity", // 使用されていない（直接キー指定）
-				"certificate_weight" // 使用されていない（直接キー指定）
-		};
-
 		mockResultList.add(resultData);
 		mockResultList.add(resultData);
 		resultData = Map.ofEntries(
@@ -164,8 +140,8 @@ class CertificateIssuanceDashBoardRepositoryTest {
 		dummyData.setTotalAmount(100);
 		dummyData.setCertificateList(new ArrayList<>());
 		// モックの振る舞いを定義
-		doReturn(mockResultList).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(queryList).when(dbdc).extractColumnNames(anyString());
+		doAnswer(invocation -> MockResultSets.mapRows(mockResultList, invocation.getArgument(2))).when(jdbc)
+				.query(anyString(), anyMap(), any(RowMapper.class));
 		doReturn(mockMailingData).when(cir).selectMailing();
 
 		// テスト実行
@@ -188,8 +164,7 @@ class CertificateIssuanceDashBoardRepositoryTest {
 	@Test
 	public void testSelectCertificateIssuanceDashBoard管理者データなし() {
 		// モックの振る舞いを設定（結果なし）
-		doReturn(new ArrayList<>()).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(new String[0]).when(dbdc).extractColumnNames(anyString());
+		doReturn(new ArrayList<>()).when(jdbc).query(anyString(), anyMap(), any(RowMapper.class));
 		doReturn(new MailingData()).when(cir).selectMailing();
 
 		// テスト実行
@@ -219,20 +194,6 @@ class CertificateIssuanceDashBoardRepositoryTest {
 				Map.entry("certificate_id", "C001"),
 				Map.entry("certificate_name", "卒業証明書"));
 
-		// queryList (カラム名)
-		String[] queryList = {
-				"certificate_issue_id", // [0]
-				"student_user_id", // [1]
-				"student_user_name", // 使用されていない（直接キー指定）
-				"student_id", // [3]
-				"status", // [4]
-				"media_type", // [5]
-				"latest_date", // 使用されていない（直接キー指定）
-				"total_fee", // 使用されていない（直接キー指定）
-				"certificate_quantity", // 使用されていない（直接キー指定）
-				"certificate_weight" // 使用されていない（直接キー指定）
-		};
-
 		mockResultList.add(resultData);
 		mockResultList.add(resultData);
 
@@ -244,8 +205,8 @@ class CertificateIssuanceDashBoardRepositoryTest {
 		dummyData.setTotalAmount(100);
 		dummyData.setCertificateList(new ArrayList<>());
 		// モックの振る舞いを定義
-		doReturn(mockResultList).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(queryList).when(dbdc).extractColumnNames(anyString());
+		doAnswer(invocation -> MockResultSets.mapRows(mockResultList, invocation.getArgument(2))).when(jdbc)
+				.query(anyString(), anyMap(), any(RowMapper.class));
 		doReturn(mockMailingData).when(cir).selectMailing();
 
 		// テスト実行
@@ -284,20 +245,6 @@ class CertificateIssuanceDashBoardRepositoryTest {
 				Map.entry("certificate_id", "C001"),
 				Map.entry("certificate_name", "卒業証明書"));
 
-		// queryList (カラム名)
-		String[] queryList = {
-				"certificate_issue_id", // [0]
-				"student_user_id", // [1]
-				"student_user_name", // 使用されていない（直接キー指定）
-				"student_id", // [3]
-				"status", // [4]
-				"media_type", // [5]
-				"latest_date", // 使用されていない（直接キー指定）
-				"total_fee", // 使用されていない（直接キー指定）
-				"certificate_quantity", // 使用されていない（直接キー指定）
-				"certificate_weight" // 使用されていない（直接キー指定）
-		};
-
 		mockResultList.add(resultData);
 		mockResultList.add(resultData);
 
@@ -309,8 +256,8 @@ class CertificateIssuanceDashBoardRepositoryTest {
 		dummyData.setTotalAmount(100);
 		dummyData.setCertificateList(new ArrayList<>());
 		// モックの振る舞いを定義
-		doReturn(mockResultList).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(queryList).when(dbdc).extractColumnNames(anyString());
+		doAnswer(invocation -> MockResultSets.mapRows(mockResultList, invocation.getArgument(2))).when(jdbc)
+				.query(anyString(), anyMap(), any(RowMapper.class));
 		doReturn(mockMailingData).when(cir).selectMailing();
 
 		// テスト実行
@@ -334,8 +281,7 @@ class CertificateIssuanceDashBoardRepositoryTest {
 	@Test
 	public void testSelectCertificateIssuanceDashBoardその他データなし() {
 		// モックの振る舞いを設定（結果なし）
-		doReturn(new ArrayList<>()).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(new String[0]).when(dbdc).extractColumnNames(anyString());
+		doReturn(new ArrayList<>()).when(jdbc).query(anyString(), anyMap(), any(RowMapper.class));
 		doReturn(new MailingData()).when(cir).selectMailing();
 
 		// テスト実行
@@ -487,4 +433,82 @@ class CertificateIssuanceDashBoardRepositoryTest {
 		assertTrue(result.isEmpty());
 		log.info("selectCertificateIssuanceDashBoard入力エラーテスト成功: result={}", result);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGroupCertificateIssuanceDashBoard郵送料() {
+		// モックの振る舞いを定義
+		MailingData mockMailingData = new MailingData();
+		mockMailingData.setPostalFee(500);
+		mockMailingData.setPostalMaxWeight(20);
+		doReturn(mockMailingData).when(cir).selectMailing();
+
+		// 郵送（重量10g×3行）と電子（重量10g×1行）
+		List<CertificateIssuanceDashBoardData> rows = new ArrayList<>();
+		rows.add(createRow("CI001", "2", 300, 10));
+		rows.add(createRow("CI002", "1", 300, 10));
+		rows.add(createRow("CI001", "2", 300, 10));
+		rows.add(createRow("CI001", "2", 300, 10));
+
+		// テスト実行
+		List<CertificateIssuanceDashBoardData> result = repository.groupCertificateIssuanceDashBoard(rows,
+				CertificateIssuanceDashBoardData::getCertificateIssueId, Function.identity());
+
+		// 検証（郵送料は合計重量30gに対して2通分）
+		assertEquals(2, result.size());
+		assertEquals("CI001", result.get(0).getCertificateIssueId());
+		assertEquals(3, result.get(0).getCertificateList().size());
+		assertEquals(30, result.get(0).getTotalWeight());
+		assertEquals(900 + 1000, result.get(0).getTotalAmount());
+		assertEquals("CI002", result.get(1).getCertificateIssueId());
+		assertEquals(300, result.get(1).getTotalAmount());
+		log.info("groupCertificateIssuanceDashBoard郵送料テスト成功: result={}", result);
+	}
+
+	@Test
+	public void testGroupCertificateIssuanceDashBoard大量データ() {
+		// モックの振る舞いを定義
+		MailingData mockMailingData = new MailingData();
+		mockMailingData.setPostalFee(500);
+		mockMailingData.setPostalMaxWeight(20);
+		doReturn(mockMailingData).when(cir).selectMailing();
+
+		// 5万件の証明書発行（1件あたり証明書2種類）
+		int issuanceCount = 50_000;
+		List<CertificateIssuanceDashBoardData> rows = new ArrayList<>();
+		for (int i = 0; i < issuanceCount; i++) {
+			rows.add(createRow("CI" + i, "2", 300, 10));
+		}
+		for (int i = 0; i < issuanceCount; i++) {
+			rows.add(createRow("CI" + i, "2", 300, 10));
+		}
+
+		// テスト実行（行数の2乗に比例する処理では時間内に終わらない）
+		List<CertificateIssuanceDashBoardData> result = assertTimeoutPreemptively(Duration.ofSeconds(10),
+				() -> repository.groupCertificateIssuanceDashBoard(rows,
+						CertificateIssuanceDashBoardData::getCertificateIssueId, Function.identity()));
+
+		// 検証
+		assertEquals(issuanceCount, result.size());
+		assertEquals("CI0", result.get(0).getCertificateIssueId());
+		assertEquals(2, result.get(issuanceCount - 1).getCertificateList().size());
+		assertEquals(600 + 500, result.get(issuanceCount - 1).getTotalAmount());
+		log.info("groupCertificateIssuanceDashBoard大量データテスト成功: size={}", result.size());
+	}
+
+	private CertificateIssuanceDashBoardData createRow(String certificateIssueId, String mediaType, int fee,
+			int weight) {
+		CertificateData certificateData = new CertificateData();
+		certificateData.setCertificateId("1");
+		certificateData.setCertificateQuantity(1);
+		List<CertificateData> certificateList = new ArrayList<>();
+		certificateList.add(certificateData);
+
+		CertificateIssuanceDashBoardData data = new CertificateIssuanceDashBoardData();
+		data.setCertificateIssueId(certificateIssueId);
+		data.setMediaType(mediaType);
+		data.setTotalAmount(fee);
+		data.setTotalWeight(weight);
+		data.setCertificateList(certificateList);
+		return data;
+	}
+}
@@ -0,0 +1,229 @@
+package com.api.domain.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.domain.models.dbdata.JobSearchReportData;
+import com.api.domain.models.displaydata.CsvDisplayData;
+import com.api.domain.services.ClassStatisticsService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class ClassStatisticsRepositoryTest {
+	@Autowired
+	private ClassStatisticsRepository repository;
+
+	@Autowired
+	private ClassStatisticsService service;
+
+	@Autowired
+	private CsvRepository csvRepository;
+
+	@Autowired
+	private JobSearchReportRepository jobSearchReportRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JobSearchLatestRepository jobSearchLatestRepository;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger log;
+
+	private static final String TEACHER = "teacher@hcs.ac.jp";
+
+	private static final String STUDENT = "student@hcs.ac.jp";
+
+	@BeforeEach
+	public void setUp() {
+		repository.rebuild();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		// テストで変更したデータを初期データに戻す
+		jdbc.update("UPDATE JOB_SEARCH_REPORT_T SET result = '2' WHERE job_search_id = 'JS_2024_00001'", Map.of());
+		jdbc.update("UPDATE JOB_SEARCH_APPLICATION_T SET location_type = '0' WHERE job_search_id = 'JS_2024_00004'",
+				Map.of());
+		jdbc.update("UPDATE USER_M SET user_status = '0' WHERE user_id = 'student@hcs.ac.jp'", Map.of());
+		jobSearchLatestRepository.rebuild();
+		repository.rebuild();
+	}
+
+	@Test
+	public void testSelectClassStatistics正常() {
+		// 1. Ready
+		String userId = TEACHER;
+
+		// 2. Do
+		CsvDisplayData result = repository.selectClassStatistics(userId);
+
+		// 3. Check
+		assertStatistics(csvRepository.selectCsvClassStatistics(userId), result);
+		assertEquals(1, result.getStudentsInAction());
+		assertEquals(0, result.getStudentsOfEnd());
+		assertEquals(1, result.getActivityLocationInTokyo());
+		assertEquals(1, result.getActivityLocationInSapporo());
+		assertEquals(4, result.getActivityLocationInOther());
+		assertEquals(6, result.getActivityFormInOnline());
+
+		// 4. Log
+		log.info("クラス集計値取得テスト成功: userId={}", userId);
+	}
+
+	@Test
+	public void testSelectClassStatistics学生なし() {
+		// 1. Ready
+		String userId = "teacher2@hcs.ac.jp";
+
+		// 2. Do
+		CsvDisplayData result = repository.selectClassStatistics(userId);
+
+		// 3. Check
+		assertStatistics(csvRepository.selectCsvClassStatistics(userId), result);
+		assertEquals(0, result.getStudentsInAction());
+		assertEquals(0, result.getActivityFormInOnline());
+
+		// 4. Log
+		log.info("クラス集計値取得テスト成功(学生なし): userId={}", userId);
+	}
+
+	@Test
+	public void testUpdateJobSearchReport差分反映() {
+		// 1. Ready
+		JobSearchReportData reportData = new JobSearchReportData();
+		reportData.setJobSearchId("JS_2024_00001");
+		reportData.setReportContent("面接結果: 内定");
+		reportData.setResult("5");
+
+		// 2. Do
+		jobSearchReportRepository.updateJobSearchReport(reportData);
+		CsvDisplayData result = repository.selectClassStatistics(TEACHER);
+
+		// 3. Check
+		assertEquals(0, result.getStudentsInAction());
+		assertEquals(1, result.getStudentsOfEnd());
+		assertStatistics(csvRepository.selectCsvClassStatistics(TEACHER), result);
+
+		// 4. Log
+		log.info("就職活動報告の差分反映テスト成功");
+	}
+
+	@Test
+	public void testRefreshJobSearch差分反映() {
+		// 1. Ready
+		jdbc.update("UPDATE JOB_SEARCH_APPLICATION_T SET location_type = '1' WHERE job_search_id = 'JS_2024_00004'",
+				Map.of());
+		jobSearchLatestRepository.refresh("JS_2024_00004");
+
+		// 2. Do
+		repository.refreshJobSearch("JS_2024_00004");
+		CsvDisplayData result = repository.selectClassStatistics(TEACHER);
+
+		// 3. Check
+		assertEquals(2, result.getActivityLocationInTokyo());
+		assertEquals(0, result.getActivityLocationInSapporo());
+		assertStatistics(csvRepository.selectCsvClassStatistics(TEACHER), result);
+
+		// 4. Log
+		log.info("就職活動申請の差分反映テスト成功");
+	}
+
+	@Test
+	public void testRefreshJobSearch構築前の更新を保留して反映() {
+		// 1. Ready
+		// 構築済みでない状態（初回の構築中、または差分の反映に失敗した後）にする
+		ReflectionTestUtils.setField(repository, "initialized", false);
+		jdbc.update("UPDATE JOB_SEARCH_APPLICATION_T SET location_type = '1' WHERE job_search_id = 'JS_2024_00004'",
+				Map.of());
+		jobSearchLatestRepository.refresh("JS_2024_00004");
+
+		// 2. Do
+		repository.refreshJobSearch("JS_2024_00004");
+		@SuppressWarnings("unchecked")
+		Set<String> pending = Set.copyOf((Set<String>) ReflectionTestUtils.getField(repository, "pendingJobSearchIds"));
+		CsvDisplayData result = repository.selectClassStatistics(TEACHER);
+
+		// 3. Check
+		// 更新は破棄されずに保留され、構築の完了時に反映される
+		assertEquals(Set.of("JS_2024_00004"), pending);
+		assertTrue(((Set<?>) ReflectionTestUtils.getField(repository, "pendingJobSearchIds")).isEmpty());
+		assertEquals(2, result.getActivityLocationInTokyo());
+		assertStatistics(csvRepository.selectCsvClassStatistics(TEACHER), result);
+
+		// 4. Log
+		log.info("構築前の更新を保留して反映テスト成功: pending={}", pending);
+	}
+
+	@Test
+	public void testUpdateUserStateOne差分反映() {
+		// 2. Do
+		userRepository.updateUserStateOne(STUDENT, "1");
+		CsvDisplayData result = repository.selectClassStatistics(TEACHER);
+
+		// 3. Check
+		assertEquals(0, result.getStudentsInAction());
+		assertEquals(0, result.getActivityLocationInOther());
+		assertEquals(0, result.getActivityFormInOnline());
+		assertStatistics(csvRepository.selectCsvClassStatistics(TEACHER), result);
+
+		// 2. Do
+		userRepository.updateUserStateOne(STUDENT, "0");
+		result = repository.selectClassStatistics(TEACHER);
+
+		// 3. Check
+		assertEquals(6, result.getActivityFormInOnline());
+
+		// 4. Log
+		log.info("ユーザ状態の差分反映テスト成功");
+	}
+
+	@Test
+	public void testCheckConsistency() {
+		// 1. Ready
+		// 差分反映を経由せずに更新し、保持している集計値と不一致にする
+		jdbc.update("UPDATE JOB_SEARCH_REPORT_T SET result = '5' WHERE job_search_id = 'JS_2024_00001'", Map.of());
+		jobSearchLatestRepository.refresh("JS_2024_00001");
+
+		// 2. Do
+		List<String> mismatch = service.checkConsistency();
+		service.rebuild();
+		List<String> afterRebuild = service.checkConsistency();
+
+		// 3. Check
+		assertTrue(mismatch.contains(TEACHER));
+		assertTrue(afterRebuild.isEmpty());
+
+		// 4. Log
+		log.info("整合性確認テスト成功: mismatch={}", mismatch);
+	}
+
+	private void assertStatistics(CsvDisplayData expected, CsvDisplayData actual) {
+		assertEquals(expected.getStudentsInAction(), actual.getStudentsInAction());
+		assertEquals(expected.getStudentsOfEnd(), actual.getStudentsOfEnd());
+		assertEquals(expected.getActivityLocationInTokyo(), actual.getActivityLocationInTokyo());
+		assertEquals(expected.getActivityLocationInSapporo(), actual.getActivityLocationInSapporo());
+		assertEquals(expected.getActivityLocationInOther(), actual.getActivityLocationInOther());
+		assertEquals(expected.getActivityFormInOnline(), actual.getActivityFormInOnline());
+		assertEquals(expected.getActivityFormInLocal(), actual.getActivityFormInLocal());
+		assertEquals(expected.getActivityFormInOther(), actual.getActivityFormInOther());
+	}
+}
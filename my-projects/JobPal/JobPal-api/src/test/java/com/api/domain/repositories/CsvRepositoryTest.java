@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -13,10 +15,13 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.api.domain.models.dbdata.CertificateIssuanceDashBoardData;
+import com.api.domain.models.dbdata.ClassStatisticsData;
+import com.api.domain.models.dbdata.DeletedUserData;
+import com.api.domain.models.displaydata.CsvDisplayData;
 import com.api.jobpal.common.base.DBDataConversion;
 
 @RunWith(SpringRunner.class)
@@ -31,6 +36,9 @@ class CsvRepositoryTest {
 	@SpyBean
 	private DBDataConversion dbdc;
 
+	@Autowired
+	private JobSearchLatestRepository jobSearchLatestRepository;
+
 	@Autowired
 	private Logger log;
 
@@ -113,236 +121,272 @@ class CsvRepositoryTest {
 	}
 
 	@Test
-	public void testSelectCsvActivity_Success() {
-		// 0. Mock setup
-
-		doReturn(5).when(jdbc).queryForObject(anyString(), anyMap(), eq(Integer.class));
+	public void testSelectCsvClassStatistics正常() {
 		// 1. Ready
-		String userId = "U001";
+		String userId = "teacher@hcs.ac.jp";
 
 		// 2. Do
-		Integer result = repository.selectCsvActivity(userId);
+		CsvDisplayData result = repository.selectCsvClassStatistics(userId);
 
 		// 3. Check
-		assertEquals(5, result);
+		assertEquals(1, result.getStudentsInAction());
+		assertEquals(0, result.getStudentsOfEnd());
+		assertEquals(1, result.getActivityLocationInTokyo());
+		assertEquals(1, result.getActivityLocationInSapporo());
+		assertEquals(4, result.getActivityLocationInOther());
+		assertEquals(6, result.getActivityFormInOnline());
+		assertEquals(0, result.getActivityFormInLocal());
+		assertEquals(0, result.getActivityFormInOther());
 
 		// 4. Log
-		log.info("活動データ件数取得テスト成功: userId={}, recordCount={}", userId, result);
+		log.info("クラス集計値取得テスト成功: userId={}, result={}", userId, result);
 	}
 
 	@Test
-	public void testSelectCsvActivity異常() {
-		// 0. Mock setup
-
-		doThrow(new EmptyResultDataAccessException(1)).when(jdbc).queryForObject(anyString(), anyMap(),
-				eq(Integer.class));
-
+	public void testSelectCsvClassStatistics学生なし() {
 		// 1. Ready
-		String userId = "U001";
+		String userId = "teacher2@hcs.ac.jp";
 
 		// 2. Do
-		Integer result = repository.selectCsvActivity(userId);
+		CsvDisplayData result = repository.selectCsvClassStatistics(userId);
 
 		// 3. Check
-		assertEquals(0, result);
+		assertEquals(0, result.getStudentsInAction());
+		assertEquals(0, result.getStudentsOfEnd());
+		assertEquals(0, result.getActivityLocationInTokyo());
+		assertEquals(0, result.getActivityLocationInSapporo());
+		assertEquals(0, result.getActivityLocationInOther());
+		assertEquals(0, result.getActivityFormInOnline());
+		assertEquals(0, result.getActivityFormInLocal());
+		assertEquals(0, result.getActivityFormInOther());
 
 		// 4. Log
-		log.info("活動データ件数取得テスト成功(データなし): userId={}", userId);
+		log.info("クラス集計値取得テスト成功(学生なし): userId={}", userId);
 	}
 
 	@Test
-	public void testSelectCsvActivityFinish正常() {
-		// 0. Mock setup
-		doReturn(10).when(jdbc).queryForObject(anyString(), anyMap(), eq(Integer.class));
-
+	public void testSelectCsvClassStatistics報告と申請が複数ある就職活動() {
 		// 1. Ready
-		String userId = "U001";
-
-		// 2. Do
-		Integer result = repository.selectCsvActivityFinish(userId);
-
-		// 3. Check
-		assertEquals(10, result);
-
-		// 4. Log
-		log.info("完了済み活動データ件数取得テスト成功: userId={}, recordCount={}", userId, result);
+		String userId = "teacher@hcs.ac.jp";
+		CsvDisplayData expected = repository.selectCsvClassStatistics(userId);
+		String jobSearchId = jdbc.queryForObject("SELECT JSL.job_search_id "
+				+ "FROM JOB_SEARCH_LATEST_T JSL "
+				+ "INNER JOIN JOB_SEARCH_T JST ON JST.job_search_id = JSL.job_search_id "
+				+ "INNER JOIN TEACHER_STUDENT_USER_M TSUM ON TSUM.user_id = JST.student_user_id "
+				+ "INNER JOIN TEACHER_STUDENT_USER_M TC ON TC.department = TSUM.department "
+				+ "AND TC.grade = TSUM.grade AND TC.class_name = TSUM.class_name "
+				+ "WHERE TC.user_id = :userId AND JSL.job_report_id IS NOT NULL "
+				+ "AND JSL.job_application_id IS NOT NULL "
+				+ "ORDER BY JSL.job_search_id LIMIT 1", Map.of("userId", userId), String.class);
+		// 最新より古い報告・申請を追加
+		Timestamp old = Timestamp.valueOf("2000-01-01 00:00:00");
+		jdbc.update("INSERT INTO JOB_SEARCH_REPORT_T "
+				+ "(job_report_id, report_content, result, created_at, updated_at, job_search_id) "
+				+ "VALUES ('JR_2000_00001', '古い報告', '5', :old, :old, :jobSearchId)",
+				Map.of("old", old, "jobSearchId", jobSearchId));
+		jdbc.update("INSERT INTO JOB_SEARCH_APPLICATION_T "
+				+ "(job_application_id, start_time, company_name, event_category, location_type, location, "
+				+ "school_check_flag, tardiness_absence_type, created_at, updated_at, job_search_id) "
+				+ "VALUES ('JA_2000_00001', :old, '古い申請', '0', '0', '自宅', FALSE, '0', :old, :old, :jobSearchId)",
+				Map.of("old", old, "jobSearchId", jobSearchId));
+
+		try {
+			// 2. Do
+			jobSearchLatestRepository.refresh(jobSearchId);
+			CsvDisplayData result = repository.selectCsvClassStatistics(userId);
+
+			// 3. Check（古い報告・申請は集計値に含まれず、就職活動の件数も増えない）
+			assertEquals(expected.getStudentsInAction(), result.getStudentsInAction());
+			assertEquals(expected.getStudentsOfEnd(), result.getStudentsOfEnd());
+			assertEquals(expected.getActivityLocationInTokyo(), result.getActivityLocationInTokyo());
+			assertEquals(expected.getActivityLocationInSapporo(), result.getActivityLocationInSapporo());
+			assertEquals(expected.getActivityLocationInOther(), result.getActivityLocationInOther());
+			assertEquals(expected.getActivityFormInOnline(), result.getActivityFormInOnline());
+			assertEquals(expected.getActivityFormInLocal(), result.getActivityFormInLocal());
+			assertEquals(expected.getActivityFormInOther(), result.getActivityFormInOther());
+
+			// 4. Log
+			log.info("クラス集計値取得テスト成功(報告・申請が複数): jobSearchId={}, result={}", jobSearchId, result);
+		} finally {
+			jdbc.update("DELETE FROM JOB_SEARCH_REPORT_T WHERE job_report_id = 'JR_2000_00001'", Map.of());
+			jdbc.update("DELETE FROM JOB_SEARCH_APPLICATION_T WHERE job_application_id = 'JA_2000_00001'", Map.of());
+			jobSearchLatestRepository.refresh(jobSearchId);
+		}
 	}
 
 	@Test
-	public void testSelectCsvActivityFinish異常() {
-		// 0. Mock setup
-		doThrow(new EmptyResultDataAccessException(1)).when(jdbc).queryForObject(anyString(), anyMap(),
-				eq(Integer.class));
-
+	public void testSelectCsvClassStatistics更新日時が同じ報告と申請がある就職活動() {
 		// 1. Ready
-		String userId = "U001";
-
-		// 2. Do
-		Integer result = repository.selectCsvActivityFinish(userId);
-
-		// 3. Check
-		assertEquals(0, result);
-
-		// 4. Log
-		log.info("完了済み活動データ件数取得テスト成功(データなし): userId={}", userId);
+		String userId = "teacher@hcs.ac.jp";
+		CsvDisplayData expected = repository.selectCsvClassStatistics(userId);
+		Map<String, Object> latest = jdbc.queryForMap("SELECT JSL.job_search_id, JSL.job_report_id, "
+				+ "JSL.job_application_id "
+				+ "FROM JOB_SEARCH_LATEST_T JSL "
+				+ "INNER JOIN JOB_SEARCH_T JST ON JST.job_search_id = JSL.job_search_id "
+				+ "INNER JOIN TEACHER_STUDENT_USER_M TSUM ON TSUM.user_id = JST.student_user_id "
+				+ "INNER JOIN TEACHER_STUDENT_USER_M TC ON TC.department = TSUM.department "
+				+ "AND TC.grade = TSUM.grade AND TC.class_name = TSUM.class_name "
+				+ "WHERE TC.user_id = :userId AND JSL.job_report_id IS NOT NULL "
+				+ "AND JSL.job_application_id IS NOT NULL "
+				+ "ORDER BY JSL.job_search_id LIMIT 1", Map.of("userId", userId));
+		String jobSearchId = (String) latest.get("job_search_id");
+		// 最新の報告・申請と更新日時・内容が同じ報告・申請を追加
+		jdbc.update("INSERT INTO JOB_SEARCH_REPORT_T "
+				+ "(job_report_id, report_content, result, created_at, updated_at, job_search_id) "
+				+ "SELECT 'JR_9999_99999', report_content, result, created_at, updated_at, job_search_id "
+				+ "FROM JOB_SEARCH_REPORT_T WHERE job_report_id = :jobReportId",
+				Map.of("jobReportId", latest.get("job_report_id")));
+		jdbc.update("INSERT INTO JOB_SEARCH_APPLICATION_T "
+				+ "(job_application_id, start_time, company_name, event_category, location_type, location, "
+				+ "school_check_flag, school_checked_flag, tardiness_absence_type, tardy_leave_time, end_time, "
+				+ "remarks, created_at, updated_at, job_search_id) "
+				+ "SELECT 'JA_9999_99999', start_time, company_name, event_category, location_type, location, "
+				+ "school_check_flag, school_checked_flag, tardiness_absence_type, tardy_leave_time, end_time, "
+				+ "remarks, created_at, updated_at, job_search_id "
+				+ "FROM JOB_SEARCH_APPLICATION_T WHERE job_application_id = :jobApplicationId",
+				Map.of("jobApplicationId", latest.get("job_application_id")));
+
+		try {
+			// 2. Do
+			jobSearchLatestRepository.refresh(jobSearchId);
+			CsvDisplayData result = repository.selectCsvClassStatistics(userId);
+
+			// 3. Check（更新日時が同じ場合もIDの大きい報告・申請の1行のみを最新とし、就職活動の件数は増えない）
+			List<Map<String, Object>> latestRows = jdbc.queryForList(
+					"SELECT job_report_id, job_application_id FROM JOB_SEARCH_LATEST_T WHERE job_search_id = :jobSearchId",
+					Map.of("jobSearchId", jobSearchId));
+			assertEquals(1, latestRows.size());
+			assertEquals("JR_9999_99999", latestRows.get(0).get("job_report_id"));
+			assertEquals("JA_9999_99999", latestRows.get(0).get("job_application_id"));
+			assertEquals(expected.getStudentsInAction(), result.getStudentsInAction());
+			assertEquals(expected.getStudentsOfEnd(), result.getStudentsOfEnd());
+			assertEquals(expected.getActivityLocationInTokyo(), result.getActivityLocationInTokyo());
+			assertEquals(expected.getActivityLocationInSapporo(), result.getActivityLocationInSapporo());
+			assertEquals(expected.getActivityLocationInOther(), result.getActivityLocationInOther());
+			assertEquals(expected.getActivityFormInOnline(), result.getActivityFormInOnline());
+			assertEquals(expected.getActivityFormInLocal(), result.getActivityFormInLocal());
+			assertEquals(expected.getActivityFormInOther(), result.getActivityFormInOther());
+
+			// 4. Log
+			log.info("クラス集計値取得テスト成功(更新日時が同じ報告・申請): jobSearchId={}, result={}", jobSearchId, result);
+		} finally {
+			jdbc.update("DELETE FROM JOB_SEARCH_REPORT_T WHERE job_report_id = 'JR_9999_99999'", Map.of());
+			jdbc.update("DELETE FROM JOB_SEARCH_APPLICATION_T WHERE job_application_id = 'JA_9999_99999'", Map.of());
+			jobSearchLatestRepository.refresh(jobSearchId);
+		}
 	}
 
 	@Test
-	public void testSelectCsvSapporo正常() {
-		// 0. Mock setup
-		doReturn(7).when(jdbc).queryForObject(anyString(), anyMap(), eq(Integer.class));
-
+	public void testStreamClassStatistics担任のクラス() {
 		// 1. Ready
-		String userId = "U001";
+		String userId = "teacher@hcs.ac.jp";
+		CsvDisplayData expected = repository.selectCsvClassStatistics(userId);
 
 		// 2. Do
-		Integer result = repository.selectCsvSapporo(userId);
+		List<ClassStatisticsData> result = new ArrayList<>();
+		int count = repository.streamClassStatistics(userId, result::add);
 
 		// 3. Check
-		assertEquals(7, result);
+		assertEquals(1, count);
+		CsvDisplayData statistics = result.get(0).getStatistics();
+		assertNotNull(result.get(0).getDepartment());
+		assertEquals(expected.getStudentsInAction(), statistics.getStudentsInAction());
+		assertEquals(expected.getActivityLocationInOther(), statistics.getActivityLocationInOther());
+		assertEquals(expected.getActivityFormInOnline(), statistics.getActivityFormInOnline());
 
 		// 4. Log
-		log.info("札幌地域データ件数取得テスト成功: userId={}, recordCount={}", userId, result);
+		log.info("クラス集計値逐次取得テスト成功: userId={}, result={}", userId, statistics);
 	}
 
 	@Test
-	public void testSelectCsvSapporo異常() {
-		// 0. Mock setup
-		doThrow(new EmptyResultDataAccessException(1)).when(jdbc).queryForObject(anyString(), anyMap(),
-				eq(Integer.class));
-
+	public void testStreamClassStatistics全クラス() {
 		// 1. Ready
-		String userId = "U001";
+		List<ClassStatisticsData> teacherClass = new ArrayList<>();
+		repository.streamClassStatistics("teacher@hcs.ac.jp", teacherClass::add);
+		ClassStatisticsData expected = teacherClass.get(0);
 
 		// 2. Do
-		Integer result = repository.selectCsvSapporo(userId);
+		List<ClassStatisticsData> result = new ArrayList<>();
+		int count = repository.streamClassStatistics(null, result::add);
 
 		// 3. Check
-		assertEquals(0, result);
+		// 担任のクラスの行は担任を指定した場合と同じ集計値
+		assertEquals(result.size(), count);
+		ClassStatisticsData actual = result.stream()
+				.filter(data -> data.getDepartment().equals(expected.getDepartment())
+						&& data.getGrade().equals(expected.getGrade())
+						&& data.getClassName().equals(expected.getClassName()))
+				.findFirst()
+				.orElseThrow();
+		assertEquals(expected.getStatistics().getStudentsInAction(), actual.getStatistics().getStudentsInAction());
+		assertEquals(expected.getStatistics().getActivityFormInOnline(),
+				actual.getStatistics().getActivityFormInOnline());
 
 		// 4. Log
-		log.info("札幌地域データ件数取得テスト成功(データなし): userId={}", userId);
+		log.info("クラス集計値逐次取得テスト成功(全クラス): count={}", count);
 	}
 
 	@Test
-	public void testSelectCsvTokyo正常() {
-		// 0. Mock setup
-		doReturn(15).when(jdbc).queryForObject(anyString(), anyMap(), eq(Integer.class));
-
+	public void testStreamCertificateIssuance管理者() {
 		// 1. Ready
-		String userId = "U001";
+		Integer expectedCount = jdbc.queryForObject("SELECT COUNT(*) FROM CERTIFICATE_ISSUANCE_DETAIL_T", Map.of(),
+				Integer.class);
 
 		// 2. Do
-		Integer result = repository.selectCsvTokyo(userId);
+		List<CertificateIssuanceDashBoardData> result = new ArrayList<>();
+		int count = repository.streamCertificateIssuance("admin@hcs.ac.jp", "2", result::add);
 
 		// 3. Check
-		assertEquals(15, result);
+		// 証明書1種類につき1行、証明書発行IDの順
+		assertEquals(expectedCount, count);
+		assertEquals(expectedCount, result.size());
+		for (int i = 1; i < result.size(); i++) {
+			assertTrue(result.get(i - 1).getCertificateIssueId().compareTo(result.get(i).getCertificateIssueId()) <= 0);
+		}
+		result.forEach(data -> assertEquals(1, data.getCertificateList().size()));
 
 		// 4. Log
-		log.info("東京地域データ件数取得テスト成功: userId={}, recordCount={}", userId, result);
+		log.info("証明書発行逐次取得テスト成功(管理者): count={}", count);
 	}
 
 	@Test
-	public void testSelectCsvTokyo異常() {
-		// 0. Mock setup
-		doThrow(new EmptyResultDataAccessException(1)).when(jdbc).queryForObject(anyString(), anyMap(),
-				eq(Integer.class));
-
-		// 1. Ready
-		String userId = "U001";
-
+	public void testStreamCertificateIssuance権限不明() {
 		// 2. Do
-		Integer result = repository.selectCsvTokyo(userId);
+		List<CertificateIssuanceDashBoardData> result = new ArrayList<>();
+		int count = repository.streamCertificateIssuance("admin@hcs.ac.jp", "9", result::add);
 
 		// 3. Check
-		assertEquals(0, result);
-
-		// 4. Log
-		log.info("東京地域データ件数取得テスト成功(データなし): userId={}", userId);
-	}
-
-	@Test
-	public void testSelectCsvOthers正常() {
-		// 0. Mock setup
-		doReturn(12).when(jdbc).queryForObject(anyString(), anyMap(), eq(Integer.class));
-
-		// 1. Ready
-		String userId = "U001";
-
-		// 2. Do
-		Integer result = repository.selectCsvOthers(userId);
-
-		// 3. Check
-		assertEquals(12, result);
-
-		// 4. Log
-		log.info("その他地域データ件数取得テスト成功: userId={}, recordCount={}", userId, result);
-	}
-
-	@Test
-	public void testSelectCsvOthers異常() {
-		// 0. Mock setup
-
-		doThrow(new EmptyResultDataAccessException(1)).when(jdbc).queryForObject(anyString(), anyMap(),
-				eq(Integer.class));
-
-		// 1. Ready
-		String userId = "U001";
-
-		// 2. Do
-		Integer result = repository.selectCsvOthers(userId);
-
-		// 3. Check
-		assertEquals(0, result);
-
-		// 4. Log
-		log.info("その他地域データ件数取得テスト成功(データなし): userId={}", userId);
-	}
-
-	@Test
-	public void testSelectCsvLocationList正常() {
-		// 0. Mock setup
-		List<Map<String, Object>> mockResult = List.of(
-				Map.of("location", "札幌"),
-				Map.of("location", "東京"),
-				Map.of("location", "大阪"));
-
-		doReturn(mockResult).when(jdbc).queryForList(anyString(), anyMap());
-
-		// 1. Ready
-		String userId = "U001";
-
-		// 2. Do
-		List<String> result = repository.selectCsvLocationList(userId);
-
-		// 3. Check
-		assertEquals(3, result.size());
-		assertEquals("札幌", result.get(0));
-		assertEquals("東京", result.get(1));
-		assertEquals("大阪", result.get(2));
+		assertEquals(0, count);
+		assertTrue(result.isEmpty());
 
 		// 4. Log
-		log.info("地域リスト取得テスト成功: userId={}, locations={}", userId, result);
+		log.info("証明書発行逐次取得テスト成功(権限不明)");
 	}
 
 	@Test
-	public void testSelectCsvLocationList空異常() {
-		// 0. Mock setup
-		List<Map<String, Object>> mockResult = List.of(); // 空のリストをモック
-
-		doReturn(mockResult).when(jdbc).queryForList(anyString(), anyMap());
-
+	public void testStreamDeletedUser期間指定() {
 		// 1. Ready
-		String userId = "U001";
+		Timestamp deletedFrom = Timestamp.valueOf("2024-04-02 00:00:00");
+		Timestamp deletedTo = Timestamp.valueOf("2024-04-04 00:00:00");
 
 		// 2. Do
-		List<String> result = repository.selectCsvLocationList(userId);
+		List<DeletedUserData> result = new ArrayList<>();
+		int count = repository.streamDeletedUser(deletedFrom, deletedTo, result::add);
 
 		// 3. Check
-		assertTrue(result.isEmpty());
+		// 削除日時の順。担任・学生以外はクラスなし
+		assertEquals(2, count);
+		assertEquals("del_user2@hcs.ac.jp", result.get(0).getUserId());
+		assertEquals("S", result.get(0).getDepartment());
+		assertEquals(3, result.get(0).getGrade());
+		assertNull(result.get(0).getAttendanceNumber());
+		assertEquals("del_user3@hcs.ac.jp", result.get(1).getUserId());
+		assertEquals("2", result.get(1).getUserType());
+		assertNull(result.get(1).getDepartment());
+		assertNull(result.get(1).getStudentId());
 
 		// 4. Log
-		log.info("地域リスト取得テスト成功(データなし): userId={}, locations={}", userId, result);
+		log.info("削除ユーザ逐次取得テスト成功: count={}", count);
 	}
 
 }
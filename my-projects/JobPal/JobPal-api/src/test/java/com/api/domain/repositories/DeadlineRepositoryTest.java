@@ -0,0 +1,139 @@
+package com.api.domain.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.api.domain.repositories.DeadlineRepository.DuePoll;
+import com.api.domain.repositories.DeadlineRepository.Kind;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
+class DeadlineRepositoryTest {
+	@Autowired
+	private DeadlineRepository repository;
+
+	@Autowired
+	private JobSearchLatestRepository jobSearchLatestRepository;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger log;
+
+	/**
+	 * 最終更新日時（2024-03-01 10:00:00）から2日後が再通知の期限となる就職活動
+	 */
+	private static final String JOB_SEARCH_ID = "JS_2024_00002";
+
+	@BeforeEach
+	public void setUp() {
+		repository.rebuild();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		// テストで変更したデータを初期データに戻す
+		jdbc.update("UPDATE JOB_SEARCH_APPLICATION_T SET updated_at = '2024-03-01 10:00:00' "
+				+ "WHERE job_search_id = 'JS_2024_00002'", Map.of());
+		jobSearchLatestRepository.refresh(JOB_SEARCH_ID);
+		repository.rebuild();
+	}
+
+	@Test
+	public void testPollDue期限を迎えたもののみ取り出し() {
+		// 1. Ready
+		LocalDateTime beforeDue = LocalDateTime.of(2024, 3, 3, 9, 59);
+		LocalDateTime due = LocalDateTime.of(2024, 3, 3, 10, 0);
+
+		// 2. Do
+		DuePoll before = repository.pollDue(Kind.JOB_SEARCH_RESEND, beforeDue);
+		DuePoll fired = repository.pollDue(Kind.JOB_SEARCH_RESEND, due);
+		DuePoll again = repository.pollDue(Kind.JOB_SEARCH_RESEND, due);
+
+		// 3. Check
+		assertFalse(before.dueIds().contains(JOB_SEARCH_ID));
+		assertTrue(fired.dueIds().contains(JOB_SEARCH_ID));
+		assertFalse(fired.dueIds().contains("JS_2024_00001"));
+		// 取り出し済みの期限は再度取り出さない
+		assertTrue(again.dueIds().isEmpty());
+		assertEquals(0, again.scannedCount());
+
+		// 4. Log
+		log.info("期限を迎えたもののみ取り出しテスト成功: fired={}", fired.dueIds());
+	}
+
+	@Test
+	public void testRefreshJobSearch期限の再設定() {
+		// 1. Ready
+		jdbc.update("UPDATE JOB_SEARCH_APPLICATION_T SET updated_at = '2024-04-01 10:00:00' "
+				+ "WHERE job_search_id = 'JS_2024_00002'", Map.of());
+		jobSearchLatestRepository.refresh(JOB_SEARCH_ID);
+
+		// 2. Do
+		repository.refreshJobSearch(JOB_SEARCH_ID);
+		DuePoll oldDue = repository.pollDue(Kind.JOB_SEARCH_RESEND, LocalDateTime.of(2024, 3, 3, 10, 0));
+		DuePoll newDue = repository.pollDue(Kind.JOB_SEARCH_RESEND, LocalDateTime.of(2024, 4, 3, 10, 0));
+
+		// 3. Check
+		assertFalse(oldDue.dueIds().contains(JOB_SEARCH_ID));
+		assertTrue(newDue.dueIds().contains(JOB_SEARCH_ID));
+
+		// 4. Log
+		log.info("期限の再設定テスト成功");
+	}
+
+	@Test
+	public void testPollDue索引外の更新で延びた期限() {
+		// 1. Ready
+		// 索引に反映せずに更新（他のインスタンスでの更新を想定）
+		jdbc.update("UPDATE JOB_SEARCH_APPLICATION_T SET updated_at = '2024-04-01 10:00:00' "
+				+ "WHERE job_search_id = 'JS_2024_00002'", Map.of());
+		jobSearchLatestRepository.refresh(JOB_SEARCH_ID);
+
+		// 2. Do
+		DuePoll oldDue = repository.pollDue(Kind.JOB_SEARCH_RESEND, LocalDateTime.of(2024, 3, 3, 10, 0));
+		DuePoll newDue = repository.pollDue(Kind.JOB_SEARCH_RESEND, LocalDateTime.of(2024, 4, 3, 10, 0));
+
+		// 3. Check
+		// 取り出し時にDBの期限を確認し、延びていた場合は再設定する
+		assertFalse(oldDue.dueIds().contains(JOB_SEARCH_ID));
+		assertTrue(oldDue.scannedCount() >= 1);
+		assertTrue(newDue.dueIds().contains(JOB_SEARCH_ID));
+
+		// 4. Log
+		log.info("索引外の更新で延びた期限テスト成功");
+	}
+
+	@Test
+	public void testPollDue証明書の再通知() {
+		// 1. Ready
+		// CI_2024_00001は申請日（2024-01-01）の2日後が期限
+		LocalDateTime beforeDue = LocalDateTime.of(2024, 1, 2, 23, 59);
+		LocalDateTime due = LocalDateTime.of(2024, 1, 3, 0, 0);
+
+		// 2. Do
+		DuePoll before = repository.pollDue(Kind.CERTIFICATE_RESEND, beforeDue);
+		DuePoll fired = repository.pollDue(Kind.CERTIFICATE_RESEND, due);
+
+		// 3. Check
+		assertTrue(before.dueIds().isEmpty());
+		assertTrue(fired.dueIds().contains("CI_2024_00001"));
+		assertFalse(fired.dueIds().contains("CI_2024_00005"));
+
+		// 4. Log
+		log.info("証明書の再通知テスト成功: fired={}", fired.dueIds());
+	}
+}
@@ -16,9 +16,12 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.api.domain.models.data.DashBoardSearchCondition;
+import com.api.domain.models.dbdata.JobSearchDashBoardData;
 import com.api.domain.models.dbdata.JobSearchDashBoardDetailData;
 import com.api.domain.models.entities.DashBoardEntity;
 import com.api.jobpal.common.base.DBDataConversion;
@@ -37,6 +40,8 @@ class JobSearchDashBoardRepositoryTest {
 	@SpyBean
 	private CertificateIssuanceDashBoardRepository CIDBR;
 	@Autowired
+	private JobSearchLatestRepository jobSearchLatestRepository;
+	@Autowired
 	private Logger log;
 
 	@Test
@@ -63,13 +68,8 @@ class JobSearchDashBoardRepositoryTest {
 		mockResultList.add(mockData);
 
 		// モックの振る舞いを定義
-		doReturn(mockResultList).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(new String[] { "user_name", "job_search_status", "start_time", "company_name", "event_category",
-				"result",
-				"school_check_flag", "end_time", "job_search_id", "department", "grade", "class_name",
-				"attendance_number",
-				"user_id", "max_updated_at" })
-						.when(dbdc).extractColumnNames(anyString());
+		doAnswer(invocation -> MockResultSets.mapRows(mockResultList, invocation.getArgument(2))).when(jdbc)
+				.query(anyString(), anyMap(), any(RowMapper.class));
 
 		// テスト実行
 		DashBoardEntity result = repository.selectDashBoardAll(true);
@@ -105,13 +105,8 @@ class JobSearchDashBoardRepositoryTest {
 		mockResultList.add(mockData);
 
 		// モックの振る舞いを定義
-		doReturn(mockResultList).when(jdbc).queryForList(anyString(), anyMap());
-		doReturn(new String[] { "user_name", "job_search_status", "start_time", "company_name", "event_category",
-				"result",
-				"school_check_flag", "end_time", "job_search_id", "department", "grade", "class_name",
-				"attendance_number",
-				"user_id", "max_updated_at" })
-						.when(dbdc).extractColumnNames(anyString());
+		doAnswer(invocation -> MockResultSets.mapRows(mockResultList, invocation.getArgument(2))).when(jdbc)
+				.query(anyString(), anyMap(), any(RowMapper.class));
 
 		// テスト実行
 		DashBoardEntity result = repository.selectDashBoardStudent("student@hcs.ac.jp");
@@ -123,6 +118,185 @@ class JobSearchDashBoardRepositoryTest {
 		log.info("selectDashBoardStudent正常テスト成功: result={}", result);
 	}
 
+	@Test
+	public void testSelectDashBoardAll実データ() {
+		// 1. Ready
+		Integer expectedCount = jdbc.queryForObject("SELECT COUNT(*) FROM JOB_SEARCH_T", Map.of(), Integer.class);
+
+		// 2. Do
+		DashBoardEntity result = repository.selectDashBoardAll(true);
+
+		// 3. Check
+		assertEquals(expectedCount, result.getDashBoardList().size());
+		result.getDashBoardList().forEach(data -> {
+			assertNotNull(data.getJobSearchId());
+			assertNotNull(data.getJobSearchStatus());
+		});
+
+		// 4. Log
+		log.info("selectDashBoardAll実データテスト成功: size={}", result.getDashBoardList().size());
+	}
+
+	@Test
+	public void testSelectDashBoardPage実データ() {
+		// 1. Ready
+		Integer expectedCount = jdbc.queryForObject("SELECT COUNT(*) FROM JOB_SEARCH_T", Map.of(), Integer.class);
+		DashBoardSearchCondition condition = new DashBoardSearchCondition();
+		condition.setScope(DashBoardSearchCondition.Scope.ADMIN);
+		condition.setSortKey(DashBoardSearchCondition.SORT_START_TIME);
+		condition.setDescending(false);
+		condition.setLimit(2);
+
+		// 2. Do
+		// カーソルを進めながら全ページを取得
+		List<JobSearchDashBoardData> allRows = new ArrayList<>();
+		List<JobSearchDashBoardData> page = repository.selectDashBoardPage(condition).getDashBoardList();
+		while (!page.isEmpty()) {
+			assertTrue(page.size() <= 2);
+			allRows.addAll(page);
+			JobSearchDashBoardData last = page.get(page.size() - 1);
+			condition.setCursorValue(last.getStartTime());
+			condition.setCursorJobSearchId(last.getJobSearchId());
+			page = repository.selectDashBoardPage(condition).getDashBoardList();
+		}
+		int totalCount = repository.countDashBoard(condition);
+
+		// 3. Check
+		assertEquals(expectedCount, totalCount);
+		assertEquals(expectedCount, allRows.size());
+		assertEquals((long) expectedCount,
+				allRows.stream().map(JobSearchDashBoardData::getJobSearchId).distinct().count());
+		for (int i = 1; i < allRows.size(); i++) {
+			JobSearchDashBoardData before = allRows.get(i - 1);
+			JobSearchDashBoardData after = allRows.get(i);
+			int compare = before.getStartTime().compareTo(after.getStartTime());
+			assertTrue(compare < 0 || (compare == 0 && before.getJobSearchId().compareTo(after.getJobSearchId()) < 0));
+		}
+
+		// 4. Log
+		log.info("selectDashBoardPage実データテスト成功: size={}", allRows.size());
+	}
+
+	@Test
+	public void testSelectDashBoardPage申請と報告が複数ある就職活動() {
+		// 1. Ready
+		Integer expectedCount = jdbc.queryForObject("SELECT COUNT(*) FROM JOB_SEARCH_T", Map.of(), Integer.class);
+		Map<String, Object> latest = jdbc.queryForMap("SELECT job_search_id, job_application_id, job_report_id "
+				+ "FROM JOB_SEARCH_LATEST_T "
+				+ "WHERE job_application_id IS NOT NULL AND job_report_id IS NOT NULL "
+				+ "ORDER BY job_search_id LIMIT 1", Map.of());
+		String jobSearchId = (String) latest.get("job_search_id");
+		// 最新の申請・報告と更新日時が同じ申請・報告、および古い申請・報告を追加
+		Timestamp old = Timestamp.valueOf("2000-01-01 00:00:00");
+		jdbc.update("INSERT INTO JOB_SEARCH_APPLICATION_T "
+				+ "(job_application_id, start_time, company_name, event_category, location_type, location, "
+				+ "school_check_flag, tardiness_absence_type, created_at, updated_at, job_search_id) "
+				+ "SELECT 'JA_9999_99999', start_time, company_name, event_category, location_type, location, "
+				+ "school_check_flag, tardiness_absence_type, created_at, updated_at, job_search_id "
+				+ "FROM JOB_SEARCH_APPLICATION_T WHERE job_application_id = :jobApplicationId",
+				Map.of("jobApplicationId", latest.get("job_application_id")));
+		jdbc.update("INSERT INTO JOB_SEARCH_APPLICATION_T "
+				+ "(job_application_id, start_time, company_name, event_category, location_type, location, "
+				+ "school_check_flag, tardiness_absence_type, created_at, updated_at, job_search_id) "
+				+ "VALUES ('JA_2000_00001', :old, '古い申請', '0', '0', '自宅', FALSE, '0', :old, :old, :jobSearchId)",
+				Map.of("old", old, "jobSearchId", jobSearchId));
+		jdbc.update("INSERT INTO JOB_SEARCH_REPORT_T "
+				+ "(job_report_id, report_content, result, created_at, updated_at, job_search_id) "
+				+ "SELECT 'JR_9999_99999', report_content, result, created_at, updated_at, job_search_id "
+				+ "FROM JOB_SEARCH_REPORT_T WHERE job_report_id = :jobReportId",
+				Map.of("jobReportId", latest.get("job_report_id")));
+		jdbc.update("INSERT INTO JOB_SEARCH_REPORT_T "
+				+ "(job_report_id, report_content, result, created_at, updated_at, job_search_id) "
+				+ "VALUES ('JR_2000_00001', '古い報告', '5', :old, :old, :jobSearchId)",
+				Map.of("old", old, "jobSearchId", jobSearchId));
+		jobSearchLatestRepository.refresh(jobSearchId);
+		DashBoardSearchCondition condition = new DashBoardSearchCondition();
+		condition.setScope(DashBoardSearchCondition.Scope.ADMIN);
+		condition.setSortKey(DashBoardSearchCondition.SORT_START_TIME);
+		condition.setDescending(false);
+		condition.setLimit(2);
+
+		try {
+			// 2. Do
+			// カーソルを進めながら全ページを取得
+			List<JobSearchDashBoardData> allRows = new ArrayList<>();
+			List<JobSearchDashBoardData> page = repository.selectDashBoardPage(condition).getDashBoardList();
+			while (!page.isEmpty()) {
+				allRows.addAll(page);
+				JobSearchDashBoardData last = page.get(page.size() - 1);
+				condition.setCursorValue(last.getStartTime());
+				condition.setCursorJobSearchId(last.getJobSearchId());
+				page = repository.selectDashBoardPage(condition).getDashBoardList();
+			}
+			int totalCount = repository.countDashBoard(condition);
+
+			// 3. Check（申請・報告が複数あっても就職活動は1行のみで、件数も増えない）
+			assertEquals(expectedCount, totalCount);
+			assertEquals(expectedCount, allRows.size());
+			assertEquals((long) expectedCount,
+					allRows.stream().map(JobSearchDashBoardData::getJobSearchId).distinct().count());
+			assertEquals(1, allRows.stream().filter(data -> jobSearchId.equals(data.getJobSearchId())).count());
+
+			// 4. Log
+			log.info("selectDashBoardPage申請・報告が複数テスト成功: jobSearchId={}, size={}", jobSearchId, allRows.size());
+		} finally {
+			jdbc.update("DELETE FROM JOB_SEARCH_APPLICATION_T "
+					+ "WHERE job_application_id IN ('JA_9999_99999', 'JA_2000_00001')", Map.of());
+			jdbc.update("DELETE FROM JOB_SEARCH_REPORT_T "
+					+ "WHERE job_report_id IN ('JR_9999_99999', 'JR_2000_00001')", Map.of());
+			jobSearchLatestRepository.refresh(jobSearchId);
+		}
+	}
+
+	@Test
+	public void testSelectDashBoardPage絞り込み() {
+		// 1. Ready
+		DashBoardSearchCondition condition = new DashBoardSearchCondition();
+		condition.setScope(DashBoardSearchCondition.Scope.ADMIN);
+		condition.setEventCategory("5");
+		condition.setStartTimeFrom(Timestamp.valueOf("2024-03-05 00:00:00"));
+		condition.setStartTimeTo(Timestamp.valueOf("2024-03-06 00:00:00"));
+		condition.setDescending(true);
+		condition.setLimit(10);
+
+		// 2. Do
+		List<JobSearchDashBoardData> result = repository.selectDashBoardPage(condition).getDashBoardList();
+		int totalCount = repository.countDashBoard(condition);
+
+		// 3. Check
+		assertEquals(totalCount, result.size());
+		assertTrue(result.stream().anyMatch(data -> "JS_2024_00006".equals(data.getJobSearchId())));
+		result.forEach(data -> assertEquals("5", data.getEventCategory()));
+
+		// 4. Log
+		log.info("selectDashBoardPage絞り込みテスト成功: size={}", result.size());
+	}
+
+	@Test
+	public void testStreamDashBoard実データ() {
+		// 1. Ready
+		DashBoardSearchCondition condition = new DashBoardSearchCondition();
+		condition.setScope(DashBoardSearchCondition.Scope.ADMIN);
+		condition.setSortKey(DashBoardSearchCondition.SORT_START_TIME);
+		condition.setDescending(true);
+		condition.setLimit(1000);
+		List<String> expectedIds = repository.selectDashBoardPage(condition).getDashBoardList().stream()
+				.map(JobSearchDashBoardData::getJobSearchId)
+				.toList();
+
+		// 2. Do
+		List<String> streamedIds = new ArrayList<>();
+		int count = repository.streamDashBoard(condition, data -> streamedIds.add(data.getJobSearchId()));
+
+		// 3. Check
+		// ページ取得と同じ並び順で全件を処理
+		assertEquals(expectedIds.size(), count);
+		assertEquals(expectedIds, streamedIds);
+
+		// 4. Log
+		log.info("streamDashBoard実データテスト成功: count={}", count);
+	}
+
 	@Test
 	public void testSelectJobSearchDashBoardDetail正常() {
 		// モックの結果データ
@@ -0,0 +1,176 @@
+package com.api.domain.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.domain.models.dbdata.JobSearchDashBoardData;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
+class JobSearchLatestRepositoryTest {
+	@Autowired
+	private JobSearchLatestRepository repository;
+
+	@Autowired
+	private JobSearchDashBoardRepository jobSearchDashBoardRepository;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private Logger log;
+
+	private static final String STUDENT = "student@hcs.ac.jp";
+
+	/**
+	 * 申請が1件のみ登録されている就職活動ID
+	 */
+	private static final String JOB_SEARCH_ID = "JS_2024_00003";
+
+	/**
+	 * テストで追加する申請ID
+	 */
+	private static final String JOB_APPLICATION_ID = "JA_2099_00001";
+
+	@AfterEach
+	public void tearDown() {
+		// テストで追加した申請を削除
+		jdbc.update("DELETE FROM JOB_SEARCH_APPLICATION_T WHERE job_application_id = :id",
+				Map.of("id", JOB_APPLICATION_ID));
+		repository.rebuild();
+	}
+
+	/**
+	 * 就職活動の最新状態を取得します。
+	 */
+	private Map<String, Object> selectLatest(String jobSearchId) {
+		return jdbc.queryForMap("SELECT * FROM JOB_SEARCH_LATEST_T WHERE job_search_id = :id",
+				Map.of("id", jobSearchId));
+	}
+
+	@Test
+	public void testRebuild全就職活動の最新状態を作成() {
+		// 1. Ready
+		int expected = jdbc.queryForObject("SELECT COUNT(*) FROM JOB_SEARCH_T", Map.of(), Integer.class);
+
+		// 2. Do
+		int result = repository.rebuild();
+
+		// 3. Check
+		assertEquals(expected, result);
+		assertEquals(Timestamp.valueOf("2024-03-01 10:00:00"), selectLatest("JS_2024_00002").get("max_updated_at"));
+
+		// 4. Log
+		log.info("全就職活動の最新状態を作成テスト成功: result={}", result);
+	}
+
+	@Test
+	public void testRefresh最新の申請のみを結合() {
+		// 1. Ready
+		jdbc.update("INSERT INTO JOB_SEARCH_APPLICATION_T (job_application_id, start_time, company_name, "
+				+ "event_category, location_type, location, school_check_flag, tardiness_absence_type, "
+				+ "created_at, updated_at, job_search_id) VALUES ('" + JOB_APPLICATION_ID + "', "
+				+ "'2099-01-10 09:00:00', '再申請株式会社', '1', '2', '自宅', FALSE, '0', "
+				+ "'2099-01-01 10:00:00', '2099-01-01 10:00:00', '" + JOB_SEARCH_ID + "')", Map.of());
+
+		// 2. Do
+		Boolean result = repository.refresh(JOB_SEARCH_ID);
+		Map<String, Object> latest = selectLatest(JOB_SEARCH_ID);
+		List<JobSearchDashBoardData> rows = jobSearchDashBoardRepository.selectDashBoardStudent(STUDENT)
+				.getDashBoardList().stream()
+				.filter(row -> JOB_SEARCH_ID.equals(row.getJobSearchId()))
+				.toList();
+
+		// 3. Check
+		assertTrue(result);
+		assertEquals(JOB_APPLICATION_ID, latest.get("job_application_id"));
+		assertEquals("2", latest.get("location_type"));
+		assertEquals(Timestamp.valueOf("2099-01-01 10:00:00"), latest.get("max_updated_at"));
+		// 申請が2件あっても、ダッシュボードは最新の申請の1行のみ
+		assertEquals(1, rows.size());
+		assertEquals("再申請株式会社", rows.get(0).getCompanyName());
+
+		// 4. Log
+		log.info("最新の申請のみを結合テスト成功: latest={}", latest);
+	}
+
+	@Test
+	public void testRefresh同じ就職活動を同時に作り直し() throws Exception {
+		// 1. Ready
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch firstRefreshed = new CountDownLatch(1);
+
+		// 2. Do
+		Future<Boolean> first;
+		Future<Boolean> second;
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			// 申請を追加して作り直し、コミット前に待機するトランザクション
+			first = executor.submit(() -> transactionTemplate.execute(status -> {
+				jdbc.update("INSERT INTO JOB_SEARCH_APPLICATION_T (job_application_id, start_time, company_name, "
+						+ "event_category, location_type, location, school_check_flag, tardiness_absence_type, "
+						+ "created_at, updated_at, job_search_id) VALUES ('" + JOB_APPLICATION_ID + "', "
+						+ "'2099-01-10 09:00:00', '再申請株式会社', '1', '2', '自宅', FALSE, '0', "
+						+ "'2099-01-01 10:00:00', '2099-01-01 10:00:00', '" + JOB_SEARCH_ID + "')", Map.of());
+				Boolean refreshed = repository.refresh(JOB_SEARCH_ID);
+				firstRefreshed.countDown();
+				try {
+					Thread.sleep(300);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return refreshed;
+			}));
+			// 同じ就職活動を作り直すトランザクション（先のコミットまで待機する）
+			second = executor.submit(() -> {
+				firstRefreshed.await(5, TimeUnit.SECONDS);
+				return transactionTemplate.execute(status -> repository.refresh(JOB_SEARCH_ID));
+			});
+		}
+		Map<String, Object> latest = selectLatest(JOB_SEARCH_ID);
+
+		// 3. Check
+		// 後のトランザクションも主キー違反とならず、先にコミットされた申請から作り直す
+		assertTrue(first.get());
+		assertTrue(second.get());
+		assertEquals(JOB_APPLICATION_ID, latest.get("job_application_id"));
+		assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM JOB_SEARCH_LATEST_T WHERE job_search_id = :id",
+				Map.of("id", JOB_SEARCH_ID), Integer.class));
+
+		// 4. Log
+		log.info("同じ就職活動を同時に作り直しテスト成功: latest={}", latest);
+	}
+
+	@Test
+	public void testRefresh存在しない就職活動() {
+		// 2. Do
+		Boolean result = repository.refresh("JS_2099_99999");
+
+		// 3. Check
+		assertFalse(result);
+
+		// 4. Log
+		log.info("存在しない就職活動テスト成功");
+	}
+}
@@ -0,0 +1,68 @@
+package com.api.domain.repositories;
+
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * テスト用の検索結果（Mapのリスト）をRowMapperに渡すためのユーティリティ
+ */
+final class MockResultSets {
+
+	private MockResultSets() {
+	}
+
+	/**
+	 * Mapのリストを1行ずつResultSetとしてRowMapperに渡し、変換結果を返却します。
+	 *
+	 * @param rows 検索結果（列名と値のMap）
+	 * @param rowMapper 変換に使用するRowMapper
+	 * @return 変換結果のリスト
+	 * @throws SQLException 変換に失敗した場合
+	 */
+	static <T> List<T> mapRows(List<Map<String, Object>> rows, RowMapper<T> rowMapper) throws SQLException {
+		List<T> result = new ArrayList<>();
+		if (rows.isEmpty()) {
+			return result;
+		}
+		// 列の位置は1行目の列名の順番に固定する
+		List<String> labels = new ArrayList<>(rows.get(0).keySet());
+		for (int i = 0; i < rows.size(); i++) {
+			result.add(rowMapper.mapRow(resultSetOf(labels, rows.get(i)), i));
+		}
+		return result;
+	}
+
+	private static ResultSet resultSetOf(List<String> labels, Map<String, Object> row) {
+		boolean[] lastNull = new boolean[1];
+		return mock(ResultSet.class, invocation -> {
+			String methodName = invocation.getMethod().getName();
+			Object[] args = invocation.getArguments();
+			if ("findColumn".equals(methodName)) {
+				int index = labels.indexOf(args[0]);
+				if (index < 0) {
+					throw new SQLException("Column not found: " + args[0]);
+				}
+				return index + 1;
+			}
+			if ("wasNull".equals(methodName)) {
+				return lastNull[0];
+			}
+			if (methodName.startsWith("get") && args.length == 1 && args[0] instanceof Integer index) {
+				Object value = row.get(labels.get(index - 1));
+				lastNull[0] = value == null;
+				if ("getBoolean".equals(methodName)) {
+					return value != null && Boolean.parseBoolean(value.toString());
+				}
+				return value;
+			}
+			return RETURNS_DEFAULTS.answer(invocation);
+		});
+	}
+}
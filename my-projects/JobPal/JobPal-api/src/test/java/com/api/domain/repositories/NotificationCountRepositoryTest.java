@@ -0,0 +1,139 @@
+package com.api.domain.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
+class NotificationCountRepositoryTest {
+	@Autowired
+	private NotificationCountRepository repository;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger log;
+
+	private static final String STUDENT = "student@hcs.ac.jp";
+
+	private static final String NOTIFICATION_ID = "N_2099_000001";
+
+	/**
+	 * 通知が登録されていない就職活動ID
+	 */
+	private static final String JOB_SEARCH_ID = "JS_2024_00001";
+
+	@BeforeEach
+	public void setUp() {
+		repository.reconcile();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		// テストで登録した通知を削除
+		jdbc.update("DELETE FROM NOTIFICATION_T WHERE notification_id = :id", Map.of("id", NOTIFICATION_ID));
+		repository.reconcile();
+	}
+
+	/**
+	 * トランザクション内で通知を登録します。
+	 */
+	private void insertNotification() {
+		transactionTemplate.executeWithoutResult(status -> {
+			notificationRepository.insertNotification(NOTIFICATION_ID, STUDENT, false, "0");
+			notificationRepository.insertNotificationJobSearch(NOTIFICATION_ID, JOB_SEARCH_ID);
+		});
+	}
+
+	@Test
+	public void testGetCountDBの件数と一致() {
+		// 1. Ready
+		int expected = notificationRepository.getNotificationCount(STUDENT);
+
+		// 2. Do
+		int result = repository.getCount(STUDENT);
+
+		// 3. Check
+		assertEquals(expected, result);
+		assertEquals(0, repository.getCount("unknown@hcs.ac.jp"));
+
+		// 4. Log
+		log.info("DBの件数と一致テスト成功: result={}", result);
+	}
+
+	@Test
+	public void testAdd登録と削除を反映() {
+		// 1. Ready
+		int before = repository.getCount(STUDENT);
+
+		// 2. Do
+		insertNotification();
+		int inserted = repository.getCount(STUDENT);
+		transactionTemplate.executeWithoutResult(
+				status -> notificationRepository.deleteNotificationJobSearch(JOB_SEARCH_ID));
+		int deleted = repository.getCount(STUDENT);
+
+		// 3. Check
+		assertEquals(before + 1, inserted);
+		assertEquals(before, deleted);
+		assertEquals(notificationRepository.getNotificationCount(STUDENT), deleted);
+
+		// 4. Log
+		log.info("登録と削除を反映テスト成功: before={}, inserted={}, deleted={}", before, inserted, deleted);
+	}
+
+	@Test
+	public void testAddロールバックは反映しない() {
+		// 1. Ready
+		int before = repository.getCount(STUDENT);
+
+		// 2. Do
+		transactionTemplate.executeWithoutResult(status -> {
+			notificationRepository.insertNotification(NOTIFICATION_ID, STUDENT, false, "0");
+			status.setRollbackOnly();
+		});
+
+		// 3. Check
+		assertEquals(before, repository.getCount(STUDENT));
+		assertEquals(before, notificationRepository.getNotificationCount(STUDENT));
+
+		// 4. Log
+		log.info("ロールバックは反映しないテスト成功: before={}", before);
+	}
+
+	@Test
+	public void testReconcile差異を補正() {
+		// 1. Ready
+		int expected = notificationRepository.getNotificationCount(STUDENT);
+		repository.add(STUDENT, 3);
+
+		// 2. Do
+		int driftUsers = repository.reconcile();
+
+		// 3. Check
+		assertEquals(1, driftUsers);
+		assertEquals(expected, repository.getCount(STUDENT));
+
+		// 4. Log
+		log.info("差異を補正テスト成功: driftUsers={}", driftUsers);
+	}
+}
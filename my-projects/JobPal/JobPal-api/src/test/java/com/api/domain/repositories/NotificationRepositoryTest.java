@@ -17,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.api.domain.models.dbdata.CertificateData;
@@ -657,4 +658,30 @@ class NotificationRepositoryTest {
 		log.info("通知クラス担任削除テスト失敗: data={}, result={}", data, result);
 	}
 
+	@Test
+	public void testInsertNotificationJobSearchList正常() {
+		// バッチの更新件数をモック
+		doReturn(new int[] { 1, 1 }).when(jdbc).batchUpdate(anyString(), any(SqlParameterSource[].class));
+
+		String jobSearchId = "JS001";
+		List<String> userIdList = List.of("USER001", "USER002");
+
+		int result = repository.insertNotificationJobSearchList(jobSearchId, userIdList);
+
+		// 通知と通知就職活動をそれぞれ1回のバッチで登録
+		assertEquals(2, result);
+		verify(jdbc, times(2)).batchUpdate(anyString(), argThat((SqlParameterSource[] batch) -> batch.length == 2));
+		log.info("通知就職活動一括作成テスト成功: jobSearchId={}, result={}", jobSearchId, result);
+	}
+
+	@Test
+	public void testInsertNotificationCertificateIssuanceList空のリスト() {
+		List<String> userIdList = new ArrayList<>();
+
+		int result = repository.insertNotificationCertificateIssuanceList("CI001", userIdList);
+
+		assertEquals(0, result);
+		verify(jdbc, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+		log.info("通知証明書発行一括作成テスト成功（空のリスト）: result={}", result);
+	}
 }
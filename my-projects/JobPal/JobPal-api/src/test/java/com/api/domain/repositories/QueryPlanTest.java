@@ -0,0 +1,240 @@
+package com.api.domain.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
+
+/**
+ * リポジトリのSQLの実行計画を検証するテストクラスです。
+ *
+ * <p>
+ * 検索・結合に使用する列にインデックスを作成したテーブル（{@link #INDEXED_COLUMNS}）について、以下を検証します。
+ * <ul>
+ * <li>検索・結合に使用する列のインデックスが作成されていること</li>
+ * <li>各リポジトリのSELECT文で、最初に読むテーブル（駆動表）以外に全件走査（tableScan）がないこと</li>
+ * </ul>
+ * <p>
+ * 実行計画はH2のEXPLAINで確認します。パラメータはすべてNULL（LIMITのみ1）で展開します。<br>
+ * 件数の少ないマスタ（証明書マスタなど）や、インデックスを作成していないテーブルの全件走査は検証しません。<br>
+ * 全件走査が必要なSQLは、理由とともに{@link #ALLOWED_SCANS}へ追加してください。
+ * </p>
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
+class QueryPlanTest {
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private Logger log;
+
+	/**
+	 * 検索・結合に使用する列と、そのインデックス（テーブル名 → 列名）
+	 */
+	private static final Map<String, String> INDEXED_COLUMNS = new LinkedHashMap<>();
+	static {
+		INDEXED_COLUMNS.put("TEACHER_STUDENT_USER_M", "DEPARTMENT");
+		INDEXED_COLUMNS.put("JOB_SEARCH_T", "STUDENT_USER_ID");
+		INDEXED_COLUMNS.put("JOB_SEARCH_APPLICATION_T", "JOB_SEARCH_ID");
+		INDEXED_COLUMNS.put("JOB_SEARCH_REPORT_T", "JOB_SEARCH_ID");
+		INDEXED_COLUMNS.put("EXAM_REPORT_T", "JOB_SEARCH_ID");
+		INDEXED_COLUMNS.put("CERTIFICATE_ISSUANCE_T", "STUDENT_USER_ID");
+		INDEXED_COLUMNS.put("NOTIFICATION_T", "ASSIGNED_USER_ID");
+		INDEXED_COLUMNS.put("NOTIFICATION_JOB_SEARCH_T", "JOB_SEARCH_ID");
+		INDEXED_COLUMNS.put("NOTIFICATION_CERTIFICATE_ISSUANCE_T", "CERTIFICATE_ISSUE_ID");
+	}
+
+	/**
+	 * 駆動表以外の全件走査を許可するSQL（クラス名.定数名 → 理由）
+	 *
+	 * <p>
+	 * 上記のテーブルは主キーまたはインデックスの列で結合・検索しているため、現時点で許可しているSQLはありません。
+	 * </p>
+	 */
+	private static final Map<String, String> ALLOWED_SCANS = Map.of();
+
+	/**
+	 * 実行計画の全件走査（例: PUBLIC.JOB_SEARCH_T.tableScan）
+	 */
+	private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*\"?PUBLIC\"?\\.\"?(\\w+)\"?\\.tableScan",
+			Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * 実行計画のテーブルの読み方（全件走査またはインデックス）
+	 */
+	private static final Pattern TABLE_ACCESS = Pattern.compile("/\\*\\s*\"?PUBLIC\"?\\.", Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * すべてのパラメータをNULLで展開するパラメータ（LIMITのみ1）
+	 */
+	private static final AbstractSqlParameterSource NULL_PARAMS = new AbstractSqlParameterSource() {
+		@Override
+		public boolean hasValue(String paramName) {
+			return true;
+		}
+
+		@Override
+		public Object getValue(String paramName) {
+			return "limit".equals(paramName) ? 1 : null;
+		}
+	};
+
+	@BeforeEach
+	public void setUp() {
+		// 最新の件数で実行計画を作成
+		jdbc.getJdbcTemplate().execute("ANALYZE");
+	}
+
+	/**
+	 * 実行計画を取得します。
+	 */
+	private String explain(String sql) {
+		List<String> plan = jdbc.queryForList("EXPLAIN " + sql, NULL_PARAMS, String.class);
+		return String.join("\n", plan);
+	}
+
+	/**
+	 * 駆動表以外で全件走査している、インデックスを作成したテーブルを取得します。
+	 */
+	private List<String> findScans(String plan) {
+		List<String> scans = new ArrayList<>();
+		Matcher access = TABLE_ACCESS.matcher(plan);
+		int drivingStart = access.find() ? access.start() : -1;
+		Matcher scan = TABLE_SCAN.matcher(plan);
+		while (scan.find()) {
+			String table = scan.group(1).toUpperCase();
+			if (scan.start() != drivingStart && INDEXED_COLUMNS.containsKey(table)) {
+				scans.add(table);
+			}
+		}
+		return scans;
+	}
+
+	/**
+	 * リポジトリのSELECT文を取得します（クラス名.定数名 → SQL）。
+	 *
+	 * <p>
+	 * FROM句を含まない組み立て用の断片は除きます。
+	 * </p>
+	 */
+	private Map<String, String> collectSelectStatements() throws IllegalAccessException {
+		Map<String, String> statements = new LinkedHashMap<>();
+		for (Object bean : context.getBeansWithAnnotation(Repository.class).values()) {
+			Object target = AopTestUtils.getUltimateTargetObject(bean);
+			Class<?> type = target.getClass();
+			if (!type.getPackageName().equals(getClass().getPackageName())) {
+				continue;
+			}
+			for (Field field : type.getDeclaredFields()) {
+				if (field.getType() != String.class || !field.getName().startsWith("SQL_")) {
+					continue;
+				}
+				field.setAccessible(true);
+				String sql = ((String) field.get(Modifier.isStatic(field.getModifiers()) ? null : target)).trim();
+				if (sql.endsWith(";")) {
+					sql = sql.substring(0, sql.length() - 1);
+				}
+				if (sql.regionMatches(true, 0, "SELECT", 0, 6) && sql.toUpperCase().contains(" FROM ")) {
+					statements.put(type.getSimpleName() + "." + field.getName(), sql);
+				}
+			}
+		}
+		return statements;
+	}
+
+	@Test
+	public void testIndexes検索列のインデックスを使用() throws Exception {
+		// 1. Ready
+		Set<String> indexedTables = new HashSet<>();
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		try {
+			DatabaseMetaData metaData = connection.getMetaData();
+			for (Map.Entry<String, String> entry : INDEXED_COLUMNS.entrySet()) {
+				try (ResultSet rs = metaData.getIndexInfo(null, "PUBLIC", entry.getKey(), false, false)) {
+					while (rs.next()) {
+						String indexName = rs.getString("INDEX_NAME");
+						if (indexName != null && indexName.endsWith("_IX")
+								&& entry.getValue().equalsIgnoreCase(rs.getString("COLUMN_NAME"))
+								&& rs.getShort("ORDINAL_POSITION") == 1) {
+							indexedTables.add(entry.getKey());
+						}
+					}
+				}
+			}
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+
+		// 2. Do
+		Map<String, String> plans = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : INDEXED_COLUMNS.entrySet()) {
+			plans.put(entry.getKey(), explain("SELECT * FROM " + entry.getKey()
+					+ " WHERE " + entry.getValue() + " = :value"));
+		}
+
+		// 3. Check
+		assertEquals(INDEXED_COLUMNS.keySet(), indexedTables);
+		plans.forEach((table, plan) -> assertFalse(TABLE_SCAN.matcher(plan).find(), table + ": " + plan));
+
+		// 4. Log
+		log.info("検索列のインデックスを使用テスト成功: {}", indexedTables);
+	}
+
+	@Test
+	public void testSelectStatements駆動表以外を全件走査しない() throws Exception {
+		// 1. Ready
+		Map<String, String> statements = collectSelectStatements();
+
+		// 2. Do
+		Map<String, List<String>> violations = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : statements.entrySet()) {
+			String plan = explain(entry.getValue());
+			List<String> scans = findScans(plan);
+			if (!scans.isEmpty() && !ALLOWED_SCANS.containsKey(entry.getKey())) {
+				violations.put(entry.getKey(), scans);
+				log.warn("{}: {}", entry.getKey(), plan);
+			}
+		}
+
+		// 3. Check
+		assertFalse(statements.isEmpty());
+		assertTrue(violations.isEmpty(), "全件走査があります: " + violations);
+
+		// 4. Log
+		log.info("駆動表以外を全件走査しないテスト成功: {}件", statements.size());
+	}
+}
@@ -0,0 +1,159 @@
+package com.api.domain.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.domain.models.data.ZipCodeData;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
+class ZipCodeRepositoryTest {
+	@Autowired
+	private ZipCodeRepository repository;
+
+	@Autowired
+	private Logger log;
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * KEN_ALL形式のテストデータ（郵便番号の順ではなく、町域名が2行に分かれた行を含む）
+	 */
+	private static final String KEN_ALL = ""
+			+ "01101,\"060  \",\"0600000\",\"ﾎｯｶｲﾄﾞｳ\",\"ｻｯﾎﾟﾛｼﾁｭｳｵｳｸ\",\"ｲｶﾆｹｲｻｲｶﾞﾅｲﾊﾞｱｲ\",\"北海道\",\"札幌市中央区\",\"以下に掲載がない場合\",0,0,0,0,0,0\r\n"
+			+ "01104,\"003  \",\"0030806\",\"ﾎｯｶｲﾄﾞｳ\",\"ｻｯﾎﾟﾛｼｼﾛｲｼｸ\",\"ｷｸｽｲ6ｼﾞｮｳ\",\"北海道\",\"札幌市白石区\",\"菊水六条\",0,0,1,0,0,0\r\n"
+			+ "01104,\"003  \",\"0030801\",\"ﾎｯｶｲﾄﾞｳ\",\"ｻｯﾎﾟﾛｼｼﾛｲｼｸ\",\"ｷｸｽｲ1ｼﾞｮｳ\",\"北海道\",\"札幌市白石区\",\"菊水一条\",0,0,1,0,0,0\r\n"
+			+ "13101,\"100  \",\"1006090\",\"ﾄｳｷｮｳﾄ\",\"ﾁﾖﾀﾞｸ\",\"ｶｽﾐｶﾞｾｷｶｽﾐｶﾞｾｷﾋﾞﾙﾃﾞｨﾝｸﾞ(ﾁｶｲ･ｶｲｿｳﾌﾒｲ)\",\"東京都\",\"千代田区\",\"霞が関霞が関ビルディング（地階・\",0,0,0,0,0,0\r\n"
+			+ "13101,\"100  \",\"1006090\",\"ﾄｳｷｮｳﾄ\",\"ﾁﾖﾀﾞｸ\",\"\",\"東京都\",\"千代田区\",\"階層不明）\",0,0,0,0,0,0\r\n"
+			+ "13101,\"100  \",\"0030806\",\"ﾄｳｷｮｳﾄ\",\"ﾁﾖﾀﾞｸ\",\"ﾃｽﾄ\",\"東京都\",\"千代田区\",\"テスト\",0,0,0,0,0,0\r\n";
+
+	@AfterEach
+	public void tearDown() {
+		// 郵便番号データを未指定に戻す
+		ReflectionTestUtils.setField(repository, "kenAllPath", "");
+		repository.reload();
+	}
+
+	/**
+	 * テストデータを書き込み、郵便番号データとして読み込みます。
+	 */
+	private Path load(String csv) throws IOException {
+		Path file = tempDir.resolve("KEN_ALL.CSV");
+		Files.write(file, csv.getBytes(Charset.forName("MS932")));
+		ReflectionTestUtils.setField(repository, "kenAllPath", file.toString());
+		repository.reload();
+		return file;
+	}
+
+	@Test
+	public void testSelectByZipCode郵便番号で検索() throws Exception {
+		// 1. Ready
+		load(KEN_ALL);
+
+		// 2. Do
+		List<ZipCodeData> result = repository.selectByZipCode("0030806");
+		List<ZipCodeData> notListed = repository.selectByZipCode("0600000");
+		List<ZipCodeData> joined = repository.selectByZipCode("1006090");
+
+		// 3. Check
+		assertTrue(repository.isLoaded());
+		// 同じ郵便番号はCSVの順
+		assertEquals(2, result.size());
+		assertEquals("0030806", result.get(0).getZipcode());
+		assertEquals("1", result.get(0).getPrefcode());
+		assertEquals("北海道", result.get(0).getAddress1());
+		assertEquals("札幌市白石区", result.get(0).getAddress2());
+		assertEquals("菊水六条", result.get(0).getAddress3());
+		assertEquals("ﾎｯｶｲﾄﾞｳ", result.get(0).getKana1());
+		assertEquals("ｻｯﾎﾟﾛｼｼﾛｲｼｸ", result.get(0).getKana2());
+		assertEquals("ｷｸｽｲ6ｼﾞｮｳ", result.get(0).getKana3());
+		assertEquals("13", result.get(1).getPrefcode());
+		// 掲載がない場合の町域名は空
+		assertEquals("", notListed.get(0).getAddress3());
+		assertEquals("", notListed.get(0).getKana3());
+		// 2行に分かれた町域名は1件
+		assertEquals(1, joined.size());
+		assertEquals("霞が関霞が関ビルディング（地階・階層不明）", joined.get(0).getAddress3());
+		assertTrue(repository.selectByZipCode("9999999").isEmpty());
+		assertTrue(repository.selectByZipCode("003080").isEmpty());
+
+		// 4. Log
+		log.info("郵便番号で検索テスト成功: result={}", result.size());
+	}
+
+	@Test
+	public void testSelectByPrefix郵便番号の先頭で検索() throws Exception {
+		// 1. Ready
+		load(KEN_ALL);
+
+		// 2. Do
+		List<ZipCodeData> result = repository.selectByPrefix("003", 10);
+		List<ZipCodeData> limited = repository.selectByPrefix("00", 2);
+
+		// 3. Check
+		assertEquals(3, result.size());
+		// 郵便番号の昇順
+		assertEquals("0030801", result.get(0).getZipcode());
+		assertEquals("0030806", result.get(1).getZipcode());
+		assertEquals(2, limited.size());
+		assertTrue(repository.selectByPrefix("004", 10).isEmpty());
+		assertTrue(repository.selectByPrefix("", 10).isEmpty());
+
+		// 4. Log
+		log.info("郵便番号の先頭で検索テスト成功: result={}", result.size());
+	}
+
+	@Test
+	public void testReloadIfModified更新されたデータを再読み込み() throws Exception {
+		// 1. Ready
+		Path file = load(KEN_ALL);
+		Files.write(file, KEN_ALL.lines().limit(1).map(line -> line + "\r\n").reduce("", String::concat)
+				.getBytes(Charset.forName("MS932")));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60000));
+
+		// 2. Do
+		repository.reloadIfModified();
+
+		// 3. Check
+		assertTrue(repository.selectByZipCode("0030806").isEmpty());
+		assertEquals(1, repository.selectByZipCode("0600000").size());
+
+		// 4. Log
+		log.info("更新されたデータを再読み込みテスト成功");
+	}
+
+	@Test
+	public void testReload読み込み失敗時は索引を維持() throws Exception {
+		// 1. Ready
+		load(KEN_ALL);
+		ReflectionTestUtils.setField(repository, "kenAllPath", tempDir.resolve("NOT_FOUND.CSV").toString());
+
+		// 2. Do
+		boolean result = repository.reload();
+
+		// 3. Check
+		assertFalse(result);
+		assertTrue(repository.isLoaded());
+		assertEquals(2, repository.selectByZipCode("0030806").size());
+
+		// 4. Log
+		log.info("読み込み失敗時は索引を維持テスト成功");
+	}
+}
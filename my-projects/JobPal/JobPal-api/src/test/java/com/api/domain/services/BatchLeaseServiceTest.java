@@ -0,0 +1,181 @@
+package com.api.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.api.domain.repositories.BatchLeaseRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"settings.batch.deadline-cron=-",
+		"settings.batch.lease.ttl-seconds=3" })
+class BatchLeaseServiceTest {
+	@Autowired
+	private AutowireCapableBeanFactory beanFactory;
+
+	@Autowired
+	private BatchLeaseRepository batchLeaseRepository;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger log;
+
+	private static final String LEASE_NAME = "test-batch";
+
+	@AfterEach
+	public void tearDown() {
+		// テストで登録したデータを削除
+		jdbc.update("DELETE FROM BATCH_LEASE_T WHERE lease_name = 'test-batch'", Map.of());
+	}
+
+	/**
+	 * 別のインスタンスを想定し、インスタンスIDの異なる実行権サービスを作成します。
+	 */
+	private BatchLeaseService createInstance() {
+		return beanFactory.createBean(BatchLeaseService.class);
+	}
+
+	@Test
+	public void testRunExclusively複数インスタンスで1回のみ実行() throws Exception {
+		// 1. Ready
+		int instanceCount = 5;
+		List<BatchLeaseService> instances = new ArrayList<>();
+		for (int i = 0; i < instanceCount; i++) {
+			instances.add(createInstance());
+		}
+		LocalDateTime windowStart = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+		AtomicInteger executionCount = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+
+		// 2. Do
+		List<Future<Boolean>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(instanceCount)) {
+			for (BatchLeaseService instance : instances) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return instance.runExclusively(LEASE_NAME, windowStart, () -> {
+						executionCount.incrementAndGet();
+						try {
+							Thread.sleep(200);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					});
+				}));
+			}
+			start.countDown();
+		}
+
+		// 3. Check
+		assertEquals(1, executionCount.get());
+		long executed = 0;
+		for (Future<Boolean> result : results) {
+			if (result.get()) {
+				executed++;
+			}
+		}
+		assertEquals(1, executed);
+		// 実行後も同じ実行枠では実行しない
+		assertFalse(createInstance().runExclusively(LEASE_NAME, windowStart, executionCount::incrementAndGet));
+		assertEquals(1, executionCount.get());
+
+		// 4. Log
+		log.info("複数インスタンスで1回のみ実行テスト成功: instanceCount={}", instanceCount);
+	}
+
+	@Test
+	public void testRunExclusively次の実行枠は別インスタンスで実行() {
+		// 1. Ready
+		LocalDateTime windowStart = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+		AtomicInteger executionCount = new AtomicInteger();
+
+		// 2. Do
+		boolean first = createInstance().runExclusively(LEASE_NAME, windowStart, executionCount::incrementAndGet);
+		boolean second = createInstance().runExclusively(LEASE_NAME, windowStart.plusMinutes(1),
+				executionCount::incrementAndGet);
+
+		// 3. Check
+		assertTrue(first);
+		assertTrue(second);
+		assertEquals(2, executionCount.get());
+
+		// 4. Log
+		log.info("次の実行枠は別インスタンスで実行テスト成功");
+	}
+
+	@Test
+	public void testRunExclusively停止したインスタンスの実行権の引き継ぎ() {
+		// 1. Ready
+		LocalDateTime windowStart = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+		// 実行中に停止したインスタンスの実行権（解放されず、期限を過ぎている）
+		batchLeaseRepository.acquireBatchLease(LEASE_NAME, "crashed-instance",
+				Timestamp.valueOf(windowStart.minusMinutes(1)), new Timestamp(System.currentTimeMillis() - 1000L));
+		// 期限内の実行権は取得できない
+		batchLeaseRepository.updateBatchLeaseUntil(LEASE_NAME, "crashed-instance",
+				new Timestamp(System.currentTimeMillis() + 60000L));
+		assertFalse(createInstance().runExclusively(LEASE_NAME, windowStart, () -> {
+		}));
+		batchLeaseRepository.updateBatchLeaseUntil(LEASE_NAME, "crashed-instance",
+				new Timestamp(System.currentTimeMillis() - 1000L));
+		AtomicInteger executionCount = new AtomicInteger();
+
+		// 2. Do
+		boolean executed = createInstance().runExclusively(LEASE_NAME, windowStart, executionCount::incrementAndGet);
+
+		// 3. Check
+		assertTrue(executed);
+		assertEquals(1, executionCount.get());
+
+		// 4. Log
+		log.info("停止したインスタンスの実行権の引き継ぎテスト成功");
+	}
+
+	@Test
+	public void testRunExclusively実行中の期限延長() {
+		// 1. Ready
+		LocalDateTime windowStart = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+		BatchLeaseService other = createInstance();
+		AtomicInteger otherExecutionCount = new AtomicInteger();
+
+		// 2. Do
+		// 期限（3秒）を超えて実行中の間も、他のインスタンスは次の実行枠を取得できない
+		boolean executed = createInstance().runExclusively(LEASE_NAME, windowStart, () -> {
+			try {
+				Thread.sleep(4000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			other.runExclusively(LEASE_NAME, windowStart.plusMinutes(1), otherExecutionCount::incrementAndGet);
+		});
+
+		// 3. Check
+		assertTrue(executed);
+		assertEquals(0, otherExecutionCount.get());
+
+		// 4. Log
+		log.info("実行中の期限延長テスト成功");
+	}
+}
@@ -1,21 +1,35 @@
 package com.api.domain.services;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.api.domain.repositories.CertificateIssuanceDashBoardRepository;
 import com.api.domain.repositories.CertificateIssuanceRepository;
 import com.api.domain.repositories.JobSearchDashBoardRepository;
 import com.api.domain.repositories.NotificationRepository;
+import com.api.domain.services.BatchService.PaymentDueSummary;
+import com.api.domain.services.BatchService.ResendSummary;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
 class BatchServiceTest {
 
 	@Autowired
@@ -36,10 +50,112 @@ class BatchServiceTest {
 	@Mock
 	private Logger log;
 
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger logger;
+
+	/**
+	 * テスト前に再通知フラグが設定されていなかった通知ID
+	 */
+	private List<String> unflaggedNotificationIds = new ArrayList<>();
+
 	@BeforeEach
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
 	}
+
+	@AfterEach
+	void tearDown() {
+		// テストで設定した再通知フラグを戻す
+		if (!unflaggedNotificationIds.isEmpty()) {
+			jdbc.update("UPDATE NOTIFICATION_T SET resend_flag = FALSE WHERE notification_id IN (:ids)",
+					Map.of("ids", unflaggedNotificationIds));
+		}
+		// テストで登録したデータを削除
+		jdbc.update("DELETE FROM NOTIFICATION_T WHERE notification_id LIKE 'N_2099_%'", Map.of());
+		jdbc.update("DELETE FROM CERTIFICATE_ISSUANCE_T WHERE certificate_issue_id LIKE 'CI_2099_%'", Map.of());
+		jdbc.update("DELETE FROM MAIL_OUTBOX_T", Map.of());
+	}
+
+	@Test
+	void testSweepPaymentDue期限切れの一括削除() {
+		// 1. Ready
+		int overdueCount = 3;
+		for (int i = 1; i <= overdueCount; i++) {
+			String certificateIssueId = String.format("CI_2099_%05d", i);
+			String notificationId = String.format("N_2099_%06d", i);
+			jdbc.update("INSERT INTO CERTIFICATE_ISSUANCE_T (certificate_issue_id, status, student_user_id, "
+					+ "application_date, media_type, teacher_user_id, approval_date) "
+					+ "VALUES (:id, '1', 'student@hcs.ac.jp', '2024-01-01', '0', 'teacher@hcs.ac.jp', '2024-01-02')",
+					Map.of("id", certificateIssueId));
+			jdbc.update("INSERT INTO NOTIFICATION_T (notification_id, assigned_user_id, resend_flag, "
+					+ "job_search_certificate_category, notification_timestamp) "
+					+ "VALUES (:id, 'student@hcs.ac.jp', FALSE, '1', CURRENT_TIMESTAMP)", Map.of("id", notificationId));
+			jdbc.update("INSERT INTO NOTIFICATION_CERTIFICATE_ISSUANCE_T (notification_id, certificate_issue_id) "
+					+ "VALUES (:notificationId, :certificateIssueId)",
+					Map.of("notificationId", notificationId, "certificateIssueId", certificateIssueId));
+		}
+		// CI_2024_00002は承認日が2024-01-06のため、2024-01-08時点では期限内
+		List<String> candidateIds = List.of("CI_2099_00001", "CI_2099_00002", "CI_2099_00003", "CI_2024_00002");
+
+		// 2. Do
+		PaymentDueSummary summary = target.sweepPaymentDue(candidateIds, LocalDate.of(2024, 1, 8));
+
+		// 3. Check
+		assertEquals(new PaymentDueSummary(4, overdueCount, overdueCount, overdueCount, overdueCount), summary);
+		assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM CERTIFICATE_ISSUANCE_T "
+				+ "WHERE certificate_issue_id LIKE 'CI_2099_%'", Map.of(), Integer.class));
+		assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM CERTIFICATE_ISSUANCE_T "
+				+ "WHERE certificate_issue_id = 'CI_2024_00002'", Map.of(), Integer.class));
+		assertEquals(overdueCount, jdbc.queryForObject("SELECT COUNT(*) FROM MAIL_OUTBOX_T "
+				+ "WHERE from_address = 'teacher@hcs.ac.jp' AND to_address = 'student@hcs.ac.jp'", Map.of(),
+				Integer.class));
+
+		// 4. Log
+		logger.info("期限切れの一括削除テスト成功: {}", summary);
+	}
+
+	@Test
+	void testSweepResend期限を過ぎた通知の再通知フラグを一括設定() {
+		// 1. Ready
+		// CI_2099_00001は最終更新日が2024-01-02のため期限切れ、CI_2099_00002は2024-01-07のため期限内
+		String[][] issuances = { { "CI_2099_00001", "N_2099_000001", "2024-01-02" },
+				{ "CI_2099_00002", "N_2099_000002", "2024-01-07" } };
+		for (String[] issuance : issuances) {
+			jdbc.update("INSERT INTO CERTIFICATE_ISSUANCE_T (certificate_issue_id, status, student_user_id, "
+					+ "application_date, media_type, teacher_user_id, approval_date) "
+					+ "VALUES (:id, '1', 'student@hcs.ac.jp', '2024-01-01', '0', 'teacher@hcs.ac.jp', :approvalDate)",
+					Map.of("id", issuance[0], "approvalDate", Date.valueOf(issuance[2])));
+			jdbc.update("INSERT INTO NOTIFICATION_T (notification_id, assigned_user_id, resend_flag, "
+					+ "job_search_certificate_category, notification_timestamp) "
+					+ "VALUES (:id, 'student@hcs.ac.jp', FALSE, '1', CURRENT_TIMESTAMP)", Map.of("id", issuance[1]));
+			jdbc.update("INSERT INTO NOTIFICATION_CERTIFICATE_ISSUANCE_T (notification_id, certificate_issue_id) "
+					+ "VALUES (:notificationId, :certificateIssueId)",
+					Map.of("notificationId", issuance[1], "certificateIssueId", issuance[0]));
+		}
+		unflaggedNotificationIds = jdbc.queryForList(
+				"SELECT notification_id FROM NOTIFICATION_T WHERE resend_flag = FALSE", Map.of(), String.class);
+		String sqlFlagged = "SELECT COUNT(*) FROM NOTIFICATION_T WHERE resend_flag = TRUE";
+		int flaggedBefore = jdbc.queryForObject(sqlFlagged, Map.of(), Integer.class);
+
+		// 2. Do
+		ResendSummary summary = target.sweepResend(LocalDateTime.of(2024, 1, 8, 9, 0));
+		ResendSummary secondSummary = target.sweepResend(LocalDateTime.of(2024, 1, 8, 9, 0));
+
+		// 3. Check
+		String sqlResendFlag = "SELECT resend_flag FROM NOTIFICATION_T WHERE notification_id = :id";
+		assertTrue(jdbc.queryForObject(sqlResendFlag, Map.of("id", "N_2099_000001"), Boolean.class));
+		assertFalse(jdbc.queryForObject(sqlResendFlag, Map.of("id", "N_2099_000002"), Boolean.class));
+		assertEquals(jdbc.queryForObject(sqlFlagged, Map.of(), Integer.class) - flaggedBefore,
+				summary.jobSearches() + summary.certificates());
+		// 設定済みの通知は再度更新しない
+		assertEquals(new ResendSummary(0, 0), secondSummary);
+
+		// 4. Log
+		logger.info("期限を過ぎた通知の再通知フラグを一括設定テスト成功: {}", summary);
+	}
 }
 //	@Test
 //	void testExecuteBatch() {
@@ -235,14 +235,15 @@ class CertificateDashBoardDetailServiceTest {
 		doReturn(Map.of("student", "S001", "office", "O001"))
 				.when(issuanceRepository).selectCertificateIssueUserId(anyString());
 		doReturn(true).when(issuanceRepository).updateCertificateIssuanceStatusOne(anyString(), anyString());
-		doReturn(true).when(notificationService).insertCertificateNotification(anyString(), anyString());
 		doReturn(mockOfficeUserList).when(userRepository).selectOfficeUserIdList();
-		doReturn(true).when(notificationService).insertCertificateNotification(anyString(), anyString(), anyBoolean());
+		doReturn(true).when(notificationService).insertCertificateNotificationList(anyString(), anyList(), anyBoolean());
 		// 実行
 		boolean result = target.updateDashBoardDetail(form);
 
 		// 検証
 		assertTrue(result);
+		verify(notificationService).insertCertificateNotificationList("CI001", List.of("S001", "office@example.com"),
+				false);
 
 		log.info("testUpdateDashBoardDetail正常_承認テスト成功: result={}", result);
 	}
@@ -261,9 +262,8 @@ class CertificateDashBoardDetailServiceTest {
 		doReturn(Map.of("student", "S001", "office", "O001"))
 				.when(issuanceRepository).selectCertificateIssueUserId(anyString());
 		doReturn(true).when(issuanceRepository).updateCertificateIssuanceStatusOne(anyString(), anyString());
-		doReturn(false).when(notificationService).insertCertificateNotification(anyString(), anyString());
 		doReturn(mockOfficeUserList).when(userRepository).selectOfficeUserIdList();
-		doReturn(true).when(notificationService).insertCertificateNotification(anyString(), anyString(), anyBoolean());
+		doReturn(false).when(notificationService).insertCertificateNotificationList(anyString(), anyList(), anyBoolean());
 		// 実行
 		boolean result = target.updateDashBoardDetail(form);
 
@@ -287,9 +287,8 @@ class CertificateDashBoardDetailServiceTest {
 		doReturn(Map.of("student", "S001", "office", "O001"))
 				.when(issuanceRepository).selectCertificateIssueUserId(anyString());
 		doReturn(true).when(issuanceRepository).updateCertificateIssuanceStatusOne(anyString(), anyString());
-		doReturn(true).when(notificationService).insertCertificateNotification(anyString(), anyString());
 		doReturn(mockOfficeUserList).when(userRepository).selectOfficeUserIdList();
-		doReturn(false).when(notificationService).insertCertificateNotification(anyString(), anyString(), anyBoolean());
+		doReturn(false).when(notificationService).insertCertificateNotificationList(anyString(), anyList(), anyBoolean());
 		// 実行
 		boolean result = target.updateDashBoardDetail(form);
 
@@ -313,7 +312,7 @@ class CertificateDashBoardDetailServiceTest {
 		doReturn(Map.of("student", "S001", "office", "O001"))
 				.when(issuanceRepository).selectCertificateIssueUserId(anyString());
 		doReturn(true).when(issuanceRepository).updateCertificateIssuanceStatusOne(anyString(), anyString());
-		doReturn(true).when(notificationService).insertCertificateNotification(anyString(), anyString());
+		doReturn(true).when(notificationService).insertCertificateNotificationList(anyString(), anyList(), anyBoolean());
 
 		// 実行
 		boolean result = target.updateDashBoardDetail(form);
@@ -592,13 +591,15 @@ class CertificateDashBoardDetailServiceTest {
 		doReturn(Map.of("student", "S001", "office", "O001"))
 				.when(issuanceRepository).selectCertificateIssueUserId(anyString());
 		doReturn(true).when(issuanceRepository).updateCertificateIssuanceStatusOne(anyString(), anyString());
-		doReturn(true).when(notificationService).insertCertificateNotification(anyString(), anyString());
+		doReturn(true).when(notificationService).insertCertificateNotificationList(anyString(), anyList(), anyBoolean());
 
 		// 実行
 		boolean result = target.updateDashBoardDetail(form);
 
 		// 検証
 		assertTrue(result);
+		verify(notificationService).insertCertificateNotificationList("CI001", List.of("office@example.com", "S001"),
+				false);
 		log.info("testUpdateDashBoardDetail正常_送信: result={}", result);
 	}
 
@@ -616,7 +617,7 @@ class CertificateDashBoardDetailServiceTest {
 		doReturn(Map.of("student", "S001", "office", "O001"))
 				.when(issuanceRepository).selectCertificateIssueUserId(anyString());
 		doReturn(true).when(issuanceRepository).updateCertificateIssuanceStatusOne(anyString(), anyString());
-		doReturn(false).when(notificationService).insertCertificateNotification(anyString(), anyString());
+		doReturn(false).when(notificationService).insertCertificateNotificationList(anyString(), anyList(), anyBoolean());
 
 		// 実行
 		boolean result = target.updateDashBoardDetail(form);
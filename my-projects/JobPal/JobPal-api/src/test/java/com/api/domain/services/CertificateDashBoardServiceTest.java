@@ -8,6 +8,7 @@ import java.sql.Date;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
@@ -29,8 +30,9 @@ import com.api.domain.models.forms.CertificateDetailDataForm;
 import com.api.domain.models.forms.CertificateInsertForm;
 import com.api.domain.repositories.CertificateIssuanceDashBoardRepository;
 import com.api.domain.repositories.CertificateIssuanceRepository;
-import com.api.domain.repositories.NotificationRepository;
+import com.api.domain.repositories.NotificationCountRepository;
 import com.api.domain.repositories.UserRepository;
+import com.api.jobpal.common.base.DashBoardCache;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -50,7 +52,7 @@ class CertificateDashBoardServiceTest {
 	private UserRepository newUserRepository;
 
 	@SpyBean
-	private NotificationRepository notificationRepository;
+	private NotificationCountRepository notificationCountRepository;
 
 	@SpyBean
 	private CertificateDashBoardDetailService certificateService;
@@ -58,9 +60,18 @@ class CertificateDashBoardServiceTest {
 	@SpyBean
 	private NotificationService notificationService;
 
+	@Autowired
+	private DashBoardCache dashBoardCache;
+
 	@Autowired
 	private Logger log;
 
+	@BeforeEach
+	void setUp() {
+		// 他のテストで保持した表示データを破棄
+		dashBoardCache.evictAll();
+	}
+
 	@Test
 	void 全ユーザーの証明書申請の取得テスト() {
 		// 0.モック設定
@@ -95,7 +106,7 @@ class CertificateDashBoardServiceTest {
 		mockCertificateDatas.add(mocDashBoardData);
 
 		doReturn(mockCertificateDatas).when(dashBoardRepository).selectCertificateIssuanceDashBoard();
-		doReturn(0).when(notificationRepository).getNotificationCount(anyString());
+		doReturn(0).when(notificationCountRepository).getCount(anyString());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -167,7 +178,7 @@ class CertificateDashBoardServiceTest {
 
 		doReturn(mockCertificateDatas).when(dashBoardRepository).selectCertificateIssuanceDashBoard(anyString(),
 				anyString());
-		doReturn(0).when(notificationRepository).getNotificationCount(anyString());
+		doReturn(0).when(notificationCountRepository).getCount(anyString());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -0,0 +1,210 @@
+package com.api.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.api.domain.models.data.DashBoardSearchCondition;
+import com.api.domain.models.dbdata.JobSearchDashBoardData;
+import com.api.domain.models.forms.DashBoardPageForm;
+import com.api.domain.repositories.CsvRepository;
+import com.api.domain.repositories.JobSearchDashBoardRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
+class CsvExportServiceTest {
+
+	@Autowired
+	private CsvExportService target;
+
+	// 下の階層をモック化
+	@SpyBean
+	private JobSearchDashBoardRepository dashBoardRepository;
+
+	@SpyBean
+	private CsvRepository csvRepository;
+
+	@Autowired
+	private Logger log;
+
+	/**
+	 * CSVを書き出し、文字列として返却します。
+	 */
+	private String write(StreamingResponseBody body) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		body.writeTo(outputStream);
+		return outputStream.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * テスト用のダッシュボードデータを作成します。
+	 */
+	private JobSearchDashBoardData createDashBoardData(String jobSearchId, String companyName) {
+		JobSearchDashBoardData data = new JobSearchDashBoardData();
+		data.setJobSearchId(jobSearchId);
+		data.setUserId("student@hcs.ac.jp");
+		data.setUserName("学生 太郎");
+		data.setDepartment("S");
+		data.setGrade(3);
+		data.setClassName("A2");
+		data.setAttendanceNumber(1);
+		data.setJobSearchStatus("01");
+		data.setCompanyName(companyName);
+		data.setEventCategory("0");
+		data.setSchoolCheckFlag(true);
+		data.setStartTime(Timestamp.valueOf("2024-04-01 10:00:00"));
+		data.setEndTime(Timestamp.valueOf("2024-04-01 12:00:00"));
+		return data;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void ダッシュボードのCSV出力テスト正常() throws Exception {
+		// 0.モック設定
+		doAnswer(invocation -> {
+			Consumer<JobSearchDashBoardData> action = invocation.getArgument(1);
+			action.accept(createDashBoardData("JS_2024_00001", "株式会社テスト"));
+			action.accept(createDashBoardData("JS_2024_00002", "テスト, \"カンマ\"商事"));
+			return 2;
+		}).when(dashBoardRepository).streamDashBoard(any(), any(Consumer.class));
+
+		// 1.テストデータの準備
+		DashBoardPageForm form = new DashBoardPageForm();
+		form.setUserId("admin@hcs.ac.jp");
+		form.setGrant("2");
+		form.setCursor("ignored");
+		form.setDateFrom("2024-04-01");
+
+		// 2.テスト対象メソッド実行
+		String csv = write(target.exportDashBoard(form));
+
+		// 3.テスト結果確認
+		// BOM付きで、見出し・2行を出力（カンマ・ダブルクォートはエスケープ）
+		assertTrue(csv.startsWith("\uFEFF就職活動ID,クラス,出席番号,氏名,"));
+		String[] lines = csv.split("\r\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[1].startsWith("JS_2024_00001,S3A2,01,学生 太郎,"));
+		assertTrue(lines[1].endsWith(",済,2024/04/01 10:00,2024/04/01 12:00"));
+		assertTrue(lines[2].contains("\"テスト, \"\"カンマ\"\"商事\""));
+		// カーソルは使用せず、絞り込み条件は指定どおり
+		verify(dashBoardRepository).streamDashBoard(argThat((DashBoardSearchCondition condition) -> condition
+				.getCursorJobSearchId() == null
+				&& condition.getStartTimeFrom().equals(Timestamp.valueOf("2024-04-01 00:00:00"))),
+				any(Consumer.class));
+
+		// 4.ログ確認
+		log.info("ダッシュボードのCSV出力テスト正常 " + csv);
+	}
+
+	@Test
+	void ダッシュボードのCSV出力テスト日付不正() {
+		// 1.テストデータの準備
+		DashBoardPageForm form = new DashBoardPageForm();
+		form.setUserId("admin@hcs.ac.jp");
+		form.setGrant("2");
+		form.setDateTo("2024-02-30");
+
+		// 2.テスト対象メソッド実行
+		// 3.テスト結果確認
+		// 書き出し前に検出
+		assertThrows(IllegalArgumentException.class, () -> target.exportDashBoard(form));
+
+		// 4.ログ確認
+		log.info("ダッシュボードのCSV出力テスト日付不正");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void ダッシュボードのCSV出力テスト書き出し失敗() {
+		// 0.モック設定
+		doAnswer(invocation -> {
+			Consumer<JobSearchDashBoardData> action = invocation.getArgument(1);
+			for (int i = 0; i < 10000; i++) {
+				action.accept(createDashBoardData("JS_2024_" + i, "株式会社テスト"));
+			}
+			return 10000;
+		}).when(dashBoardRepository).streamDashBoard(any(), any(Consumer.class));
+		OutputStream disconnected = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("切断");
+			}
+		};
+
+		// 1.テストデータの準備
+		DashBoardPageForm form = new DashBoardPageForm();
+		form.setUserId("admin@hcs.ac.jp");
+		form.setGrant("2");
+
+		// 2.テスト対象メソッド実行
+		StreamingResponseBody body = target.exportDashBoard(form);
+		IOException exception = assertThrows(IOException.class, () -> body.writeTo(disconnected));
+
+		// 3.テスト結果確認
+		assertEquals("切断", exception.getMessage());
+
+		// 4.ログ確認
+		log.info("ダッシュボードのCSV出力テスト書き出し失敗 " + exception);
+	}
+
+	@Test
+	void 削除ユーザのCSV出力テスト正常() throws Exception {
+		// 2.テスト対象メソッド実行
+		String csv = write(target.exportDeletedUser("2024-04-01", "2024-04-02"));
+
+		// 3.テスト結果確認
+		// 終了日を含む
+		String[] lines = csv.split("\r\n");
+		assertEquals(3, lines.length);
+		assertEquals("\uFEFFユーザID,氏名,ユーザ区分,クラス,出席番号,学籍番号,作成者,作成日時,削除日時", lines[0]);
+		assertEquals("del_user1@hcs.ac.jp,削除 太郎,学生,R1A1,01,12345167,admin@hcs.ac.jp,2024/01/01 10:00,"
+				+ "2024/04/01 12:00", lines[1]);
+		assertEquals("del_user2@hcs.ac.jp,削除 次郎,担任,S3A2,,2345678,admin@hcs.ac.jp,2024/01/02 10:00,"
+				+ "2024/04/02 12:00", lines[2]);
+
+		// 4.ログ確認
+		log.info("削除ユーザのCSV出力テスト正常 " + csv);
+	}
+
+	@Test
+	void 削除ユーザのCSV出力テスト日付不正() {
+		// 2.テスト対象メソッド実行
+		// 3.テスト結果確認
+		assertThrows(IllegalArgumentException.class, () -> target.exportDeletedUser("2024/04/01", null));
+		verify(csvRepository, never()).streamDeletedUser(any(), any(), any());
+
+		// 4.ログ確認
+		log.info("削除ユーザのCSV出力テスト日付不正");
+	}
+
+	@Test
+	void クラスの集計値のCSV出力テスト担任() throws Exception {
+		// 2.テスト対象メソッド実行
+		String csv = write(target.exportClassStatistics("teacher@hcs.ac.jp"));
+
+		// 3.テスト結果確認
+		// 担任のクラスの1行（集計値はCsvRepositoryTestと同一）
+		String[] lines = csv.split("\r\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[1].endsWith(",1,0,1,1,4,6,0,0"));
+
+		// 4.ログ確認
+		log.info("クラスの集計値のCSV出力テスト担任 " + csv);
+	}
+}
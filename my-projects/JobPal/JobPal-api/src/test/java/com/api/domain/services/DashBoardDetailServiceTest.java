@@ -15,11 +15,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.test.context.junit4.SpringRunner;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 
+import com.api.domain.models.dbdata.ExamReportEvaluationData;
 import com.api.domain.models.dbdata.JobSearchDashBoardDetailData;
 import com.api.domain.models.displaydata.DetailDisplayData;
+import com.api.domain.models.displaydata.EvaluationDisplayData;
 import com.api.domain.models.forms.DetailFormForReport;
 import com.api.domain.models.forms.DetailFormForUpdate;
 import com.api.domain.repositories.ExamReportRepository;
@@ -63,7 +63,7 @@ class DashBoardDetailServiceTest {
 	private DBDataConversion dbdc;
 
 	@SpyBean
-	private RestTemplate restTemplate;
+	private ExamReportEvaluationService examReportEvaluationService;
 
 	@Autowired
 	private Logger log;
@@ -104,9 +104,10 @@ class DashBoardDetailServiceTest {
 		mockDetailData.setAttendanceNumber("01");
 		mockDetailData.setStudentId(30456789);
 		mockDetailData.setMaxUpdatedAt(Timestamp.valueOf("2024-03-02 10:00:00"));
+		mockDetailData.setEvaluationStatus("1");
+		mockDetailData.setEvaluationResult("合格");
 
 		doReturn(mockDetailData).when(dashBoardRepository).selectJobSearchDashBoardDetail("JR_2024_00001");
-		doReturn("合格").when(restTemplate).postForObject(anyString(), any(), any());
 		// 1.テストデータの準備
 		String jobHantId = "JR_2024_00001";
 		// 2.テスト対象メソッドの実行
@@ -177,9 +178,10 @@ class DashBoardDetailServiceTest {
 		mockDetailData.setAttendanceNumber(null);
 		mockDetailData.setStudentId(null);
 		mockDetailData.setMaxUpdatedAt(Timestamp.valueOf("2024-03-02 10:00:00"));
+		mockDetailData.setEvaluationStatus("1");
+		mockDetailData.setEvaluationResult("合格");
 
 		doReturn(mockDetailData).when(dashBoardRepository).selectJobSearchDashBoardDetail("JR_2024_00001");
-		doReturn("合格").when(restTemplate).postForObject(anyString(), any(), any());
 		// 1.テストデータの準備
 		String jobHantId = "JR_2024_00001";
 		// 2.テスト対象メソッドの実行
@@ -252,7 +254,6 @@ class DashBoardDetailServiceTest {
 		mockDetailData.setMaxUpdatedAt(Timestamp.valueOf("2024-03-02 10:00:00"));
 
 		doReturn(mockDetailData).when(dashBoardRepository).selectJobSearchDashBoardDetail("JR_2024_00001");
-		doReturn("合格").when(restTemplate).postForObject(anyString(), any(), any());
 		// 1.テストデータの準備
 		String jobHantId = "JR_2024_00001";
 		// 2.テスト対象メソッドの実行
@@ -323,9 +324,9 @@ class DashBoardDetailServiceTest {
 		mockDetailData.setAttendanceNumber("01");
 		mockDetailData.setStudentId(30456789);
 		mockDetailData.setMaxUpdatedAt(Timestamp.valueOf("2024-03-02 10:00:00"));
+		mockDetailData.setEvaluationStatus("9");
 
 		doReturn(mockDetailData).when(dashBoardRepository).selectJobSearchDashBoardDetail(anyString());
-		doThrow(new ResourceAccessException("接続エラー")).when(restTemplate).postForObject(anyString(), any(), any());
 
 		// 1.テストデータの準備
 		String jobHantId = "JR_2024_00001";
@@ -397,9 +398,10 @@ class DashBoardDetailServiceTest {
 		mockDetailData.setAttendanceNumber("01");
 		mockDetailData.setStudentId(30456789);
 		mockDetailData.setMaxUpdatedAt(Timestamp.valueOf("2024-03-02 10:00:00"));
+		mockDetailData.setEvaluationStatus("1");
+		mockDetailData.setEvaluationResult("合格");
 
 		doReturn(mockDetailData).when(dashBoardRepository).selectJobSearchDashBoardDetail(anyString());
-		doReturn("合格").when(restTemplate).postForObject(anyString(), any(), any());
 		// 1.テストデータの準備
 		String jobHantId = "JR_2024_00001";
 		// 2.テスト対象メソッドの実行
@@ -531,9 +533,8 @@ class DashBoardDetailServiceTest {
 		doReturn("2").when(applicationRepository).selectEventCategory(anyString());
 		doReturn(true).when(applicationRepository).updateSchoolCheckedOne(anyString());
 		doReturn(true).when(jobSearchRepository).updateJobSearchStatus(anyString(), anyString());
-		doReturn(true).when(notificationService).insertJobsearchNotification(anyString(), anyString());
 		doReturn("test@hsc.ac.jp").when(newUserRepository).selectTeacherUserId(anyString());
-		doReturn(true).when(notificationService).insertJobsearchNotification(anyString(), anyString(), anyBoolean());
+		doReturn(true).when(notificationService).insertJobsearchNotificationList(anyString(), anyList(), anyBoolean());
 
 		// 1.テストデータの準備
 		String jobHuntId = "";
@@ -774,9 +775,8 @@ class DashBoardDetailServiceTest {
 		doReturn("2").when(applicationRepository).selectEventCategory(anyString());
 		doReturn(true).when(applicationRepository).updateSchoolCheckedOne(anyString());
 		doReturn(true).when(jobSearchRepository).updateJobSearchStatus(anyString(), anyString());
-		doReturn(false).when(notificationService).insertJobsearchNotification(anyString(), anyString());
 		doReturn("test@hsc.ac.jp").when(newUserRepository).selectTeacherUserId(anyString());
-		doReturn(true).when(notificationService).insertJobsearchNotification(anyString(), anyString(), anyBoolean());
+		doReturn(false).when(notificationService).insertJobsearchNotificationList(anyString(), anyList(), anyBoolean());
 
 		// 1.テストデータの準備
 		String jobHuntId = "";
@@ -801,9 +801,8 @@ class DashBoardDetailServiceTest {
 		doThrow(new IncorrectResultSizeDataAccessException(1)).when(applicationRepository)
 				.updateSchoolCheckedOne(anyString());
 		doReturn(true).when(jobSearchRepository).updateJobSearchStatus(anyString(), anyString());
-		doReturn(false).when(notificationService).insertJobsearchNotification(anyString(), anyString());
 		doReturn("test@hsc.ac.jp").when(newUserRepository).selectTeacherUserId(anyString());
-		doReturn(true).when(notificationService).insertJobsearchNotification(anyString(), anyString(), anyBoolean());
+		doReturn(true).when(notificationService).insertJobsearchNotificationList(anyString(), anyList(), anyBoolean());
 
 		// 1.テストデータの準備
 		String jobHuntId = "";
@@ -1099,4 +1098,45 @@ class DashBoardDetailServiceTest {
 		log.info("就職活動報告の更新テストIncorrectResultSizeDataAccessExceptionが発生 " + result);
 	}
 
+	@Test
+	void 受験報告のAI評価の取得テスト評価中の場合() {
+		// 0.モック設定
+		ExamReportEvaluationData mockEvaluationData = new ExamReportEvaluationData();
+		mockEvaluationData.setExamReportId("ER_2024_00001");
+		mockEvaluationData.setStatus("0");
+		doReturn(mockEvaluationData).when(examReportEvaluationService).getEvaluation("JS_2024_00001");
+
+		// 1.テストデータの準備
+		String jobHuntId = "JS_2024_00001";
+
+		// 2.テスト対象メソッドの実行
+		EvaluationDisplayData evaluationDisplayData = target.getEvaluation(jobHuntId);
+
+		// 3.テスト結果確認
+		assertEquals("0", evaluationDisplayData.getEvaluationStatus());
+		assertEquals("評価中です。", evaluationDisplayData.getPredResult());
+
+		// 4.ログ確認
+		log.info("受験報告のAI評価の取得テスト評価中の場合 " + evaluationDisplayData.toString());
+	}
+
+	@Test
+	void 受験報告のAI評価の取得テスト受験報告がない場合() {
+		// 0.モック設定
+		doReturn(null).when(examReportEvaluationService).getEvaluation("JS_2024_00001");
+
+		// 1.テストデータの準備
+		String jobHuntId = "JS_2024_00001";
+
+		// 2.テスト対象メソッドの実行
+		EvaluationDisplayData evaluationDisplayData = target.getEvaluation(jobHuntId);
+
+		// 3.テスト結果確認
+		assertEquals(null, evaluationDisplayData.getEvaluationStatus());
+		assertEquals(null, evaluationDisplayData.getPredResult());
+
+		// 4.ログ確認
+		log.info("受験報告のAI評価の取得テスト受験報告がない場合 " + evaluationDisplayData.toString());
+	}
+
 }
@@ -8,6 +8,7 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
@@ -21,9 +22,12 @@ import com.api.domain.models.displaydata.CsvDisplayData;
 import com.api.domain.models.displaydata.DashBoardDisplayData;
 import com.api.domain.models.entities.DashBoardDisplayEntity;
 import com.api.domain.models.entities.DashBoardEntity;
-import com.api.domain.repositories.CsvRepository;
+import com.api.domain.models.entities.DashBoardPageDisplayEntity;
+import com.api.domain.models.forms.DashBoardPageForm;
+import com.api.domain.repositories.ClassStatisticsRepository;
 import com.api.domain.repositories.JobSearchDashBoardRepository;
-import com.api.domain.repositories.NotificationRepository;
+import com.api.domain.repositories.NotificationCountRepository;
+import com.api.jobpal.common.base.DashBoardCache;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -37,14 +41,23 @@ class DashBoardServiceTest {
 	private JobSearchDashBoardRepository dashBoardRepository;
 
 	@SpyBean
-	private NotificationRepository notificationRepository;
+	private NotificationCountRepository notificationCountRepository;
 
 	@SpyBean
-	private CsvRepository csvRepository;
+	private ClassStatisticsRepository classStatisticsRepository;
+
+	@Autowired
+	private DashBoardCache dashBoardCache;
 
 	@Autowired
 	private Logger log;
 
+	@BeforeEach
+	void setUp() {
+		// 他のテストで保持した表示データを破棄
+		dashBoardCache.evictAll();
+	}
+
 	@Test
 	void 全ユーザーの就職活動申請の取得テスト() {
 		// 0.モック設定
@@ -70,19 +83,20 @@ class DashBoardServiceTest {
 		mockDashBoardEntity.getDashBoardList().add(mockJobSearchDashBoardData);
 		mockDashBoardEntity.setAlertCnt(0);
 
-		List<String> mockCsvLocationList = new ArrayList<>();
-		mockCsvLocationList.add("自宅");
-		mockCsvLocationList.add("学校");
-		mockCsvLocationList.add("その他");
+		CsvDisplayData mockCsvDisplayData = new CsvDisplayData.Builder()
+				.studentsInAction(1)
+				.studentsOfEnd(1)
+				.activityLocationInTokyo(1)
+				.activityLocationInSapporo(1)
+				.activityLocationInOther(1)
+				.activityFormInOnline(1)
+				.activityFormInLocal(1)
+				.activityFormInOther(1)
+				.build();
 
 		doReturn(mockDashBoardEntity).when(dashBoardRepository).selectDashBoardAll(anyBoolean());
-		doReturn(0).when(notificationRepository).getNotificationCount(anyString());
-		doReturn(1).when(csvRepository).selectCsvActivity(anyString());
-		doReturn(1).when(csvRepository).selectCsvActivityFinish(anyString());
-		doReturn(1).when(csvRepository).selectCsvTokyo(anyString());
-		doReturn(1).when(csvRepository).selectCsvSapporo(anyString());
-		doReturn(1).when(csvRepository).selectCsvOthers(anyString());
-		doReturn(mockCsvLocationList).when(csvRepository).selectCsvLocationList(anyString());
+		doReturn(0).when(notificationCountRepository).getCount(anyString());
+		doReturn(mockCsvDisplayData).when(classStatisticsRepository).selectClassStatistics(anyString());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -156,7 +170,7 @@ class DashBoardServiceTest {
 		mockDashBoardEntity.setAlertCnt(0);
 
 		doReturn(mockDashBoardEntity).when(dashBoardRepository).selectDashBoardStudent(anyString());
-		doReturn(0).when(notificationRepository).getNotificationCount(anyString());
+		doReturn(0).when(notificationCountRepository).getCount(anyString());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -192,4 +206,46 @@ class DashBoardServiceTest {
 		log.info("指定ユーザの就職活動申請の取得テスト " + result.toString());
 	}
 
+	@Test
+	void ダッシュボードのページ取得テスト() {
+		// 1.テストデータ設定
+		DashBoardPageForm form = new DashBoardPageForm();
+		form.setUserId("admin@hcs.ac.jp");
+		form.setGrant("2");
+		form.setLimit(4);
+		form.setSortKey("startTime");
+		form.setSortOrder("asc");
+
+		// 2.テスト対象メソッド実行
+		DashBoardPageDisplayEntity firstPage = target.getDashBoardPage(form);
+		form.setCursor(firstPage.getNextCursor());
+		DashBoardPageDisplayEntity secondPage = target.getDashBoardPage(form);
+
+		// 3.テスト結果確認
+		assertEquals(4, firstPage.getDashBoardList().size());
+		assertNotNull(firstPage.getNextCursor());
+		assertEquals(firstPage.getTotalCount(), secondPage.getTotalCount());
+		assertEquals(firstPage.getTotalCount(),
+				firstPage.getDashBoardList().size() + secondPage.getDashBoardList().size());
+		assertNull(secondPage.getNextCursor());
+		assertNotNull(firstPage.getCsvList());
+
+		// 4.ログ確認
+		log.info("ダッシュボードのページ取得テスト totalCount={}", firstPage.getTotalCount());
+	}
+
+	@Test
+	void ダッシュボードのページ取得カーソル不正テスト() {
+		// 1.テストデータ設定
+		DashBoardPageForm form = new DashBoardPageForm();
+		form.setUserId("admin@hcs.ac.jp");
+		form.setGrant("2");
+		form.setCursor("invalid");
+
+		// 2.テスト対象メソッド実行 3.テスト結果確認
+		assertThrows(IllegalArgumentException.class, () -> target.getDashBoardPage(form));
+
+		// 4.ログ確認
+		log.info("ダッシュボードのページ取得カーソル不正テスト");
+	}
 }
@@ -0,0 +1,182 @@
+package com.api.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.domain.models.dbdata.ExamReportEvaluationData;
+import com.api.domain.repositories.ExamReportEvaluationRepository;
+import com.api.jobpal.common.base.CircuitBreaker;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"settings.batch.deadline-cron=-",
+		"settings.evaluation.scorer=stub",
+		"settings.evaluation.sweep-ms=3600000",
+		"settings.evaluation.batch-wait-ms=10",
+		"settings.evaluation.max-attempts=1" })
+class ExamReportEvaluationServiceTest {
+	@Autowired
+	private ExamReportEvaluationService target;
+
+	@Autowired
+	private ExamReportEvaluationRepository examReportEvaluationRepository;
+
+	@SpyBean
+	private ExamReportScorer examReportScorer;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger log;
+
+	@AfterEach
+	public void tearDown() {
+		// 初期データと同じく評価待ちに戻す
+		examReportEvaluationRepository.requestExamReportEvaluation("JS_2024_00001");
+		jdbc.update("UPDATE EXAM_REPORT_EVALUATION_T SET claimed_until = NULL", Map.of());
+	}
+
+	/**
+	 * 評価待ちでなくなるまで待ち、評価を返却します。
+	 */
+	private ExamReportEvaluationData awaitEvaluation(String jobSearchId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		ExamReportEvaluationData evaluation = target.getEvaluation(jobSearchId);
+		while (ExamReportEvaluationRepository.STATUS_PENDING.equals(evaluation.getStatus())
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			evaluation = target.getEvaluation(jobSearchId);
+		}
+		return evaluation;
+	}
+
+	@Test
+	void 受験報告の評価を依頼テスト評価済みになる場合() throws Exception {
+		// 1.テストデータ設定
+		String jobSearchId = "JS_2024_00001";
+
+		// 2.テスト対象メソッド実行
+		boolean result = target.submit(jobSearchId);
+		ExamReportEvaluationData evaluation = awaitEvaluation(jobSearchId);
+
+		// 3.テスト結果確認
+		assertTrue(result);
+		assertEquals("ER_2024_00001", evaluation.getExamReportId());
+		assertEquals(ExamReportEvaluationRepository.STATUS_EVALUATED, evaluation.getStatus());
+		assertEquals(ExamReportScorer.RESULT_PASS, evaluation.getResult());
+		verify(examReportScorer, times(1)).score(anyList());
+
+		// 4.ログ確認
+		log.info("受験報告の評価を依頼テスト評価済みになる場合 " + evaluation);
+	}
+
+	@Test
+	void 受験報告の評価を依頼テスト評価に失敗した場合() throws Exception {
+		// 0.モック設定
+		doThrow(new IllegalStateException("接続エラー")).when(examReportScorer).score(anyList());
+
+		// 1.テストデータ設定
+		String jobSearchId = "JS_2024_00001";
+
+		// 2.テスト対象メソッド実行
+		boolean result = target.submit(jobSearchId);
+		ExamReportEvaluationData evaluation = awaitEvaluation(jobSearchId);
+
+		// 3.テスト結果確認
+		assertTrue(result);
+		// 最大試行回数に達したため評価不可
+		assertEquals(ExamReportEvaluationRepository.STATUS_FAILED, evaluation.getStatus());
+		assertNull(evaluation.getResult());
+		Map<String, Object> row = jdbc.queryForMap(
+				"SELECT attempt_count, last_error FROM EXAM_REPORT_EVALUATION_T WHERE exam_report_id = :examReportId",
+				Map.of("examReportId", "ER_2024_00001"));
+		assertEquals(1, ((Number) row.get("attempt_count")).intValue());
+		assertTrue(((String) row.get("last_error")).contains("接続エラー"));
+
+		// 4.ログ確認
+		log.info("受験報告の評価を依頼テスト評価に失敗した場合 " + evaluation);
+	}
+
+	@Test
+	void 評価待ちの再追加テスト他のインスタンスで評価中の場合() {
+		// 1.テストデータ設定
+		// 他のインスタンスがすべての評価待ちに評価中の期限を設定済み
+		jdbc.update("UPDATE EXAM_REPORT_EVALUATION_T SET claimed_until = :claimedUntil WHERE status = '0'",
+				Map.of("claimedUntil", new Timestamp(System.currentTimeMillis() + 60000L)));
+
+		// 2.テスト対象メソッド実行
+		int result = target.sweep();
+
+		// 3.テスト結果確認
+		assertEquals(0, result);
+		assertTrue(examReportEvaluationRepository.selectPendingExamReportEvaluation(10).isEmpty());
+		verify(examReportScorer, never()).score(anyList());
+
+		// 4.ログ確認
+		log.info("評価待ちの再追加テスト他のインスタンスで評価中の場合 " + result);
+	}
+
+	@Test
+	void 評価待ちの再追加テスト呼び出しの停止期間が過ぎた場合() throws Exception {
+		// 0.モック設定
+		// 1回の失敗で0.3秒間呼び出しを止める
+		Object originalBreaker = ReflectionTestUtils.getField(target, "circuitBreaker");
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1, 300);
+		ReflectionTestUtils.setField(target, "circuitBreaker", circuitBreaker);
+
+		try {
+			// 1.テストデータ設定
+			String jobSearchId = "JS_2024_00001";
+			circuitBreaker.recordFailure();
+
+			// 2.テスト対象メソッド実行
+			int whileOpen = target.sweep();
+			Thread.sleep(400);
+			int afterOpen = target.sweep();
+			ExamReportEvaluationData evaluation = awaitEvaluation(jobSearchId);
+
+			// 3.テスト結果確認
+			// 停止中は追加せず、停止期間が過ぎた後の再追加で評価済みになる
+			assertEquals(0, whileOpen);
+			assertTrue(afterOpen > 0);
+			assertEquals(ExamReportEvaluationRepository.STATUS_EVALUATED, evaluation.getStatus());
+			assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+			verify(examReportScorer, atLeastOnce()).score(anyList());
+
+			// 4.ログ確認
+			log.info("評価待ちの再追加テスト呼び出しの停止期間が過ぎた場合 " + evaluation);
+		} finally {
+			ReflectionTestUtils.setField(target, "circuitBreaker", originalBreaker);
+		}
+	}
+
+	@Test
+	void 受験報告の評価を依頼テスト受験報告がない場合() {
+		// 2.テスト対象メソッド実行
+		boolean result = target.submit("JS_NOT_FOUND");
+
+		// 3.テスト結果確認
+		assertFalse(result);
+		assertNull(target.getEvaluation("JS_NOT_FOUND"));
+		verify(examReportScorer, never()).score(anyList());
+
+		// 4.ログ確認
+		log.info("受験報告の評価を依頼テスト受験報告がない場合 " + result);
+	}
+}
@@ -0,0 +1,245 @@
+package com.api.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.api.domain.models.dbdata.MailOutboxData;
+import com.api.domain.repositories.MailOutboxRepository;
+import com.api.domain.services.MailDispatchService.DispatchResult;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"settings.batch.deadline-cron=-",
+		"settings.mail.outbox.interval-ms=3600000",
+		"settings.mail.outbox.parallelism=4",
+		"settings.mail.outbox.max-attempts=3" })
+class MailDispatchServiceTest {
+	@Autowired
+	private MailDispatchService target;
+
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private Logger log;
+
+	/**
+	 * メール送信APIのスタブ
+	 */
+	private static final HttpServer STUB = startStub();
+
+	/**
+	 * スタブが受け付けた件数
+	 */
+	private static final AtomicInteger requestCount = new AtomicInteger();
+
+	/**
+	 * スタブが返却するステータス
+	 */
+	private static volatile int stubStatus = 200;
+
+	/**
+	 * スタブの応答までの時間（ミリ秒）
+	 */
+	private static volatile long stubDelayMillis = 0;
+
+	@DynamicPropertySource
+	static void mailProperties(DynamicPropertyRegistry registry) {
+		registry.add("settings.mail.api-url", () -> "http://localhost:" + STUB.getAddress().getPort() + "/exec");
+	}
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/exec", exchange -> {
+				requestCount.incrementAndGet();
+				try {
+					Thread.sleep(stubDelayMillis);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				byte[] response = String.format("{\"status\":%d,\"message\":\"stub\"}", stubStatus)
+						.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, response.length);
+				try (OutputStream body = exchange.getResponseBody()) {
+					body.write(response);
+				}
+			});
+			server.setExecutor(Executors.newCachedThreadPool());
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@AfterAll
+	static void stopStub() {
+		STUB.stop(0);
+	}
+
+	@BeforeEach
+	public void setUp() {
+		requestCount.set(0);
+		stubStatus = 200;
+		stubDelayMillis = 0;
+	}
+
+	@AfterEach
+	public void tearDown() {
+		// テストで登録したデータを削除
+		jdbc.update("DELETE FROM MAIL_OUTBOX_T", Map.of());
+	}
+
+	@Test
+	public void testDispatch並列送信() {
+		// 1. Ready
+		int mailCount = 40;
+		stubDelayMillis = 50;
+		for (int i = 0; i < mailCount; i++) {
+			mailOutboxRepository.insertMailOutbox("teacher@hcs.ac.jp", "student@hcs.ac.jp", "件名", "本文" + i);
+		}
+
+		// 2. Do
+		long start = System.nanoTime();
+		DispatchResult result = target.dispatch();
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// 3. Check
+		assertEquals(mailCount, result.sent());
+		assertEquals(mailCount, requestCount.get());
+		assertEquals(mailCount, countByStatus(MailOutboxRepository.STATUS_SENT));
+		// 同時送信数（4件）で並列に送信するため、1件ずつ送信するより短い
+		assertTrue(elapsedMillis < mailCount * stubDelayMillis, "elapsed=" + elapsedMillis);
+
+		// 4. Log
+		Timer timer = meterRegistry.get("mail.outbox.send").tag("result", "sent").timer();
+		log.info("並列送信テスト成功: count={}, elapsed={}ms, throughput={}/s, meanLatency={}ms",
+				mailCount, elapsedMillis, mailCount * 1000L / Math.max(elapsedMillis, 1),
+				timer.mean(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void testDispatch失敗時の再送待ち() {
+		// 1. Ready
+		stubStatus = 500;
+		mailOutboxRepository.insertMailOutbox("teacher@hcs.ac.jp", "student@hcs.ac.jp", "件名", "本文");
+
+		// 2. Do
+		DispatchResult first = target.dispatch();
+		DispatchResult second = target.dispatch();
+
+		// 3. Check
+		assertEquals(1, first.retried());
+		// 再送間隔が経過するまでは送信しない
+		assertEquals(0, second.total());
+		assertEquals(1, requestCount.get());
+		Map<String, Object> row = jdbc.queryForMap("SELECT * FROM MAIL_OUTBOX_T", Map.of());
+		assertEquals(MailOutboxRepository.STATUS_PENDING, row.get("status"));
+		assertEquals(1, ((Number) row.get("attempt_count")).intValue());
+		assertTrue(((Timestamp) row.get("next_attempt_at")).after(new Timestamp(System.currentTimeMillis())));
+		assertNotNull(row.get("last_error"));
+
+		// 4. Log
+		log.info("失敗時の再送待ちテスト成功: lastError={}", row.get("last_error"));
+	}
+
+	@Test
+	public void testDispatch上限到達で送信不可() {
+		// 1. Ready
+		stubStatus = 500;
+		mailOutboxRepository.insertMailOutbox("teacher@hcs.ac.jp", "student@hcs.ac.jp", "件名", "本文");
+		jdbc.update("UPDATE MAIL_OUTBOX_T SET attempt_count = 2", Map.of());
+
+		// 2. Do
+		DispatchResult result = target.dispatch();
+
+		// 3. Check
+		assertEquals(1, result.dead());
+		assertEquals(1, countByStatus(MailOutboxRepository.STATUS_DEAD));
+		assertEquals(0, target.dispatch().total());
+
+		// 4. Log
+		log.info("上限到達で送信不可テスト成功");
+	}
+
+	@Test
+	public void testDispatch送信権取得済みはスキップ() {
+		// 1. Ready
+		mailOutboxRepository.insertMailOutbox("teacher@hcs.ac.jp", "student@hcs.ac.jp", "件名", "本文");
+		// 他のインスタンスが取得した後の状態（試行回数が加算済み）
+		jdbc.update("UPDATE MAIL_OUTBOX_T SET attempt_count = 1", Map.of());
+		MailOutboxData mailOutboxData = mailOutboxRepository.selectDispatchableMailOutbox(10).get(0);
+		mailOutboxData.setAttemptCount(0);
+
+		// 2. Do
+		boolean claimed = mailOutboxRepository.updateMailOutboxClaim(mailOutboxData,
+				new Timestamp(System.currentTimeMillis() + 60000L));
+
+		// 3. Check
+		assertFalse(claimed);
+
+		// 4. Log
+		log.info("送信権取得済みはスキップテスト成功");
+	}
+
+	@Test
+	public void testDispatch送信権を失った場合は結果を更新しない() {
+		// 1. Ready
+		mailOutboxRepository.insertMailOutbox("teacher@hcs.ac.jp", "student@hcs.ac.jp", "件名", "本文");
+		MailOutboxData mailOutboxData = mailOutboxRepository.selectDispatchableMailOutbox(10).get(0);
+		mailOutboxRepository.updateMailOutboxClaim(mailOutboxData, new Timestamp(System.currentTimeMillis() - 1000L));
+		// 送信権の期限切れ後に、他のインスタンスが取得した状態
+		jdbc.update("UPDATE MAIL_OUTBOX_T SET attempt_count = 2", Map.of());
+
+		// 2. Do
+		boolean updated = mailOutboxRepository.updateMailOutboxSent(mailOutboxData.getOutboxId(), 1);
+
+		// 3. Check
+		assertFalse(updated);
+		assertEquals(1, countByStatus(MailOutboxRepository.STATUS_PENDING));
+		assertTrue(mailOutboxRepository.updateMailOutboxSent(mailOutboxData.getOutboxId(), 2));
+		assertEquals(1, countByStatus(MailOutboxRepository.STATUS_SENT));
+
+		// 4. Log
+		log.info("送信権を失った場合は結果を更新しないテスト成功");
+	}
+
+	private int countByStatus(String status) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM MAIL_OUTBOX_T WHERE status = :status",
+				Map.of("status", status), Integer.class);
+	}
+}
@@ -307,11 +307,7 @@ class NotificationServiceTest {
 	void 就職活動の通知データを挿入テスト既存データがある場合() {
 		// 0.モック設定
 		doReturn(true).when(notificationRepository).deleteNotificationJobSearch(anyString());
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(true).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
-		doReturn(true).when(notificationRepository)
-				.insertNotificationJobSearch(anyString(), anyString());
+		doReturn(1).when(notificationRepository).insertNotificationJobSearchList(anyString(), anyList());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -331,11 +327,7 @@ class NotificationServiceTest {
 	void 就職活動の通知データを挿入テスト既存データがない場合() {
 		// 0.モック設定
 		doReturn(true).when(notificationRepository).deleteNotificationJobSearch(anyString());
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(true).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
-		doReturn(true).when(notificationRepository)
-				.insertNotificationJobSearch(anyString(), anyString());
+		doReturn(1).when(notificationRepository).insertNotificationJobSearchList(anyString(), anyList());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -372,12 +364,9 @@ class NotificationServiceTest {
 	}
 
 	@Test
-	void 就職活動の通知データを挿入テストinsertNotificationが失敗した場合() {
+	void 就職活動の通知データを挿入テストinsertNotificationJobSearchListが失敗した場合() {
 		// 0.モック設定
-		doReturn(true).when(notificationRepository).deleteNotificationJobSearch(anyString());
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(false).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
+		doReturn(0).when(notificationRepository).insertNotificationJobSearchList(anyString(), anyList());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -391,43 +380,37 @@ class NotificationServiceTest {
 		assertFalse(result);
 
 		// 4.ログ確認
-		log.info("就職活動の通知データを挿入テストinsertNotificationが失敗した場合 " + result);
+		log.info("就職活動の通知データを挿入テストinsertNotificationJobSearchListが失敗した場合 " + result);
 	}
 
 	@Test
-	void 就職活動の通知データを挿入テストinsertNotificationJobSearchが失敗した場合() {
+	void 就職活動の通知データを挿入テスト複数の通知先() {
 		// 0.モック設定
 		doReturn(true).when(notificationRepository).deleteNotificationJobSearch(anyString());
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(true).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
-		doReturn(false).when(notificationRepository)
-				.insertNotificationJobSearch(anyString(), anyString());
+		doReturn(2).when(notificationRepository).insertNotificationJobSearchList(anyString(), anyList());
 
 		// 1.テストデータ設定
-		String userId = "test@hcs.ac.jp";
 		String jobSearchId = "JS001";
-		Boolean isFirst = true;
+		List<String> userIdList = List.of("student@hcs.ac.jp", "teacher@hcs.ac.jp", "student@hcs.ac.jp");
 
 		// 2.テスト対象メソッド実行
-		boolean result = target.insertJobsearchNotification(userId, jobSearchId, isFirst);
+		boolean result = target.insertJobsearchNotificationList(jobSearchId, userIdList, false);
 
 		// 3.テスト結果確認
-		assertFalse(result);
+		assertTrue(result);
+		verify(notificationRepository, times(1)).deleteNotificationJobSearch(jobSearchId);
+		verify(notificationRepository, times(1)).insertNotificationJobSearchList(jobSearchId,
+				List.of("student@hcs.ac.jp", "teacher@hcs.ac.jp"));
 
 		// 4.ログ確認
-		log.info("就職活動の通知データを挿入テストinsertNotificationJobSearchが失敗した場合 " + result);
+		log.info("就職活動の通知データを挿入テスト複数の通知先 " + result);
 	}
 
 	@Test
 	void 証明書の通知データを挿入テスト既存データがある場合() {
 		// 0.モック設定
 		doReturn(true).when(notificationRepository).deleteNotificationCertificateIssuance(anyString());
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(true).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
-		doReturn(true).when(notificationRepository)
-				.insertNotificationCertificateIssuance(anyString(), anyString());
+		doReturn(1).when(notificationRepository).insertNotificationCertificateIssuanceList(anyString(), anyList());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -446,11 +429,7 @@ class NotificationServiceTest {
 	@Test
 	void 証明書の通知データを挿入テスト既存データがない場合() {
 		// 0.モック設定
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(true).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
-		doReturn(true).when(notificationRepository)
-				.insertNotificationCertificateIssuance(anyString(), anyString());
+		doReturn(1).when(notificationRepository).insertNotificationCertificateIssuanceList(anyString(), anyList());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -487,13 +466,9 @@ class NotificationServiceTest {
 	}
 
 	@Test
-	void 証明書の通知データを挿入テストinsertNotificationCertificateIssuanceが失敗した場合() {
+	void 証明書の通知データを挿入テストinsertNotificationCertificateIssuanceListが失敗した場合() {
 		// 0.モック設定
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(true).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
-		doReturn(false).when(notificationRepository)
-				.insertNotificationCertificateIssuance(anyString(), anyString());
+		doReturn(0).when(notificationRepository).insertNotificationCertificateIssuanceList(anyString(), anyList());
 
 		// 1.テストデータ設定
 		String userId = "test@hcs.ac.jp";
@@ -507,29 +482,29 @@ class NotificationServiceTest {
 		assertFalse(result);
 
 		// 4.ログ確認
-		log.info("証明書の通知データを挿入テストinsertNotificationCertificateIssuanceが失敗した場合 " + result);
+		log.info("証明書の通知データを挿入テストinsertNotificationCertificateIssuanceListが失敗した場合 " + result);
 	}
 
 	@Test
-	void 証明書の通知データを挿入テストinsertNotificationが失敗した場合() {
+	void 証明書の通知データを挿入テスト複数の通知先() {
 		// 0.モック設定
-		doReturn("N001").when(notificationRepository).getNotificationId();
-		doReturn(false).when(notificationRepository).insertNotification(anyString(), anyString(),
-				anyBoolean(), anyString());
+		doReturn(2).when(notificationRepository).insertNotificationCertificateIssuanceList(anyString(), anyList());
 
 		// 1.テストデータ設定
-		String userId = "test@hcs.ac.jp";
-		String jobSearchId = "JS001";
-		Boolean isFirst = true;
+		String certificateIssueId = "CI001";
+		List<String> userIdList = List.of("student@hcs.ac.jp", "office@hcs.ac.jp");
 
 		// 2.テスト対象メソッド実行
-		boolean result = target.insertCertificateNotification(userId, jobSearchId, isFirst);
+		boolean result = target.insertCertificateNotificationList(certificateIssueId, userIdList, true);
 
 		// 3.テスト結果確認
-		assertFalse(result);
+		assertTrue(result);
+		verify(notificationRepository, never()).deleteNotificationCertificateIssuance(anyString());
+		verify(notificationRepository, times(1)).insertNotificationCertificateIssuanceList(certificateIssueId,
+				userIdList);
 
 		// 4.ログ確認
-		log.info("証明書の通知データを挿入テストinsertNotificationが失敗した場合 " + result);
+		log.info("証明書の通知データを挿入テスト複数の通知先 " + result);
 	}
 
 }
@@ -0,0 +1,160 @@
+package com.api.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.api.domain.models.data.NotificationChangedEvent;
+import com.api.domain.repositories.NotificationRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"settings.batch.deadline-cron=-",
+		"settings.notification.stream.max-per-user=2" })
+@AutoConfigureMockMvc
+class NotificationStreamServiceTest {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private NotificationStreamService target;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private Logger log;
+
+	private static final String STUDENT = "student@hcs.ac.jp";
+
+	private static final String TEACHER = "teacher@hcs.ac.jp";
+
+	/**
+	 * テストで開始した配信
+	 */
+	private final List<MvcResult> streams = new ArrayList<>();
+
+	@AfterEach
+	public void tearDown() {
+		// テストで開始した配信を終了
+		for (MvcResult stream : streams) {
+			try {
+				stream.getRequest().getAsyncContext().complete();
+			} catch (IllegalStateException e) {
+				// 切断済みの配信
+			}
+		}
+	}
+
+	/**
+	 * 指定されたユーザで配信を開始します。
+	 */
+	private MvcResult openStream(String userId) throws Exception {
+		MvcResult stream = mockMvc.perform(get("/alert/stream").with(user(userId)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		streams.add(stream);
+		return stream;
+	}
+
+	/**
+	 * 配信された内容に指定された文字列が含まれるまで待ちます。
+	 */
+	private String awaitContent(MvcResult stream, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		String content = stream.getResponse().getContentAsString();
+		while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			content = stream.getResponse().getContentAsString();
+		}
+		return content;
+	}
+
+	@Test
+	public void testSubscribe接続時に通知件数を配信() throws Exception {
+		// 1. Ready
+		int alertCnt = notificationRepository.getNotificationCount(STUDENT);
+
+		// 2. Do
+		MvcResult stream = openStream(STUDENT);
+		String content = awaitContent(stream, "\"alertCnt\"");
+
+		// 3. Check
+		assertTrue(content.contains("event:" + NotificationStreamService.EVENT_COUNT), content);
+		assertTrue(content.contains("\"alertCnt\":" + alertCnt), content);
+		assertEquals(1, target.getConnectionCount(STUDENT));
+
+		// 4. Log
+		log.info("接続時に通知件数を配信テスト成功: {}", content);
+	}
+
+	@Test
+	public void testOnNotificationChanged対象ユーザのみに配信() throws Exception {
+		// 1. Ready
+		MvcResult studentStream = openStream(STUDENT);
+		MvcResult teacherStream = openStream(TEACHER);
+		awaitContent(studentStream, "\"alertCnt\"");
+		awaitContent(teacherStream, "\"alertCnt\"");
+
+		// 2. Do
+		eventPublisher.publishEvent(new NotificationChangedEvent(NotificationChangedEvent.ACTION_CREATED,
+				NotificationChangedEvent.CATEGORY_JOB_SEARCH, List.of("JS_2024_00001"), Set.of(STUDENT)));
+		String studentContent = awaitContent(studentStream, "JS_2024_00001");
+
+		// 3. Check
+		assertTrue(studentContent.contains("event:" + NotificationStreamService.EVENT_ALERT), studentContent);
+		assertTrue(studentContent.contains("\"action\":\"created\""), studentContent);
+		String teacherContent = teacherStream.getResponse().getContentAsString();
+		assertFalse(teacherContent.contains("event:" + NotificationStreamService.EVENT_ALERT), teacherContent);
+
+		// 4. Log
+		log.info("対象ユーザのみに配信テスト成功: {}", studentContent);
+	}
+
+	@Test
+	public void testSubscribe最大接続数を超えた場合は古い接続を切断() throws Exception {
+		// 1. Ready
+		openStream(STUDENT);
+		openStream(STUDENT);
+
+		// 2. Do
+		openStream(STUDENT);
+
+		// 3. Check
+		assertEquals(2, target.getConnectionCount(STUDENT));
+		assertTrue(target.hasSubscribers());
+
+		// 4. Log
+		log.info("最大接続数を超えた場合は古い接続を切断テスト成功");
+	}
+
+	@Test
+	public void testStream未ログインは拒否() throws Exception {
+		// 2. Do & 3. Check
+		mockMvc.perform(get("/alert/stream"))
+				.andExpect(status().isUnauthorized());
+
+		// 4. Log
+		log.info("未ログインは拒否テスト成功");
+	}
+}
@@ -0,0 +1,303 @@
+package com.api.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.domain.models.forms.UserForm;
+import com.api.domain.repositories.UserRepository;
+import com.api.domain.services.UserImportService.ImportResult;
+import com.api.domain.services.UserImportService.RowError;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "settings.batch.deadline-cron=-")
+class UserImportServiceTest {
+
+	@Autowired
+	private UserImportService target;
+
+	@Autowired
+	private UserService userService;
+
+	// 下の階層をモック化
+	@SpyBean
+	private UserRepository userRepository;
+
+	@SpyBean
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger log;
+
+	@AfterEach
+	void tearDown() {
+		// テストで登録したデータを削除
+		jdbc.update("DELETE FROM USER_M WHERE user_id LIKE 'import%'", Map.of());
+		jdbc.update("DELETE FROM USER_IMPORT_T", Map.of());
+		ReflectionTestUtils.setField(target, "chunkSize", 500);
+	}
+
+	/**
+	 * 見出しと行からBOM付きのCSVを作成します。
+	 */
+	private ByteArrayResource csv(String... rows) {
+		StringBuilder builder = new StringBuilder("\uFEFF")
+				.append(String.join(",", UserImportService.HEADER)).append("\r\n");
+		for (String row : rows) {
+			builder.append(row).append("\r\n");
+		}
+		return new ByteArrayResource(builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 一括登録したユーザの件数を取得します。
+	 */
+	private int countImportedUsers(String table) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id LIKE 'import%'", Map.of(),
+				Integer.class);
+	}
+
+	@Test
+	void ユーザ一括登録テスト正常() throws Exception {
+		// 1.テストデータの準備
+		ByteArrayResource csv = csv(
+				"import1@hcs.ac.jp,password1,一括 太郎,s3a2,1,2201001,0,VALID",
+				"import2@hcs.ac.jp,password2,一括 先生,S3A2,1,2201002,1,VALID",
+				"import3@hcs.ac.jp,password3,一括 管理,S3A2,1,1,2,VALID");
+
+		// 2.テスト対象メソッド実行
+		ImportResult result = target.importUsers(csv, null, "admin@hcs.ac.jp");
+
+		// 3.テスト結果確認
+		assertTrue(result.completed());
+		assertNotNull(result.importId());
+		assertEquals(3, result.committedRow());
+		assertEquals(3, result.insertedCount());
+		assertEquals(0, result.errorCount());
+		assertTrue(result.errors().isEmpty());
+		// 担任・学生のみ担任・学生ユーザマスタに登録
+		assertEquals(3, countImportedUsers("USER_M"));
+		assertEquals(2, countImportedUsers("TEACHER_STUDENT_USER_M"));
+		Map<String, Object> student = jdbc.queryForMap("SELECT U.encrypted_password, U.created_by_user_id, "
+				+ "T.department, T.grade, T.class_name, T.attendance_number FROM USER_M U "
+				+ "JOIN TEACHER_STUDENT_USER_M T ON U.user_id = T.user_id WHERE U.user_id = 'import1@hcs.ac.jp'",
+				Map.of());
+		assertTrue(passwordEncoder.matches("password1", (String) student.get("encrypted_password")));
+		assertEquals("admin@hcs.ac.jp", student.get("created_by_user_id"));
+		assertEquals("S", student.get("department"));
+		assertEquals("3", student.get("grade"));
+		assertEquals("A2", student.get("class_name"));
+		assertEquals("01", student.get("attendance_number"));
+		// 既に存在するユーザの確認は1回のコミット分でまとめて実施
+		verify(userRepository, times(1)).selectExistingUserIdList(anyList());
+		verify(userRepository, never()).existsUser(any());
+
+		// 4.ログ確認
+		log.info("ユーザ一括登録テスト正常 " + result);
+	}
+
+	@Test
+	void ユーザ一括登録テスト入力エラー() throws Exception {
+		// 1.テストデータの準備
+		ByteArrayResource csv = csv(
+				"import1@hcs.ac.jp,password1,一括 太郎,S3A2,1,2201001,0,VALID",
+				"not-email,password2,一括 次郎,S3A2,2,2201002,0,VALID",
+				"import3@hcs.ac.jp,pass,一括 三郎,S3A2,3,2201003,0,VALID",
+				"import4@hcs.ac.jp,password4,一括 四郎,3AA,4,2201004,0,VALID",
+				"import5@hcs.ac.jp,password5,一括 五郎,S3A2,abc,2201005,0,VALID",
+				"import1@hcs.ac.jp,password6,一括 六郎,S3A2,6,2201006,0,VALID",
+				"student@hcs.ac.jp,password7,一括 七郎,S3A2,7,2201007,0,VALID");
+
+		// 2.テスト対象メソッド実行
+		ImportResult result = target.importUsers(csv, null, "admin@hcs.ac.jp");
+
+		// 3.テスト結果確認
+		// エラーの行のみ登録せず、残りの行は登録
+		assertTrue(result.completed());
+		assertEquals(7, result.committedRow());
+		assertEquals(1, result.insertedCount());
+		assertEquals(6, result.errorCount());
+		assertEquals(List.of(2, 3, 4, 5, 6, 7), result.errors().stream().map(RowError::row).toList());
+		assertTrue(result.errors().get(0).message().contains("ユーザIDはメールアドレス形式で入力してください"));
+		assertTrue(result.errors().get(1).message().contains("パスワードは6桁以上、100桁以下で入力してください"));
+		assertTrue(result.errors().get(2).message().startsWith("クラスは学科"));
+		// 数値でない場合は、必須入力のエラーを重ねて出さない
+		assertEquals("出席番号は数値で入力してください", result.errors().get(3).message());
+		// ファイル内の重複と、既に存在するユーザ
+		assertEquals("そのユーザは既に存在します", result.errors().get(4).message());
+		assertEquals("そのユーザは既に存在します", result.errors().get(5).message());
+		assertEquals(1, countImportedUsers("USER_M"));
+
+		// 4.ログ確認
+		log.info("ユーザ一括登録テスト入力エラー " + result);
+	}
+
+	@Test
+	void ユーザ一括登録テスト中断と再開() throws Exception {
+		// 0.モック設定
+		// 2回目のコミット分の登録でDBエラー
+		doCallRealMethod()
+				.doThrow(new DataAccessResourceFailureException("接続断"))
+				.doCallRealMethod()
+				.when(userRepository).insertUserList(anyList());
+		ReflectionTestUtils.setField(target, "chunkSize", 2);
+
+		// 1.テストデータの準備
+		ByteArrayResource csv = csv(
+				"import1@hcs.ac.jp,password1,一括 一郎,S3A2,1,2201001,0,VALID",
+				"import2@hcs.ac.jp,password2,一括 二郎,S3A2,2,2201002,0,VALID",
+				"import3@hcs.ac.jp,password3,一括 三郎,S3A2,3,2201003,0,VALID",
+				"import4@hcs.ac.jp,password4,一括 四郎,S3A2,4,2201004,0,VALID",
+				"import5@hcs.ac.jp,password5,一括 五郎,S3A2,5,2201005,0,VALID");
+
+		// 2.テスト対象メソッド実行
+		ImportResult interrupted = target.importUsers(csv, null, "admin@hcs.ac.jp");
+
+		// 3.テスト結果確認
+		// コミット済みの2行までを登録して中断
+		assertFalse(interrupted.completed());
+		assertEquals(2, interrupted.committedRow());
+		assertEquals(2, interrupted.insertedCount());
+		assertEquals(2, countImportedUsers("USER_M"));
+		// 失敗したコミット分は担任・学生ユーザマスタにも残らない
+		assertEquals(2, countImportedUsers("TEACHER_STUDENT_USER_M"));
+
+		// 2.テスト対象メソッド実行
+		// 同じファイルと一括登録IDで再開
+		ImportResult resumed = target.importUsers(csv, interrupted.importId(), "admin@hcs.ac.jp");
+
+		// 3.テスト結果確認
+		// コミット済みの行は再登録しない（既に存在するエラーにならない）
+		assertTrue(resumed.completed());
+		assertEquals(interrupted.importId(), resumed.importId());
+		assertEquals(5, resumed.committedRow());
+		assertEquals(5, resumed.insertedCount());
+		assertEquals(0, resumed.errorCount());
+		assertEquals(5, countImportedUsers("USER_M"));
+		assertEquals(5, countImportedUsers("TEACHER_STUDENT_USER_M"));
+		verify(passwordEncoder, times(1)).encode("password1");
+
+		// 2.テスト対象メソッド実行
+		// 完了済みの一括登録は何もしない
+		ImportResult completed = target.importUsers(csv, interrupted.importId(), "admin@hcs.ac.jp");
+
+		// 3.テスト結果確認
+		assertTrue(completed.completed());
+		assertEquals(5, completed.insertedCount());
+		verify(userRepository, times(4)).insertUserList(anyList());
+
+		// 4.ログ確認
+		log.info("ユーザ一括登録テスト中断と再開 " + interrupted + " " + resumed);
+	}
+
+	@Test
+	void ユーザ一括登録テスト再開時のファイル不一致() throws Exception {
+		// 0.モック設定
+		doThrow(new DataAccessResourceFailureException("接続断")).when(userRepository).insertUserList(anyList());
+
+		// 1.テストデータの準備
+		ImportResult interrupted = target.importUsers(
+				csv("import1@hcs.ac.jp,password1,一括 一郎,S3A2,1,2201001,0,VALID"), null, "admin@hcs.ac.jp");
+		ByteArrayResource otherCsv = csv("import9@hcs.ac.jp,password9,一括 九郎,S3A2,9,2201009,0,VALID");
+
+		// 2.テスト対象メソッド実行
+		// 3.テスト結果確認
+		assertFalse(interrupted.completed());
+		assertThrows(IllegalArgumentException.class,
+				() -> target.importUsers(otherCsv, interrupted.importId(), "admin@hcs.ac.jp"));
+		assertThrows(IllegalArgumentException.class,
+				() -> target.importUsers(otherCsv, "00000000-0000-0000-0000-000000000000", "admin@hcs.ac.jp"));
+		assertEquals(0, countImportedUsers("USER_M"));
+
+		// 4.ログ確認
+		log.info("ユーザ一括登録テスト再開時のファイル不一致");
+	}
+
+	@Test
+	void ユーザ一括登録テスト見出し不足() {
+		// 1.テストデータの準備
+		ByteArrayResource csv = new ByteArrayResource(
+				"userId,password,userName\r\nimport1@hcs.ac.jp,password1,一括 一郎\r\n".getBytes(StandardCharsets.UTF_8));
+
+		// 2.テスト対象メソッド実行
+		// 3.テスト結果確認
+		// 一括登録の進捗を作成する前に検出
+		assertThrows(IllegalArgumentException.class, () -> target.importUsers(csv, null, "admin@hcs.ac.jp"));
+		assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM USER_IMPORT_T", Map.of(), Integer.class));
+
+		// 4.ログ確認
+		log.info("ユーザ一括登録テスト見出し不足");
+	}
+
+	@Test
+	void ユーザ一括登録テスト1万件のスループット() throws Exception {
+		// 0.モック設定
+		// BCryptは1件あたり数十ミリ秒かかるため、エンコードを除いた登録処理の性能を計測する
+		doAnswer(invocation -> "{noop}" + invocation.getArgument(0)).when(passwordEncoder).encode(any());
+
+		// 1.テストデータの準備
+		int userCount = 10_000;
+		String[] rows = new String[userCount];
+		for (int i = 0; i < userCount; i++) {
+			rows[i] = String.format("import%05d@hcs.ac.jp,password,一括 太郎,S3A2,%d,%d,0,VALID", i, i % 99 + 1,
+					2300000 + i);
+		}
+		ByteArrayResource csv = csv(rows);
+
+		// 2.テスト対象メソッド実行
+		long start = System.nanoTime();
+		ImportResult result = target.importUsers(csv, null, "admin@hcs.ac.jp");
+		long batchMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+
+		// 比較用に、ユーザ追加（1件ずつ登録）で1,000件を登録
+		int baselineCount = 1_000;
+		start = System.nanoTime();
+		for (int i = 0; i < baselineCount; i++) {
+			UserForm form = new UserForm();
+			form.setUserId(String.format("importbase%05d@hcs.ac.jp", i));
+			form.setPassword("password");
+			form.setUserName("一括 太郎");
+			form.setUserClass("S3A2");
+			form.setClassNumber(i % 99 + 1);
+			form.setSchoolNumber(2400000 + i);
+			form.setGrant("0");
+			form.setStatus("VALID");
+			form.setCreateUserId("admin@hcs.ac.jp");
+			assertTrue(userService.insertOne(form));
+		}
+		long baselineMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+
+		// 3.テスト結果確認
+		assertTrue(result.completed());
+		assertEquals(userCount, result.insertedCount());
+		assertEquals(0, result.errorCount());
+		assertEquals(userCount + baselineCount, countImportedUsers("TEACHER_STUDENT_USER_M"));
+
+		// 4.ログ確認
+		log.info("ユーザ一括登録テスト1万件のスループット: count={}, elapsed={}ms, throughput={}/s, "
+				+ "baseline(1件ずつ)={}/s", userCount, batchMillis, userCount * 1000L / batchMillis,
+				baselineCount * 1000L / baselineMillis);
+	}
+}
@@ -4,17 +4,25 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import com.api.domain.models.data.ZipCodeData;
 import com.api.domain.models.entities.ZipCodeEntity;
+import com.api.domain.repositories.ZipCodeRepository;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -24,12 +32,37 @@ class ZipCodeServiceTest {
 	private ZipCodeService target;
 
 	// 下の階層をモック化
-	@SpyBean
+	@SpyBean(name = "zipCodeRestTemplate")
 	private RestTemplate restTemplate;
 
+	@Autowired
+	private ZipCodeRepository zipCodeRepository;
+
 	@Autowired
 	private Logger log;
 
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	public void tearDown() {
+		// 郵便番号データを未指定に戻す
+		ReflectionTestUtils.setField(zipCodeRepository, "kenAllPath", "");
+		zipCodeRepository.reload();
+		ReflectionTestUtils.setField(target, "remoteFallback", true);
+	}
+
+	/**
+	 * 郵便番号データ（KEN_ALL形式）を読み込みます。
+	 */
+	private void loadKenAll() throws Exception {
+		Path file = tempDir.resolve("KEN_ALL.CSV");
+		Files.write(file, ("01104,\"003  \",\"0030806\",\"ﾎｯｶｲﾄﾞｳ\",\"ｻｯﾎﾟﾛｼｼﾛｲｼｸ\",\"ｷｸｽｲ6ｼﾞｮｳ\","
+				+ "\"北海道\",\"札幌市白石区\",\"菊水六条\",0,0,1,0,0,0\r\n").getBytes(Charset.forName("MS932")));
+		ReflectionTestUtils.setField(zipCodeRepository, "kenAllPath", file.toString());
+		zipCodeRepository.reload();
+	}
+
 	@Test
 	void 郵便番号から検索結果形式に変換テスト() {
 
@@ -113,4 +146,75 @@ class ZipCodeServiceTest {
 		log.info("郵便番号から検索結果形式に変換テスト " + resultEntity.toString());
 	}
 
+	@Test
+	void 郵便番号データから検索しAPIを呼び出さない() throws Exception {
+
+		// 0.モック設定
+		loadKenAll();
+
+		// 1.テストデータ設定
+		String zipcode = "0030806";
+		// 2.テスト対象メソッド実行
+		ZipCodeEntity resultEntity = target.execute(zipcode);
+
+		// 3.テスト結果確認
+		verify(restTemplate, never()).getForObject(any(), any(), anyString());
+		assertEquals("200", resultEntity.getStatus());
+		assertEquals(1, resultEntity.getList().size());
+		assertEquals("菊水六条", resultEntity.getList().get(0).getAddress3());
+		assertEquals("ｷｸｽｲ6ｼﾞｮｳ", resultEntity.getList().get(0).getKana3());
+
+		// 4.ログ確認
+		log.info("郵便番号データから検索しAPIを呼び出さない " + resultEntity.toString());
+	}
+
+	@Test
+	void 郵便番号データにない場合の検索() throws Exception {
+
+		// 0.モック設定
+		loadKenAll();
+		String mockJson = "{\"message\":null,\"results\":[{\"address1\":\"北海道\",\"address2\":\"札幌市白石区\","
+				+ "\"address3\":\"菊水一条\",\"kana1\":\"ﾎｯｶｲﾄﾞｳ\",\"kana2\":\"ｻｯﾎﾟﾛｼｼﾛｲｼｸ\",\"kana3\":\"ｷｸｽｲ1ｼﾞｮｳ\","
+				+ "\"prefcode\":\"1\",\"zipcode\":\"0030801\"}],\"status\":200}";
+		doReturn(mockJson).when(restTemplate).getForObject(any(), any(), anyString());
+
+		// 1.テストデータ設定
+		String zipcode = "0030801";
+		// 2.テスト対象メソッド実行
+		ZipCodeEntity fallbackEntity = target.execute(zipcode);
+		ReflectionTestUtils.setField(target, "remoteFallback", false);
+		ZipCodeEntity localEntity = target.execute(zipcode);
+
+		// 3.テスト結果確認
+		// APIで検索
+		assertEquals("菊水一条", fallbackEntity.getList().get(0).getAddress3());
+		// APIで検索しない設定の場合は該当なし
+		assertEquals("200", localEntity.getStatus());
+		assertEquals(0, localEntity.getList().size());
+		verify(restTemplate, times(1)).getForObject(any(), any(), anyString());
+
+		// 4.ログ確認
+		log.info("郵便番号データにない場合の検索 " + localEntity.toString());
+	}
+
+	@Test
+	void 郵便番号の先頭から候補を検索() throws Exception {
+
+		// 0.モック設定
+		loadKenAll();
+
+		// 1.テストデータ設定
+		String prefix = "003";
+		// 2.テスト対象メソッド実行
+		ZipCodeEntity resultEntity = target.executePrefix(prefix);
+
+		// 3.テスト結果確認
+		assertEquals("200", resultEntity.getStatus());
+		assertEquals(1, resultEntity.getList().size());
+		assertEquals("0030806", resultEntity.getList().get(0).getZipcode());
+
+		// 4.ログ確認
+		log.info("郵便番号の先頭から候補を検索 " + resultEntity.toString());
+	}
+
 }
@@ -0,0 +1,164 @@
+package com.api.jobpal.common.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class BlockIdAllocatorTest {
+	/**
+	 * SQL 既存IDが存在しない場合の最大ID取得
+	 */
+	private static final String SQL_SELECT_NO_ID = "SELECT "
+			+ "MAX(user_id) "
+			+ "FROM "
+			+ "USER_M "
+			+ "WHERE "
+			+ "1 = 0";
+
+	@Autowired
+	private BlockIdAllocator allocator;
+
+	@Autowired
+	private AutowireCapableBeanFactory beanFactory;
+
+	@Autowired
+	private Logger log;
+
+	@Test
+	public void testNextId形式() {
+		// 1. Ready
+		String year = String.valueOf(Year.now().getValue());
+
+		// 2. Do
+		String oneCharId = allocator.nextId("X", SQL_SELECT_NO_ID);
+		String twoCharId = allocator.nextId("XA", SQL_SELECT_NO_ID);
+
+		// 3. Check
+		assertEquals("X_" + year + "_000001", oneCharId);
+		assertEquals("XA_" + year + "_00001", twoCharId);
+		assertEquals(13, oneCharId.length());
+		assertEquals(13, twoCharId.length());
+
+		// 4. Log
+		log.info("ID形式テスト成功 " + oneCharId + " " + twoCharId);
+	}
+
+	@Test
+	public void testNextId並行払い出しで重複なし() throws Exception {
+		// 1. Ready
+		int threadCount = 16;
+		int idsPerThread = 500;
+		// 別インスタンスを混在させ、複数アプリケーションからの同時採番を再現する
+		BlockIdAllocator otherAllocator = beanFactory.createBean(BlockIdAllocator.class);
+		Set<String> issuedIds = ConcurrentHashMap.newKeySet();
+		CountDownLatch startSignal = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+		// 2. Do
+		List<Future<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			IdAllocator target = i % 2 == 0 ? allocator : otherAllocator;
+			futures.add(executor.submit(() -> {
+				startSignal.await();
+				int duplicateCount = 0;
+				for (int j = 0; j < idsPerThread; j++) {
+					if (!issuedIds.add(target.nextId("Y", SQL_SELECT_NO_ID))) {
+						duplicateCount++;
+					}
+				}
+				return duplicateCount;
+			}));
+		}
+		startSignal.countDown();
+
+		int duplicateCount = 0;
+		for (Future<Integer> future : futures) {
+			duplicateCount += future.get();
+		}
+		executor.shutdown();
+
+		// 3. Check
+		assertEquals(0, duplicateCount);
+		assertEquals(threadCount * idsPerThread, issuedIds.size());
+
+		// 4. Log
+		log.info("並行払い出しテスト成功 払い出し件数: " + issuedIds.size());
+	}
+
+	@Test
+	public void testNextId再起動後も再利用なし() {
+		// 1. Ready
+		String beforeRestartId = allocator.nextId("Z", SQL_SELECT_NO_ID);
+
+		// 2. Do
+		// メモリ上の予約済みブロックを持たない新しいインスタンスで再起動を再現する
+		BlockIdAllocator restartedAllocator = beanFactory.createBean(BlockIdAllocator.class);
+		String afterRestartId = restartedAllocator.nextId("Z", SQL_SELECT_NO_ID);
+
+		// 3. Check
+		assertTrue(afterRestartId.compareTo(beforeRestartId) > 0);
+
+		// 4. Log
+		log.info("再起動後の採番テスト成功 " + beforeRestartId + " -> " + afterRestartId);
+	}
+
+	@Test
+	public void testNextId既存IDの続きから採番() {
+		// 1. Ready
+		String year = String.valueOf(Year.now().getValue());
+		String maxIdSql = "SELECT '" + "W_" + year + "_000120' FROM USER_M WHERE 1 = 1 LIMIT 1";
+
+		// 2. Do
+		String result = allocator.nextId("W", maxIdSql);
+
+		// 3. Check
+		assertEquals("W_" + year + "_000121", result);
+
+		// 4. Log
+		log.info("既存IDからの採番テスト成功 " + result);
+	}
+
+	@Test
+	public void testNextId採番テーブルを更新できない場合() {
+		// 1. Ready
+		BlockIdAllocator failingAllocator = beanFactory.createBean(BlockIdAllocator.class);
+		NamedParameterJdbcTemplate failingJdbc = mock(NamedParameterJdbcTemplate.class);
+		// 範囲の予約・初期値の登録ともに更新件数が0件
+		doReturn(0).when(failingJdbc).update(anyString(), anyMap());
+		ReflectionTestUtils.setField(failingAllocator, "jdbc", failingJdbc);
+
+		// 2. Do
+		DataAccessException exception = assertThrows(DataAccessException.class,
+				() -> failingAllocator.nextId("V", SQL_SELECT_NO_ID));
+
+		// 3. Check
+		// 初期値の登録が0件の時点で終了し、予約を繰り返さない
+		verify(failingJdbc, times(2)).update(anyString(), anyMap());
+
+		// 4. Log
+		log.info("採番テーブルを更新できない場合テスト成功 " + exception.getMessage());
+	}
+}
@@ -0,0 +1,134 @@
+package com.api.jobpal.common.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.api.jobpal.common.base.DashBoardCache.Region;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class DashBoardCacheTest {
+	@Autowired
+	private DashBoardCache target;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private Logger log;
+
+	private static final String STUDENT = "student@hcs.ac.jp";
+
+	private static final String TEACHER = "teacher@hcs.ac.jp";
+
+	private static final String OTHER_STUDENT = "student2@hcs.ac.jp";
+
+	@BeforeEach
+	public void setUp() {
+		target.evictAll();
+	}
+
+	@Test
+	public void testGet保持データ返却() {
+		// 1. Ready
+		AtomicInteger loadCount = new AtomicInteger();
+
+		// 2. Do
+		String first = target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> "data" + loadCount.incrementAndGet());
+		String second = target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> "data" + loadCount.incrementAndGet());
+
+		// 3. Check
+		assertEquals("data1", first);
+		assertEquals("data1", second);
+		assertEquals(1, loadCount.get());
+		assertTrue(meterRegistry.get("cache.gets").tag("cache", "dashboard").tag("result", "hit")
+				.functionCounter().count() >= 1);
+
+		// 4. Log
+		log.info("保持データ返却テスト成功");
+	}
+
+	@Test
+	public void testGetキー別保持() {
+		// 1. Ready
+		AtomicInteger loadCount = new AtomicInteger();
+
+		// 2. Do
+		target.get(Region.JOB_SEARCH, true, TEACHER, "1", () -> loadCount.incrementAndGet());
+		target.get(Region.JOB_SEARCH, true, TEACHER, "2", () -> loadCount.incrementAndGet());
+		target.get(Region.CERTIFICATE, true, TEACHER, "1", () -> loadCount.incrementAndGet());
+
+		// 3. Check
+		assertEquals(3, loadCount.get());
+
+		// 4. Log
+		log.info("キー別保持テスト成功");
+	}
+
+	@Test
+	public void testEvictJobSearch対象ユーザと共有データのみ破棄() {
+		// 1. Ready
+		target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> "student");
+		target.get(Region.JOB_SEARCH, false, OTHER_STUDENT, "0", () -> "other");
+		target.get(Region.JOB_SEARCH, true, "admin@hcs.ac.jp", "2", () -> "admin");
+		target.get(Region.CERTIFICATE, true, "admin@hcs.ac.jp", null, () -> "certificate");
+		double before = meterRegistry.get("dashboard.cache.invalidations").counter().count();
+
+		// 2. Do
+		target.evictJobSearch(STUDENT, TEACHER, null);
+
+		// 3. Check
+		assertEquals("reloaded", target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> "reloaded"));
+		assertEquals("reloaded", target.get(Region.JOB_SEARCH, true, "admin@hcs.ac.jp", "2", () -> "reloaded"));
+		assertEquals("other", target.get(Region.JOB_SEARCH, false, OTHER_STUDENT, "0", () -> "reloaded"));
+		assertEquals("certificate", target.get(Region.CERTIFICATE, true, "admin@hcs.ac.jp", null, () -> "reloaded"));
+		assertEquals(before + 2, meterRegistry.get("dashboard.cache.invalidations").counter().count());
+
+		// 4. Log
+		log.info("就職活動の更新による破棄テスト成功");
+	}
+
+	@Test
+	public void testEvictCertificate通知件数の破棄() {
+		// 1. Ready
+		target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> "jobSearch");
+
+		// 2. Do
+		// 証明書の更新でも学生の通知件数が変わるため、就職活動の表示データも破棄
+		target.evictCertificate(STUDENT);
+
+		// 3. Check
+		assertEquals("reloaded", target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> "reloaded"));
+
+		// 4. Log
+		log.info("証明書の更新による破棄テスト成功");
+	}
+
+	@Test
+	public void testGet読み込み中の破棄() {
+		// 2. Do
+		// 読み込み中に更新が行われた場合、読み込んだデータは保持しない
+		String loaded = target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> {
+			target.evictJobSearch(STUDENT);
+			return "stale";
+		});
+
+		// 3. Check
+		assertEquals("stale", loaded);
+		assertEquals("fresh", target.get(Region.JOB_SEARCH, false, STUDENT, "0", () -> "fresh"));
+
+		// 4. Log
+		log.info("読み込み中の破棄テスト成功");
+	}
+}
@@ -0,0 +1,170 @@
+package com.api.jobpal.common.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"settings.batch.deadline-cron=-",
+		"settings.http.integrations.test-slow.read-timeout-ms=200",
+		"settings.http.integrations.test-bulkhead.max-concurrent=1",
+		"settings.http.integrations.test-bulkhead.acquire-timeout-ms=0" })
+class OutboundHttpClientsTest {
+	@Autowired
+	private OutboundHttpClients target;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private Logger log;
+
+	/**
+	 * 外部サービスのスタブ（/ok：即時に応答、/slow：1秒後に応答、/error：500を応答）
+	 */
+	private static final HttpServer STUB = startStub();
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/ok", exchange -> respond(exchange, 200, 0));
+			server.createContext("/slow", exchange -> respond(exchange, 200, 1000));
+			server.createContext("/error", exchange -> respond(exchange, 500, 0));
+			server.setExecutor(Executors.newCachedThreadPool());
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, long delayMillis)
+			throws IOException {
+		try {
+			Thread.sleep(delayMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		byte[] response = "stub".getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(status, response.length);
+		try (OutputStream body = exchange.getResponseBody()) {
+			body.write(response);
+		}
+	}
+
+	@AfterAll
+	static void stopStub() {
+		STUB.stop(0);
+	}
+
+	private static String url(String path) {
+		return "http://localhost:" + STUB.getAddress().getPort() + path;
+	}
+
+	private long count(String integration, String outcome) {
+		Timer timer = meterRegistry.find("http.outbound.requests")
+				.tags("integration", integration, "outcome", outcome).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	private double inFlight(String integration) {
+		return meterRegistry.get("http.outbound.in-flight").tag("integration", integration).gauge().value();
+	}
+
+	@Test
+	public void testRestTemplate連携先ごとに結果を記録() {
+		// 1. Ready
+		RestTemplate restTemplate = target.restTemplate("test-ok");
+
+		// 2. Do
+		String first = restTemplate.getForObject(url("/ok"), String.class);
+		String second = restTemplate.getForObject(url("/ok"), String.class);
+		assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(url("/error"), String.class));
+
+		// 3. Check
+		assertEquals("stub", first);
+		assertEquals("stub", second);
+		// 同じ連携先には同じインスタンス
+		assertSame(restTemplate, target.restTemplate("test-ok"));
+		assertEquals(2, count("test-ok", "success"));
+		assertEquals(1, count("test-ok", "server_error"));
+		// レスポンスを閉じた後は枠を解放
+		assertEquals(0, inFlight("test-ok"));
+
+		// 4. Log
+		log.info("連携先ごとに結果を記録テスト成功");
+	}
+
+	@Test
+	public void testRestTemplate応答の待ち時間を超えた場合() {
+		// 1. Ready
+		RestTemplate restTemplate = target.restTemplate("test-slow");
+
+		// 2. Do
+		long start = System.nanoTime();
+		assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url("/slow"), String.class));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// 3. Check
+		// スタブの応答（1秒）を待たずに失敗
+		assertTrue(elapsedMillis < 1000, "elapsed=" + elapsedMillis);
+		assertEquals(1, count("test-slow", "io_error"));
+		assertEquals(0, inFlight("test-slow"));
+
+		// 4. Log
+		log.info("応答の待ち時間を超えた場合テスト成功: elapsed={}ms", elapsedMillis);
+	}
+
+	@Test
+	public void testRestTemplate同時呼び出し数の上限を超えた場合() throws Exception {
+		// 1. Ready
+		RestTemplate restTemplate = target.restTemplate("test-bulkhead");
+		CompletableFuture<String> slowCall = CompletableFuture
+				.supplyAsync(() -> restTemplate.getForObject(url("/slow"), String.class));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (inFlight("test-bulkhead") < 1 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		// 2. Do
+		BulkheadFullException exception = assertThrows(BulkheadFullException.class,
+				() -> restTemplate.getForObject(url("/ok"), String.class));
+		String slowResult = slowCall.get(5, TimeUnit.SECONDS);
+
+		// 3. Check
+		assertTrue(exception.getMessage().contains("test-bulkhead"));
+		assertEquals("stub", slowResult);
+		assertEquals(1, count("test-bulkhead", "rejected"));
+		assertEquals(1, count("test-bulkhead", "success"));
+		assertEquals(0, inFlight("test-bulkhead"));
+		// 枠が空いた後は呼び出せる
+		assertEquals("stub", restTemplate.getForObject(url("/ok"), String.class));
+
+		// 4. Log
+		log.info("同時呼び出し数の上限を超えた場合テスト成功: {}", exception.getMessage());
+	}
+}
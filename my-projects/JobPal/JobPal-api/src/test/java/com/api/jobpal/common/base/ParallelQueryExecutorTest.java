@@ -0,0 +1,155 @@
+package com.api.jobpal.common.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"settings.batch.deadline-cron=-",
+		"settings.query.parallel.timeout-ms=1000" })
+class ParallelQueryExecutorTest {
+	@Autowired
+	private ParallelQueryExecutor target;
+
+	@Autowired
+	private Logger log;
+
+	/**
+	 * 処理時間を想定した参照処理
+	 */
+	private static <T> T slowQuery(T result, long millis) throws InterruptedException {
+		Thread.sleep(millis);
+		return result;
+	}
+
+	@Test
+	public void testJoin最も遅い処理の時間で完了() {
+		// 1. Ready
+		long queryMillis = 200;
+		Supplier<String> first;
+		Supplier<Integer> second;
+		Supplier<Boolean> third;
+
+		// 2. Do
+		long start = System.nanoTime();
+		try (ParallelQueryExecutor.Scope scope = target.open()) {
+			first = scope.fork(() -> slowQuery("dashboard", queryMillis));
+			second = scope.fork(() -> slowQuery(3, queryMillis));
+			third = scope.fork(() -> slowQuery(true, queryMillis / 2));
+			scope.join();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// 3. Check
+		assertEquals("dashboard", first.get());
+		assertEquals(3, second.get());
+		assertTrue(third.get());
+		// 順に実行した場合（500ms）より短い
+		assertTrue(elapsedMillis < queryMillis * 2, "elapsed=" + elapsedMillis);
+
+		// 4. Log
+		log.info("最も遅い処理の時間で完了テスト成功: elapsed={}ms", elapsedMillis);
+	}
+
+	@Test
+	public void testJoin失敗時に残りの処理を中断() throws Exception {
+		// 1. Ready
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		CountDownLatch finished = new CountDownLatch(1);
+
+		// 2. Do
+		IllegalArgumentException e;
+		try (ParallelQueryExecutor.Scope scope = target.open()) {
+			scope.fork(() -> {
+				started.countDown();
+				try {
+					return slowQuery("slow", 10000);
+				} catch (InterruptedException ie) {
+					interrupted.set(true);
+					throw ie;
+				} finally {
+					finished.countDown();
+				}
+			});
+			scope.fork(() -> {
+				started.await();
+				throw new IllegalArgumentException("query failed");
+			});
+			e = assertThrows(IllegalArgumentException.class, scope::join);
+		}
+
+		// 3. Check
+		assertEquals("query failed", e.getMessage());
+		assertTrue(finished.await(1, TimeUnit.SECONDS));
+		assertTrue(interrupted.get());
+
+		// 4. Log
+		log.info("失敗時に残りの処理を中断テスト成功");
+	}
+
+	@Test
+	public void testJoin期限超過() throws Exception {
+		// 1. Ready
+		AtomicBoolean interrupted = new AtomicBoolean();
+		CountDownLatch finished = new CountDownLatch(1);
+
+		// 2. Do
+		long start = System.nanoTime();
+		try (ParallelQueryExecutor.Scope scope = target.open()) {
+			scope.fork(() -> slowQuery("fast", 10));
+			scope.fork(() -> {
+				try {
+					return slowQuery("slow", 10000);
+				} catch (InterruptedException ie) {
+					interrupted.set(true);
+					throw ie;
+				} finally {
+					finished.countDown();
+				}
+			});
+			assertThrows(QueryTimeoutException.class, scope::join);
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// 3. Check
+		// 期限（1000ms）で打ち切り、遅い処理は中断する
+		assertTrue(elapsedMillis < 5000, "elapsed=" + elapsedMillis);
+		assertTrue(finished.await(1, TimeUnit.SECONDS));
+		assertTrue(interrupted.get());
+
+		// 4. Log
+		log.info("期限超過テスト成功: elapsed={}ms", elapsedMillis);
+	}
+
+	@Test
+	public void testFork処理結果はjoin後に取得() {
+		// 1. Ready
+		Supplier<String> result;
+
+		// 2. Do
+		try (ParallelQueryExecutor.Scope scope = target.open()) {
+			result = scope.fork(() -> "value");
+
+			// 3. Check
+			assertThrows(IllegalStateException.class, result::get);
+			scope.join();
+			assertEquals("value", result.get());
+		}
+
+		// 4. Log
+		log.info("処理結果はjoin後に取得テスト成功");
+	}
+}
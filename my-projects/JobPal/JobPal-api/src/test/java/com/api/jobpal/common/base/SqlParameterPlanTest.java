@@ -0,0 +1,61 @@
+package com.api.jobpal.common.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SqlParameterPlanTest {
+
+	@Test
+	public void testBind出現順にバインド() {
+		// 1. Ready
+		String sql = "UPDATE USER_M SET user_name = :userName , user_status = :userStatus WHERE user_id = :userId";
+
+		// 2. Do
+		Map<String, Object> result = SqlParameterPlan.of(sql).bind("名前", "1", "user@example.com");
+
+		// 3. Check
+		assertEquals(3, result.size());
+		assertEquals("名前", result.get("userName"));
+		assertEquals("1", result.get("userStatus"));
+		assertEquals("user@example.com", result.get("userId"));
+	}
+
+	@Test
+	public void testBind同名パラメータは後の値() {
+		// 1. Ready
+		String sql = "SELECT user_id FROM USER_M WHERE user_id = :userId OR created_by_user_id = :userId";
+
+		// 2. Do
+		Map<String, Object> result = SqlParameterPlan.of(sql).bind("first", "second");
+
+		// 3. Check
+		assertArrayEquals(new String[] { "userId", "userId" }, SqlParameterPlan.of(sql).getParameterNames());
+		assertEquals("second", result.get("userId"));
+	}
+
+	@Test
+	public void testOf解析結果をキャッシュ() {
+		// 1. Ready
+		String sql = "SELECT user_id FROM USER_M WHERE user_type = :userType";
+
+		// 2. Do
+		SqlParameterPlan first = SqlParameterPlan.of(sql);
+		SqlParameterPlan second = SqlParameterPlan.of(sql);
+
+		// 3. Check
+		assertSame(first, second);
+		assertArrayEquals(new String[] { "userType" }, first.getParameterNames());
+	}
+
+	@Test
+	public void testBind値が不足() {
+		// 1. Ready
+		String sql = "SELECT user_id FROM USER_M WHERE user_type = :userType AND user_status = :userStatus";
+
+		// 2. Do & 3. Check
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> SqlParameterPlan.of(sql).bind("0"));
+	}
+}
@@ -0,0 +1,101 @@
+package com.api.jobpal.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.api.domain.repositories.UserRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class PrincipalCacheTest {
+	@Autowired
+	private PrincipalCache target;
+
+	@SpyBean
+	private UserRepository userRepository;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Autowired
+	private Logger log;
+
+	private static final String STUDENT = "student@hcs.ac.jp";
+
+	@BeforeEach
+	public void setUp() {
+		target.invalidate(STUDENT);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		// テストで変更したデータを初期データに戻す
+		jdbc.update("UPDATE USER_M SET user_status = '0' WHERE user_id = 'student@hcs.ac.jp'", Map.of());
+		target.invalidate(STUDENT);
+	}
+
+	@Test
+	public void testGetActiveUserTypeリクエストごとのDBアクセス() {
+		// 1. Ready
+		int requestCount = 1000;
+
+		// 2. Do
+		String userType = null;
+		for (int i = 0; i < requestCount; i++) {
+			userType = target.getActiveUserType(STUDENT);
+		}
+
+		// 3. Check
+		assertEquals("0", userType);
+		verify(userRepository, times(1)).selectTeacherStudentOne(eq(STUDENT), anyBoolean());
+
+		// 4. Log
+		log.info("リクエストごとのDBアクセステスト成功: requestCount={}", requestCount);
+	}
+
+	@Test
+	public void testGetActiveUserTypeロック後の拒否() {
+		// 1. Ready
+		assertEquals("0", target.getActiveUserType(STUDENT));
+		jdbc.update("UPDATE USER_M SET user_status = '1' WHERE user_id = 'student@hcs.ac.jp'", Map.of());
+
+		// 2. Do
+		target.invalidate(STUDENT);
+		String userType = target.getActiveUserType(STUDENT);
+
+		// 3. Check
+		assertNull(userType);
+
+		// 4. Log
+		log.info("ロック後の拒否テスト成功");
+	}
+
+	@Test
+	public void testGetActiveUserType存在しないユーザ() {
+		// 2. Do
+		String first = target.getActiveUserType("unknown@hcs.ac.jp");
+		String second = target.getActiveUserType("unknown@hcs.ac.jp");
+
+		// 3. Check
+		assertNull(first);
+		assertNull(second);
+		verify(userRepository, times(1)).selectTeacherStudentOne(eq("unknown@hcs.ac.jp"), anyBoolean());
+
+		// 4. Log
+		log.info("存在しないユーザテスト成功");
+	}
+}
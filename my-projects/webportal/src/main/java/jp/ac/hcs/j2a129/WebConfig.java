@@ -1,5 +1,9 @@
 package jp.ac.hcs.j2a129;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,11 +37,21 @@ public class WebConfig {
 	 * <p><strong><code>controller</code>や<code>service</code>から呼び出さないでください。</strong><br>
 	 * 設定することで、<code>@Autowired</code> が設定されたプロパティへ自動的にインスタンスが設定されます。
 	 * 
+	 * <p>外部APIの応答が遅い場合に画面の処理が止まらないよう、接続と応答の待ち時間を設定します。
+	 * 
+	 * @param builder RestTemplateの生成に使用するビルダー
+	 * @param connectTimeoutMillis 接続の待ち時間（ミリ秒）
+	 * @param readTimeoutMillis 応答の待ち時間（ミリ秒）
 	 * @return RestTemplateインスタンス
 	 */
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(RestTemplateBuilder builder,
+			@Value("${settings.http.connect-timeout-ms:1000}") long connectTimeoutMillis,
+			@Value("${settings.http.read-timeout-ms:5000}") long readTimeoutMillis) {
+		return builder
+				.setConnectTimeout(Duration.ofMillis(connectTimeoutMillis))
+				.setReadTimeout(Duration.ofMillis(readTimeoutMillis))
+				.build();
 	}
 
 	/**